@@ -0,0 +1,22 @@
+package com.banking.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.banking.JwtVerify")
+@Label("JWT Verify")
+@Category({"Banking", "Authentication"})
+@Description("Parsing and signature verification of one token")
+@StackTrace(false)
+public class JwtVerifyEvent extends Event {
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Refresh Token")
+    public boolean refresh;
+}
@@ -0,0 +1,25 @@
+package com.banking.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.banking.RepositoryCall")
+@Label("Repository Call")
+@Category({"Banking", "Persistence"})
+@Description("One Spring Data repository method invocation, including any flush it triggers")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
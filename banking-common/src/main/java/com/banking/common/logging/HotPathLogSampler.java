@@ -0,0 +1,82 @@
+package com.banking.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate-limits INFO logging from hot-path loggers to a fixed number of events per second each.
+ * <p>
+ * Runs as a turbo filter, before the event is created or its message formatted, so a
+ * suppressed call costs a map lookup and an atomic increment. Only INFO is sampled: WARN and
+ * ERROR always pass, so failures are logged in full, and DEBUG is left to the level settings.
+ * Loggers are matched by name prefix, configured as repeated {@code <logger>} elements.
+ */
+public class HotPathLogSampler extends TurboFilter {
+
+    private static final Window UNSAMPLED = new Window();
+
+    private final List<String> loggers = new ArrayList<>();
+    private int permitsPerSecond = 20;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+
+    public void setPermitsPerSecond(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isInfoEnabled() check, which must not use up a permit
+        if (level != Level.INFO || format == null || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Window window = windows.computeIfAbsent(logger.getName(), this::windowFor);
+        if (window == UNSAMPLED) {
+            return FilterReply.NEUTRAL;
+        }
+        return window.tryAcquire(System.currentTimeMillis() / 1000, permitsPerSecond)
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+
+    private Window windowFor(String loggerName) {
+        for (String prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return new Window();
+            }
+        }
+        return UNSAMPLED;
+    }
+
+    private static final class Window {
+
+        private volatile long second;
+        private final AtomicInteger used = new AtomicInteger();
+
+        boolean tryAcquire(long now, int permits) {
+            if (second != now) {
+                synchronized (this) {
+                    if (second != now) {
+                        used.set(0);
+                        second = now;
+                    }
+                }
+            }
+            return used.incrementAndGet() <= permits;
+        }
+    }
+}
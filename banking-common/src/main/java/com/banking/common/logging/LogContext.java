@@ -0,0 +1,13 @@
+package com.banking.common.logging;
+
+/**
+ * MDC keys shared by the code that sets them and the JSON log encoder that writes them.
+ * Trace and span ids are added by the tracing bridge as traceId and spanId.
+ */
+public final class LogContext {
+
+    public static final String USER_ID = "userId";
+
+    private LogContext() {
+    }
+}
@@ -0,0 +1,41 @@
+package com.banking.common.security;
+
+/**
+ * Fine-grained permissions granted through roles and carried in access tokens as a bitset.
+ * Bit positions are the token format between the user service, which issues tokens, and
+ * the payment service, which reads them: never renumber or reuse one, only append.
+ */
+public enum Permission {
+    VIEW_OWN_PROFILE(0),
+    MANAGE_OWN_BENEFICIARIES(1),
+    TRANSACT(2),
+    MANAGE_USERS(3),
+    APPROVE_USERS(4),
+    MANAGE_BENEFICIARIES(5),
+    MANAGE_TRANSACTIONS(6),
+    // Actuator endpoints other than health
+    MANAGE_DIAGNOSTICS(7);
+
+    public static final String AUTHORITY_PREFIX = "PERM_";
+
+    private final int bit;
+    private final String authority;
+
+    Permission(int bit){
+        this.bit = bit;
+        this.authority = AUTHORITY_PREFIX + name();
+    }
+
+    public int getBit(){
+        return bit;
+    }
+
+    public int mask(){
+        return 1 << bit;
+    }
+
+    /** Spring Security authority name, e.g. PERM_MANAGE_USERS */
+    public String getAuthority(){
+        return authority;
+    }
+}
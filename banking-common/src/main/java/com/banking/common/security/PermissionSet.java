@@ -0,0 +1,75 @@
+package com.banking.common.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable set of permissions backed by the bitset carried in the "perms" token claim.
+ * One instance per possible bitset is built at class load, so decoding a claim is an array
+ * lookup and a permission check is a single bit test.
+ */
+public final class PermissionSet {
+
+    private static final int ALL_BITS = allBits();
+    private static final PermissionSet[] BY_BITS = buildAll();
+
+    public static final PermissionSet NONE = BY_BITS[0];
+
+    private final int bits;
+    private final Set<GrantedAuthority> grantedAuthorities;
+
+    private PermissionSet(int bits) {
+        this.bits = bits;
+        Set<GrantedAuthority> granted = new LinkedHashSet<>();
+        for (Permission permission : Permission.values()) {
+            if ((bits & permission.mask()) != 0) {
+                granted.add(new SimpleGrantedAuthority(permission.getAuthority()));
+            }
+        }
+        this.grantedAuthorities = Set.copyOf(granted);
+    }
+
+    /**
+     * Shared instance for a bitset; bits this build does not know are ignored
+     * @param bits Permission bitset, e.g. from a token claim
+     * @return Interned permission set
+     */
+    public static PermissionSet of(int bits) {
+        return BY_BITS[bits & ALL_BITS];
+    }
+
+    public boolean has(Permission permission) {
+        return (bits & permission.mask()) != 0;
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    /** PERM_* authorities, one per permission in the set */
+    public Set<GrantedAuthority> grantedAuthorities() {
+        return grantedAuthorities;
+    }
+
+    private static int allBits() {
+        int mask = 0;
+        for (Permission permission : Permission.values()) {
+            mask |= permission.mask();
+        }
+        return mask;
+    }
+
+    private static PermissionSet[] buildAll() {
+        PermissionSet[] all = new PermissionSet[ALL_BITS + 1];
+        for (int bits = 0; bits <= ALL_BITS; bits++) {
+            // Only subsets of the known bits are ever looked up; gaps in the numbering stay null
+            if ((bits & ~ALL_BITS) == 0) {
+                all[bits] = new PermissionSet(bits);
+            }
+        }
+        return all;
+    }
+}
@@ -0,0 +1,167 @@
+package com.banking.common.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory set of revoked token and token-family IDs, consulted on every authenticated
+ * request.
+ * <p>
+ * Lookups first ask a Bloom filter, so the common case of a token that was never revoked
+ * costs a few hashed bit reads and no map access. IDs are also filed by expiry minute,
+ * which lets eviction drop whole buckets once every token they cover has expired; the
+ * Bloom filter is then rebuilt from what remains and swapped in. Writes are rare and
+ * serialized; reads never lock.
+ */
+@Component
+@Slf4j
+public class TokenDenylist {
+
+    private static final long BUCKET_MILLIS = 60_000;
+    private static final int HASHES = 4;
+
+    private final int bloomBits;
+    private final Clock clock;
+
+    private final Map<UUID, Long> expiries = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, List<UUID>> buckets = new TreeMap<>();
+    private volatile BloomFilter bloom;
+
+    @Autowired
+    public TokenDenylist(@Value("${app.security.token-denylist.bloom-bits:1048576}") int bloomBits) {
+        this(bloomBits, Clock.systemUTC());
+    }
+
+    TokenDenylist(int bloomBits, Clock clock) {
+        // Rounded up to a power of two so bit positions are a mask, not a modulo
+        this.bloomBits = Integer.highestOneBit(Math.max(bloomBits, 64) - 1) << 1;
+        this.bloom = new BloomFilter(this.bloomBits);
+        this.clock = clock;
+    }
+
+    /**
+     * Check whether a token or its family has been revoked
+     * @param tokenId Token jti, may be null
+     * @param familyId Token family, may be null
+     * @return true if either ID is on the denylist
+     */
+    public boolean isRevoked(UUID tokenId, UUID familyId) {
+        BloomFilter filter = bloom;
+        return (tokenId != null && filter.mightContain(tokenId) && expiries.containsKey(tokenId))
+                || (familyId != null && filter.mightContain(familyId) && expiries.containsKey(familyId));
+    }
+
+    /**
+     * Deny an ID until the given time
+     * @param id Token or family ID
+     * @param expiresAtMillis When the last token carrying this ID expires
+     */
+    public synchronized void revoke(UUID id, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.millis()) {
+            return;
+        }
+        Long previous = expiries.get(id);
+        if (previous != null && previous >= expiresAtMillis) {
+            return;
+        }
+        expiries.put(id, expiresAtMillis);
+        buckets.computeIfAbsent(bucketOf(expiresAtMillis), key -> new ArrayList<>()).add(id);
+        bloom.add(id);
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-denylist.eviction-interval-ms:60000}")
+    public synchronized void evictExpired() {
+        long now = clock.millis();
+        int removed = 0;
+
+        Iterator<Map.Entry<Long, List<UUID>>> due = buckets.headMap(bucketOf(now), false).entrySet().iterator();
+        while (due.hasNext()) {
+            for (UUID id : due.next().getValue()) {
+                // An ID re-revoked with a later expiry is also filed in a later bucket
+                Long expiresAt = expiries.get(id);
+                if (expiresAt != null && expiresAt <= now) {
+                    expiries.remove(id);
+                    removed++;
+                }
+            }
+            due.remove();
+        }
+
+        if (removed > 0) {
+            BloomFilter rebuilt = new BloomFilter(bloomBits);
+            expiries.keySet().forEach(rebuilt::add);
+            bloom = rebuilt;
+            log.debug("Evicted {} expired token revocations, {} remain", removed, expiries.size());
+        }
+    }
+
+    // Bucket key is the end of the minute the expiry falls in, so a whole bucket is due once that minute has passed
+    private static long bucketOf(long expiresAtMillis) {
+        return (expiresAtMillis / BUCKET_MILLIS + 1) * BUCKET_MILLIS;
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int mask;
+
+        BloomFilter(int bits) {
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.mask = bits - 1;
+        }
+
+        void add(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) (h1 + i * h2) & mask;
+                long bitMask = 1L << bit;
+                int word = bit >>> 6;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & bitMask) == 0 && !words.compareAndSet(word, current, current | bitMask));
+            }
+        }
+
+        boolean mightContain(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Murmur3 finalizer; random UUIDs are already well mixed but time-based ones are not
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.banking.common.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Child span around each controller method, so a trace separates the security filters,
+ * which run inside the HTTP server span, from the handler itself.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ControllerTracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceHandler(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.nextSpan()
+                .name(joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName())
+                .tag("component", "controller")
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
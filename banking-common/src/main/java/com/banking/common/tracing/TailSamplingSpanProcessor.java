@@ -0,0 +1,228 @@
+package com.banking.common.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tail-based sampling in front of the exporting span processor.
+ * <p>
+ * Every request is traced, but finished spans are held per trace until the local root span
+ * ends (the first span of the trace in this service, whose parent is absent or remote). Only
+ * then is the trace kept or dropped as a whole: slow and failed traces are always exported,
+ * the rest at a small baseline ratio. Buffers are bounded in count and size, and traces whose
+ * root never ends here are evicted on a schedule.
+ * <p>
+ * Spans that end after their root, such as async work, follow the decision already made for
+ * their trace. Decisions are remembered for the most recent traces only; a later span of an
+ * older trace is buffered again and eventually evicted.
+ */
+@Component
+@Slf4j
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private final SpanProcessor delegate;
+
+    private final long slowThresholdNanos;
+    private final double baselineRatio;
+    private final int maxBufferedTraces;
+    private final int maxSpansPerTrace;
+    private final long maxTraceAgeNanos;
+
+    private final Map<String, TraceBuffer> traces = new ConcurrentHashMap<>();
+    // Whether each recently decided trace was kept, oldest first
+    private final Map<String, Boolean> decided;
+
+    public TailSamplingSpanProcessor(
+            BatchSpanProcessor otelSpanProcessor,
+            @Value("${app.tracing.tail.slow-threshold-ms:500}") long slowThresholdMillis,
+            @Value("${app.tracing.tail.baseline-ratio:0.01}") double baselineRatio,
+            @Value("${app.tracing.tail.max-buffered-traces:10000}") int maxBufferedTraces,
+            @Value("${app.tracing.tail.max-spans-per-trace:512}") int maxSpansPerTrace,
+            @Value("${app.tracing.tail.max-trace-age-ms:60000}") long maxTraceAgeMillis,
+            @Value("${app.tracing.tail.max-decided-traces:10000}") int maxDecidedTraces
+    ) {
+        this.delegate = otelSpanProcessor;
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000;
+        this.baselineRatio = baselineRatio;
+        this.maxBufferedTraces = maxBufferedTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.maxTraceAgeNanos = maxTraceAgeMillis * 1_000_000;
+        this.decided = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxDecidedTraces;
+            }
+        };
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanContext context = span.getSpanContext();
+        if (!context.isSampled()) {
+            return;
+        }
+        String traceId = context.getTraceId();
+        boolean failed = span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            buffer(traceId, span, failed);
+            return;
+        }
+
+        boolean keep = failed
+                || span.getLatencyNanos() >= slowThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < baselineRatio;
+        // Remembered before the buffer is taken, so children ending from now on find the decision
+        remember(traceId, keep);
+        TraceBuffer buffer = traces.remove(traceId);
+        if (buffer != null && close(buffer, keep) && !keep) {
+            // Kept for a failed child after all
+            keep = true;
+            remember(traceId, true);
+        }
+        if (keep) {
+            delegate.onEnd(span);
+        }
+    }
+
+    private void buffer(String traceId, ReadableSpan span, boolean failed) {
+        TraceBuffer buffer = traces.get(traceId);
+        boolean created = false;
+        if (buffer == null) {
+            Boolean keep = decision(traceId);
+            if (keep != null) {
+                if (keep) {
+                    delegate.onEnd(span);
+                }
+                return;
+            }
+            if (traces.size() >= maxBufferedTraces) {
+                return;
+            }
+            TraceBuffer fresh = new TraceBuffer(System.nanoTime());
+            buffer = traces.computeIfAbsent(traceId, id -> fresh);
+            created = buffer == fresh;
+        }
+
+        synchronized (buffer) {
+            if (buffer.closed) {
+                // The root ended while this span was on its way in
+                if (buffer.kept) {
+                    delegate.onEnd(span);
+                }
+                return;
+            }
+            if (buffer.spans.size() < maxSpansPerTrace) {
+                buffer.spans.add(span);
+            }
+            buffer.failed |= failed;
+        }
+
+        // The root may have been decided between the lookup above and creating this buffer
+        if (created) {
+            Boolean keep = decision(traceId);
+            if (keep != null && traces.remove(traceId, buffer)) {
+                close(buffer, keep);
+            }
+        }
+    }
+
+    /**
+     * Export a buffer's spans if the trace is kept, and route any span that arrives later
+     * @return Whether the trace is kept, which a failed child forces
+     */
+    private boolean close(TraceBuffer buffer, boolean keep) {
+        synchronized (buffer) {
+            keep |= buffer.failed;
+            buffer.closed = true;
+            buffer.kept = keep;
+            if (keep) {
+                buffer.spans.forEach(delegate::onEnd);
+            }
+            buffer.spans.clear();
+            return keep;
+        }
+    }
+
+    private Boolean decision(String traceId) {
+        synchronized (decided) {
+            return decided.get(traceId);
+        }
+    }
+
+    private void remember(String traceId, boolean keep) {
+        synchronized (decided) {
+            decided.put(traceId, keep);
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.tracing.tail.eviction-interval-ms:30000}")
+    public void evictStale() {
+        long cutoff = System.nanoTime() - maxTraceAgeNanos;
+        int before = traces.size();
+        traces.values().removeIf(buffer -> buffer.createdAt - cutoff < 0);
+        int evicted = before - traces.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} traces whose root span never ended", evicted);
+        }
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        traces.clear();
+        synchronized (decided) {
+            decided.clear();
+        }
+        return delegate.shutdown();
+    }
+
+    private static final class TraceBuffer {
+
+        private final long createdAt;
+        private final List<ReadableSpan> spans = new ArrayList<>();
+        private boolean failed;
+        private boolean closed;
+        private boolean kept;
+
+        private TraceBuffer(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.banking.common.validation;
+
+public enum AccountCheck {
+    VALID,
+    MALFORMED,
+    UNKNOWN_BANK,
+    WRONG_LENGTH,
+    CHECK_DIGIT_FAILED
+}
@@ -0,0 +1,35 @@
+package com.banking.common.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class BankAccountValidator implements ConstraintValidator<ValidBankAccount, String> {
+
+    private final BankDirectoryProvider directoryProvider;
+
+    @Override
+    public boolean isValid(String accountNumber, ConstraintValidatorContext context) {
+        if (accountNumber == null || !directoryProvider.isEnforced()) {
+            return true;
+        }
+
+        BankDirectory directory = directoryProvider.current();
+        AccountCheck check = directory.check(accountNumber);
+        if (check == AccountCheck.VALID) {
+            return true;
+        }
+
+        // Messages are only built on the failure path
+        String message = switch (check) {
+            case MALFORMED -> "Account number must contain digits only";
+            case UNKNOWN_BANK -> "Account number does not belong to a known bank";
+            case WRONG_LENGTH -> "Account number length is not valid for " + directory.bankNameOf(accountNumber);
+            default -> "Account number is not valid for " + directory.bankNameOf(accountNumber);
+        };
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
+        return false;
+    }
+}
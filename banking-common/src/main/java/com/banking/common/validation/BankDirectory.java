@@ -0,0 +1,199 @@
+package com.banking.common.validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable bank/branch directory keyed by the leading digits of an account number.
+ * <p>
+ * Each line of the directory file assigns an inclusive range of 4-digit account prefixes
+ * to a bank, with the bank's universal branch code, allowed account lengths and check
+ * digit rule:
+ * <pre>
+ * # prefixFrom,prefixTo,bankName,branchCode,minLength,maxLength,checkRule
+ * 1000,1899,Capitec Bank,470010,10,10,LUHN
+ * </pre>
+ * Ranges are held as sorted parallel arrays, so a lookup is a prefix parse, one binary
+ * search and the check digit loop, with no allocation.
+ */
+public final class BankDirectory {
+
+    static final int PREFIX_DIGITS = 4;
+
+    private final int[] rangeStarts;
+    private final int[] rangeEnds;
+    private final byte[] minLengths;
+    private final byte[] maxLengths;
+    private final CheckDigitRule[] rules;
+    private final String[] bankNames;
+    private final String[] branchCodes;
+
+    private BankDirectory(List<Entry> entries) {
+        int size = entries.size();
+        rangeStarts = new int[size];
+        rangeEnds = new int[size];
+        minLengths = new byte[size];
+        maxLengths = new byte[size];
+        rules = new CheckDigitRule[size];
+        bankNames = new String[size];
+        branchCodes = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            rangeStarts[i] = entry.from();
+            rangeEnds[i] = entry.to();
+            minLengths[i] = (byte) entry.minLength();
+            maxLengths[i] = (byte) entry.maxLength();
+            rules[i] = entry.rule();
+            bankNames[i] = entry.bankName();
+            branchCodes[i] = entry.branchCode();
+        }
+    }
+
+    /**
+     * Parse a directory file
+     * @param reader Directory source
+     * @return Directory ready for lookups
+     * @throws IllegalArgumentException if a line is malformed or two ranges overlap
+     */
+    public static BankDirectory parse(Reader reader) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 7) {
+                throw new IllegalArgumentException("Bank directory line " + lineNumber + ": expected 7 fields but got " + fields.length);
+            }
+            try {
+                Entry entry = new Entry(
+                        Integer.parseInt(fields[0].strip()),
+                        Integer.parseInt(fields[1].strip()),
+                        fields[2].strip(),
+                        fields[3].strip(),
+                        Integer.parseInt(fields[4].strip()),
+                        Integer.parseInt(fields[5].strip()),
+                        CheckDigitRule.parse(fields[6].strip())
+                );
+                if (entry.from() > entry.to() || entry.to() >= 10_000
+                        || entry.minLength() < PREFIX_DIGITS || entry.minLength() > entry.maxLength()
+                        || entry.maxLength() > Byte.MAX_VALUE) {
+                    throw new IllegalArgumentException("invalid range or length");
+                }
+                entries.add(entry);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Bank directory line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        entries.sort(Comparator.comparingInt(Entry::from));
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(i).from() <= entries.get(i - 1).to()) {
+                throw new IllegalArgumentException("Bank directory ranges overlap: "
+                        + entries.get(i - 1).bankName() + " and " + entries.get(i).bankName());
+            }
+        }
+        return new BankDirectory(entries);
+    }
+
+    /**
+     * Validate an account number against the directory
+     * @param accountNumber Account number, digits only
+     * @return VALID, or the first check that failed
+     */
+    public AccountCheck check(CharSequence accountNumber) {
+        int length = accountNumber.length();
+        if (length < PREFIX_DIGITS) {
+            return AccountCheck.MALFORMED;
+        }
+
+        int prefix = 0;
+        for (int i = 0; i < length; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return AccountCheck.MALFORMED;
+            }
+            if (i < PREFIX_DIGITS) {
+                prefix = prefix * 10 + (c - '0');
+            }
+        }
+
+        int slot = indexOf(prefix);
+        if (slot < 0) {
+            return AccountCheck.UNKNOWN_BANK;
+        }
+        if (length < minLengths[slot] || length > maxLengths[slot]) {
+            return AccountCheck.WRONG_LENGTH;
+        }
+        return rules[slot].verify(accountNumber) ? AccountCheck.VALID : AccountCheck.CHECK_DIGIT_FAILED;
+    }
+
+    /**
+     * Bank owning an account number's prefix range
+     * @param accountNumber Account number
+     * @return Bank name, or null when the prefix is not in the directory
+     */
+    public String bankNameOf(CharSequence accountNumber) {
+        int slot = slotOf(accountNumber);
+        return slot < 0 ? null : bankNames[slot];
+    }
+
+    /**
+     * Universal branch code for an account number's bank
+     * @param accountNumber Account number
+     * @return Branch code, or null when the prefix is not in the directory
+     */
+    public String branchCodeOf(CharSequence accountNumber) {
+        int slot = slotOf(accountNumber);
+        return slot < 0 ? null : branchCodes[slot];
+    }
+
+    public int size() {
+        return rangeStarts.length;
+    }
+
+    private int slotOf(CharSequence accountNumber) {
+        if (accountNumber.length() < PREFIX_DIGITS) {
+            return -1;
+        }
+        int prefix = 0;
+        for (int i = 0; i < PREFIX_DIGITS; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            prefix = prefix * 10 + (c - '0');
+        }
+        return indexOf(prefix);
+    }
+
+    // Last range starting at or before the prefix, if it also ends at or after it
+    private int indexOf(int prefix) {
+        int low = 0;
+        int high = rangeStarts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (rangeStarts[mid] <= prefix) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && rangeEnds[high] >= prefix ? high : -1;
+    }
+
+    private record Entry(int from, int to, String bankName, String branchCode,
+                         int minLength, int maxLength, CheckDigitRule rule) {
+    }
+}
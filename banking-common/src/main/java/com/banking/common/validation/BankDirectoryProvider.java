@@ -0,0 +1,88 @@
+package com.banking.common.validation;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Holds the current bank directory. The directory is loaded at startup and, when it lives
+ * on the file system, re-read whenever the file changes. A reload builds a complete new
+ * directory and swaps one volatile reference, so validations in flight never wait and never
+ * see a half-loaded directory; a file that fails to parse leaves the previous one in place.
+ * <p>
+ * Account numbers are only rejected with app.bank-directory.enforce=true. The bundled
+ * directory is a sample, not the banks' published ranges and rules, so enforcement stays
+ * off until a sourced directory is configured.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BankDirectoryProvider {
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${app.bank-directory.location:classpath:bank-directory.csv}")
+    private String location;
+
+    @Value("${app.bank-directory.enforce:false}")
+    private boolean enforced;
+
+    private volatile BankDirectory directory;
+    private long loadedModified;
+
+    @PostConstruct
+    public void init() {
+        try {
+            load();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to load bank directory from " + location, e);
+        }
+    }
+
+    public BankDirectory current() {
+        return directory;
+    }
+
+    public boolean isEnforced() {
+        return enforced;
+    }
+
+    @Scheduled(fixedDelayString = "${app.bank-directory.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.isFile()) {
+            return;
+        }
+        try {
+            if (resource.lastModified() != loadedModified) {
+                load();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Bank directory reload from {} failed, keeping the previous directory", location, e);
+        }
+    }
+
+    private synchronized void load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        long modified = resource.isFile() ? resource.lastModified() : 0;
+
+        BankDirectory loaded;
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            loaded = BankDirectory.parse(reader);
+        }
+        directory = loaded;
+        loadedModified = modified;
+        log.info("Loaded bank directory with {} ranges from {}{}", loaded.size(), location,
+                enforced ? "" : ", not enforced");
+    }
+}
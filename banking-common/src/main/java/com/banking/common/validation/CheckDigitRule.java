@@ -0,0 +1,81 @@
+package com.banking.common.validation;
+
+/**
+ * Check-digit verification for one bank's account numbers.
+ * <p>
+ * Rules are written as NONE, LUHN, or MODnn:w-w-...-w for a weighted sum that must be a
+ * multiple of nn. Weights line up with the rightmost digits, so the last weight applies to
+ * the check digit and shorter account numbers simply use fewer weights.
+ */
+final class CheckDigitRule {
+
+    private enum Kind { NONE, LUHN, WEIGHTED }
+
+    static final CheckDigitRule NONE = new CheckDigitRule(Kind.NONE, new int[0], 1);
+    static final CheckDigitRule LUHN = new CheckDigitRule(Kind.LUHN, new int[0], 10);
+
+    private final Kind kind;
+    private final int[] weights;
+    private final int modulus;
+
+    private CheckDigitRule(Kind kind, int[] weights, int modulus) {
+        this.kind = kind;
+        this.weights = weights;
+        this.modulus = modulus;
+    }
+
+    static CheckDigitRule parse(String spec) {
+        if (spec.equalsIgnoreCase("NONE")) {
+            return NONE;
+        }
+        if (spec.equalsIgnoreCase("LUHN")) {
+            return LUHN;
+        }
+
+        int colon = spec.indexOf(':');
+        if (colon < 0 || !spec.regionMatches(true, 0, "MOD", 0, 3)) {
+            throw new IllegalArgumentException("Unknown check digit rule: " + spec);
+        }
+        int modulus = Integer.parseInt(spec.substring(3, colon));
+        String[] parts = spec.substring(colon + 1).split("-");
+        int[] weights = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            weights[i] = Integer.parseInt(parts[i].trim());
+        }
+        if (modulus < 2 || weights.length == 0) {
+            throw new IllegalArgumentException("Invalid check digit rule: " + spec);
+        }
+        return new CheckDigitRule(Kind.WEIGHTED, weights, modulus);
+    }
+
+    // Callers have already checked that every character is a digit
+    boolean verify(CharSequence digits) {
+        int length = digits.length();
+        switch (kind) {
+            case LUHN -> {
+                int sum = 0;
+                for (int i = length - 1, position = 0; i >= 0; i--, position++) {
+                    int digit = digits.charAt(i) - '0';
+                    if ((position & 1) == 1) {
+                        digit *= 2;
+                        if (digit > 9) {
+                            digit -= 9;
+                        }
+                    }
+                    sum += digit;
+                }
+                return sum % 10 == 0;
+            }
+            case WEIGHTED -> {
+                int sum = 0;
+                for (int i = length - 1, w = weights.length - 1; i >= 0 && w >= 0; i--, w--) {
+                    sum += (digits.charAt(i) - '0') * weights[w];
+                }
+                return sum % modulus == 0;
+            }
+            default -> {
+                return true;
+            }
+        }
+    }
+}
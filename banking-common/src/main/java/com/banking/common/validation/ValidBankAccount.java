@@ -0,0 +1,28 @@
+package com.banking.common.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Account number must belong to a bank in the bank directory and pass that bank's length
+ * and check digit rules. Null is accepted; pair with @NotBlank where the field is required.
+ * Only checked when app.bank-directory.enforce is true, see {@link BankDirectoryProvider}.
+ */
+@Documented
+@Constraint(validatedBy = BankAccountValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidBankAccount {
+
+    String message() default "Invalid bank account number";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
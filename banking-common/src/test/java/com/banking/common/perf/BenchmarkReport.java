@@ -0,0 +1,203 @@
+package com.banking.common.perf;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Times repository queries and checks them against a committed baseline.
+ * <p>
+ * Each query is warmed up, run once with its SQL captured for an EXPLAIN, then timed over
+ * a number of iterations. The access path (indexes and table scans from the H2 plan) must
+ * match the baseline exactly; a p95 more than perf.latency-tolerance times its baseline is
+ * reported, and fails the run only with -Dperf.fail-on-latency=true. Run with
+ * -Dperf.update-baseline=true to accept the current plans and latencies.
+ * <p>
+ * Shared with the services through the banking-common test jar; the baseline is
+ * perf/&lt;suite&gt;.properties in the test resources of the service running the benchmark.
+ */
+public final class BenchmarkReport {
+
+    private static final Pattern PLAN_COMMENT = Pattern.compile("/\\*\\s*(.*?)\\s*\\*/");
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    // Below this a latency difference is noise, whatever the ratio
+    private static final double LATENCY_FLOOR_MS = 1.0;
+
+    private final String suite;
+    private final JdbcTemplate jdbcTemplate;
+    private final int warmup = Integer.getInteger("perf.warmup", 10);
+    private final int iterations = Integer.getInteger("perf.iterations", 50);
+    private final double latencyTolerance = Double.parseDouble(System.getProperty("perf.latency-tolerance", "2.0"));
+    private final List<Result> results = new ArrayList<>();
+
+    public BenchmarkReport(String suite, JdbcTemplate jdbcTemplate) {
+        this.suite = suite;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public <T> T measure(String name, Supplier<T> query) {
+        return measure(name, iterations, query);
+    }
+
+    /**
+     * Time one query
+     * @param name Baseline key, normally the repository method
+     * @param iterations Timed runs; lower for queries that load whole tables
+     * @param query Runs the query once, picking its own arguments
+     * @return The result of the captured run
+     */
+    public <T> T measure(String name, int iterations, Supplier<T> query) {
+        for (int i = 0; i < Math.min(warmup, iterations); i++) {
+            query.get();
+        }
+
+        SqlCapture.start();
+        T result;
+        List<String> statements;
+        try {
+            result = query.get();
+        } finally {
+            statements = SqlCapture.stop();
+        }
+
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        results.add(new Result(name, iterations, percentile(nanos, 0.50), percentile(nanos, 0.95),
+                percentile(nanos, 0.99), nanos[nanos.length - 1] / NANOS_PER_MILLI, accessPath(statements)));
+        return result;
+    }
+
+    /**
+     * Print and save the report, then fail on plan regressions unless updating the baseline
+     */
+    public void finish() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/perf/" + suite + ".properties")) {
+            if (in != null) {
+                baseline.load(in);
+            }
+        }
+
+        List<String> planRegressions = new ArrayList<>();
+        List<String> latencyRegressions = new ArrayList<>();
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.printf("%-52s %6s %9s %9s %9s %9s  %-13s %s%n",
+                "query", "runs", "p50 ms", "p95 ms", "p99 ms", "max ms", "status", "access path");
+
+        for (Result result : results) {
+            String expectedPlan = baseline.getProperty(result.name() + ".plan");
+            String expectedP95 = baseline.getProperty(result.name() + ".p95-ms");
+
+            String status = "OK";
+            if (expectedPlan == null) {
+                status = "NEW";
+            } else if (!expectedPlan.equals(result.accessPath())) {
+                status = "PLAN CHANGED";
+                planRegressions.add(result.name() + ": " + expectedPlan + " -> " + result.accessPath());
+            } else if (expectedP95 != null) {
+                double allowed = Double.parseDouble(expectedP95) * latencyTolerance;
+                if (result.p95() > allowed && result.p95() - Double.parseDouble(expectedP95) > LATENCY_FLOOR_MS) {
+                    status = "SLOWER";
+                    latencyRegressions.add(String.format("%s: p95 %.2f ms, baseline %s ms", result.name(), result.p95(), expectedP95));
+                }
+            }
+
+            out.printf("%-52s %6d %9.2f %9.2f %9.2f %9.2f  %-13s %s%n", result.name(), result.runs(),
+                    result.p50(), result.p95(), result.p99(), result.max(), status, result.accessPath());
+        }
+        out.flush();
+
+        System.out.println();
+        System.out.println("== " + suite + " ==");
+        System.out.print(text);
+        Path report = Path.of("target", "perf", suite + ".txt");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, text.toString());
+
+        if (Boolean.getBoolean("perf.update-baseline")) {
+            writeBaseline();
+            return;
+        }
+        if (!planRegressions.isEmpty()) {
+            throw new AssertionError("Query plans changed in " + suite + ":\n  " + String.join("\n  ", planRegressions)
+                    + "\nReview the plans, then rerun with -Dperf.update-baseline=true to accept them");
+        }
+        if (!latencyRegressions.isEmpty() && Boolean.getBoolean("perf.fail-on-latency")) {
+            throw new AssertionError("Queries slowed down in " + suite + ":\n  " + String.join("\n  ", latencyRegressions));
+        }
+    }
+
+    private void writeBaseline() throws IOException {
+        StringBuilder lines = new StringBuilder("# Repository benchmark baseline; regenerate with -Dperf.update-baseline=true\n");
+        for (Result result : results) {
+            lines.append(result.name()).append(".plan=").append(result.accessPath()).append('\n');
+            lines.append(result.name()).append(".p95-ms=").append(String.format("%.3f", result.p95())).append('\n');
+        }
+        Path file = Path.of("src", "test", "resources", "perf", suite + ".properties");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, lines);
+    }
+
+    // Index and scan choices from the plan comments, e.g. "PUBLIC.IDX_USER_ID, index sorted".
+    // Repeated statements (lazy loads per row) are explained once, and a path shared by several
+    // statements is listed once, since page count queries only run when a page is full.
+    private String accessPath(List<String> statements) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (String sql : new LinkedHashSet<>(statements)) {
+            Set<String> choices = new LinkedHashSet<>();
+            try {
+                String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                         ResultSet rows = statement.executeQuery()) {
+                        StringBuilder text = new StringBuilder();
+                        while (rows.next()) {
+                            text.append(rows.getString(1)).append('\n');
+                        }
+                        return text.toString();
+                    }
+                });
+                Matcher matcher = PLAN_COMMENT.matcher(plan);
+                while (matcher.find()) {
+                    String comment = matcher.group(1);
+                    int colon = comment.indexOf(':');
+                    choices.add(colon < 0 ? comment : comment.substring(0, colon).trim());
+                }
+            } catch (RuntimeException e) {
+                choices.add("explain failed");
+            }
+            paths.add(String.join(", ", choices));
+        }
+        return String.join(" ; ", paths);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / NANOS_PER_MILLI;
+    }
+
+    private record Result(String name, int runs, double p50, double p95, double p99, double max, String accessPath) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.banking.common.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionSetTest {
+
+    @Test
+    void bitsThisBuildDoesNotKnowAreIgnored() {
+        int known = Permission.TRANSACT.mask() | Permission.MANAGE_USERS.mask();
+
+        PermissionSet permissions = PermissionSet.of(known | 1 << 30 | 1 << 31);
+
+        assertThat(permissions.bits()).isEqualTo(known);
+        assertThat(permissions).isSameAs(PermissionSet.of(known));
+        assertThat(PermissionSet.of(-1).bits()).isEqualTo(PermissionSet.of(allBits()).bits());
+        assertThat(PermissionSet.of(1 << 30)).isSameAs(PermissionSet.NONE);
+    }
+
+    @Test
+    void everyBitsetHasOneSharedInstance() {
+        for (int bits = 0; bits <= allBits(); bits++) {
+            assertThat(PermissionSet.of(bits)).isSameAs(PermissionSet.of(bits));
+            assertThat(PermissionSet.of(bits).bits()).isEqualTo(bits);
+        }
+        assertThat(PermissionSet.of(0)).isSameAs(PermissionSet.NONE);
+    }
+
+    @Test
+    void authoritiesMatchTheSetBits() {
+        PermissionSet permissions = PermissionSet.of(Permission.VIEW_OWN_PROFILE.mask() | Permission.MANAGE_DIAGNOSTICS.mask());
+
+        assertThat(permissions.has(Permission.VIEW_OWN_PROFILE)).isTrue();
+        assertThat(permissions.has(Permission.MANAGE_DIAGNOSTICS)).isTrue();
+        assertThat(permissions.has(Permission.TRANSACT)).isFalse();
+        assertThat(permissions.grantedAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("PERM_VIEW_OWN_PROFILE", "PERM_MANAGE_DIAGNOSTICS");
+        assertThat(PermissionSet.NONE.grantedAuthorities()).isEmpty();
+    }
+
+    @Test
+    void bitPositionsStayFixed() {
+        // Tokens already issued carry these positions
+        assertThat(Permission.values()).extracting(Permission::getBit)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(Permission.MANAGE_TRANSACTIONS.getBit()).isEqualTo(6);
+        assertThat(Permission.MANAGE_DIAGNOSTICS.getAuthority()).isEqualTo("PERM_MANAGE_DIAGNOSTICS");
+    }
+
+    private static int allBits() {
+        int bits = 0;
+        for (Permission permission : Permission.values()) {
+            bits |= permission.mask();
+        }
+        return bits;
+    }
+}
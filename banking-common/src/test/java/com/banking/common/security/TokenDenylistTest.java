@@ -0,0 +1,140 @@
+package com.banking.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-01T10:00:00Z").toEpochMilli());
+
+    @Test
+    void revokedTokenOrFamilyIsDenied() {
+        TokenDenylist denylist = new TokenDenylist(1 << 16, clock);
+        UUID tokenId = UUID.randomUUID();
+        UUID familyId = UUID.randomUUID();
+
+        denylist.revoke(familyId, clock.millis() + MINUTE);
+
+        assertThat(denylist.isRevoked(tokenId, familyId)).isTrue();
+        assertThat(denylist.isRevoked(familyId, null)).isTrue();
+        assertThat(denylist.isRevoked(tokenId, UUID.randomUUID())).isFalse();
+        assertThat(denylist.isRevoked(null, null)).isFalse();
+    }
+
+    @Test
+    void saturatedBloomFilterFallsBackToTheExactSet() {
+        // 64 bits and four hashes per ID: after a few hundred IDs every bit is set
+        TokenDenylist denylist = new TokenDenylist(64, clock);
+        List<UUID> revoked = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID id = UUID.randomUUID();
+            revoked.add(id);
+            denylist.revoke(id, clock.millis() + MINUTE);
+        }
+
+        for (UUID id : revoked) {
+            assertThat(denylist.isRevoked(id, null)).isTrue();
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(denylist.isRevoked(UUID.randomUUID(), UUID.randomUUID())).isFalse();
+        }
+    }
+
+    @Test
+    void alreadyExpiredRevocationsAreIgnored() {
+        TokenDenylist denylist = new TokenDenylist(1 << 16, clock);
+        UUID id = UUID.randomUUID();
+
+        denylist.revoke(id, clock.millis());
+
+        assertThat(denylist.isRevoked(id, null)).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    void bucketIsEvictedOnceItsMinuteHasPassed() {
+        TokenDenylist denylist = new TokenDenylist(1 << 16, clock);
+        UUID early = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        denylist.revoke(early, clock.millis() + 10_000);
+        denylist.revoke(late, clock.millis() + 3 * MINUTE);
+
+        // Expired, but its bucket runs to the end of the minute
+        clock.advance(20_000);
+        denylist.evictExpired();
+        assertThat(denylist.size()).isEqualTo(2);
+
+        clock.advance(MINUTE);
+        denylist.evictExpired();
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked(early, null)).isFalse();
+        assertThat(denylist.isRevoked(late, null)).isTrue();
+
+        clock.advance(3 * MINUTE);
+        denylist.evictExpired();
+        assertThat(denylist.size()).isZero();
+        assertThat(denylist.isRevoked(late, null)).isFalse();
+    }
+
+    @Test
+    void extendedRevocationSurvivesItsEarlierBucket() {
+        TokenDenylist denylist = new TokenDenylist(1 << 16, clock);
+        UUID id = UUID.randomUUID();
+        denylist.revoke(id, clock.millis() + 10_000);
+        denylist.revoke(id, clock.millis() + 5 * MINUTE);
+
+        clock.advance(2 * MINUTE);
+        denylist.evictExpired();
+
+        assertThat(denylist.isRevoked(id, null)).isTrue();
+
+        clock.advance(5 * MINUTE);
+        denylist.evictExpired();
+
+        assertThat(denylist.isRevoked(id, null)).isFalse();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.common.validation;
+
+import jakarta.validation.ConstraintValidatorContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class BankAccountValidatorTest {
+
+    private final BankDirectoryProvider provider = new BankDirectoryProvider(new DefaultResourceLoader());
+    private final BankAccountValidator validator = new BankAccountValidator(provider);
+    private final ConstraintValidatorContext context = mock(ConstraintValidatorContext.class, RETURNS_DEEP_STUBS);
+
+    @BeforeEach
+    void loadDirectory() {
+        ReflectionTestUtils.setField(provider, "location", "classpath:bank-directory.csv");
+        provider.init();
+    }
+
+    @Test
+    void acceptsAnythingUntilEnforced() {
+        assertThat(validator.isValid("9999", context)).isTrue();
+        assertThat(validator.isValid("not a number", context)).isTrue();
+    }
+
+    @Test
+    void rejectsWithTheFailedCheckOnceEnforced() {
+        ReflectionTestUtils.setField(provider, "enforced", true);
+
+        assertThat(validator.isValid("5100000000", context)).isTrue();
+        assertThat(validator.isValid("5100", context)).isFalse();
+        verify(context).buildConstraintViolationWithTemplate("Account number length is not valid for TymeBank");
+    }
+
+    @Test
+    void leavesNullToNotBlank() {
+        ReflectionTestUtils.setField(provider, "enforced", true);
+
+        assertThat(validator.isValid(null, context)).isTrue();
+        verify(context, never()).buildConstraintViolationWithTemplate(anyString());
+    }
+}
@@ -0,0 +1,110 @@
+package com.banking.common.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BankDirectoryTest {
+
+    private static final String DIRECTORY = """
+            # prefixFrom,prefixTo,bankName,branchCode,minLength,maxLength,checkRule
+            0000,0999,Weighted Bank,051001,9,11,MOD11:10-9-8-7-6-5-4-3-2-1-1
+            1000,1899,Luhn Bank,470010,10,10,LUHN
+            5100,5199,Plain Bank,678910,10,10,NONE
+            6200,6299,Alternating Bank,250655,11,11,MOD10:1-3-1-3-1-3-1-3-1-3-1
+            """;
+
+    private final BankDirectory directory = parse(DIRECTORY);
+
+    @Test
+    void luhnCheckDigit() {
+        assertThat(directory.check("1234567897")).isEqualTo(AccountCheck.VALID);
+        assertThat(directory.check("1234567898")).isEqualTo(AccountCheck.CHECK_DIGIT_FAILED);
+        // Transposed digits
+        assertThat(directory.check("1234576897")).isEqualTo(AccountCheck.CHECK_DIGIT_FAILED);
+    }
+
+    @Test
+    void weightedCheckDigitAlignsWeightsToTheRight() {
+        assertThat(directory.check("05012345673")).isEqualTo(AccountCheck.VALID);
+        assertThat(directory.check("05012345674")).isEqualTo(AccountCheck.CHECK_DIGIT_FAILED);
+        // Shorter numbers use only the rightmost weights
+        assertThat(directory.check("050123457")).isEqualTo(AccountCheck.VALID);
+        assertThat(directory.check("050123458")).isEqualTo(AccountCheck.CHECK_DIGIT_FAILED);
+
+        assertThat(directory.check("62123456782")).isEqualTo(AccountCheck.VALID);
+        assertThat(directory.check("62123456783")).isEqualTo(AccountCheck.CHECK_DIGIT_FAILED);
+    }
+
+    @Test
+    void noCheckDigitOnlyChecksRangeAndLength() {
+        assertThat(directory.check("5100000000")).isEqualTo(AccountCheck.VALID);
+        assertThat(directory.check("5199999999")).isEqualTo(AccountCheck.VALID);
+    }
+
+    @Test
+    void rangeBoundsAreInclusive() {
+        assertThat(directory.bankNameOf("1000000000")).isEqualTo("Luhn Bank");
+        assertThat(directory.bankNameOf("1899000000")).isEqualTo("Luhn Bank");
+        assertThat(directory.bankNameOf("0999000000")).isEqualTo("Weighted Bank");
+        assertThat(directory.bankNameOf("1900000000")).isNull();
+        assertThat(directory.bankNameOf("5099999999")).isNull();
+        assertThat(directory.branchCodeOf("6299000000")).isEqualTo("250655");
+        assertThat(directory.branchCodeOf("6300000000")).isNull();
+    }
+
+    @Test
+    void reportsTheFirstFailedCheck() {
+        assertThat(directory.check("123")).isEqualTo(AccountCheck.MALFORMED);
+        assertThat(directory.check("51000-0000")).isEqualTo(AccountCheck.MALFORMED);
+        assertThat(directory.check("1900000000")).isEqualTo(AccountCheck.UNKNOWN_BANK);
+        assertThat(directory.check("51000000000")).isEqualTo(AccountCheck.WRONG_LENGTH);
+        assertThat(directory.check("05012345")).isEqualTo(AccountCheck.WRONG_LENGTH);
+    }
+
+    @Test
+    void rejectsOverlappingRanges() {
+        assertThatThrownBy(() -> BankDirectory.parse(new StringReader("""
+                1000,1899,First,470010,10,10,LUHN
+                1800,1999,Second,198765,10,10,NONE
+                """)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("overlap");
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        assertThatThrownBy(() -> BankDirectory.parse(new StringReader("1000,1899,First,470010,10,10\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+        assertThatThrownBy(() -> BankDirectory.parse(new StringReader("1899,1000,First,470010,10,10,LUHN\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BankDirectory.parse(new StringReader("1000,1899,First,470010,10,10,MOD1:1\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BankDirectory.parse(new StringReader("1000,1899,First,470010,10,10,CRC\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bundledDirectoryParses() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                BankDirectoryTest.class.getResourceAsStream("/bank-directory.csv"), StandardCharsets.UTF_8)) {
+            assertThat(BankDirectory.parse(reader).size()).isPositive();
+        }
+    }
+
+    private static BankDirectory parse(String directory) {
+        try {
+            return BankDirectory.parse(new StringReader(directory));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
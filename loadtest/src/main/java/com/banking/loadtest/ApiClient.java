@@ -0,0 +1,128 @@
+package com.banking.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin JSON-over-HTTP client that records every call it makes under an endpoint name.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final LatencyReport report;
+
+    ApiClient(HttpClient http, ObjectMapper objectMapper, LatencyReport report) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.report = report;
+    }
+
+    /**
+     * POST a JSON body
+     * @param endpoint Name the latency is recorded under, or null to not record it
+     * @param url Full URL
+     * @param body Request body, serialized as JSON
+     * @param token Bearer token, or null
+     * @param startNanos Planned or actual start, in System.nanoTime() terms
+     * @return Parsed response body
+     */
+    JsonNode post(String endpoint, String url, Object body, String token, long startNanos) {
+        HttpRequest.Builder request = request(url, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)));
+        return send(endpoint, request.build(), startNanos);
+    }
+
+    JsonNode get(String endpoint, String url, String token, long startNanos) {
+        return send(endpoint, request(url, token).GET().build(), startNanos);
+    }
+
+    /**
+     * GET from an /internal endpoint, unrecorded
+     * @return Parsed response body, or null on 404
+     */
+    JsonNode getInternal(String url, String apiKey) {
+        HttpRequest request = request(url, null).header("X-Internal-Api-Key", apiKey).GET().build();
+        try {
+            return send(null, request, System.nanoTime());
+        } catch (ApiException e) {
+            if (e.status() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private HttpRequest.Builder request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request, long startNanos) {
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            record(endpoint, startNanos, true);
+            throw new ApiException(endpoint, -1, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(endpoint, -1, "interrupted");
+        }
+
+        boolean failed = response.statusCode() >= 400;
+        record(endpoint, startNanos, failed);
+        if (failed) {
+            throw new ApiException(endpoint, response.statusCode(), response.body());
+        }
+        try {
+            return response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new ApiException(endpoint, response.statusCode(), "Unreadable response: " + e.getOriginalMessage());
+        }
+    }
+
+    private void record(String endpoint, long startNanos, boolean failed) {
+        if (endpoint != null) {
+            report.record(endpoint, System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    static final class ApiException extends RuntimeException {
+
+        private final int status;
+
+        ApiException(String endpoint, int status, String body) {
+            super((endpoint == null ? "internal call" : endpoint) + " failed with " + status + ": " + body);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+}
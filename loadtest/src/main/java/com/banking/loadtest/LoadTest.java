@@ -0,0 +1,242 @@
+package com.banking.loadtest;
+
+import com.banking.loadtest.ApiClient.ApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load generator for the user and payment services.
+ * <p>
+ * The admin is bootstrapped first. Customers are then onboarded at the onboarding rate:
+ * register, admin approval, OTP login, first password change, password login, one
+ * beneficiary. Finally a mix of POST /transactions and history reads runs against them at
+ * the transaction rate. Each phase prints its own per-endpoint latency table and writes
+ * .hgrm distributions under the output directory.
+ * <p>
+ * Start both services with the loadtest profile first, then run the generator, e.g.
+ * <pre>
+ * mvn -Ploadtest spring-boot:run -Dspring-boot.run.profiles=loadtest   (in each service)
+ * mvn exec:java -Dusers=200 -Donboarding.rate=10 -Dtransactions.rate=100 -Dduration=120
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final Pattern OTP = Pattern.compile("class=\"otp\">\\s*(\\d{6})\\s*<");
+    private static final String CUSTOMER_PASSWORD = "Cust0mer!Pass";
+
+    private static final String REGISTER = "POST /users/register";
+    private static final String APPROVE = "POST /admin/approvals/process";
+    private static final String OTP_LOGIN = "POST /auth/login/otp";
+    private static final String FIRST_CHANGE = "POST /auth/password/first-change";
+    private static final String LOGIN = "POST /auth/login";
+    private static final String ADD_BENEFICIARY = "POST /beneficiaries/my-beneficiaries";
+    private static final String CREATE_TRANSACTION = "POST /transactions";
+    private static final String HISTORY = "GET /transactions/my-transactions";
+
+    private final LoadTestSettings settings;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Keeps emails and ID numbers unique across runs against the same running services
+    private final long runId = System.currentTimeMillis() / 1000 % 1_000_000;
+
+    private LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws IOException {
+        new LoadTest(LoadTestSettings.fromSystemProperties()).run();
+    }
+
+    private void run() throws IOException {
+        LatencyReport onboardingReport = new LatencyReport();
+        ApiClient onboardingApi = new ApiClient(http, objectMapper, onboardingReport);
+        String adminToken = adminToken(onboardingApi);
+
+        List<VirtualUser> users = new CopyOnWriteArrayList<>();
+        AtomicInteger failedOnboardings = new AtomicInteger();
+        OpenLoopDriver onboarding = new OpenLoopDriver(settings.onboardingRate(), settings.poissonArrivals());
+        long onboardingStart = System.nanoTime();
+        onboarding.run(settings.users(), Duration.ofHours(1), (sequence, planned) -> {
+            try {
+                users.add(onboard(onboardingApi, adminToken, sequence, planned));
+            } catch (ApiException e) {
+                failedOnboardings.incrementAndGet();
+                System.err.println("Onboarding " + sequence + " failed: " + e.getMessage());
+            }
+        });
+        report("Onboarding", onboardingReport, onboardingStart, onboarding, "onboarding");
+        System.out.printf("Onboarded %d customers, %d failed%n%n", users.size(), failedOnboardings.get());
+
+        if (users.isEmpty()) {
+            System.err.println("No customers onboarded; skipping the transaction phase");
+            return;
+        }
+
+        LatencyReport trafficReport = new LatencyReport();
+        ApiClient trafficApi = new ApiClient(http, objectMapper, trafficReport);
+        List<VirtualUser> customers = List.copyOf(users);
+        OpenLoopDriver traffic = new OpenLoopDriver(settings.transactionRate(), settings.poissonArrivals());
+        long trafficStart = System.nanoTime();
+        traffic.run(Integer.MAX_VALUE, Duration.ofSeconds(settings.durationSeconds()), (sequence, planned) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            VirtualUser customer = customers.get(random.nextInt(customers.size()));
+            try {
+                if (random.nextDouble() < settings.readRatio()) {
+                    trafficApi.get(HISTORY, settings.paymentServiceUrl() + "/transactions/my-transactions?page=0&size=20",
+                            customer.accessToken(), planned);
+                } else {
+                    trafficApi.post(CREATE_TRANSACTION, settings.paymentServiceUrl() + "/transactions",
+                            transaction(customer, random), customer.accessToken(), planned);
+                }
+            } catch (ApiException e) {
+                // Already counted in the report
+            }
+        });
+        report("Transactions", trafficReport, trafficStart, traffic, "transactions");
+    }
+
+    private String adminToken(ApiClient api) {
+        try {
+            return login(api, null, settings.adminEmail(), settings.adminPassword(), System.nanoTime());
+        } catch (ApiException e) {
+            // First run against these services: the admin still has to use the startup OTP
+            String otpToken = otpLogin(api, null, settings.adminEmail(), awaitOtp(api, settings.adminEmail()));
+            firstChange(api, null, otpToken, settings.adminPassword());
+            return login(api, null, settings.adminEmail(), settings.adminPassword(), System.nanoTime());
+        }
+    }
+
+    private VirtualUser onboard(ApiClient api, String adminToken, int sequence, long planned) {
+        String email = "lt-" + runId + "-" + sequence + "@loadtest.local";
+
+        JsonNode registered = api.post(REGISTER, settings.userServiceUrl() + "/users/register",
+                registration(email, sequence), null, planned);
+        String userId = registered.path("data").path("id").asText();
+
+        api.post(APPROVE, settings.userServiceUrl() + "/admin/approvals/process",
+                Map.of("userId", userId, "approved", true, "reason", "Load test"), adminToken, System.nanoTime());
+
+        String otpToken = otpLogin(api, OTP_LOGIN, email, awaitOtp(api, email));
+        firstChange(api, FIRST_CHANGE, otpToken, CUSTOMER_PASSWORD);
+        String accessToken = login(api, LOGIN, email, CUSTOMER_PASSWORD, System.nanoTime());
+
+        String beneficiaryAccount = accountNumber(1_000_000L + sequence);
+        JsonNode beneficiary = api.post(ADD_BENEFICIARY, settings.userServiceUrl() + "/beneficiaries/my-beneficiaries",
+                Map.of("accountId", beneficiaryAccount, "nickname", "Load test payee"), accessToken, System.nanoTime());
+
+        return new VirtualUser(email, accessToken, accountNumber(sequence), beneficiary.path("id").asText(),
+                beneficiaryAccount);
+    }
+
+    private String otpLogin(ApiClient api, String endpoint, String email, String otp) {
+        JsonNode response = api.post(endpoint, settings.userServiceUrl() + "/auth/login/otp",
+                Map.of("email", email, "otp", otp), null, System.nanoTime());
+        return response.path("data").path("accessToken").asText();
+    }
+
+    private void firstChange(ApiClient api, String endpoint, String token, String password) {
+        api.post(endpoint, settings.userServiceUrl() + "/auth/password/first-change",
+                Map.of("newPassword", password, "confirmPassword", password), token, System.nanoTime());
+    }
+
+    private String login(ApiClient api, String endpoint, String email, String password, long start) {
+        JsonNode response = api.post(endpoint, settings.userServiceUrl() + "/auth/login",
+                Map.of("email", email, "password", password), null, start);
+        return response.path("data").path("accessToken").asText();
+    }
+
+    // Approval mail is sent inside the approval request, but poll briefly in case delivery lags
+    private String awaitOtp(ApiClient api, String email) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            JsonNode mail = api.getInternal(settings.userServiceUrl() + "/internal/loadtest/mailbox/" + email,
+                    settings.internalApiKey());
+            if (mail != null) {
+                Matcher matcher = OTP.matcher(mail.path("body").asText());
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new ApiException(null, -1, "No OTP mail arrived for " + email);
+    }
+
+    private Map<String, Object> registration(String email, int sequence) {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("streetAddress", "1 Load Test Street");
+        address.put("suburb", "Rosebank");
+        address.put("city", "Johannesburg");
+        address.put("province", "Gauteng");
+        address.put("postalCode", "2196");
+        address.put("country", "South Africa");
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("firstName", "Virtual");
+        request.put("lastName", "Customer");
+        request.put("email", email);
+        request.put("idNumber", String.format("%06d%07d", runId, sequence));
+        request.put("gender", "PREFER_NO_TO_SAY");
+        request.put("country", "South Africa");
+        request.put("address", address);
+        return request;
+    }
+
+    private static Map<String, Object> transaction(VirtualUser customer, ThreadLocalRandom random) {
+        BigDecimal amount = BigDecimal.valueOf(random.nextDouble(10, 1_000)).setScale(2, RoundingMode.HALF_UP);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("accountId", customer.accountId());
+        request.put("amount", amount);
+
+        double pick = random.nextDouble();
+        if (pick < 0.3) {
+            request.put("type", "DEPOSIT");
+        } else if (pick < 0.5) {
+            request.put("type", "WITHDRAWAL");
+        } else if (pick < 0.7) {
+            request.put("type", "BILL_PAYMENT");
+            request.put("description", "Load test bill");
+        } else {
+            request.put("type", "TRANSFER");
+            request.put("beneficiaryId", customer.beneficiaryId());
+            request.put("destinationAccountId", customer.beneficiaryAccountId());
+        }
+        return request;
+    }
+
+    // TymeBank range in the bank directory: 10 digits, no check digit
+    private static String accountNumber(long sequence) {
+        return String.format("51%08d", sequence % 100_000_000L);
+    }
+
+    private void report(String phase, LatencyReport report, long startNanos, OpenLoopDriver driver, String directory)
+            throws IOException {
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%n== %s (%.1f s, %d late starts) ==%n", phase, elapsedSeconds, driver.lateStarts());
+        report.print(System.out, elapsedSeconds);
+        report.write(settings.outputDir().resolve(directory));
+    }
+}
@@ -0,0 +1,39 @@
+package com.banking.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Run settings, read from system properties so they can be passed as -D flags to Maven.
+ */
+record LoadTestSettings(
+        String userServiceUrl,
+        String paymentServiceUrl,
+        String internalApiKey,
+        String adminEmail,
+        String adminPassword,
+        int users,
+        double onboardingRate,
+        double transactionRate,
+        int durationSeconds,
+        double readRatio,
+        boolean poissonArrivals,
+        Path outputDir
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("user-service.url", "http://localhost:8081"),
+                System.getProperty("payment-service.url", "http://localhost:8082"),
+                System.getProperty("internal.api-key", "loadtest-internal-key"),
+                System.getProperty("admin.email", "admin@loadtest.local"),
+                System.getProperty("admin.password", "Adm1n!Loadtest2"),
+                Integer.getInteger("users", 50),
+                Double.parseDouble(System.getProperty("onboarding.rate", "5")),
+                Double.parseDouble(System.getProperty("transactions.rate", "50")),
+                Integer.getInteger("duration", 60),
+                Double.parseDouble(System.getProperty("read.ratio", "0.5")),
+                !"uniform".equals(System.getProperty("arrivals", "poisson")),
+                Path.of(System.getProperty("output.dir", "target/loadtest"))
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model scheduler: work starts at planned times whatever the system under test is doing.
+ * <p>
+ * Start times are laid out up front from the arrival rate, evenly or as a Poisson process, and
+ * each unit of work runs on its own virtual thread, so a slow response never delays the next
+ * start. Work is handed the planned start time and measures latency from it, so when the
+ * generator itself falls behind the delay is charged to the responses instead of hidden
+ * (no coordinated omission).
+ */
+final class OpenLoopDriver {
+
+    interface Work {
+        void run(int sequence, long plannedStartNanos);
+    }
+
+    private final double ratePerSecond;
+    private final boolean poisson;
+    private final AtomicLong lateStarts = new AtomicLong();
+
+    OpenLoopDriver(double ratePerSecond, boolean poisson) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.poisson = poisson;
+    }
+
+    /**
+     * Start work until either limit is reached, then wait for everything started to finish
+     * @param maxStarts Maximum number of starts
+     * @param duration Maximum time to keep starting work
+     * @param work Work to start
+     * @return Number of starts
+     */
+    int run(int maxStarts, Duration duration, Work work) {
+        double meanGapNanos = 1_000_000_000.0 / ratePerSecond;
+        long begin = System.nanoTime();
+        long deadline = begin + duration.toNanos();
+        double offset = 0;
+        int started = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (started < maxStarts) {
+                long planned = begin + (long) offset;
+                if (planned - deadline >= 0) {
+                    break;
+                }
+                long wait = planned - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (wait < -1_000_000) {
+                    lateStarts.incrementAndGet();
+                }
+
+                int sequence = started++;
+                executor.execute(() -> work.run(sequence, planned));
+
+                offset += poisson
+                        ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos
+                        : meanGapNanos;
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Starts that were more than a millisecond behind plan; a large share means the generator
+     * machine, not the services, is the bottleneck
+     */
+    long lateStarts() {
+        return lateStarts.get();
+    }
+}
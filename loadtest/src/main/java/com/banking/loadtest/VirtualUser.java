@@ -0,0 +1,8 @@
+package com.banking.loadtest;
+
+/**
+ * A customer created during onboarding, with what the traffic phase needs to act as them.
+ */
+record VirtualUser(String email, String accessToken, String accountId, String beneficiaryId,
+                   String beneficiaryAccountId) {
+}
@@ -0,0 +1,188 @@
+package com.banking.loadtest.dataset;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Synthetic dataset for query performance work: users, addresses, credentials and
+ * beneficiaries for the user service schema, and transactions for the payment service
+ * schema, written as LOAD DATA files with one load script per schema.
+ * <p>
+ * Per-user activity follows a Pareto distribution, so a few users own a large share of
+ * the transactions, as in production. Transactions run over the configured number of
+ * years with a running balance, insufficient-funds failures, a realistic status mix, and
+ * descriptions drawn from a small, skewed merchant list. Generated customers can log in
+ * with the load generator's customer password.
+ * <p>
+ * Start each service once against an empty schema so Hibernate creates the tables and
+ * roles, then load with e.g.
+ * <pre>
+ * mvn exec:java@dataset -Ddataset.users=1000000 -Ddataset.transactions=200000000
+ * mysql --local-infile=1 fnb_intelligent_bank_usermanagement &lt; target/dataset/load-usermanagement.sql
+ * mysql --local-infile=1 &lt;payments schema&gt; &lt; target/dataset/load-payments.sql
+ * </pre>
+ */
+public final class DatasetGenerator {
+
+    private static final long SECONDS_PER_YEAR = 365L * 86_400;
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        DatasetSettings settings = DatasetSettings.fromSystemProperties();
+        Files.createDirectories(settings.outputDir().resolve("usermanagement"));
+        Files.createDirectories(settings.outputDir().resolve("payments"));
+
+        long nowEpoch = System.currentTimeMillis() / 1000;
+        long startEpoch = nowEpoch - settings.years() * SECONDS_PER_YEAR;
+        long[] counts = transactionCounts(settings);
+        int[] boundaries = partBoundaries(counts, settings.parts());
+
+        long start = System.nanoTime();
+        long users = 0;
+        long beneficiaries = 0;
+        long transactions = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads());
+        try {
+            List<Future<DatasetPart.Counts>> results = new ArrayList<>();
+            for (int part = 0; part < boundaries.length - 1; part++) {
+                results.add(executor.submit(new DatasetPart(settings, part, boundaries[part], boundaries[part + 1],
+                        counts, startEpoch, nowEpoch)));
+            }
+            for (Future<DatasetPart.Counts> result : results) {
+                DatasetPart.Counts partCounts = result.get();
+                users += partCounts.users();
+                beneficiaries += partCounts.beneficiaries();
+                transactions += partCounts.transactions();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int parts = boundaries.length - 1;
+        writeUserScript(settings.outputDir(), parts);
+        writePaymentScript(settings.outputDir(), parts);
+
+        System.out.printf("Wrote %,d users, %,d beneficiaries and %,d transactions in %.1f s (%,.0f rows/min) to %s%n",
+                users, beneficiaries, transactions, seconds,
+                (users * 5 + beneficiaries * 2 + transactions) / seconds * 60, settings.outputDir());
+    }
+
+    /**
+     * Split the requested transaction total over users in proportion to Pareto weights. The
+     * fractional part of each share is rounded randomly so the total comes out close to the
+     * target without a second pass.
+     */
+    private static long[] transactionCounts(DatasetSettings settings) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        double[] weights = new double[settings.users()];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.pow(1 - random.nextDouble(), -1 / settings.activityShape());
+            total += weights[i];
+        }
+
+        long[] counts = new long[weights.length];
+        for (int i = 0; i < counts.length; i++) {
+            double share = settings.transactions() * weights[i] / total;
+            counts[i] = (long) share + (random.nextDouble() < share - Math.floor(share) ? 1 : 0);
+        }
+        return counts;
+    }
+
+    // Parts cover equal shares of the rows rather than of the users, so one heavy range doesn't finish last
+    private static int[] partBoundaries(long[] counts, int parts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count + 1;
+        }
+
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i] + 1;
+            if (cumulative * parts >= total * boundaries.size() && i + 1 < counts.length) {
+                boundaries.add(i + 1);
+            }
+        }
+        boundaries.add(counts.length);
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void writeUserScript(Path outputDir, int parts) throws IOException {
+        try (PrintWriter script = script(outputDir.resolve("load-usermanagement.sql"))) {
+            script.println("-- Needs an existing schema with the CUSTOMER role; start the user service once first");
+            script.println("SET SESSION unique_checks = 0;");
+            script.println("SET SESSION foreign_key_checks = 0;");
+            script.println("SELECT id INTO @customer_role FROM roles WHERE name = 'CUSTOMER';");
+            for (int part = 0; part < parts; part++) {
+                load(script, outputDir, "usermanagement", "addresses", part,
+                        "(@id, street_address, suburb, city, province, postal_code, country, created_at, updated_at)",
+                        "id = UNHEX(@id)");
+                load(script, outputDir, "usermanagement", "users", part,
+                        "(@id, first_name, last_name, email, id_number, id_number_index, gender, country, @address_id, "
+                                + "approval_status, approved_at, @is_active, @is_email_verified, @is_deleted, "
+                                + "@is_suspended, created_at, updated_at)",
+                        "id = UNHEX(@id), address_id = UNHEX(@address_id), is_active = CAST(@is_active AS UNSIGNED), "
+                                + "is_email_verified = CAST(@is_email_verified AS UNSIGNED), "
+                                + "is_deleted = CAST(@is_deleted AS UNSIGNED), is_suspended = CAST(@is_suspended AS UNSIGNED)");
+                load(script, outputDir, "usermanagement", "user_roles", part,
+                        "(@user_id)",
+                        "user_id = UNHEX(@user_id), role_id = @customer_role");
+                load(script, outputDir, "usermanagement", "user_credentials", part,
+                        "(@id, @user_id, password_hash, password_created_at, password_expires_at, @is_first_login, "
+                                + "@is_locked, failed_login_attempts, last_login_at, created_at, updated_at)",
+                        "id = UNHEX(@id), user_id = UNHEX(@user_id), is_first_login = CAST(@is_first_login AS UNSIGNED), "
+                                + "is_locked = CAST(@is_locked AS UNSIGNED)");
+                load(script, outputDir, "usermanagement", "beneficiaries", part,
+                        "(@id, account_id, nickname, @is_active, created_at, updated_at)",
+                        "id = UNHEX(@id), is_active = CAST(@is_active AS UNSIGNED)");
+                load(script, outputDir, "usermanagement", "user_beneficiaries", part,
+                        "(@user_id, @beneficiary_id)",
+                        "user_id = UNHEX(@user_id), beneficiary_id = UNHEX(@beneficiary_id)");
+            }
+            script.println("SET SESSION foreign_key_checks = 1;");
+            script.println("SET SESSION unique_checks = 1;");
+        }
+    }
+
+    private static void writePaymentScript(Path outputDir, int parts) throws IOException {
+        try (PrintWriter script = script(outputDir.resolve("load-payments.sql"))) {
+            script.println("-- Needs an existing transactions table; start the payment service once first");
+            script.println("SET SESSION unique_checks = 0;");
+            for (int part = 0; part < parts; part++) {
+                load(script, outputDir, "payments", DatasetPart.TRANSACTIONS_TABLE, part,
+                        "(@id, @user_id, account_id, @beneficiary_id, type, status, amount, fee, total_amount, currency, "
+                                + "transaction_date, description, reference, device_type, ip_address, user_agent, "
+                                + "location, balance_before, balance_after, destination_account_id, failure_reason, "
+                                + "completed_at, failed_at, created_at, updated_at)",
+                        "id = UNHEX(@id), user_id = UNHEX(@user_id), beneficiary_id = UNHEX(@beneficiary_id)");
+            }
+            script.println("SET SESSION unique_checks = 1;");
+        }
+    }
+
+    private static void load(PrintWriter script, Path outputDir, String schema, String table, int part,
+                             String columns, String assignments) {
+        Path file = DatasetPart.file(outputDir, schema, table, part);
+        script.println("LOAD DATA LOCAL INFILE '" + file.toString().replace("\\", "/") + "' INTO TABLE " + table
+                + " CHARACTER SET utf8mb4 " + columns + " SET " + assignments + ";");
+    }
+
+    private static PrintWriter script(Path file) throws IOException {
+        return new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+}
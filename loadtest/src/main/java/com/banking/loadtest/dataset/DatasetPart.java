@@ -0,0 +1,327 @@
+package com.banking.loadtest.dataset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Generates one contiguous range of users with their beneficiaries and transactions into
+ * its own set of part files. Every user draws from a random seeded by the dataset seed and
+ * the user's index, so the output does not depend on how users are split into parts. Only
+ * the encryption IVs differ between runs.
+ */
+final class DatasetPart implements Callable<DatasetPart.Counts> {
+
+    static final String TRANSACTIONS_TABLE = "transactions";
+
+    // BCrypt(12) of Cust0mer!Pass, the load generator's customer password; hashing per row would dominate
+    private static final String PASSWORD_HASH = "$2a$12$pxcjLQCgHNqHCYqJuLC/PekAgQ9wxeyWNDVPTRlZ7A0SpOcPNRGza";
+
+    private static final String[] FIRST_NAMES = {
+            "Thabo", "Lerato", "Sipho", "Naledi", "Johan", "Anele", "Pieter", "Zanele", "Michael", "Ayanda",
+            "Kagiso", "Nomvula", "David", "Palesa", "Ruan", "Lindiwe", "Tshepo", "Busisiwe", "Sarah", "Mpho"};
+    private static final String[] LAST_NAMES = {
+            "Nkosi", "Dlamini", "Botha", "Khumalo", "Naidoo", "van der Merwe", "Mokoena", "Pillay", "Smith",
+            "Ndlovu", "Mahlangu", "Pretorius", "Zulu", "Jacobs", "Mthembu", "Govender", "Sithole", "Venter"};
+    // city, province, suburb, postal code; weighted towards the first entries by the pick below
+    private static final String[][] PLACES = {
+            {"Johannesburg", "Gauteng", "Sandton", "2196"},
+            {"Cape Town", "Western Cape", "Sea Point", "8005"},
+            {"Durban", "KwaZulu-Natal", "Umhlanga", "4319"},
+            {"Pretoria", "Gauteng", "Hatfield", "0083"},
+            {"Soweto", "Gauteng", "Orlando East", "1804"},
+            {"Gqeberha", "Eastern Cape", "Summerstrand", "6001"},
+            {"Bloemfontein", "Free State", "Westdene", "9301"},
+            {"Polokwane", "Limpopo", "Bendor", "0699"},
+            {"Mbombela", "Mpumalanga", "Sonheuwel", "1201"},
+            {"Kimberley", "Northern Cape", "Belgravia", "8301"}};
+    private static final String[] STREETS = {
+            "Main Road", "Church Street", "Jan Smuts Avenue", "Long Street", "Voortrekker Road", "Oxford Road",
+            "Nelson Mandela Drive", "Beach Road", "Rivonia Road", "Victoria Street"};
+    private static final String[] CARD_MERCHANTS = {
+            "CHECKERS", "PICK N PAY", "WOOLWORTHS", "SHOPRITE", "SPAR", "UBER", "TAKEALOT", "ENGEN", "SHELL",
+            "CLICKS", "DIS-CHEM", "MR DELIVERY", "NANDOS", "KFC", "STEERS", "MCDONALDS", "MR PRICE", "PEP",
+            "BOOKING.COM", "NETFLIX", "SPOTIFY", "APPLE.COM", "BOLT", "CAPE UNION MART", "GAME", "MAKRO"};
+    private static final String[] BILLERS = {
+            "CITY OF JOHANNESBURG", "CITY OF CAPE TOWN", "ESKOM", "VODACOM", "MTN", "TELKOM", "DSTV", "DISCOVERY",
+            "OLD MUTUAL", "SANLAM", "VIRGIN ACTIVE", "SARS", "ETHEKWINI MUNICIPALITY", "RAIN", "CELL C"};
+    private static final String[] NICKNAMES = {
+            "Mom", "Dad", "Landlord", "Gogo", "Brother", "Sister", "Rent", "Savings", "Domestic worker", "Gardener",
+            "School fees", "Stokvel", "Car payment", "Partner", "Friend"};
+    private static final String[] USER_AGENTS = {
+            "BankingApp/3.4 (Android 14)", "BankingApp/3.4 (iOS 17.5)",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) Chrome/126.0", "Mozilla/5.0 (Macintosh) Safari/17.5"};
+
+    private final DatasetSettings settings;
+    private final int part;
+    private final int firstUser;
+    private final int endUser;
+    private final long[] transactionCounts;
+    private final long startEpoch;
+    private final long nowEpoch;
+    private final FieldEncryption encryption;
+
+    DatasetPart(DatasetSettings settings, int part, int firstUser, int endUser, long[] transactionCounts,
+                long startEpoch, long nowEpoch) {
+        this.settings = settings;
+        this.part = part;
+        this.firstUser = firstUser;
+        this.endUser = endUser;
+        this.transactionCounts = transactionCounts;
+        this.startEpoch = startEpoch;
+        this.nowEpoch = nowEpoch;
+        this.encryption = new FieldEncryption(settings.encryptionSecret(), settings.indexSecret(), settings.keyVersion());
+    }
+
+    static Path file(Path outputDir, String schema, String table, int part) {
+        return outputDir.resolve(schema).resolve(String.format("%s-%03d.tsv", table, part));
+    }
+
+    @Override
+    public Counts call() throws IOException {
+        Path dir = settings.outputDir();
+        try (TsvWriter addresses = new TsvWriter(file(dir, "usermanagement", "addresses", part));
+             TsvWriter users = new TsvWriter(file(dir, "usermanagement", "users", part));
+             TsvWriter userRoles = new TsvWriter(file(dir, "usermanagement", "user_roles", part));
+             TsvWriter credentials = new TsvWriter(file(dir, "usermanagement", "user_credentials", part));
+             TsvWriter beneficiaries = new TsvWriter(file(dir, "usermanagement", "beneficiaries", part));
+             TsvWriter links = new TsvWriter(file(dir, "usermanagement", "user_beneficiaries", part));
+             TsvWriter transactions = new TsvWriter(file(dir, "payments", TRANSACTIONS_TABLE, part))) {
+
+            for (int user = firstUser; user < endUser; user++) {
+                SplittableRandom random = new SplittableRandom(settings.seed() * 0x9E3779B97F4A7C15L + user);
+                long userMsb = random.nextLong();
+                long userLsb = random.nextLong();
+                long createdAt = startEpoch + random.nextLong(nowEpoch - startEpoch - 86_400);
+
+                writeUser(random, user, userMsb, userLsb, createdAt, addresses, users, userRoles, credentials);
+
+                int beneficiaryCount = Math.min(25, 1 + (int) (random.nextExponential() * 3));
+                long[] beneficiaryIds = new long[beneficiaryCount * 2];
+                String[] beneficiaryAccounts = new String[beneficiaryCount];
+                String[] beneficiaryNames = new String[beneficiaryCount];
+                for (int i = 0; i < beneficiaryCount; i++) {
+                    beneficiaryIds[2 * i] = random.nextLong();
+                    beneficiaryIds[2 * i + 1] = random.nextLong();
+                    beneficiaryAccounts[i] = accountNumber(random.nextInt(100_000_000));
+                    beneficiaryNames[i] = NICKNAMES[random.nextInt(NICKNAMES.length)];
+                    long addedAt = createdAt + random.nextLong(nowEpoch - createdAt);
+
+                    beneficiaries.uuid(beneficiaryIds[2 * i], beneficiaryIds[2 * i + 1]).text(beneficiaryAccounts[i])
+                            .text(beneficiaryNames[i]).bool(true).timestamp(addedAt).timestamp(addedAt).endRow();
+                    links.uuid(userMsb, userLsb).uuid(beneficiaryIds[2 * i], beneficiaryIds[2 * i + 1]).endRow();
+                }
+
+                writeTransactions(random, user, userMsb, userLsb, createdAt, transactionCounts[user],
+                        beneficiaryIds, beneficiaryAccounts, beneficiaryNames, transactions);
+            }
+
+            return new Counts(users.rows(), beneficiaries.rows(), transactions.rows());
+        }
+    }
+
+    private void writeUser(SplittableRandom random, int user, long userMsb, long userLsb, long createdAt,
+                           TsvWriter addresses, TsvWriter users, TsvWriter userRoles, TsvWriter credentials)
+            throws IOException {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        boolean female = random.nextBoolean();
+        double genderPick = random.nextDouble();
+        String gender = genderPick < 0.01 ? "NON_BINARY" : genderPick < 0.03 ? "PREFER_NO_TO_SAY" : female ? "FEMALE" : "MALE";
+        String email = (firstName + "." + lastName.replace(" ", "") + "." + user + "@dataset.local").toLowerCase(Locale.ROOT);
+        String idNumber = idNumber(user, female);
+        String[] place = PLACES[skewedIndex(random, PLACES.length)];
+
+        long addressMsb = random.nextLong();
+        long addressLsb = random.nextLong();
+        addresses.uuid(addressMsb, addressLsb)
+                .text((1 + random.nextInt(400)) + " " + STREETS[random.nextInt(STREETS.length)])
+                .text(place[2]).text(place[0]).text(place[1]).text(place[3]).text("South Africa")
+                .timestamp(createdAt).timestamp(createdAt).endRow();
+
+        long approvedAt = createdAt + 600 + random.nextLong(86_400);
+        users.uuid(userMsb, userLsb).text(firstName).text(lastName).text(email)
+                .text(encryption.encrypt(idNumber)).text(encryption.blindIndex(idNumber))
+                .text(gender).text("South Africa").uuid(addressMsb, addressLsb)
+                .text("APPROVED").timestamp(approvedAt)
+                .bool(true).bool(true).bool(false).bool(false)
+                .timestamp(createdAt).timestamp(approvedAt).endRow();
+
+        userRoles.uuid(userMsb, userLsb).endRow();
+
+        // A recent password that has not expired, so generated customers can log in straight away
+        long passwordCreatedAt = Math.max(approvedAt, nowEpoch - random.nextLong(30L * 86_400));
+        long lastLoginAt = nowEpoch - random.nextLong(14L * 86_400);
+        credentials.uuid(random.nextLong(), random.nextLong()).uuid(userMsb, userLsb).text(PASSWORD_HASH)
+                .timestamp(passwordCreatedAt).timestamp(passwordCreatedAt + 90L * 86_400)
+                .bool(false).bool(false).number(0).timestamp(Math.max(lastLoginAt, passwordCreatedAt))
+                .timestamp(createdAt).timestamp(passwordCreatedAt).endRow();
+    }
+
+    private void writeTransactions(SplittableRandom random, int user, long userMsb, long userLsb, long createdAt,
+                                   long count, long[] beneficiaryIds, String[] beneficiaryAccounts,
+                                   String[] beneficiaryNames, TsvWriter out) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        long[] dates = new long[(int) count];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = createdAt + random.nextLong(nowEpoch - createdAt);
+        }
+        Arrays.sort(dates);
+
+        String accountId = accountNumber(user);
+        String userAgent = USER_AGENTS[random.nextInt(USER_AGENTS.length)];
+        String deviceType = userAgent.startsWith("BankingApp") ? "MOBILE" : "WEB";
+        String location = PLACES[skewedIndex(random, PLACES.length)][0];
+        String ipAddress = "41." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+        long balance = 0;
+
+        for (int i = 0; i < dates.length; i++) {
+            long date = dates[i];
+
+            // The first transaction funds the account; after that the mix is card-and-bill heavy
+            String type;
+            double typePick = i == 0 ? 0 : random.nextDouble();
+            if (typePick < 0.15) {
+                type = "DEPOSIT";
+            } else if (typePick < 0.35) {
+                type = "WITHDRAWAL";
+            } else if (typePick < 0.70) {
+                type = "BILL_PAYMENT";
+            } else {
+                type = "TRANSFER";
+            }
+
+            long amount;
+            long fee;
+            String description;
+            int beneficiary = -1;
+            switch (type) {
+                case "DEPOSIT" -> {
+                    amount = logNormalCents(random, 8.5, 0.9);
+                    fee = 0;
+                    description = random.nextDouble() < 0.6 ? "SALARY " + LAST_NAMES[user % LAST_NAMES.length].toUpperCase(Locale.ROOT) + " HOLDINGS" : "CASH DEPOSIT";
+                }
+                case "WITHDRAWAL" -> {
+                    // ATMs dispense multiples of R50
+                    amount = Math.max(5_000, logNormalCents(random, 6.2, 0.8) / 5_000 * 5_000);
+                    fee = 200;
+                    description = "ATM WITHDRAWAL " + location.toUpperCase(Locale.ROOT);
+                }
+                case "BILL_PAYMENT" -> {
+                    amount = logNormalCents(random, 5.6, 1.0);
+                    fee = 100;
+                    description = random.nextDouble() < 0.55
+                            ? "POS PURCHASE " + CARD_MERCHANTS[skewedIndex(random, CARD_MERCHANTS.length)]
+                            : BILLERS[skewedIndex(random, BILLERS.length)];
+                }
+                default -> {
+                    amount = logNormalCents(random, 6.7, 1.1);
+                    fee = Math.min(2_500, amount * 5 / 1_000);
+                    beneficiary = skewedIndex(random, beneficiaryAccounts.length);
+                    description = "PAYMENT TO " + beneficiaryNames[beneficiary].toUpperCase(Locale.ROOT);
+                }
+            }
+
+            boolean credit = type.equals("DEPOSIT");
+            String status;
+            String failureReason = null;
+            double statusPick = random.nextDouble();
+            if (!credit && balance < amount + fee) {
+                status = "FAILED";
+                failureReason = "Insufficient funds";
+            } else if (statusPick < 0.008) {
+                status = "FAILED";
+                failureReason = "Transaction timed out";
+            } else if (statusPick < 0.018) {
+                status = "CANCELLED";
+            } else if (statusPick < 0.023) {
+                status = "REVERSED";
+            } else if (statusPick < 0.024 && nowEpoch - date < 86_400) {
+                status = "PENDING";
+            } else {
+                status = "COMPLETED";
+            }
+
+            boolean completed = status.equals("COMPLETED");
+            long balanceBefore = balance;
+            if (completed) {
+                balance += credit ? amount : -(amount + fee);
+            }
+            boolean failed = status.equals("FAILED");
+            long settledAt = date + 1 + random.nextInt(3);
+
+            out.uuid(random.nextLong(), random.nextLong()).uuid(userMsb, userLsb).text(accountId);
+            if (beneficiary >= 0) {
+                out.uuid(beneficiaryIds[2 * beneficiary], beneficiaryIds[2 * beneficiary + 1]);
+            } else {
+                out.nul();
+            }
+            out.text(type).text(status).cents(amount).cents(fee).cents(amount + fee).text("ZAR")
+                    .timestamp(date).text(description)
+                    .text("TXN" + (date * 1000 + random.nextInt(1000)) + hex8(random.nextInt()))
+                    .text(deviceType).text(ipAddress).text(userAgent).text(location)
+                    .centsOrNull(balanceBefore, completed).centsOrNull(balance, completed)
+                    .text(beneficiary >= 0 ? beneficiaryAccounts[beneficiary] : null)
+                    .text(failureReason)
+                    .timestampOrNull(settledAt, completed).timestampOrNull(settledAt, failed)
+                    .timestamp(date).timestamp(status.equals("PENDING") ? date : settledAt)
+                    .endRow();
+        }
+    }
+
+    // Sequence-derived so ID numbers never collide: birth date cycles through 20 000 days, the
+    // sequence digits through the rest. Valid format with a Luhn check digit; the retired 9 in
+    // the twelfth digit keeps them clear of real ID numbers, which carry 8.
+    private static String idNumber(int user, boolean female) {
+        LocalDate birth = LocalDate.of(1950, 1, 1).plusDays(user % 20_000);
+        int sequence = (user / 20_000) % 5_000 + (female ? 0 : 5_000);
+        String digits = String.format("%02d%02d%02d%04d09", birth.getYear() % 100, birth.getMonthValue(),
+                birth.getDayOfMonth(), sequence);
+        return digits + luhnCheckDigit(digits);
+    }
+
+    private static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(digits.length() - 1 - i) - '0';
+            if (i % 2 == 0) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    // TymeBank range in the bank directory: "51" and eight digits, no check digit
+    private static String accountNumber(int value) {
+        return String.format("51%08d", value % 100_000_000);
+    }
+
+    // Cubing a uniform value puts most picks at the front, so a few merchants and payees repeat a lot
+    private static int skewedIndex(SplittableRandom random, int length) {
+        double u = random.nextDouble();
+        return (int) (u * u * u * length);
+    }
+
+    private static long logNormalCents(SplittableRandom random, double mu, double sigma) {
+        double rand = Math.exp(mu + sigma * random.nextGaussian());
+        return Math.max(100, Math.min(5_000_000, Math.round(rand * 100)));
+    }
+
+    private static String hex8(int value) {
+        String hex = Integer.toHexString(value).toUpperCase(Locale.ROOT);
+        return "00000000".substring(hex.length()) + hex;
+    }
+
+    record Counts(long users, long beneficiaries, long transactions) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.banking.loadtest.dataset;
+
+import java.nio.file.Path;
+
+/**
+ * Dataset settings, read from system properties so they can be passed as -D flags to Maven.
+ * The encryption settings must match the user service's app.encryption.* values, otherwise
+ * it cannot decrypt or look up the generated ID numbers.
+ */
+record DatasetSettings(
+        int users,
+        long transactions,
+        int years,
+        double activityShape,
+        long seed,
+        int parts,
+        int threads,
+        String encryptionSecret,
+        String indexSecret,
+        int keyVersion,
+        Path outputDir
+) {
+
+    private static final String DEFAULT_SECRET = "MySecretEncryptionLey123!@#";
+
+    static DatasetSettings fromSystemProperties() {
+        int threads = Integer.getInteger("dataset.threads", Runtime.getRuntime().availableProcessors());
+        String encryptionSecret = System.getProperty("dataset.encryption-secret", DEFAULT_SECRET);
+        return new DatasetSettings(
+                Integer.getInteger("dataset.users", 100_000),
+                Long.getLong("dataset.transactions", 10_000_000L),
+                Integer.getInteger("dataset.years", 3),
+                Double.parseDouble(System.getProperty("dataset.activity-shape", "1.2")),
+                Long.getLong("dataset.seed", 42L),
+                Integer.getInteger("dataset.parts", threads * 4),
+                threads,
+                encryptionSecret,
+                System.getProperty("dataset.index-secret", encryptionSecret),
+                Integer.getInteger("dataset.key-version", 1),
+                Path.of(System.getProperty("dataset.output-dir", "target/dataset")).toAbsolutePath()
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.loadtest.dataset;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * The user service's field encryption (versioned AES-GCM) and blind index (HMAC-SHA256),
+ * reimplemented so generated users look exactly like registered ones. Keep in step with
+ * EncryptionServiceImpl. Not thread safe; use one instance per worker.
+ */
+final class FieldEncryption {
+
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final SecretKey key;
+    private final String prefix;
+    private final Cipher cipher;
+    private final Mac indexMac;
+    private final SecureRandom ivRandom = new SecureRandom();
+
+    FieldEncryption(String secret, String indexSecret, int keyVersion) {
+        try {
+            key = deriveKey(secret, "field-encryption", "AES");
+            prefix = "v" + keyVersion + ":";
+            cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            indexMac = Mac.getInstance("HmacSHA256");
+            indexMac.init(deriveKey(indexSecret, "blind-index", "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialise field encryption", e);
+        }
+    }
+
+    // IVs must never repeat under one key, so unlike the plaintext they don't follow the dataset seed
+    String encrypt(String value) {
+        byte[] iv = new byte[IV_LENGTH];
+        ivRandom.nextBytes(iv);
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] encrypted = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            byte[] payload = new byte[IV_LENGTH + encrypted.length];
+            System.arraycopy(iv, 0, payload, 0, IV_LENGTH);
+            System.arraycopy(encrypted, 0, payload, IV_LENGTH, encrypted.length);
+            return prefix + Base64.getEncoder().encodeToString(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Encryption failed", e);
+        }
+    }
+
+    String blindIndex(String value) {
+        byte[] digest = indexMac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static SecretKey deriveKey(String secret, String purpose, String algorithm) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return new SecretKeySpec(mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8)), algorithm);
+    }
+}
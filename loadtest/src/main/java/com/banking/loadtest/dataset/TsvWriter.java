@@ -0,0 +1,154 @@
+package com.banking.loadtest.dataset;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Writes rows in MySQL's default LOAD DATA format: tab separated, newline terminated,
+ * backslash escapes and \N for NULL. Values are appended field by field without building
+ * intermediate strings, since this is the hot loop of the generator.
+ */
+final class TsvWriter implements Closeable {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private final char[] scratch = new char[32];
+    private boolean firstField = true;
+    private long rows;
+
+    TsvWriter(Path file) throws IOException {
+        out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 20);
+    }
+
+    TsvWriter text(String value) throws IOException {
+        if (value == null) {
+            return nul();
+        }
+        separator();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\t' -> out.write("\\t");
+                case '\n' -> out.write("\\n");
+                case '\\' -> out.write("\\\\");
+                default -> out.write(c);
+            }
+        }
+        return this;
+    }
+
+    TsvWriter nul() throws IOException {
+        separator();
+        out.write("\\N");
+        return this;
+    }
+
+    TsvWriter number(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    TsvWriter bool(boolean value) throws IOException {
+        separator();
+        out.write(value ? '1' : '0');
+        return this;
+    }
+
+    /** 32 hex digits, most significant first; the load script UNHEXes it into BINARY(16) */
+    TsvWriter uuid(long mostSignificant, long leastSignificant) throws IOException {
+        separator();
+        hex(mostSignificant, 0);
+        hex(leastSignificant, 16);
+        out.write(scratch, 0, 32);
+        return this;
+    }
+
+    /** Amount in cents as a DECIMAL(19,2) literal */
+    TsvWriter cents(long cents) throws IOException {
+        separator();
+        if (cents < 0) {
+            out.write('-');
+            cents = -cents;
+        }
+        out.write(Long.toString(cents / 100));
+        out.write('.');
+        long fraction = cents % 100;
+        out.write((char) ('0' + fraction / 10));
+        out.write((char) ('0' + fraction % 10));
+        return this;
+    }
+
+    TsvWriter centsOrNull(long cents, boolean present) throws IOException {
+        return present ? cents(cents) : nul();
+    }
+
+    /** Epoch seconds as a DATETIME literal, without a time zone shift */
+    TsvWriter timestamp(long epochSecond) throws IOException {
+        separator();
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, 86_400));
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400);
+        digits(date.getYear(), 4, 0);
+        scratch[4] = '-';
+        digits(date.getMonthValue(), 2, 5);
+        scratch[7] = '-';
+        digits(date.getDayOfMonth(), 2, 8);
+        scratch[10] = ' ';
+        digits(secondOfDay / 3600, 2, 11);
+        scratch[13] = ':';
+        digits(secondOfDay / 60 % 60, 2, 14);
+        scratch[16] = ':';
+        digits(secondOfDay % 60, 2, 17);
+        out.write(scratch, 0, 19);
+        return this;
+    }
+
+    TsvWriter timestampOrNull(long epochSecond, boolean present) throws IOException {
+        return present ? timestamp(epochSecond) : nul();
+    }
+
+    void endRow() throws IOException {
+        out.write('\n');
+        firstField = true;
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void separator() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            out.write('\t');
+        }
+    }
+
+    private void hex(long value, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            scratch[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private void digits(int value, int width, int offset) {
+        for (int i = width - 1; i >= 0; i--) {
+            scratch[offset + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.banking.paymentService.Entity;
 
 import com.banking.paymentService.enums.TransactionStatus;
 import com.banking.paymentService.enums.TransactionType;
+import com.banking.paymentService.sharding.ShardSlots;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -137,8 +138,8 @@ public class Transaction {
         totalAmount = amount.add(feeAmount);
     }
 
+    // Carries the user's shard slot, so lookups by reference go to a single shard
     private String generateReference(){
-        return "TXN" + System.currentTimeMillis() + UUID.randomUUID().toString()
-                .substring(0, 8).toUpperCase();
+        return ShardSlots.reference(userId);
     }
 }
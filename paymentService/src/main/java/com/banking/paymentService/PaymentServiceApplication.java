@@ -3,7 +3,8 @@ package com.banking.paymentService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// Also picks up the shared components in banking-common
+@SpringBootApplication(scanBasePackages = {"com.banking.paymentService", "com.banking.common"})
 public class PaymentServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,220 @@
+package com.banking.paymentService.client;
+
+import com.banking.paymentService.dto.request.BeneficiaryOwnershipCheck;
+import com.banking.paymentService.dto.response.BeneficiaryOwnershipResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asks the user management service whether a beneficiary belongs to a user.
+ * <p>
+ * Answers are kept in a near-cache with a TTL (shorter for "not owned", so a beneficiary
+ * added a moment ago is not rejected for long). Concurrent checks of the same pair share
+ * one in-flight request, and distinct pairs arriving within a short window are sent as
+ * one batch. Removals pushed by the user service drop cached answers immediately; an
+ * invalidation counter stops a response that was already in flight from re-caching a
+ * stale answer.
+ */
+@Component
+@Slf4j
+public class BeneficiaryOwnershipClient {
+
+    private static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+    private static final ParameterizedTypeReference<List<BeneficiaryOwnershipResult>> RESULT_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final long batchWindowMillis;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final int maxCacheEntries;
+
+    private final Map<Key, CachedAnswer> cache = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final Queue<Key> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "beneficiary-ownership-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BeneficiaryOwnershipClient(
+            RestClient.Builder restClientBuilder,
+            @Value("${user-service.base-url:http://localhost:8081}") String baseUrl,
+            @Value("${app.internal.api-key:}") String apiKey,
+            @Value("${user-service.ownership.ttl-ms:60000}") long ttlMillis,
+            @Value("${user-service.ownership.negative-ttl-ms:2000}") long negativeTtlMillis,
+            @Value("${user-service.ownership.batch-window-ms:2}") long batchWindowMillis,
+            @Value("${user-service.ownership.max-batch-size:200}") int maxBatchSize,
+            @Value("${user-service.ownership.timeout-ms:2000}") long timeoutMillis,
+            @Value("${user-service.ownership.max-cache-entries:100000}") int maxCacheEntries
+    ) {
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .defaultHeader(INTERNAL_API_KEY_HEADER, apiKey)
+                .build();
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.batchWindowMillis = batchWindowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.maxCacheEntries = maxCacheEntries;
+    }
+
+    /**
+     * Check whether a beneficiary belongs to a user
+     * @param userId User ID
+     * @param beneficiaryId Beneficiary ID
+     * @return true if the beneficiary is in the user's list
+     * @throws RuntimeException if the user service cannot answer in time
+     */
+    public boolean isOwner(UUID userId, UUID beneficiaryId) {
+        Key key = new Key(userId, beneficiaryId);
+
+        CachedAnswer cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.owned();
+        }
+
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            pending.add(key);
+            requestFlush(pendingCount.incrementAndGet());
+        }
+
+        try {
+            return (existing != null ? existing : created).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while verifying beneficiary ownership", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Unable to verify beneficiary ownership", e);
+        }
+    }
+
+    /**
+     * Drop cached answers for a removed beneficiary
+     * @param userId User it was removed from, or null for every user
+     * @param beneficiaryId Removed beneficiary
+     */
+    public void invalidate(UUID userId, UUID beneficiaryId) {
+        invalidationEpoch.incrementAndGet();
+        if (userId != null) {
+            cache.remove(new Key(userId, beneficiaryId));
+        } else {
+            cache.keySet().removeIf(key -> key.beneficiaryId().equals(beneficiaryId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.ownership.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(answer -> answer.expiresAt() <= now);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void requestFlush(int queued) {
+        if (queued >= maxBatchSize) {
+            dispatcher.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Runs on the single dispatcher thread, so batches go out one at a time
+    private void flush() {
+        flushScheduled.set(false);
+
+        List<Key> batch = new ArrayList<>(maxBatchSize);
+        Key key;
+        while (true) {
+            while (batch.size() < maxBatchSize && (key = pending.poll()) != null) {
+                batch.add(key);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-batch.size());
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void send(List<Key> batch) {
+        long epoch = invalidationEpoch.get();
+
+        List<BeneficiaryOwnershipCheck> checks = new ArrayList<>(batch.size());
+        for (Key key : batch) {
+            checks.add(new BeneficiaryOwnershipCheck(key.userId(), key.beneficiaryId()));
+        }
+
+        try {
+            List<BeneficiaryOwnershipResult> results = restClient.post()
+                    .uri("/internal/beneficiaries/ownership")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(checks)
+                    .retrieve()
+                    .body(RESULT_LIST);
+
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Ownership response does not match the request");
+            }
+
+            long now = System.currentTimeMillis();
+            boolean cacheable = invalidationEpoch.get() == epoch && cache.size() < maxCacheEntries;
+            for (int i = 0; i < batch.size(); i++) {
+                Key key = batch.get(i);
+                boolean owned = results.get(i).isOwned();
+                if (cacheable) {
+                    cache.put(key, new CachedAnswer(owned, now + (owned ? ttlMillis : negativeTtlMillis)));
+                }
+                inFlight.remove(key).complete(owned);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ownership check for {} pairs failed: {}", batch.size(), e.getMessage());
+            for (Key key : batch) {
+                inFlight.remove(key).completeExceptionally(e);
+            }
+        }
+    }
+
+    private record Key(UUID userId, UUID beneficiaryId) {
+    }
+
+    private record CachedAnswer(boolean owned, long expiresAt) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.banking.paymentService.client;
+
+import com.banking.paymentService.dto.request.BeneficiaryUsageEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reports completed transfers to the user management service, which ranks each user's
+ * beneficiaries by recent use. Events are queued once the payment commits and posted in
+ * batches off the request path; the ranking is advisory, so a full queue or a failed post
+ * drops events instead of slowing payments down.
+ */
+@Component
+@Slf4j
+public class BeneficiaryUsageClient {
+
+    private static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+
+    private final RestClient restClient;
+    private final BlockingQueue<BeneficiaryUsageEvent> queue;
+    private final int batchSize;
+
+    public BeneficiaryUsageClient(
+            RestClient.Builder restClientBuilder,
+            @Value("${user-service.base-url:http://localhost:8081}") String baseUrl,
+            @Value("${app.internal.api-key:}") String apiKey,
+            @Value("${user-service.usage.queue-capacity:10000}") int queueCapacity,
+            @Value("${user-service.usage.batch-size:500}") int batchSize
+    ) {
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .defaultHeader(INTERNAL_API_KEY_HEADER, apiKey)
+                .build();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue a beneficiary use, once the surrounding transaction commits
+     * @param userId Paying user
+     * @param beneficiaryId Beneficiary paid
+     * @param occurredAt When the transfer completed
+     */
+    public void recordAfterCommit(UUID userId, UUID beneficiaryId, Instant occurredAt) {
+        BeneficiaryUsageEvent event = new BeneficiaryUsageEvent(userId, beneficiaryId, occurredAt);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.usage.flush-interval-ms:1000}")
+    public void flush() {
+        List<BeneficiaryUsageEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                restClient.post()
+                        .uri("/internal/beneficiaries/usage")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(batch)
+                        .retrieve()
+                        .toBodilessEntity();
+                log.debug("Posted {} beneficiary usage events", batch.size());
+            } catch (RuntimeException e) {
+                log.warn("Dropped {} beneficiary usage events: {}", batch.size(), e.getMessage());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void enqueue(BeneficiaryUsageEvent event) {
+        if (!queue.offer(event)) {
+            log.warn("Beneficiary usage queue full, dropping event for user {}", event.getUserId());
+        }
+    }
+}
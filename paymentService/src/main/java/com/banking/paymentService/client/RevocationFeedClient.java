@@ -0,0 +1,69 @@
+package com.banking.paymentService.client;
+
+import com.banking.paymentService.dto.response.TokenRevocation;
+import com.banking.common.security.TokenDenylist;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Mirrors the user management service's token revocations into the local denylist, so
+ * logged-out and suspended users' tokens stop working here within one poll interval.
+ * Each poll only asks for revocations newer than the last one seen.
+ */
+@Component
+@Slf4j
+public class RevocationFeedClient {
+
+    private static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+
+    // Revocations committed concurrently on the user service can appear slightly out of order
+    private static final long OVERLAP_MILLIS = 5_000;
+
+    private final RestClient restClient;
+    private final TokenDenylist tokenDenylist;
+
+    private long syncedUpTo;
+
+    public RevocationFeedClient(
+            RestClient.Builder restClientBuilder,
+            TokenDenylist tokenDenylist,
+            @Value("${user-service.base-url:http://localhost:8081}") String baseUrl,
+            @Value("${app.internal.api-key:}") String apiKey
+    ) {
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .defaultHeader(INTERNAL_API_KEY_HEADER, apiKey)
+                .build();
+        this.tokenDenylist = tokenDenylist;
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.revocations.poll-interval-ms:1000}")
+    public void poll() {
+        long since = syncedUpTo;
+        List<TokenRevocation> revocations;
+        try {
+            revocations = restClient.get()
+                    .uri("/internal/tokens/revocations?since={since}", Math.max(0, since - OVERLAP_MILLIS))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<TokenRevocation>>() {});
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll token revocations: {}", e.getMessage());
+            return;
+        }
+
+        if (revocations == null) {
+            return;
+        }
+        for (TokenRevocation revocation : revocations) {
+            tokenDenylist.revoke(revocation.getId(), revocation.getExpiresAt().toEpochMilli());
+            since = Math.max(since, revocation.getRevokedAt().toEpochMilli());
+        }
+        syncedUpTo = since;
+    }
+}
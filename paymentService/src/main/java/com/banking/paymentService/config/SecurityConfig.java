@@ -1,6 +1,8 @@
 package com.banking.paymentService.config;
 
 
+import com.banking.common.security.InternalApiKeyFilter;
+import com.banking.common.security.Permission;
 import com.banking.paymentService.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -20,7 +22,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String MANAGE_TRANSACTIONS = Permission.MANAGE_TRANSACTIONS.getAuthority();
+    private static final String MANAGE_DIAGNOSTICS = Permission.MANAGE_DIAGNOSTICS.getAuthority();
+
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final InternalApiKeyFilter internalApiKeyFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
@@ -29,13 +35,18 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Health check endpoint - public
                         .requestMatchers("/actuator/health").permitAll()
+                        // Metrics and flight recordings, gated like in the user management service
+                        .requestMatchers("/actuator/**").hasAuthority(MANAGE_DIAGNOSTICS)
+
+                        // Transaction administration endpoints
+                        .requestMatchers(HttpMethod.PUT, "/admin/transactions/*/status").hasAuthority(MANAGE_TRANSACTIONS)
+                        .requestMatchers(HttpMethod.POST, "/admin/transactions/*/cancel").hasAuthority(MANAGE_TRANSACTIONS)
+                        .requestMatchers(HttpMethod.POST, "/admin/transactions/*/reverse").hasAuthority(MANAGE_TRANSACTIONS)
+                        .requestMatchers(HttpMethod.GET, "/admin/transactions/pending").hasAuthority(MANAGE_TRANSACTIONS)
+                        .requestMatchers(HttpMethod.POST, "/admin/transactions/process-stale").hasAuthority(MANAGE_TRANSACTIONS)
 
-                        // Super Admin only endpoints
-                        .requestMatchers(HttpMethod.PUT, "/admin/transactions/*/status").hasRole("SUPER_ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/admin/transactions/*/cancel").hasRole("SUPER_ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/admin/transactions/*/reverse").hasRole("SUPER_ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/admin/transactions/pending").hasRole("SUPER_ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/admin/transactions/process-stale").hasRole("SUPER_ADMIN")
+                        // Service-to-service calls authenticated by InternalApiKeyFilter
+                        .requestMatchers("/internal/**").hasRole(InternalApiKeyFilter.ROLE)
 
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
@@ -43,6 +54,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                .addFilterBefore(internalApiKeyFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -25,7 +25,7 @@ public class AdminTransactionController {
 
     private static final Logger log = LoggerFactory.getLogger(AdminTransactionController.class);
 
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_TRANSACTIONS')")
     @PutMapping("/{transactionId}/status")
     public ResponseEntity<TransactionResponse> updateTransactionStatus(
             @PathVariable UUID transactionId,
@@ -38,7 +38,7 @@ public class AdminTransactionController {
         return ResponseEntity.ok(response);
     }
 
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_TRANSACTIONS')")
     @PostMapping("/{transactionId}/cancel")
     public ResponseEntity<Void> cancelTransaction(@PathVariable UUID transactionId) {
         log.info("ADMIN: REST request to cancel transaction: {}", transactionId);
@@ -46,7 +46,7 @@ public class AdminTransactionController {
         return ResponseEntity.noContent().build();
     }
 
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_TRANSACTIONS')")
     @PostMapping("/{transactionId}/reverse")
     public ResponseEntity<TransactionResponse> reverseTransaction(
             @PathVariable UUID transactionId,
@@ -57,7 +57,7 @@ public class AdminTransactionController {
         return ResponseEntity.ok(response);
     }
 
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_TRANSACTIONS')")
     @GetMapping("/pending")
     public ResponseEntity<List<TransactionResponse>> getPendingTransactions() {
         log.info("ADMIN: REST request to get all pending transactions");
@@ -65,7 +65,7 @@ public class AdminTransactionController {
         return ResponseEntity.ok(response);
     }
 
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_TRANSACTIONS')")
     @PostMapping("/process-stale")
     public ResponseEntity<Void> processStaleTransactions() {
         log.info("ADMIN: REST request to process stale transactions");
@@ -0,0 +1,33 @@
+package com.banking.paymentService.controller;
+
+import com.banking.paymentService.client.BeneficiaryOwnershipClient;
+import com.banking.paymentService.dto.request.OwnershipInvalidation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal/beneficiary-ownership")
+@RequiredArgsConstructor
+@Slf4j
+public class InternalOwnershipController {
+
+    private final BeneficiaryOwnershipClient ownershipClient;
+
+    @PostMapping("/invalidations")
+    public ResponseEntity<Void> invalidate(@Valid @RequestBody List<@Valid OwnershipInvalidation> invalidations) {
+        log.debug("Received {} beneficiary ownership invalidations", invalidations.size());
+
+        for (OwnershipInvalidation invalidation : invalidations) {
+            ownershipClient.invalidate(invalidation.getUserId(), invalidation.getBeneficiaryId());
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.banking.paymentService.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who wrote recently, whose reads stay on the primary until the replicas have caught
+ * up with their own write.
+ * <p>
+ * The window is never shorter than the maximum lag a replica may have and still take reads.
+ * It is kept per instance, so it only holds while the user's requests reach the instance
+ * that handled the write.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Map<UUID, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(
+            @Value("${app.datasource.replica.enabled:false}") boolean enabled,
+            @Value("${app.datasource.replica.read-your-writes-ms:5000}") long windowMillis,
+            @Value("${app.datasource.replica.max-lag-ms:2000}") long maxLagMillis
+    ) {
+        this.enabled = enabled;
+        this.windowMillis = Math.max(windowMillis, maxLagMillis);
+    }
+
+    /**
+     * Keep the user's reads on the primary, from when the surrounding transaction commits
+     * @param userId User who wrote
+     */
+    public void recordAfterCommit(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(userId);
+                }
+            });
+        } else {
+            record(userId);
+        }
+    }
+
+    public boolean isSticky(UUID userId) {
+        Long until = stickyUntil.get(userId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.read-your-writes-ms:5000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+
+    private void record(UUID userId) {
+        stickyUntil.merge(userId, System.currentTimeMillis() + windowMillis, Math::max);
+    }
+}
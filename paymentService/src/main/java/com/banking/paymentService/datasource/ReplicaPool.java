@@ -0,0 +1,149 @@
+package com.banking.paymentService.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas and their health, as last seen by the health check.
+ * <p>
+ * A replica takes reads once a check has found it reachable and, when a lag query is
+ * configured, no further behind the primary than the allowed lag. The lag query returns
+ * the replica's lag in seconds; NULL means replication has stopped. A replica that fails
+ * to hand out a connection is taken out straight away and comes back at a later check.
+ * Healthy replicas are used in turn.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param replicas Replica data sources by name, used in logs
+     * @param maxLagMillis Most lag a replica may have and still take reads
+     * @param lagQuery Returns the replica's lag in seconds; blank to only check that it is reachable
+     */
+    public ReplicaPool(Map<String, DataSource> replicas, long maxLagMillis, String lagQuery) {
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+    }
+
+    /**
+     * Pick the next healthy replica
+     * @return The replica, or null when none is healthy
+     */
+    Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void markDown(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} is unreachable, reading from the primary: {}", replica.name, cause.getMessage());
+        }
+    }
+
+    public int healthyCount() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String problem = problem(replica);
+            boolean healthy = problem == null;
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Read replica {} is healthy, taking reads", replica.name);
+                } else {
+                    log.warn("Read replica {} taken out of rotation: {}", replica.name, problem);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // Why the replica can't take reads, or null if it can
+    private String problem(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return "connection not valid";
+            }
+            if (lagQuery.isEmpty()) {
+                return null;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+                try (ResultSet rows = statement.executeQuery(lagQuery)) {
+                    if (!rows.next()) {
+                        return "replication stopped";
+                    }
+                    double lagSeconds = rows.getDouble(1);
+                    if (rows.wasNull()) {
+                        return "replication stopped";
+                    }
+                    long lagMillis = Math.round(lagSeconds * 1000);
+                    return lagMillis > maxLagMillis ? "lagging " + lagMillis + " ms" : null;
+                }
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        // Starts out of rotation until the first check has passed
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        Connection getConnection() throws SQLException {
+            return dataSource.getConnection();
+        }
+    }
+}
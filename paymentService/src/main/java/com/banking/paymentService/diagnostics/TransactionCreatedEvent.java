@@ -0,0 +1,39 @@
+package com.banking.paymentService.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.banking.payment.TransactionCreated")
+@Label("Transaction Created")
+@Category({"Banking", "Payments"})
+@Description("Validation, fee, balance check and pending save of one new transaction")
+@StackTrace(false)
+public class TransactionCreatedEvent extends Event {
+
+    @Label("Transaction ID")
+    public String transactionId;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Validation")
+    @Timespan(Timespan.NANOSECONDS)
+    public long validation;
+
+    @Label("Fee")
+    @Timespan(Timespan.NANOSECONDS)
+    public long fee;
+
+    @Label("Balance Check")
+    @Timespan(Timespan.NANOSECONDS)
+    public long balanceCheck;
+
+    @Label("Save Pending")
+    @Timespan(Timespan.NANOSECONDS)
+    public long savePending;
+}
@@ -0,0 +1,27 @@
+package com.banking.paymentService.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.banking.payment.TransactionFailed")
+@Label("Transaction Failed")
+@Category({"Banking", "Payments"})
+@Description("A transaction rejected or failed, with the stack trace of where it was detected")
+public class TransactionFailedEvent extends Event {
+
+    @Label("Transaction ID")
+    @Description("Empty when the transaction was rejected before it was saved")
+    public String transactionId;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Message")
+    public String message;
+}
@@ -0,0 +1,35 @@
+package com.banking.paymentService.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.banking.payment.TransactionProcessed")
+@Label("Transaction Processed")
+@Category({"Banking", "Payments"})
+@Description("Processing of one transaction from PROCESSING to COMPLETED")
+@StackTrace(false)
+public class TransactionProcessedEvent extends Event {
+
+    @Label("Transaction ID")
+    public String transactionId;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Save Processing")
+    @Timespan(Timespan.NANOSECONDS)
+    public long saveProcessing;
+
+    @Label("Process")
+    @Timespan(Timespan.NANOSECONDS)
+    public long process;
+
+    @Label("Save Completed")
+    @Timespan(Timespan.NANOSECONDS)
+    public long saveCompleted;
+}
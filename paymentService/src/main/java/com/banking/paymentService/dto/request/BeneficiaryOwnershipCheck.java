@@ -0,0 +1,17 @@
+package com.banking.paymentService.dto.request;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeneficiaryOwnershipCheck {
+
+    private UUID userId;
+
+    private UUID beneficiaryId;
+}
@@ -0,0 +1,20 @@
+package com.banking.paymentService.dto.request;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeneficiaryUsageEvent {
+
+    private UUID userId;
+
+    private UUID beneficiaryId;
+
+    private Instant occurredAt;
+}
@@ -1,6 +1,7 @@
 package com.banking.paymentService.dto.request;
 
 import com.banking.paymentService.enums.TransactionType;
+import com.banking.common.validation.ValidBankAccount;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -31,6 +32,7 @@ public class CreateTransactionRequest {
     @Size(max = 50, message = "Descriptiom must not exceed 50 characters")
     private String description;
 
+    @ValidBankAccount
     private String destinationAccountId;
 
     private String deviceType;
@@ -0,0 +1,23 @@
+package com.banking.paymentService.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Beneficiary removal pushed by the user management service. A null userId means the
+ * beneficiary was removed for every user.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OwnershipInvalidation {
+
+    private UUID userId;
+
+    @NotNull
+    private UUID beneficiaryId;
+}
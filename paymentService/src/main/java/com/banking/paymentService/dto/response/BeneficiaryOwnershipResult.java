@@ -0,0 +1,19 @@
+package com.banking.paymentService.dto.response;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeneficiaryOwnershipResult {
+
+    private UUID userId;
+
+    private UUID beneficiaryId;
+
+    private boolean owned;
+}
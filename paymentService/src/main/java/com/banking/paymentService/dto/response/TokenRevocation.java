@@ -0,0 +1,20 @@
+package com.banking.paymentService.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    private UUID id;
+
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+}
@@ -0,0 +1,13 @@
+package com.banking.paymentService.logging;
+
+/**
+ * MDC keys only the payment service sets, next to the shared ones in
+ * {@link com.banking.common.logging.LogContext}.
+ */
+public final class PaymentLogContext {
+
+    public static final String TRANSACTION_REFERENCE = "transactionReference";
+
+    private PaymentLogContext() {
+    }
+}
@@ -0,0 +1,137 @@
+package com.banking.paymentService.metrics;
+
+import com.banking.paymentService.enums.TransactionStatus;
+import com.banking.paymentService.enums.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters for the transaction pipeline, exported through actuator.
+ * <p>
+ * Every timer and counter is registered up front for each combination of its tags and kept
+ * in arrays indexed by enum ordinal, so recording on the hot path is an array read and a
+ * lock-free update, with no tag building or registry lookup.
+ * <p>
+ * Each stage is also reported as a child span of the current trace. The span is created
+ * after the fact from the measured duration, so stages need no extra wrapping; repository
+ * spans of the same stage show up as its siblings rather than its children.
+ */
+@Component
+public class TransactionMetrics {
+
+    public enum Stage {
+        VALIDATION, FEE, BALANCE_CHECK, SAVE_PENDING, SAVE_PROCESSING, PROCESS, SAVE_COMPLETED, SAVE_FAILED, TOTAL
+    }
+
+    /** Where a transaction failed; kept coarse so the reason tag stays low-cardinality */
+    public enum FailureReason {
+        VALIDATION, INSUFFICIENT_FUNDS, PROCESSING, TIMEOUT
+    }
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Timer[][] stageTimers;
+    private final Counter[][] outcomes;
+    private final Counter[][] failures;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Tracer tracer;
+    private final String[] stageSpanNames;
+
+    public TransactionMetrics(MeterRegistry registry, Tracer tracer) {
+        this.tracer = tracer;
+        Stage[] stages = Stage.values();
+        stageTimers = new Timer[stages.length][TYPES.length];
+        stageSpanNames = new String[stages.length];
+        for (Stage stage : stages) {
+            stageSpanNames[stage.ordinal()] = "transaction." + stage.name().toLowerCase();
+            for (TransactionType type : TYPES) {
+                stageTimers[stage.ordinal()][type.ordinal()] = Timer.builder("payment.transactions.stage")
+                        .description("Time spent in each transaction pipeline stage")
+                        .tag("stage", stage.name().toLowerCase())
+                        .tag("type", type.name())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(registry);
+            }
+        }
+
+        TransactionStatus[] statuses = TransactionStatus.values();
+        outcomes = new Counter[statuses.length][TYPES.length];
+        for (TransactionStatus status : statuses) {
+            for (TransactionType type : TYPES) {
+                outcomes[status.ordinal()][type.ordinal()] = Counter.builder("payment.transactions.outcome")
+                        .description("Transactions reaching each status")
+                        .tag("status", status.name())
+                        .tag("type", type.name())
+                        .register(registry);
+            }
+        }
+
+        FailureReason[] reasons = FailureReason.values();
+        failures = new Counter[reasons.length][TYPES.length];
+        for (FailureReason reason : reasons) {
+            for (TransactionType type : TYPES) {
+                failures[reason.ordinal()][type.ordinal()] = Counter.builder("payment.transactions.failures")
+                        .description("Failed transactions by reason")
+                        .tag("reason", reason.name().toLowerCase())
+                        .tag("type", type.name())
+                        .register(registry);
+            }
+        }
+
+        registry.gauge("payment.transactions.in_flight", inFlight);
+    }
+
+    /**
+     * Record time spent in one stage
+     * @param stage Pipeline stage
+     * @param type Transaction type
+     * @param startNanos System.nanoTime() taken when the stage started
+     * @return Stage duration in nanoseconds
+     */
+    public long recordStage(Stage stage, TransactionType type, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        stageTimers[stage.ordinal()][type.ordinal()].record(elapsed, TimeUnit.NANOSECONDS);
+        if (stage != Stage.TOTAL && tracer.currentSpan() != null) {
+            recordStageSpan(stage, type, elapsed);
+        }
+        return elapsed;
+    }
+
+    public void recordOutcome(TransactionStatus status, TransactionType type) {
+        outcomes[status.ordinal()][type.ordinal()].increment();
+    }
+
+    public void recordFailure(FailureReason reason, TransactionType type) {
+        failures[reason.ordinal()][type.ordinal()].increment();
+    }
+
+    private void recordStageSpan(Stage stage, TransactionType type, long elapsed) {
+        Instant now = Instant.now();
+        long endEpochNanos = now.getEpochSecond() * 1_000_000_000 + now.getNano();
+        Span span = tracer.spanBuilder()
+                .name(stageSpanNames[stage.ordinal()])
+                .tag("type", type.name())
+                .startTimestamp(endEpochNanos - elapsed, TimeUnit.NANOSECONDS)
+                .start();
+        span.end(endEpochNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void transactionStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void transactionFinished() {
+        inFlight.decrementAndGet();
+    }
+}
@@ -0,0 +1,171 @@
+package com.banking.paymentService.perf;
+
+import com.banking.paymentService.enums.TransactionStatus;
+import com.banking.paymentService.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills the embedded perf database with generated transactions, so repository queries can
+ * be measured at a realistic size and skew.
+ * <p>
+ * Activity per user follows a Pareto distribution: a few users own a large share of the
+ * rows, as in production. Dates run over several years, descriptions repeat from a short
+ * merchant list, and a small share of old PENDING and PROCESSING rows is kept so the stale
+ * transaction sweep has work. Rows go in through batched JDBC inserts, not JPA.
+ */
+@Component
+@Profile("perf")
+@RequiredArgsConstructor
+@Slf4j
+public class PerfDataSeeder {
+
+    private static final String INSERT = "INSERT INTO transactions (id, user_id, account_id, beneficiary_id, type, " +
+            "status, amount, fee, total_amount, currency, transaction_date, description, reference, " +
+            "destination_account_id, failure_reason, completed_at, failed_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] MERCHANTS = {
+            "CHECKERS", "PICK N PAY", "WOOLWORTHS", "SHOPRITE", "SPAR", "UBER", "TAKEALOT", "ENGEN", "SHELL",
+            "CLICKS", "DIS-CHEM", "NANDOS", "KFC", "MR PRICE", "NETFLIX", "VODACOM", "MTN", "ESKOM", "DSTV",
+            "CITY OF CAPE TOWN", "CITY OF JOHANNESBURG", "DISCOVERY", "OLD MUTUAL", "TELKOM"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.perf.seed.users:20000}")
+    private int users;
+
+    @Value("${app.perf.seed.transactions:500000}")
+    private long transactions;
+
+    @Value("${app.perf.seed.years:3}")
+    private int years;
+
+    @Value("${app.perf.seed.activity-shape:1.2}")
+    private double activityShape;
+
+    @Value("${app.perf.seed.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${app.perf.seed.random-seed:42}")
+    private long randomSeed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Perf database already holds {} transactions, not seeding", existing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        long[] counts = transactionCounts(random);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long spanSeconds = years * 365L * 86_400;
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long written = 0;
+        for (int user = 0; user < users; user++) {
+            UUID userId = new UUID(random.nextLong(), random.nextLong());
+            String accountId = String.format("51%08d", user);
+            UUID[] beneficiaries = new UUID[1 + random.nextInt(8)];
+            for (int i = 0; i < beneficiaries.length; i++) {
+                beneficiaries[i] = new UUID(random.nextLong(), random.nextLong());
+            }
+
+            for (long i = 0; i < counts[user]; i++) {
+                batch.add(row(random, userId, accountId, beneficiaries, now.minusSeconds(random.nextLong(spanSeconds)),
+                        written++));
+                if (batch.size() == batchSize) {
+                    jdbcTemplate.batchUpdate(INSERT, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+
+        log.info("Seeded {} transactions for {} users in {} ms", written, users, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Object[] row(SplittableRandom random, UUID userId, String accountId, UUID[] beneficiaries,
+                         LocalDateTime date, long sequence) {
+        double typePick = random.nextDouble();
+        TransactionType type = typePick < 0.15 ? TransactionType.DEPOSIT
+                : typePick < 0.35 ? TransactionType.WITHDRAWAL
+                : typePick < 0.70 ? TransactionType.BILL_PAYMENT
+                : TransactionType.TRANSFER;
+
+        double statusPick = random.nextDouble();
+        TransactionStatus status = statusPick < 0.05 ? TransactionStatus.FAILED
+                : statusPick < 0.06 ? TransactionStatus.CANCELLED
+                : statusPick < 0.065 ? TransactionStatus.REVERSED
+                : statusPick < 0.067 ? TransactionStatus.PENDING
+                : statusPick < 0.068 ? TransactionStatus.PROCESSING
+                : TransactionStatus.COMPLETED;
+
+        BigDecimal amount = BigDecimal.valueOf(Math.max(100, Math.round(Math.exp(6 + random.nextGaussian()) * 100)), 2);
+        BigDecimal fee = switch (type) {
+            case TRANSFER -> amount.multiply(new BigDecimal("0.005")).min(new BigDecimal("25.00")).setScale(2, RoundingMode.HALF_UP);
+            case WITHDRAWAL -> new BigDecimal("2.00");
+            case BILL_PAYMENT -> new BigDecimal("1.00");
+            case DEPOSIT -> BigDecimal.ZERO.setScale(2);
+        };
+
+        boolean transfer = type == TransactionType.TRANSFER;
+        UUID beneficiaryId = transfer ? beneficiaries[skewedIndex(random, beneficiaries.length)] : null;
+        String description = transfer ? "PAYMENT TO BENEFICIARY" : MERCHANTS[skewedIndex(random, MERCHANTS.length)];
+        LocalDateTime settledAt = date.plusSeconds(1 + random.nextInt(3));
+
+        return new Object[]{
+                new UUID(random.nextLong(), random.nextLong()), userId, accountId, beneficiaryId, type.name(),
+                status.name(), amount, fee, amount.add(fee), "ZAR", date, description,
+                "TXN" + date.toEpochSecond(ZoneOffset.UTC) + String.format("%010X", sequence),
+                transfer ? String.format("51%08d", random.nextInt(100_000_000)) : null,
+                status == TransactionStatus.FAILED ? "Insufficient funds" : null,
+                status == TransactionStatus.COMPLETED ? settledAt : null,
+                status == TransactionStatus.FAILED ? settledAt : null,
+                date, settledAt
+        };
+    }
+
+    // Pareto weights scaled to the requested total; fractions are rounded randomly
+    private long[] transactionCounts(SplittableRandom random) {
+        double[] weights = new double[users];
+        double total = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = Math.pow(1 - random.nextDouble(), -1 / activityShape);
+            total += weights[i];
+        }
+        long[] counts = new long[users];
+        for (int i = 0; i < users; i++) {
+            double share = transactions * weights[i] / total;
+            counts[i] = (long) share + (random.nextDouble() < share - Math.floor(share) ? 1 : 0);
+        }
+        return counts;
+    }
+
+    // Cubing a uniform value puts most picks at the front, so a few merchants and payees repeat a lot
+    private static int skewedIndex(SplittableRandom random, int length) {
+        double u = random.nextDouble();
+        return (int) (u * u * u * length);
+    }
+}
@@ -3,6 +3,7 @@ package com.banking.paymentService.repository;
 import com.banking.paymentService.Entity.Transaction;
 import com.banking.paymentService.enums.TransactionStatus;
 import com.banking.paymentService.enums.TransactionType;
+import com.banking.paymentService.sharding.ShardKey;
 import org.springframework.cglib.core.Local;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,22 +20,24 @@ import java.util.UUID;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    Page<Transaction> findByUserId(UUID userId, Pageable pageable);
+    Page<Transaction> findByUserId(@ShardKey UUID userId, Pageable pageable);
 
-    List<Transaction> findByUserIdAndStatus(UUID userId, TransactionStatus status);
+    List<Transaction> findByUserIdAndStatus(@ShardKey UUID userId, TransactionStatus status);
 
     Page<Transaction> findByAccountId(String accountId, Pageable pageable);
 
-    Optional<Transaction> findByReference(String reference);
+    Optional<Transaction> findByReference(@ShardKey String reference);
 
-    Page<Transaction> findByUserIdAndType(UUID userId, TransactionType type, Pageable pageable);
+    Optional<Transaction> findByIdAndUserId(UUID id, @ShardKey UUID userId);
+
+    Page<Transaction> findByUserIdAndType(@ShardKey UUID userId, TransactionType type, Pageable pageable);
 
     // FIX 1: Changed == to = and added space before ORDER BY
     @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
             "AND t.transactionDate BETWEEN :startDate AND :endDate " +
             "ORDER BY t.transactionDate DESC")
     Page<Transaction> findByUserIdAndDateRange(
-            @Param("userId") UUID userId,
+            @ShardKey @Param("userId") UUID userId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable
@@ -51,7 +54,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId " +
             "AND t.status = :status AND t.transactionDate >= :startDate")
     Long countByUserIdAndStatusANdDateAfter(
-            @Param("userId") UUID userId,
+            @ShardKey @Param("userId") UUID userId,
             @Param("status") TransactionStatus status,
             @Param("startDate") LocalDateTime startDate
     );
@@ -60,7 +63,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             "AND t.status = 'COMPLETED' AND t.type = :type "+
             "AND t.transactionDate >= :startDate")
     BigDecimal sumCompletedAmountByUserIdAndTypeAndDateAfter(
-            @Param("userId") UUID userId,
+            @ShardKey @Param("userId") UUID userId,
             @Param("type") TransactionType type,
             @Param("startDate") LocalDateTime startDate
     );
@@ -70,7 +73,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             "(LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(t.reference) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<Transaction> searchByUserId(
-            @Param("userId") UUID userId,
+            @ShardKey @Param("userId") UUID userId,
             @Param("searchTerm") String searchTerm,
             Pageable pageable
     );
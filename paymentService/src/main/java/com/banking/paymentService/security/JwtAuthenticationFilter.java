@@ -1,5 +1,8 @@
 package com.banking.paymentService.security;
 
+import com.banking.common.logging.LogContext;
+import com.banking.common.security.PermissionSet;
+import com.banking.common.security.TokenDenylist;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,16 +10,15 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.UUID;
 
 
@@ -26,6 +28,7 @@ import java.util.UUID;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenDenylist tokenDenylist;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -41,28 +44,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             final String jwt = authHeader.substring(7);
 
-            if (jwtService.validateToken(jwt)){
-                UUID userId = jwtService.extractUserId(jwt);
-                String email = jwtService.extractEmail(jwt);
-                String role = jwtService.extractRole(jwt);
+            // Parsed and verified once; everything below reads the verified claims
+            final VerifiedToken token = jwtService.verifyOrNull(jwt);
+
+            // Tokens revoked on logout or suspension fall through unauthenticated
+            if (token != null && !token.refresh()
+                    && !tokenDenylist.isRevoked(token.tokenId(), token.familyId())){
+                UUID userId = token.userId();
+                String email = token.email();
+                PermissionSet permissions = token.permissions();
 
                 //create authentication token
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        new UserPrincipal(userId, email, role),
+                        new UserPrincipal(userId, email, permissions),
                         null,
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                        // Interned per bitset, nothing is built per request
+                        permissions.grantedAuthorities()
                 );
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (userId != null) {
+                    MDC.put(LogContext.USER_ID, userId.toString());
+                }
 
-                log.debug("Authenticated user: {} with role: {}", email, role);
+                log.debug("Authenticated user: {} with permissions: {}", email, permissions.bits());
             }
         } catch (Exception e){
             log.error("Cannot set user authentication: {}", e.getMessage());
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(LogContext.USER_ID);
+        }
     }
 }
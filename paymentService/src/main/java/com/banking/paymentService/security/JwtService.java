@@ -1,19 +1,20 @@
 package com.banking.paymentService.security;
 
+import com.banking.common.diagnostics.JwtVerifyEvent;
+import com.banking.common.security.PermissionSet;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
 import java.util.UUID;
-import java.util.function.Function;
 
 @Component
 public class JwtService {
@@ -26,55 +27,67 @@ public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
-    public UUID extractUserId(String token){
-        String userIdString = extractClaim(token, claims -> claims.get("userId", String.class));
-        return  UUID.fromString(userIdString);
-    }
-
-    public String extractEmail(String token){
-        return extractClaim(token, Claims::getSubject);
-    }
-
-
-    public String extractRole(String token){
-        return extractClaim(token, claims -> claims.get("role", String.class));
-    }
-
+    // Built once; rebuilding the HMAC key per call showed up on every authenticated request
+    private JwtParser parser;
 
-    public Date extractExpiration(String token){
-        return extractClaim(token, Claims::getExpiration);
+    @PostConstruct
+    public void init(){
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)))
+                .build();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver){
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token){
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+    /**
+     * Parse a token once and check its signature and expiry
+     * @param token Compact JWT
+     * @return Verified claims
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token){
+        JwtVerifyEvent event = new JwtVerifyEvent();
+        event.begin();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (RuntimeException e) {
+            commit(event, false, false);
+            throw e;
+        }
 
-    public boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+        Integer permissions = claims.get("perms", Integer.class);
+        boolean refresh = "refresh".equals(claims.get("type", String.class));
+        commit(event, true, refresh);
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                toUuid(claims.get("userId", String.class)),
+                toUuid(claims.getId()),
+                toUuid(claims.get("fid", String.class)),
+                PermissionSet.of(permissions == null ? 0 : permissions),
+                refresh,
+                claims.getExpiration().toInstant()
+        );
     }
 
-    public boolean validateToken(String token){
+    public VerifiedToken verifyOrNull(String token){
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e){
+            return verify(token);
+        } catch (JwtException | IllegalArgumentException e){
             log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
-    private SecretKey getSigningKey(){
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static void commit(JwtVerifyEvent event, boolean valid, boolean refresh){
+        event.end();
+        if (event.shouldCommit()) {
+            event.valid = valid;
+            event.refresh = refresh;
+            event.commit();
+        }
     }
 
+    private static UUID toUuid(String value){
+        return value == null ? null : UUID.fromString(value);
+    }
 }
@@ -0,0 +1,29 @@
+package com.banking.paymentService.security;
+
+import com.banking.common.security.Permission;
+import com.banking.common.security.PermissionSet;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Method-security helper, used as {@code @PreAuthorize("@authz.has('MANAGE_TRANSACTIONS')")}.
+ * Reads the permission bitset decoded from the caller's token, so a check is one bit test
+ * rather than a scan over authority strings.
+ */
+@Component("authz")
+public class PermissionAuthorizer {
+
+    public boolean has(String permission) {
+        return permissionsOf(SecurityContextHolder.getContext().getAuthentication())
+                .has(Permission.valueOf(permission));
+    }
+
+    private static PermissionSet permissionsOf(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getPermissions() != null) {
+            return principal.getPermissions();
+        }
+        return PermissionSet.NONE;
+    }
+}
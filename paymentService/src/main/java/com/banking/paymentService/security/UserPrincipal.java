@@ -1,5 +1,6 @@
 package com.banking.paymentService.security;
 
+import com.banking.common.security.PermissionSet;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,5 +16,5 @@ public class UserPrincipal {
 
     private String  email;
 
-    private String role;
+    private PermissionSet permissions;
 }
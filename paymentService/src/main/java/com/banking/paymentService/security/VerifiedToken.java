@@ -0,0 +1,24 @@
+package com.banking.paymentService.security;
+
+import com.banking.common.security.PermissionSet;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked, parsed once per
+ * request by {@link JwtService#verify(String)}.
+ *
+ * @param tokenId  jti, null for tokens issued before rotation existed
+ * @param familyId Refresh-token family, null for tokens issued before rotation existed
+ */
+public record VerifiedToken(
+        String email,
+        UUID userId,
+        UUID tokenId,
+        UUID familyId,
+        PermissionSet permissions,
+        boolean refresh,
+        Instant expiresAt
+) {
+}
@@ -1,6 +1,7 @@
 package com.banking.paymentService.service;
 
 
+import com.banking.paymentService.client.BeneficiaryOwnershipClient;
 import com.banking.paymentService.dto.request.CreateTransactionRequest;
 import com.banking.paymentService.enums.TransactionType;
 import com.banking.paymentService.service.serviceImpl.TransactionLimitService;
@@ -20,6 +21,7 @@ import java.util.UUID;
 public class TransactionValidationService {
 
     private final TransactionLimitService transactionLimitService;
+    private final BeneficiaryOwnershipClient beneficiaryOwnershipClient;
 
     private static final Logger log = LoggerFactory.getLogger(TransactionValidationService.class);
 
@@ -36,11 +38,11 @@ public class TransactionValidationService {
     private int maxDailyTransactions;
 
     public void validateTransaction(CreateTransactionRequest request, UUID userId){
-        log.info("Validating transaction for user: {}, type: {}, amount: {}",
+        log.debug("Validating transaction for user: {}, type: {}, amount: {}",
                 userId, request.getType(), request.getAmount());
 
         validateAmount(request.getAmount());
-        validateTransactionType(request);
+        validateTransactionType(request, userId);
         validateTransactionLimits(request);
         validateDailyTransactionCount(userId);
     }
@@ -56,7 +58,7 @@ public class TransactionValidationService {
         }
     }
 
-    private void validateTransactionType(CreateTransactionRequest request){
+    private void validateTransactionType(CreateTransactionRequest request, UUID userId){
 
         if (request.getType() == TransactionType.TRANSFER){
             if (request.getBeneficiaryId() == null){
@@ -69,6 +71,11 @@ public class TransactionValidationService {
                         "Destination account ID is required for transfers"
                 );
             }
+            if (!beneficiaryOwnershipClient.isOwner(userId, request.getBeneficiaryId())){
+                throw new RuntimeException(
+                        "Beneficiary does not belong to this user"
+                );
+            }
         }
 
         if (request.getType() == TransactionType.BILL_PAYMENT){
@@ -1,25 +1,39 @@
 package com.banking.paymentService.service.serviceImpl;
 
 import com.banking.paymentService.Entity.Transaction;
+import com.banking.paymentService.client.BeneficiaryUsageClient;
+import com.banking.paymentService.datasource.ReadYourWritesTracker;
+import com.banking.paymentService.diagnostics.TransactionCreatedEvent;
+import com.banking.paymentService.diagnostics.TransactionFailedEvent;
+import com.banking.paymentService.diagnostics.TransactionProcessedEvent;
 import com.banking.paymentService.dto.request.CreateTransactionRequest;
 import com.banking.paymentService.dto.request.UpdateTransactionStatusRequest;
 import com.banking.paymentService.dto.response.TransactionResponse;
 import com.banking.paymentService.dto.response.TransactionSummaryResponse;
 import com.banking.paymentService.enums.TransactionStatus;
 import com.banking.paymentService.enums.TransactionType;
+import com.banking.paymentService.logging.PaymentLogContext;
 import com.banking.paymentService.exceptions.TransactionNotFoundException;
+import com.banking.paymentService.metrics.TransactionMetrics;
+import com.banking.paymentService.metrics.TransactionMetrics.FailureReason;
+import com.banking.paymentService.metrics.TransactionMetrics.Stage;
 import com.banking.paymentService.repository.TransactionRepository;
 import com.banking.paymentService.service.TransactionService;
 import com.banking.paymentService.service.TransactionValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,59 +45,117 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final TransactionValidationService validationService;
+    private final BeneficiaryUsageClient beneficiaryUsageClient;
+    private final TransactionMetrics transactionMetrics;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final PlatformTransactionManager transactionManager;
     // TODO: Inject Kafka producers when enabled
     // private final TransactionEventProducer eventProducer;
 
+    /**
+     * Validation runs before the database transaction opens: the beneficiary check is a call
+     * to the user service, and inside the transaction every call would hold a pooled connection
+     * for its whole latency. Only saving and processing run in the transaction.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransactionResponse createTransaction(CreateTransactionRequest request, UUID userId) {
-        log.info("Creating transaction for user: {}, type: {}, amount: {}",
+        log.debug("Creating transaction for user: {}, type: {}, amount: {}",
                 userId, request.getType(), request.getAmount());
 
+        TransactionType type = request.getType();
+        long started = System.nanoTime();
+        transactionMetrics.transactionStarted();
+        TransactionCreatedEvent created = new TransactionCreatedEvent();
+        created.begin();
         try{
             // Step 1: Validate the transaction
-            validationService.validateTransaction(request, userId);
+            long stageStart = System.nanoTime();
+            try {
+                validationService.validateTransaction(request, userId);
+            } catch (RuntimeException e) {
+                transactionMetrics.recordFailure(FailureReason.VALIDATION, type);
+                emitFailed(null, type, FailureReason.VALIDATION, e);
+                throw e;
+            }
+            created.validation = transactionMetrics.recordStage(Stage.VALIDATION, type, stageStart);
 
 
             // Step 2: Calculate fee
+            stageStart = System.nanoTime();
             BigDecimal fee = validationService.calculateFee(request.getType(), request.getAmount());
             BigDecimal totalAmount = request.getAmount().add(fee);
+            created.fee = transactionMetrics.recordStage(Stage.FEE, type, stageStart);
 
             // Step 3: Validate balance (for debit transactions)
             if (isDebitTransaction(request.getType())){
-                validationService.validateBalance(request.getAccountId(), userId, totalAmount);
+                stageStart = System.nanoTime();
+                try {
+                    validationService.validateBalance(request.getAccountId(), userId, totalAmount);
+                } catch (RuntimeException e) {
+                    transactionMetrics.recordFailure(FailureReason.INSUFFICIENT_FUNDS, type);
+                    emitFailed(null, type, FailureReason.INSUFFICIENT_FUNDS, e);
+                    throw e;
+                }
+                created.balanceCheck = transactionMetrics.recordStage(Stage.BALANCE_CHECK, type, stageStart);
             }
 
-            // Step 4: Create transaction entity
-            Transaction transaction = buildTransaction(request, userId, fee, totalAmount);
-
-            // Step 5: Save as pending
-            transaction.setStatus(TransactionStatus.PENDING);
-            Transaction savedTransaction = transactionRepository.save(transaction);
-            log.info("Transaction created with ID: {} and refernce: {}", savedTransaction.getId(), savedTransaction.getReference());
-
-            // Step 6: Process the transaction
-            processTransaction(savedTransaction);
-
-            return mapToResponse(savedTransaction);
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                // Step 4: Create transaction entity
+                Transaction transaction = buildTransaction(request, userId, fee, totalAmount);
+
+                // Step 5: Save as pending
+                long saveStart = System.nanoTime();
+                transaction.setStatus(TransactionStatus.PENDING);
+                Transaction savedTransaction = transactionRepository.save(transaction);
+                // The user's next reads must see this, so they skip the replicas for a while
+                readYourWritesTracker.recordAfterCommit(userId);
+                // Generated on persist, so only known from here on
+                MDC.put(PaymentLogContext.TRANSACTION_REFERENCE, savedTransaction.getReference());
+                created.savePending = transactionMetrics.recordStage(Stage.SAVE_PENDING, type, saveStart);
+                created.end();
+                if (created.shouldCommit()) {
+                    created.transactionId = savedTransaction.getId().toString();
+                    created.type = type.name();
+                    created.commit();
+                }
+                log.debug("Transaction created with ID: {} and refernce: {}", savedTransaction.getId(), savedTransaction.getReference());
+
+                // Step 6: Process the transaction
+                processTransaction(savedTransaction);
+
+                transactionMetrics.recordStage(Stage.TOTAL, type, started);
+                return mapToResponse(savedTransaction);
+            });
         } catch (Exception e){
             log.error("Transaction validation failed: {}", e.getMessage());
             throw e;
+        } finally {
+            MDC.remove(PaymentLogContext.TRANSACTION_REFERENCE);
+            transactionMetrics.transactionFinished();
         }
     }
 
     private void processTransaction(Transaction transaction){
+        TransactionType type = transaction.getType();
+        TransactionProcessedEvent processed = new TransactionProcessedEvent();
+        processed.begin();
         try{
+            long stageStart = System.nanoTime();
             transaction.setStatus(TransactionStatus.PROCESSING);
             transactionRepository.save(transaction);
+            processed.saveProcessing = transactionMetrics.recordStage(Stage.SAVE_PROCESSING, type, stageStart);
 
             // TODO: Kafka integration will happen here
             // Send event based on transaction type
+            stageStart = System.nanoTime();
             switch (transaction.getType()){
                 case TRANSFER -> processTransfer(transaction);
                 case WITHDRAWAL -> processWithdrawal(transaction);
                 case DEPOSIT -> processDeposit(transaction);
                 case BILL_PAYMENT -> processBillPayment(transaction);
             }
+            processed.process = transactionMetrics.recordStage(Stage.PROCESS, type, stageStart);
 
             // Mark as completed
             transaction.setStatus(TransactionStatus.COMPLETED);
@@ -92,23 +164,42 @@ public class TransactionServiceImpl implements TransactionService {
             // Update balance snapshots (will come from Kafka response)
             updateBalanceSnapshots(transaction);
 
+            stageStart = System.nanoTime();
             transactionRepository.save(transaction);
-            log.info("Transaction {} completed successfully ", transaction.getReference());
+            processed.saveCompleted = transactionMetrics.recordStage(Stage.SAVE_COMPLETED, type, stageStart);
+            transactionMetrics.recordOutcome(TransactionStatus.COMPLETED, type);
+            processed.end();
+            if (processed.shouldCommit()) {
+                processed.transactionId = transaction.getId().toString();
+                processed.type = type.name();
+                processed.commit();
+            }
+            log.debug("Transaction {} completed successfully ", transaction.getReference());
+
+            if (transaction.getType() == TransactionType.TRANSFER && transaction.getBeneficiaryId() != null) {
+                beneficiaryUsageClient.recordAfterCommit(transaction.getUserId(), transaction.getBeneficiaryId(),
+                        transaction.getCompletedAt().atZone(ZoneId.systemDefault()).toInstant());
+            }
 
             // TODO: Send transaction notification via Kafka
             // eventProducer.sendTransactionNotification(transaction);
         } catch (Exception e) {
             log.error("Transaction processing failed: ", e);
+            long stageStart = System.nanoTime();
             transaction.setStatus(TransactionStatus.FAILED);
             transaction.setFailedAt(LocalDateTime.now());
             transaction.setFailureReason(e.getMessage());
             transactionRepository.save(transaction);
+            transactionMetrics.recordStage(Stage.SAVE_FAILED, type, stageStart);
+            transactionMetrics.recordFailure(FailureReason.PROCESSING, type);
+            transactionMetrics.recordOutcome(TransactionStatus.FAILED, type);
+            emitFailed(transaction.getId(), type, FailureReason.PROCESSING, e);
             throw new RuntimeException("Transaction processing failed", e);
         }
     }
 
     private void processTransfer(Transaction transaction){
-        log.info("Processing transfer from {} to {}", transaction.getAccountId(), transaction.getDestinationAccountId());
+        log.debug("Processing transfer from {} to {}", transaction.getAccountId(), transaction.getDestinationAccountId());
 
         // TODO: Kafka message to banking service
         // 1. Send debit request for source account
@@ -125,7 +216,7 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     private void processWithdrawal(Transaction transaction){
-        log.info("Processing withdrawal form account {}", transaction.getAccountId());
+        log.debug("Processing withdrawal form account {}", transaction.getAccountId());
 
         // TODO: Kafka message to banking service to debit account
         // eventProducer.sendDebitAccountRequest(transaction);
@@ -137,7 +228,7 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     private void processDeposit(Transaction transaction){
-        log.info("Processing deposit to account {}", transaction.getAccountId());
+        log.debug("Processing deposit to account {}", transaction.getAccountId());
 
         // TODO: Kafka message to banking service to credit account
         // eventProducer.sendCreditAccountRequest(transaction);
@@ -149,7 +240,7 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     private void processBillPayment(Transaction transaction){
-        log.info("Processing bill payment: {}", transaction.getDescription());
+        log.debug("Processing bill payment: {}", transaction.getDescription());
         // TODO: Kafka messages to banking service and bill payment provider
         // eventProducer.sendDebitAccountRequest(transaction);
         // eventProducer.sendBillPaymentRequest(transaction);
@@ -161,6 +252,17 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
+    private static void emitFailed(UUID transactionId, TransactionType type, FailureReason reason, Exception e) {
+        TransactionFailedEvent failed = new TransactionFailedEvent();
+        if (failed.isEnabled()) {
+            failed.transactionId = transactionId == null ? "" : transactionId.toString();
+            failed.type = type.name();
+            failed.reason = reason.name();
+            failed.message = e.getMessage();
+            failed.commit();
+        }
+    }
+
     private void updateBalanceSnapshots(Transaction transaction){
         // TODO: Get actual balance from banking service via Kafka
         // For now, simulate balance updates
@@ -185,15 +287,11 @@ public class TransactionServiceImpl implements TransactionService {
     public TransactionResponse getTransactionById(UUID transactionId, UUID userId) {
         log.info("Fetching transaction {} for user {}", transactionId, userId);
 
-        Transaction transaction = transactionRepository.findById(transactionId)
+        // Looked up with the owner, so only the user's shard is queried
+        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
                 .orElseThrow(()-> new RuntimeException(
                         "Transaction not found with ID: "+ transactionId
                 ));
-
-        // Verify transaction belongs to user
-        if (!transaction.getUserId().equals(userId)){
-            throw new RuntimeException("Transaction not found");
-        }
         return mapToResponse(transaction);
     }
 
@@ -309,6 +407,7 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         Transaction updated = transactionRepository.save(transaction);
+        transactionMetrics.recordOutcome(updated.getStatus(), updated.getType());
         return mapToResponse(updated);
     }
 
@@ -328,6 +427,7 @@ public class TransactionServiceImpl implements TransactionService {
 
         transaction.setStatus(TransactionStatus.CANCELLED);
         transactionRepository.save(transaction);
+        transactionMetrics.recordOutcome(TransactionStatus.CANCELLED, transaction.getType());
     }
 
     @Override
@@ -361,6 +461,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         Transaction savedReversal = transactionRepository.save(reversal);
+        transactionMetrics.recordOutcome(TransactionStatus.REVERSED, originalTransaction.getType());
         return mapToResponse(savedReversal);
     }
 
@@ -389,6 +490,8 @@ public class TransactionServiceImpl implements TransactionService {
             transaction.setFailedAt(LocalDateTime.now());
             transaction.setFailureReason("Transaction timed out");
             transactionRepository.save(transaction);
+            transactionMetrics.recordFailure(FailureReason.TIMEOUT, transaction.getType());
+            transactionMetrics.recordOutcome(TransactionStatus.FAILED, transaction.getType());
             log.warn("Marked transaction {} as failed due to timeout", transaction.getReference());
         });
     }
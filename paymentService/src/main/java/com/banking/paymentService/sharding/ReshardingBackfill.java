@@ -0,0 +1,143 @@
+package com.banking.paymentService.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * While double-writing, copies the rows written before resharding started to their target
+ * shard, a batch per current shard at a time. Rows the target already has were double
+ * written, and are newer than the backfill's copy, so they are left alone.
+ * <p>
+ * A double write whose copy failed after commit is only retried from memory, so one lost to
+ * a crash would go unnoticed. Once everything is copied, the shards are therefore walked
+ * again and every row compared with its copy, re-copying the ones that differ. Completion is
+ * only reported after a pass finds nothing to fix. All progress is in memory, so a restart
+ * starts over.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ReshardingBackfill {
+
+    private enum Pass {
+        COPY, VERIFY
+    }
+
+    private final ShardLayout layout;
+    private final ShardCopier copier;
+    private final int batchSize;
+    // Last ID handled from each current shard in this pass
+    private final Object[] cursors;
+    private final boolean[] done;
+    private Pass pass = Pass.COPY;
+    // Rows the verification pass had to copy again
+    private long repaired;
+    private boolean reported;
+
+    public ReshardingBackfill(ShardLayout layout, ShardCopier copier,
+                              @Value("${app.sharding.migration.batch-size:1000}") int batchSize) {
+        this.layout = layout;
+        this.copier = copier;
+        this.batchSize = batchSize;
+        this.cursors = new Object[layout.currentShards()];
+        this.done = new boolean[layout.currentShards()];
+    }
+
+    @Scheduled(fixedDelayString = "${app.sharding.migration.backfill-interval-ms:1000}")
+    public void run() {
+        copier.retryFailed();
+        if (layout.mode() != ShardLayout.MigrationMode.DOUBLE_WRITE || reported) {
+            return;
+        }
+
+        boolean complete = true;
+        for (int shard = 0; shard < cursors.length; shard++) {
+            if (!done[shard]) {
+                if (pass == Pass.COPY) {
+                    copyBatch(shard);
+                } else {
+                    verifyBatch(shard);
+                }
+                complete &= done[shard];
+            }
+        }
+        if (!complete) {
+            return;
+        }
+
+        if (pass == Pass.COPY) {
+            log.info("Resharding backfill copied every shard, verifying the target shards");
+            startPass(Pass.VERIFY);
+        } else if (repaired > 0 || copier.hasFailed()) {
+            log.warn("Resharding verification copied {} transactions again, verifying once more", repaired);
+            startPass(Pass.VERIFY);
+        } else {
+            reported = true;
+            log.info("Resharding backfill complete, the target shards can take reads: set app.sharding.migration.mode=read-target");
+        }
+    }
+
+    boolean isComplete() {
+        return reported;
+    }
+
+    private void startPass(Pass next) {
+        pass = next;
+        repaired = 0;
+        Arrays.fill(cursors, null);
+        Arrays.fill(done, false);
+    }
+
+    private void copyBatch(int shard) {
+        List<Map<String, Object>> rows = copier.batch(shard, cursors[shard], batchSize);
+        if (rows.isEmpty()) {
+            done[shard] = true;
+            return;
+        }
+
+        int copied = 0;
+        for (Map.Entry<Integer, List<Map<String, Object>>> target : byTarget(rows).entrySet()) {
+            copied += copier.insertMissing(target.getKey(), target.getValue());
+        }
+        cursors[shard] = rows.get(rows.size() - 1).get("id");
+        log.debug("Backfilled {} of {} transactions from shard {}", copied, rows.size(), shard);
+    }
+
+    private void verifyBatch(int shard) {
+        List<Map<String, Object>> rows = copier.batch(shard, cursors[shard], batchSize);
+        if (rows.isEmpty()) {
+            done[shard] = true;
+            return;
+        }
+
+        List<ShardCopier.Mirror> different = new ArrayList<>();
+        for (Map.Entry<Integer, List<Map<String, Object>>> target : byTarget(rows).entrySet()) {
+            different.addAll(copier.differences(shard, target.getKey(), target.getValue()));
+        }
+        if (!different.isEmpty()) {
+            log.warn("{} of {} transactions from shard {} were missing or stale on their target shard",
+                    different.size(), rows.size(), shard);
+            copier.sync(different);
+            repaired += different.size();
+        }
+        cursors[shard] = rows.get(rows.size() - 1).get("id");
+    }
+
+    private Map<Integer, List<Map<String, Object>>> byTarget(List<Map<String, Object>> rows) {
+        Map<Integer, List<Map<String, Object>>> byTarget = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            int slot = ShardSlots.slotOf(ShardCopier.toUuid(row.get("user_id")));
+            byTarget.computeIfAbsent(layout.targetShardOf(slot), target -> new ArrayList<>()).add(row);
+        }
+        return byTarget;
+    }
+}
@@ -0,0 +1,106 @@
+package com.banking.paymentService.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Which shard the next connection on this thread comes from.
+ * <p>
+ * A transaction is bound to the shard of its first repository call, and keeps it until it
+ * completes, since Hibernate may only write at flush time. A pinned shard overrides the
+ * binding for the duration of a call.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> PINNED = new ThreadLocal<>();
+    private static final Object TRANSACTION_KEY = new Object();
+
+    private ShardContext() {
+    }
+
+    static Integer pinned() {
+        return PINNED.get();
+    }
+
+    static Integer lookupKey() {
+        Integer pinned = PINNED.get();
+        if (pinned != null) {
+            return pinned;
+        }
+        ShardTransaction transaction = transaction();
+        return transaction == null ? null : transaction.shard;
+    }
+
+    static <T> T pinnedTo(int shard, ShardCall<T> call) throws Throwable {
+        Integer previous = PINNED.get();
+        PINNED.set(shard);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        }
+    }
+
+    static ShardTransaction transaction() {
+        return (ShardTransaction) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+    }
+
+    /**
+     * Bind the current transaction to a shard, until it completes
+     * @param afterCommit Called once the transaction commits, to copy its writes to mirrors
+     * @return The binding, or null outside transaction synchronization
+     */
+    static ShardTransaction bind(int shard, Consumer<ShardTransaction> afterCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        ShardTransaction transaction = new ShardTransaction(shard);
+        TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, transaction);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(TRANSACTION_KEY);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, transaction);
+            }
+
+            @Override
+            public void afterCommit() {
+                afterCommit.accept(transaction);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+            }
+        });
+        return transaction;
+    }
+
+    interface ShardCall<T> {
+        T call() throws Throwable;
+    }
+
+    static final class ShardTransaction {
+
+        final int shard;
+        // Rows to copy to their mirror shard once the transaction commits, by ID
+        final Map<UUID, ShardCopier.Mirror> mirrors = new LinkedHashMap<>();
+
+        private ShardTransaction(int shard) {
+            this.shard = shard;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.banking.paymentService.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Copies transaction rows between shards with plain JDBC, for double writes while
+ * resharding and for the backfill of older rows. Copies go through the shard pools
+ * directly, outside JPA and the caller's transaction.
+ */
+@Slf4j
+public class ShardCopier {
+
+    private static final String TABLE = "transactions";
+
+    /**
+     * A row to copy from its authoritative shard to its mirror
+     */
+    public record Mirror(UUID id, int source, int target) {
+    }
+
+    private final List<NamedParameterJdbcTemplate> jdbc = new ArrayList<>();
+    private final List<TransactionTemplate> transactions = new ArrayList<>();
+    // Copies that failed after commit, retried by the backfill. Lost on restart, which the
+    // backfill's verification pass makes up for
+    private final Queue<Mirror> failed = new ConcurrentLinkedQueue<>();
+    private volatile int idType = Types.NULL;
+
+    public ShardCopier(ShardDataSources shards) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            jdbc.add(new NamedParameterJdbcTemplate(shards.get(shard)));
+            TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(shards.get(shard)));
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transactions.add(template);
+        }
+    }
+
+    /**
+     * Make the mirror copies of these rows match their source, deleting copies whose
+     * source row is gone. Failures are kept for {@link #retryFailed()}.
+     */
+    public void sync(Collection<Mirror> mirrors) {
+        Map<List<Integer>, List<Mirror>> byRoute = mirrors.stream()
+                .collect(Collectors.groupingBy(m -> List.of(m.source(), m.target()), LinkedHashMap::new, Collectors.toList()));
+        byRoute.forEach((route, batch) -> {
+            try {
+                copy(route.get(0), route.get(1), batch.stream().map(Mirror::id).toList());
+            } catch (RuntimeException e) {
+                log.error("Could not mirror {} transactions from shard {} to shard {}, will retry",
+                        batch.size(), route.get(0), route.get(1), e);
+                failed.addAll(batch);
+            }
+        });
+    }
+
+    public void retryFailed() {
+        List<Mirror> retry = new ArrayList<>();
+        Mirror mirror;
+        while ((mirror = failed.poll()) != null) {
+            retry.add(mirror);
+        }
+        if (!retry.isEmpty()) {
+            sync(retry);
+        }
+    }
+
+    private void copy(int source, int target, List<UUID> ids) {
+        List<Map<String, Object>> rows = jdbc.get(source).queryForList(
+                "SELECT * FROM " + TABLE + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", bindIds(ids)));
+        transactions.get(target).executeWithoutResult(status -> {
+            jdbc.get(target).update("DELETE FROM " + TABLE + " WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", bindIds(ids)));
+            rows.forEach(row -> insert(target, row));
+        });
+    }
+
+    /**
+     * Next rows of a shard in ID order, for walking it in batches
+     * @param afterId Last ID of the previous batch, null to start
+     */
+    public List<Map<String, Object>> batch(int shard, Object afterId, int size) {
+        return afterId == null
+                ? jdbc.get(shard).queryForList("SELECT * FROM " + TABLE + " ORDER BY id LIMIT " + size, Map.of())
+                : jdbc.get(shard).queryForList("SELECT * FROM " + TABLE + " WHERE id > :afterId ORDER BY id LIMIT " + size,
+                Map.of("afterId", afterId));
+    }
+
+    /**
+     * Mirrors of these source rows that the target shard is missing or holds a different
+     * version of
+     */
+    public List<Mirror> differences(int source, int target, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = rows.stream().map(row -> toUuid(row.get("id"))).toList();
+        Map<UUID, Map<String, Object>> copies = new HashMap<>();
+        jdbc.get(target).queryForList("SELECT * FROM " + TABLE + " WHERE id IN (:ids)",
+                        new MapSqlParameterSource("ids", bindIds(ids)))
+                .forEach(copy -> copies.put(toUuid(copy.get("id")), copy));
+
+        List<Mirror> different = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            UUID id = toUuid(row.get("id"));
+            Map<String, Object> copy = copies.get(id);
+            if (copy == null || !sameValues(row, copy)) {
+                different.add(new Mirror(id, source, target));
+            }
+        }
+        return different;
+    }
+
+    public boolean hasFailed() {
+        return !failed.isEmpty();
+    }
+
+    /**
+     * Insert rows the target shard doesn't have yet, leaving the ones it has alone
+     * @return Number of rows inserted
+     */
+    public int insertMissing(int target, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = rows.stream().map(row -> toUuid(row.get("id"))).toList();
+        Set<UUID> existing = new HashSet<>();
+        jdbc.get(target).queryForList("SELECT id FROM " + TABLE + " WHERE id IN (:ids)",
+                        new MapSqlParameterSource("ids", bindIds(ids)), Object.class)
+                .forEach(id -> existing.add(toUuid(id)));
+
+        int inserted = 0;
+        for (Map<String, Object> row : rows) {
+            if (existing.contains(toUuid(row.get("id")))) {
+                continue;
+            }
+            try {
+                insert(target, row);
+                inserted++;
+            } catch (DuplicateKeyException e) {
+                // Written by a double write since the check, which is at least as new
+            }
+        }
+        return inserted;
+    }
+
+    private static boolean sameValues(Map<String, Object> row, Map<String, Object> copy) {
+        if (row.size() != copy.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Object> column : row.entrySet()) {
+            // deepEquals, as BINARY ids come back as arrays
+            if (!Objects.deepEquals(column.getValue(), copy.get(column.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(int target, Map<String, Object> row) {
+        String columns = String.join(", ", row.keySet());
+        String values = row.keySet().stream().map(column -> ":" + column).collect(Collectors.joining(", "));
+        jdbc.get(target).update("INSERT INTO " + TABLE + " (" + columns + ") VALUES (" + values + ")",
+                new MapSqlParameterSource(row));
+    }
+
+    /**
+     * IDs as the driver expects them for the id column: BINARY(16) on MySQL, a native
+     * UUID on H2, or text where the schema was created that way
+     */
+    private List<Object> bindIds(List<UUID> ids) {
+        int type = idType();
+        return ids.stream().map(id -> switch (type) {
+            case Types.BINARY, Types.VARBINARY -> (Object) ByteBuffer.allocate(16)
+                    .putLong(id.getMostSignificantBits())
+                    .putLong(id.getLeastSignificantBits())
+                    .array();
+            case Types.CHAR, Types.VARCHAR -> id.toString();
+            default -> id;
+        }).toList();
+    }
+
+    private int idType() {
+        if (idType == Types.NULL) {
+            idType = jdbc.get(0).getJdbcTemplate().query("SELECT id FROM " + TABLE + " WHERE 1 = 0",
+                    (ResultSetExtractor<Integer>) resultSet -> resultSet.getMetaData().getColumnType(1));
+        }
+        return idType;
+    }
+
+    public static UUID toUuid(Object value) {
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        if (value instanceof byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        return UUID.fromString(value.toString());
+    }
+}
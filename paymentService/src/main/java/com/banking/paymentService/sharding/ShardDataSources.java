@@ -0,0 +1,80 @@
+package com.banking.paymentService.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shard databases, current shards first, then resharding targets, and the threads that
+ * query them in parallel.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<DataSource> shards;
+    private final ExecutorService scatterExecutor;
+
+    /**
+     * @param scatterThreads Threads for queries that run on every shard, shared by all callers
+     */
+    public ShardDataSources(List<DataSource> shards, int scatterThreads) {
+        this.shards = List.copyOf(shards);
+        AtomicInteger threads = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(scatterThreads, task -> {
+            Thread thread = new Thread(task, "shard-scatter-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public Executor scatterExecutor() {
+        return scatterExecutor;
+    }
+
+    /**
+     * Data source that connects to the shard in the current {@link ShardContext}, or to the
+     * first shard outside any, as for schema checks at startup
+     */
+    public DataSource routing() {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ShardContext.lookupKey();
+            }
+        };
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Override
+    public void close() throws Exception {
+        scatterExecutor.shutdown();
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.banking.paymentService.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the repository method parameter that decides which shard a query runs on: a user
+ * ID, or a transaction reference carrying its user's slot. Methods without one, and without
+ * a Transaction argument, run on every shard.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
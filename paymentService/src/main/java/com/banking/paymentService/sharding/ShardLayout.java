@@ -0,0 +1,96 @@
+package com.banking.paymentService.sharding;
+
+import java.util.Locale;
+
+/**
+ * Which shard owns a slot, for the current shards and, while resharding, the target shards.
+ * <p>
+ * Shards are numbered current first, then target. Resharding fills a separate set of target
+ * databases rather than moving rows between existing ones, so no shard ever holds rows it
+ * doesn't own:
+ * <ol>
+ *     <li>double-write: the current shards stay authoritative; every write is copied to the
+ *     target shard after commit, and older rows are backfilled</li>
+ *     <li>read-target: the target shards become authoritative and writes are copied back,
+ *     so the switch can still be undone</li>
+ *     <li>off, with the target URLs as the shard URLs: the old databases can be retired</li>
+ * </ol>
+ */
+public class ShardLayout {
+
+    public enum MigrationMode {
+        OFF, DOUBLE_WRITE, READ_TARGET;
+
+        public static MigrationMode parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final int current;
+    private final int target;
+    private final MigrationMode mode;
+
+    /**
+     * @param current Number of current shards
+     * @param target Number of target shards, 0 when not resharding
+     * @param mode Resharding stage
+     */
+    public ShardLayout(int current, int target, MigrationMode mode) {
+        if (current < 1 || current > ShardSlots.SLOTS) {
+            throw new IllegalArgumentException("Between 1 and " + ShardSlots.SLOTS + " shards are supported, got " + current);
+        }
+        if (mode != MigrationMode.OFF && (target < 1 || target > ShardSlots.SLOTS)) {
+            throw new IllegalArgumentException("Resharding mode " + mode + " needs between 1 and "
+                    + ShardSlots.SLOTS + " target shards, got " + target);
+        }
+        this.current = current;
+        this.target = mode == MigrationMode.OFF ? 0 : target;
+        this.mode = mode;
+    }
+
+    public MigrationMode mode() {
+        return mode;
+    }
+
+    public int currentShards() {
+        return current;
+    }
+
+    /**
+     * Shard holding the authoritative rows for a slot
+     */
+    public int shardOf(int slot) {
+        return mode == MigrationMode.READ_TARGET ? targetShardOf(slot) : slot % current;
+    }
+
+    /**
+     * Shard that gets a copy of every write for a slot
+     * @return The shard, or -1 when not resharding
+     */
+    public int mirrorOf(int slot) {
+        return switch (mode) {
+            case OFF -> -1;
+            case DOUBLE_WRITE -> targetShardOf(slot);
+            case READ_TARGET -> slot % current;
+        };
+    }
+
+    public int targetShardOf(int slot) {
+        return current + slot % target;
+    }
+
+    /**
+     * First of the shards that queries without a shard key read
+     */
+    public int firstReadShard() {
+        return mode == MigrationMode.READ_TARGET ? current : 0;
+    }
+
+    public int readShards() {
+        return mode == MigrationMode.READ_TARGET ? target : current;
+    }
+
+    public int totalShards() {
+        return current + target;
+    }
+}
@@ -0,0 +1,371 @@
+package com.banking.paymentService.sharding;
+
+import com.banking.paymentService.Entity.Transaction;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Sends each repository call to the shards that hold its rows:
+ * <ul>
+ *     <li>calls with a {@link ShardKey} go to that user's shard</li>
+ *     <li>saves and deletes go to the shard of each entity's user, and are copied to its
+ *     mirror shard after commit while resharding</li>
+ *     <li>anything else runs on every shard in parallel, and the results are merged</li>
+ * </ul>
+ * A transaction keeps to the shard of its first call. A later call for another shard runs
+ * in a transaction of its own, so one service transaction is only atomic on one shard.
+ */
+class ShardRoutingInterceptor implements MethodInterceptor {
+
+    private static final Pattern READ_METHOD = Pattern.compile("^(find|get|read|query|search|stream|count|exists|sum).*");
+    private static final int NO_SHARD_KEY = -1;
+
+    private final ShardLayout layout;
+    private final Supplier<ShardCopier> copier;
+    private final Supplier<PlatformTransactionManager> transactionManager;
+    private final Supplier<Executor> executor;
+    private final Map<Method, Integer> shardKeys = new ConcurrentHashMap<>();
+
+    ShardRoutingInterceptor(ShardLayout layout, Supplier<ShardCopier> copier,
+                            Supplier<PlatformTransactionManager> transactionManager, Supplier<Executor> executor) {
+        this.layout = layout;
+        this.copier = copier;
+        this.transactionManager = transactionManager;
+        this.executor = executor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (ShardContext.pinned() != null) {
+            // A scatter worker, or a call already routed
+            return invocation.proceed();
+        }
+        Method method = invocation.getMethod();
+        if (method.getName().equals("flush")) {
+            // Only the current transaction has anything to flush
+            return invocation.proceed();
+        }
+
+        int keyIndex = shardKeys.computeIfAbsent(method, ShardRoutingInterceptor::shardKeyIndex);
+        if (keyIndex != NO_SHARD_KEY) {
+            int slot = slotOf(invocation.getArguments()[keyIndex]);
+            if (slot >= 0) {
+                return onShard(layout.shardOf(slot), invocation::proceed);
+            }
+            // A reference from before slots were encoded
+            return scatter(invocation);
+        }
+
+        Map<Integer, List<Transaction>> entitiesByShard = entitiesByShard(invocation.getArguments());
+        if (!entitiesByShard.isEmpty()) {
+            return write(invocation, entitiesByShard);
+        }
+        if (method.getName().matches("getReferenceById|getById|getOne")) {
+            throw new UnsupportedOperationException(method.getName() + " can't tell which shard holds the row, use findById");
+        }
+        return scatter(invocation);
+    }
+
+    private static int shardKeyIndex(Method method) {
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(ShardKey.class)) {
+                return i;
+            }
+        }
+        return NO_SHARD_KEY;
+    }
+
+    private static int slotOf(Object key) {
+        if (key instanceof UUID userId) {
+            return ShardSlots.slotOf(userId);
+        }
+        if (key instanceof String reference) {
+            return ShardSlots.slotOf(reference);
+        }
+        return -1;
+    }
+
+    /**
+     * Run a call on one shard, in the current transaction if it is on that shard or not
+     * yet on any, otherwise in a new one
+     */
+    private Object onShard(int shard, ShardContext.ShardCall<Object> call) throws Throwable {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return ShardContext.pinnedTo(shard, call);
+        }
+        ShardContext.ShardTransaction current = ShardContext.transaction();
+        if (current == null) {
+            ShardContext.bind(shard, this::mirrorAfterCommit);
+            return call.call();
+        }
+        if (current.shard == shard) {
+            return call.call();
+        }
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager.get());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        return template.execute(status -> {
+            ShardContext.bind(shard, this::mirrorAfterCommit);
+            try {
+                return call.call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+    }
+
+    private Object write(MethodInvocation invocation, Map<Integer, List<Transaction>> entitiesByShard) throws Throwable {
+        if (entitiesByShard.size() == 1) {
+            Map.Entry<Integer, List<Transaction>> only = entitiesByShard.entrySet().iterator().next();
+            return onShard(only.getKey(), () -> {
+                Object result = invocation.proceed();
+                mirror(only.getKey(), only.getValue());
+                return result;
+            });
+        }
+
+        // A batch spanning users: each shard gets the entities it owns
+        List<Object> results = new ArrayList<>();
+        for (Map.Entry<Integer, List<Transaction>> group : entitiesByShard.entrySet()) {
+            Object[] arguments = invocation.getArguments().clone();
+            for (int i = 0; i < arguments.length; i++) {
+                if (arguments[i] instanceof Iterable<?>) {
+                    arguments[i] = group.getValue();
+                }
+            }
+            MethodInvocation part = ((ProxyMethodInvocation) invocation).invocableClone(arguments);
+            results.add(onShard(group.getKey(), () -> {
+                Object result = part.proceed();
+                mirror(group.getKey(), group.getValue());
+                return result;
+            }));
+        }
+        return merge(invocation.getMethod(), results, null);
+    }
+
+    private Map<Integer, List<Transaction>> entitiesByShard(Object[] arguments) {
+        Map<Integer, List<Transaction>> byShard = new LinkedHashMap<>();
+        for (Object argument : arguments) {
+            if (argument instanceof Transaction transaction) {
+                byShard.computeIfAbsent(shardOf(transaction), shard -> new ArrayList<>()).add(transaction);
+            } else if (argument instanceof Iterable<?> iterable) {
+                for (Object element : iterable) {
+                    if (element instanceof Transaction transaction) {
+                        byShard.computeIfAbsent(shardOf(transaction), shard -> new ArrayList<>()).add(transaction);
+                    }
+                }
+            }
+        }
+        return byShard;
+    }
+
+    private int shardOf(Transaction transaction) {
+        if (transaction.getUserId() == null) {
+            throw new IllegalArgumentException("Transaction has no user ID to shard by");
+        }
+        return layout.shardOf(ShardSlots.slotOf(transaction.getUserId()));
+    }
+
+    /**
+     * Copy what was written to the mirror shard, once the writing transaction commits
+     */
+    private void mirror(int shard, List<Transaction> written) {
+        List<ShardCopier.Mirror> mirrors = new ArrayList<>();
+        for (Transaction transaction : written) {
+            int target = layout.mirrorOf(ShardSlots.slotOf(transaction.getUserId()));
+            if (target >= 0 && transaction.getId() != null) {
+                mirrors.add(new ShardCopier.Mirror(transaction.getId(), shard, target));
+            }
+        }
+        if (mirrors.isEmpty()) {
+            return;
+        }
+        ShardContext.ShardTransaction current = ShardContext.transaction();
+        if (current != null && current.shard == shard) {
+            mirrors.forEach(mirror -> current.mirrors.put(mirror.id(), mirror));
+        } else {
+            // Already committed by the repository's own transaction
+            copier.get().sync(mirrors);
+        }
+    }
+
+    private void mirrorAfterCommit(ShardContext.ShardTransaction transaction) {
+        if (!transaction.mirrors.isEmpty()) {
+            copier.get().sync(transaction.mirrors.values());
+        }
+    }
+
+    /**
+     * Run the call on each shard through the repository proxy, so every worker gets the
+     * repository's own transaction and metadata handling on its thread
+     */
+    private Object scatter(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        boolean read = READ_METHOD.matcher(method.getName()).matches();
+        int first = read ? layout.firstReadShard() : 0;
+        int count = read ? layout.readShards() : layout.totalShards();
+        if (count == 1) {
+            return onShard(first, invocation::proceed);
+        }
+
+        Object proxy = ((ProxyMethodInvocation) invocation).getProxy();
+        Object[] arguments = scatterArguments(invocation.getArguments());
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (int shard = first; shard < first + count; shard++) {
+            int target = shard;
+            calls.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ShardContext.pinnedTo(target, () -> method.invoke(proxy, arguments));
+                } catch (InvocationTargetException e) {
+                    throw new CompletionException(e.getCause());
+                } catch (Throwable e) {
+                    throw new CompletionException(e);
+                }
+            }, executor.get()));
+        }
+
+        List<Object> results = new ArrayList<>();
+        try {
+            for (CompletableFuture<Object> call : calls) {
+                results.add(call.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+        return merge(method, results, pageable(invocation.getArguments()));
+    }
+
+    /**
+     * A page can't be read from each shard at the same offset: each shard returns every
+     * row up to the end of the requested page, and the merge picks the page from those.
+     * Rows are also ordered by ID last, so pages are stable across shards.
+     */
+    private static Object[] scatterArguments(Object[] arguments) {
+        Object[] scattered = arguments.clone();
+        for (int i = 0; i < scattered.length; i++) {
+            if (scattered[i] instanceof Pageable pageable && pageable.isPaged()) {
+                scattered[i] = PageRequest.of(0, (pageable.getPageNumber() + 1) * pageable.getPageSize(),
+                        pageable.getSort().and(Sort.by("id")));
+            }
+        }
+        return scattered;
+    }
+
+    private static Pageable pageable(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Pageable pageable) {
+                return pageable;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object merge(Method method, List<Object> results, Pageable pageable) {
+        Class<?> type = method.getReturnType();
+        if (type == void.class) {
+            return null;
+        }
+        if (Page.class.isAssignableFrom(type)) {
+            List<Object> rows = new ArrayList<>();
+            long total = 0;
+            for (Object result : results) {
+                Page<Object> page = (Page<Object>) result;
+                rows.addAll(page.getContent());
+                total += page.getTotalElements();
+            }
+            if (pageable == null || pageable.isUnpaged()) {
+                return new PageImpl<>(rows, pageable == null ? Pageable.unpaged() : pageable, total);
+            }
+            rows.sort(comparator(pageable.getSort().and(Sort.by("id"))));
+            int from = (int) Math.min(pageable.getOffset(), rows.size());
+            int to = Math.min(from + pageable.getPageSize(), rows.size());
+            return new PageImpl<>(new ArrayList<>(rows.subList(from, to)), pageable, total);
+        }
+        if (Iterable.class.isAssignableFrom(type)) {
+            List<Object> rows = new ArrayList<>();
+            results.forEach(result -> ((Iterable<Object>) result).forEach(rows::add));
+            return rows;
+        }
+        if (type == Optional.class) {
+            return results.stream()
+                    .map(result -> (Optional<Object>) result)
+                    .filter(Optional::isPresent)
+                    .findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (type == long.class || type == Long.class) {
+            return results.stream().filter(result -> result != null).mapToLong(result -> (Long) result).sum();
+        }
+        if (type == BigDecimal.class) {
+            return results.stream().filter(result -> result != null).map(result -> (BigDecimal) result)
+                    .reduce(BigDecimal::add).orElse(null);
+        }
+        throw new UnsupportedOperationException("Can't merge " + type.getSimpleName() + " results of "
+                + method.getName() + " across shards");
+    }
+
+    /**
+     * The order the database sorts in, as far as Java can tell: nulls first, and UUIDs
+     * by their unsigned bytes as MySQL compares BINARY(16)
+     */
+    private static Comparator<Object> comparator(Sort sort) {
+        Comparator<Object> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Object> byProperty = (a, b) -> compare(
+                    new BeanWrapperImpl(a).getPropertyValue(order.getProperty()),
+                    new BeanWrapperImpl(b).getPropertyValue(order.getProperty()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof UUID x && b instanceof UUID y) {
+            int high = Long.compareUnsigned(x.getMostSignificantBits(), y.getMostSignificantBits());
+            return high != 0 ? high : Long.compareUnsigned(x.getLeastSignificantBits(), y.getLeastSignificantBits());
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+}
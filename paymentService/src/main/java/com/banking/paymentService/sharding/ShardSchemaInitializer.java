@@ -0,0 +1,67 @@
+package com.banking.paymentService.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Hibernate only manages the schema of the database it connects to at startup, the first
+ * shard. Where ddl-auto would create the schema, this creates it on the other shards too.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final Set<String> CREATING = Set.of("create", "create-drop", "update");
+
+    private final ShardDataSources shards;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String ddlAuto;
+
+    public ShardSchemaInitializer(ShardDataSources shards, EntityManagerFactory entityManagerFactory,
+                                  @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        this.shards = shards;
+        this.entityManagerFactory = entityManagerFactory;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!CREATING.contains(ddlAuto)) {
+            return;
+        }
+        for (int shard = 1; shard < shards.size(); shard++) {
+            if (hasSchema(shard)) {
+                continue;
+            }
+            log.info("Creating the transactions schema on shard {}", shard);
+            try {
+                ShardContext.pinnedTo(shard, () -> {
+                    entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+                    return null;
+                });
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not create the schema on shard " + shard, e);
+            }
+        }
+    }
+
+    private boolean hasSchema(int shard) {
+        try {
+            new JdbcTemplate(shards.get(shard)).queryForList("SELECT 1 FROM transactions WHERE 1 = 0");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
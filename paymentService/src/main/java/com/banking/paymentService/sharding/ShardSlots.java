@@ -0,0 +1,46 @@
+package com.banking.paymentService.sharding;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Users hash to one of a fixed number of slots, and slots map onto however many shards
+ * there are. Transaction references carry the slot rather than the shard, so they still
+ * lead to the right database after resharding.
+ */
+public final class ShardSlots {
+
+    public static final int SLOTS = 1024;
+
+    // TXN, creation millis, S and the slot in hex, then random hex
+    private static final Pattern SLOTTED_REFERENCE = Pattern.compile("TXN\\d+S([0-9A-F]{3})[0-9A-F]{8}");
+
+    private ShardSlots() {
+    }
+
+    public static int slotOf(UUID userId) {
+        // MurmurHash3 finalizer, so version and variant bits don't skew the spread
+        long hash = userId.getMostSignificantBits() ^ userId.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return Math.floorMod(hash, SLOTS);
+    }
+
+    /**
+     * Slot encoded in a transaction reference
+     * @param reference Transaction reference
+     * @return The slot, or -1 for references created before slots were encoded
+     */
+    public static int slotOf(String reference) {
+        Matcher matcher = SLOTTED_REFERENCE.matcher(reference);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1), 16) : -1;
+    }
+
+    public static String reference(UUID userId) {
+        return String.format("TXN%dS%03X%08X", System.currentTimeMillis(), slotOf(userId),
+                ThreadLocalRandom.current().nextInt());
+    }
+}
@@ -0,0 +1,111 @@
+package com.banking.paymentService.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with one that routes transaction queries to
+ * the shard of their user. Without app.sharding.enabled the single data source is left as
+ * Spring Boot configures it. Can't be combined with read replicas yet, see {@link WithoutReadReplicas}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@Conditional(ShardingConfig.WithoutReadReplicas.class)
+public class ShardingConfig {
+
+    /**
+     * Refuses to start with both sharding and read replicas on. Both replace the data source,
+     * which would otherwise fail later with a bean overriding error that names neither setting.
+     * Checked as a condition because that error comes before any bean is created.
+     */
+    static class WithoutReadReplicas implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            Environment environment = context.getEnvironment();
+            if (environment.getProperty("app.sharding.enabled", Boolean.class, false)
+                    && environment.getProperty("app.datasource.replica.enabled", Boolean.class, false)) {
+                throw new IllegalStateException("app.sharding.enabled and app.datasource.replica.enabled "
+                        + "can't both be true: sharding doesn't support read replicas yet, turn one of them off");
+            }
+            return true;
+        }
+    }
+
+    @Bean
+    public ShardLayout shardLayout(
+            @Value("${app.sharding.urls}") String[] urls,
+            @Value("${app.sharding.migration.target-urls:}") String[] targetUrls,
+            @Value("${app.sharding.migration.mode:off}") String mode
+    ) {
+        return new ShardLayout(nonBlank(urls).size(), nonBlank(targetUrls).size(), ShardLayout.MigrationMode.parse(mode));
+    }
+
+    /**
+     * One pool per shard, current shards first, with the credentials from spring.datasource
+     */
+    @Bean
+    public ShardDataSources shardDataSources(
+            DataSourceProperties properties,
+            ShardLayout layout,
+            @Value("${app.sharding.urls}") String[] urls,
+            @Value("${app.sharding.migration.target-urls:}") String[] targetUrls,
+            @Value("${app.sharding.pool-size:10}") int poolSize,
+            @Value("${app.sharding.scatter-threads:16}") int scatterThreads
+    ) {
+        List<String> all = new ArrayList<>(nonBlank(urls));
+        if (layout.mode() != ShardLayout.MigrationMode.OFF) {
+            all.addAll(nonBlank(targetUrls));
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (String url : all) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + shards.size());
+            shard.setJdbcUrl(url);
+            shard.setUsername(properties.determineUsername());
+            shard.setPassword(properties.determinePassword());
+            if (properties.getDriverClassName() != null) {
+                shard.setDriverClassName(properties.getDriverClassName());
+            }
+            shard.setMaximumPoolSize(poolSize);
+            shards.add(shard);
+        }
+        return new ShardDataSources(shards, scatterThreads);
+    }
+
+    /**
+     * Lazy, so the physical connection is only picked at the first statement, once the
+     * repository call has chosen the shard
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        return new LazyConnectionDataSourceProxy(shardDataSources.routing());
+    }
+
+    @Bean
+    public ShardCopier shardCopier(ShardDataSources shardDataSources) {
+        return new ShardCopier(shardDataSources);
+    }
+
+    private static List<String> nonBlank(String[] urls) {
+        return Arrays.stream(urls).map(String::trim).filter(url -> !url.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.banking.paymentService.sharding;
+
+import com.banking.paymentService.repository.TransactionRepository;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Routes {@link TransactionRepository} calls to the shards, see {@link ShardRoutingInterceptor}.
+ * Its dependencies are looked up when the repository is created, since post-processors are
+ * created before the sharding configuration.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ShardLayout> layout;
+    private final ObjectProvider<ShardCopier> copier;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final ObjectProvider<ShardDataSources> shards;
+
+    public ShardingRepositoryPostProcessor(ObjectProvider<ShardLayout> layout,
+                                           ObjectProvider<ShardCopier> copier,
+                                           ObjectProvider<PlatformTransactionManager> transactionManager,
+                                           ObjectProvider<ShardDataSources> shards) {
+        this.layout = layout;
+        this.copier = copier;
+        this.transactionManager = transactionManager;
+        this.shards = shards;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> {
+                        if (information.getRepositoryInterface() == TransactionRepository.class) {
+                            proxyFactory.addAdvice(new ShardRoutingInterceptor(
+                                    layout.getObject(),
+                                    SingletonSupplier.of(copier::getObject),
+                                    SingletonSupplier.of(transactionManager::getObject),
+                                    SingletonSupplier.of(() -> shards.getObject().scatterExecutor())));
+                        }
+                    }));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,18 @@
+package com.banking.paymentService.tracing;
+
+import com.banking.common.tracing.TailSamplingSpanProcessor;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Replaces the default processor list, so spans only reach the exporters through the tail sampler
+     */
+    @Bean
+    public SpanProcessors spanProcessors(TailSamplingSpanProcessor tailSamplingSpanProcessor) {
+        return SpanProcessors.of(tailSamplingSpanProcessor);
+    }
+}
@@ -0,0 +1,220 @@
+package com.banking.paymentService.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BeneficiaryOwnershipClientTest {
+
+    private static final String API_KEY = "test-key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Stub of the user management service's ownership endpoint
+    private final Set<String> ownedPairs = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger pairsReceived = new AtomicInteger();
+    private volatile long responseDelayMillis;
+    private volatile int responseStatus = 200;
+
+    private HttpServer server;
+    private BeneficiaryOwnershipClient client;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/internal/beneficiaries/ownership", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            int status = API_KEY.equals(exchange.getRequestHeaders().getFirst("X-Internal-Api-Key")) ? responseStatus : 401;
+            if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+                return;
+            }
+
+            List<Map<String, Object>> checks = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<>() {});
+            pairsReceived.addAndGet(checks.size());
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Map<String, Object> check : checks) {
+                results.add(Map.of(
+                        "userId", check.get("userId"),
+                        "beneficiaryId", check.get("beneficiaryId"),
+                        "owned", ownedPairs.contains(check.get("userId") + ":" + check.get("beneficiaryId"))
+                ));
+            }
+
+            byte[] body = objectMapper.writeValueAsString(results).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        client = new BeneficiaryOwnershipClient(RestClient.builder(),
+                "http://localhost:" + server.getAddress().getPort(), API_KEY,
+                60_000, 60_000, 20, 200, 2_000, 10_000);
+    }
+
+    @AfterEach
+    void stopStub() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void answersFromCacheAfterFirstCheck() {
+        UUID userId = UUID.randomUUID();
+        UUID beneficiaryId = UUID.randomUUID();
+        own(userId, beneficiaryId);
+
+        assertThat(client.isOwner(userId, beneficiaryId)).isTrue();
+        assertThat(client.isOwner(userId, beneficiaryId)).isTrue();
+        assertThat(client.isOwner(userId, UUID.randomUUID())).isFalse();
+
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void coalescesConcurrentChecksOfTheSamePair() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID beneficiaryId = UUID.randomUUID();
+        own(userId, beneficiaryId);
+        responseDelayMillis = 200;
+
+        List<Boolean> answers = runConcurrently(20, i -> client.isOwner(userId, beneficiaryId));
+
+        assertThat(answers).containsOnly(true);
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(pairsReceived.get()).isEqualTo(1);
+    }
+
+    @Test
+    void batchesDistinctPairsArrivingTogether() throws Exception {
+        UUID userId = UUID.randomUUID();
+        List<UUID> beneficiaryIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID beneficiaryId = UUID.randomUUID();
+            beneficiaryIds.add(beneficiaryId);
+            if (i % 2 == 0) {
+                own(userId, beneficiaryId);
+            }
+        }
+
+        List<Boolean> answers = runConcurrently(50, i -> client.isOwner(userId, beneficiaryIds.get(i)));
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(answers.get(i)).isEqualTo(i % 2 == 0);
+        }
+        assertThat(pairsReceived.get()).isEqualTo(50);
+        assertThat(requests.get()).isLessThan(50);
+    }
+
+    @Test
+    void invalidationDropsCachedAnswer() {
+        UUID userId = UUID.randomUUID();
+        UUID beneficiaryId = UUID.randomUUID();
+        own(userId, beneficiaryId);
+
+        assertThat(client.isOwner(userId, beneficiaryId)).isTrue();
+        ownedPairs.clear();
+        assertThat(client.isOwner(userId, beneficiaryId)).isTrue();
+
+        client.invalidate(userId, beneficiaryId);
+        assertThat(client.isOwner(userId, beneficiaryId)).isFalse();
+    }
+
+    @Test
+    void beneficiaryWideInvalidationDropsEveryUser() {
+        UUID beneficiaryId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        own(first, beneficiaryId);
+        own(second, beneficiaryId);
+
+        assertThat(client.isOwner(first, beneficiaryId)).isTrue();
+        assertThat(client.isOwner(second, beneficiaryId)).isTrue();
+        ownedPairs.clear();
+
+        client.invalidate(null, beneficiaryId);
+        assertThat(client.isOwner(first, beneficiaryId)).isFalse();
+        assertThat(client.isOwner(second, beneficiaryId)).isFalse();
+    }
+
+    @Test
+    void failsClosedWhenUserServiceErrors() {
+        responseStatus = 503;
+        UUID userId = UUID.randomUUID();
+        UUID beneficiaryId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> client.isOwner(userId, beneficiaryId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Unable to verify beneficiary ownership");
+
+        // Failures are not cached
+        responseStatus = 200;
+        own(userId, beneficiaryId);
+        assertThat(client.isOwner(userId, beneficiaryId)).isTrue();
+    }
+
+    private void own(UUID userId, UUID beneficiaryId) {
+        ownedPairs.add(userId + ":" + beneficiaryId);
+    }
+
+    private interface Check {
+        boolean run(int index);
+    }
+
+    private static List<Boolean> runConcurrently(int threads, Check check) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return check.run(index);
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> answers = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                answers.add(future.get());
+            }
+            return answers;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
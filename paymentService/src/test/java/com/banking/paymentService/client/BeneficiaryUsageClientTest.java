@@ -0,0 +1,118 @@
+package com.banking.paymentService.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeneficiaryUsageClientTest {
+
+    private static final String API_KEY = "test-key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Batches received by the stub of the user management service's usage endpoint
+    private final List<List<Map<String, Object>>> batches = new CopyOnWriteArrayList<>();
+    private volatile int responseStatus = 200;
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/internal/beneficiaries/usage", exchange -> {
+            int status = API_KEY.equals(exchange.getRequestHeaders().getFirst("X-Internal-Api-Key")) ? responseStatus : 401;
+            if (status == 200) {
+                batches.add(objectMapper.readValue(exchange.getRequestBody(), new TypeReference<>() {}));
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void postsQueuedEventsInBatches() {
+        BeneficiaryUsageClient client = client(100, 2);
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            client.recordAfterCommit(userId, UUID.randomUUID(), Instant.now());
+        }
+
+        client.flush();
+
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(batches.get(0).get(0)).containsEntry("userId", userId.toString());
+    }
+
+    @Test
+    void waitsForTheTransactionToCommit() {
+        BeneficiaryUsageClient client = client(100, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            client.recordAfterCommit(UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+            client.flush();
+            assertThat(batches).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        client.flush();
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void dropsEventsWhenTheQueueIsFull() {
+        BeneficiaryUsageClient client = client(2, 10);
+        for (int i = 0; i < 3; i++) {
+            client.recordAfterCommit(UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+        }
+
+        client.flush();
+
+        assertThat(batches).extracting(List::size).containsExactly(2);
+    }
+
+    @Test
+    void failedPostDropsOnlyItsBatch() {
+        BeneficiaryUsageClient client = client(100, 2);
+        for (int i = 0; i < 3; i++) {
+            client.recordAfterCommit(UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+        }
+        responseStatus = 503;
+
+        client.flush();
+        assertThat(batches).isEmpty();
+
+        responseStatus = 200;
+        client.flush();
+        assertThat(batches).extracting(List::size).containsExactly(1);
+    }
+
+    private BeneficiaryUsageClient client(int queueCapacity, int batchSize) {
+        return new BeneficiaryUsageClient(RestClient.builder(), "http://localhost:" + server.getAddress().getPort(),
+                API_KEY, queueCapacity, batchSize);
+    }
+}
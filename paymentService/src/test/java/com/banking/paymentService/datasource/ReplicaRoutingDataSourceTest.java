@@ -0,0 +1,211 @@
+package com.banking.paymentService.datasource;
+
+import com.banking.paymentService.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MILLIS = 2000;
+    private static final long READ_YOUR_WRITES_MILLIS = 300;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private DataSource primary;
+    private FlakyDataSource replica;
+    private ReplicaPool pool;
+    private ReadYourWritesTracker tracker;
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = new FlakyDataSource(database("replica"));
+        pool = new ReplicaPool(Map.of("replica-1", replica), MAX_LAG_MILLIS, "SELECT seconds FROM replica_lag");
+        tracker = new ReadYourWritesTracker(true, READ_YOUR_WRITES_MILLIS, 0);
+        routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, pool, tracker));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToHealthyReplica() {
+        pool.checkHealth();
+
+        assertThat(servedBy(true)).isEqualTo("replica");
+        assertThat(servedBy(false)).isEqualTo("primary");
+        // Outside a transaction nothing is known to be read-only
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void replicaTakesNoReadsUntilChecked() {
+        assertThat(servedBy(true)).isEqualTo("primary");
+
+        pool.checkHealth();
+
+        assertThat(servedBy(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+        pool.checkHealth();
+        setReplicaLag("5");
+        pool.checkHealth();
+
+        assertThat(servedBy(true)).isEqualTo("primary");
+        assertThat(pool.healthyCount()).isZero();
+
+        setReplicaLag("0.5");
+        pool.checkHealth();
+
+        assertThat(servedBy(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void stoppedReplicationTakesReplicaOut() {
+        setReplicaLag("NULL");
+        pool.checkHealth();
+
+        assertThat(servedBy(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackWithoutWaitingForCheck() {
+        pool.checkHealth();
+        replica.down = true;
+
+        assertThat(servedBy(true)).isEqualTo("primary");
+        assertThat(pool.healthyCount()).isZero();
+
+        replica.down = false;
+        assertThat(servedBy(true)).isEqualTo("primary");
+        pool.checkHealth();
+        assertThat(servedBy(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimaryForWindow() throws InterruptedException {
+        pool.checkHealth();
+        signIn(userId);
+
+        TransactionTemplate write = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        write.executeWithoutResult(status -> {
+            new JdbcTemplate(routing).update("INSERT INTO node (name) VALUES ('written')");
+            tracker.recordAfterCommit(userId);
+            // Not sticky until the write is visible on the primary
+            assertThat(tracker.isSticky(userId)).isFalse();
+        });
+
+        assertThat(servedBy(true)).isEqualTo("primary");
+
+        signIn(UUID.randomUUID());
+        assertThat(servedBy(true)).isEqualTo("replica");
+
+        signIn(userId);
+        Thread.sleep(READ_YOUR_WRITES_MILLIS + 100);
+        assertThat(servedBy(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinUser() {
+        pool.checkHealth();
+        signIn(userId);
+
+        TransactionTemplate write = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        write.executeWithoutResult(status -> {
+            tracker.recordAfterCommit(userId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(servedBy(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsAreSpreadOverHealthyReplicas() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", database("replica-2"));
+        pool = new ReplicaPool(replicas, MAX_LAG_MILLIS, "");
+        routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, pool, tracker));
+        pool.checkHealth();
+
+        Set<String> served = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            served.add(servedBy(true));
+        }
+
+        assertThat(served).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    // Name of the database that answered a query in a transaction
+    private String servedBy(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(routing).queryForObject("SELECT name FROM node FETCH FIRST ROW ONLY", String.class));
+    }
+
+    private void setReplicaLag(String seconds) {
+        new JdbcTemplate(replica.getTargetDataSource()).update("UPDATE replica_lag SET seconds = " + seconds);
+    }
+
+    private static void signIn(UUID userId) {
+        UserPrincipal principal = new UserPrincipal(userId, userId + "@test.local", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replica_lag (seconds DECIMAL(10, 3))");
+        jdbcTemplate.update("INSERT INTO replica_lag (seconds) VALUES (0)");
+        return dataSource;
+    }
+
+    // Replica that can be made unreachable
+    private static final class FlakyDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
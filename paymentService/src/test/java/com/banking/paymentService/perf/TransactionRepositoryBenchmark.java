@@ -0,0 +1,89 @@
+package com.banking.paymentService.perf;
+
+import com.banking.common.perf.BenchmarkReport;
+import com.banking.paymentService.enums.TransactionStatus;
+import com.banking.paymentService.enums.TransactionType;
+import com.banking.paymentService.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Every TransactionRepository query against the seeded perf database. Per-user queries run
+ * for both the heaviest user and randomly picked typical users, since the skew is where
+ * plans go wrong.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.banking.common.perf.SqlCapture",
+        "user-service.revocations.poll-interval-ms=3600000"
+})
+@ActiveProfiles("perf")
+class TransactionRepositoryBenchmark {
+
+    private static final Pageable LATEST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "transactionDate"));
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void transactionRepositoryQueries() throws IOException {
+        UUID heavyUser = jdbcTemplate.queryForObject(
+                "SELECT user_id FROM transactions GROUP BY user_id ORDER BY COUNT(*) DESC LIMIT 1", UUID.class);
+        List<UUID> users = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM transactions LIMIT 500", UUID.class);
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM transactions LIMIT 500", UUID.class);
+        List<String> references = jdbcTemplate.queryForList("SELECT reference FROM transactions LIMIT 500", String.class);
+        List<String> accounts = jdbcTemplate.queryForList("SELECT DISTINCT account_id FROM transactions LIMIT 500", String.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        BenchmarkReport report = new BenchmarkReport("transaction-repository", jdbcTemplate);
+
+        report.measure("findById", () -> transactionRepository.findById(pick(ids)));
+        report.measure("findByReference", () -> transactionRepository.findByReference(pick(references)));
+        report.measure("findByUserId.typical", () -> transactionRepository.findByUserId(pick(users), LATEST));
+        report.measure("findByUserId.heavy", () -> transactionRepository.findByUserId(heavyUser, LATEST));
+        report.measure("findByUserId.unpaged", 20, () -> transactionRepository.findByUserId(pick(users), Pageable.unpaged()));
+        report.measure("findByUserIdAndStatus", () ->
+                transactionRepository.findByUserIdAndStatus(pick(users), TransactionStatus.FAILED));
+        report.measure("findByAccountId", () -> transactionRepository.findByAccountId(pick(accounts), LATEST));
+        report.measure("findByUserIdAndType.typical", () ->
+                transactionRepository.findByUserIdAndType(pick(users), TransactionType.TRANSFER, LATEST));
+        report.measure("findByUserIdAndType.heavy", () ->
+                transactionRepository.findByUserIdAndType(heavyUser, TransactionType.TRANSFER, LATEST));
+        report.measure("findByUserIdAndDateRange.typical", () -> transactionRepository.findByUserIdAndDateRange(
+                pick(users), now.minusDays(30), now, PageRequest.of(0, 20)));
+        report.measure("findByUserIdAndDateRange.heavy", () -> transactionRepository.findByUserIdAndDateRange(
+                heavyUser, now.minusDays(30), now, PageRequest.of(0, 20)));
+        report.measure("findByStatus", () -> transactionRepository.findByStatus(TransactionStatus.PENDING, LATEST));
+        report.measure("findByStatusAndCreatedAtBefore", 10, () ->
+                transactionRepository.findByStatusAndCreatedAtBefore(TransactionStatus.PENDING, now.minusHours(1)));
+        report.measure("countByUserIdAndStatusANdDateAfter.heavy", () ->
+                transactionRepository.countByUserIdAndStatusANdDateAfter(heavyUser, TransactionStatus.COMPLETED, now.minusDays(1)));
+        report.measure("sumCompletedAmountByUserIdAndTypeAndDateAfter.heavy", () ->
+                transactionRepository.sumCompletedAmountByUserIdAndTypeAndDateAfter(heavyUser, TransactionType.WITHDRAWAL, now.minusDays(1)));
+        report.measure("searchByUserId.typical", () ->
+                transactionRepository.searchByUserId(pick(users), "checkers", PageRequest.of(0, 20)));
+        report.measure("searchByUserId.heavy", 20, () ->
+                transactionRepository.searchByUserId(heavyUser, "checkers", PageRequest.of(0, 20)));
+        report.measure("findStaleTransactions", 10, () -> transactionRepository.findStaleTransactions(now.minusMinutes(30)));
+
+        report.finish();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.banking.paymentService.security;
+
+import com.banking.common.security.Permission;
+import com.banking.common.security.PermissionSet;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-jwt-secret-test-jwt-secret-0123456789";
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID familyId = UUID.randomUUID();
+    private final UUID tokenId = UUID.randomUUID();
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        jwtService.init();
+    }
+
+    @Test
+    void decodesAnAccessTokenIssuedByTheUserService() {
+        int customer = Permission.VIEW_OWN_PROFILE.mask() | Permission.MANAGE_OWN_BENEFICIARIES.mask()
+                | Permission.TRANSACT.mask();
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId.toString());
+        claims.put("fid", familyId.toString());
+        claims.put("perms", customer);
+
+        VerifiedToken token = jwtService.verify(issue(claims, SECRET, 60_000L));
+
+        assertThat(token.email()).isEqualTo("jane@example.com");
+        assertThat(token.userId()).isEqualTo(userId);
+        assertThat(token.tokenId()).isEqualTo(tokenId);
+        assertThat(token.familyId()).isEqualTo(familyId);
+        assertThat(token.permissions()).isSameAs(PermissionSet.of(customer));
+        assertThat(token.permissions().has(Permission.TRANSACT)).isTrue();
+        assertThat(token.refresh()).isFalse();
+    }
+
+    @Test
+    void decodesARefreshTokenIssuedByTheUserService() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId.toString());
+        claims.put("type", "refresh");
+        claims.put("fid", familyId.toString());
+
+        VerifiedToken token = jwtService.verify(issue(claims, SECRET, 60_000L));
+
+        assertThat(token.refresh()).isTrue();
+        assertThat(token.permissions()).isSameAs(PermissionSet.NONE);
+    }
+
+    @Test
+    void expiredOrForeignTokensAreRejected() {
+        Map<String, Object> claims = Map.of("userId", userId.toString(), "perms", 0);
+
+        assertThat(jwtService.verifyOrNull(issue(claims, SECRET, -1_000L))).isNull();
+        assertThat(jwtService.verifyOrNull(issue(claims, "another-secret-another-secret-0123456789", 60_000L))).isNull();
+        assertThat(jwtService.verifyOrNull("not-a-jwt")).isNull();
+    }
+
+    // Same claims and signature as the user service's JwtTokenProvider.createToken
+    private String issue(Map<String, Object> claims, String secret, long expiration) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims(claims)
+                .id(tokenId.toString())
+                .subject("jane@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.paymentService.service;
+
+import com.banking.paymentService.client.BeneficiaryOwnershipClient;
+import com.banking.paymentService.dto.request.CreateTransactionRequest;
+import com.banking.paymentService.dto.response.TransactionResponse;
+import com.banking.paymentService.enums.TransactionType;
+import com.banking.paymentService.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "user-service.revocations.poll-interval-ms=3600000"
+})
+@ActiveProfiles("loadtest")
+class TransactionServiceImplTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @MockBean
+    private BeneficiaryOwnershipClient beneficiaryOwnershipClient;
+
+    @Test
+    void beneficiaryCheckRunsOutsideTheDatabaseTransaction() {
+        List<Boolean> transactionActive = new ArrayList<>();
+        when(beneficiaryOwnershipClient.isOwner(any(), any())).thenAnswer(invocation -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return true;
+        });
+
+        TransactionResponse response = transactionService.createTransaction(transfer(), UUID.randomUUID());
+
+        assertThat(transactionActive).containsExactly(false);
+        assertThat(transactionRepository.findById(response.getId())).isPresent();
+    }
+
+    @Test
+    void foreignBeneficiaryIsRejectedBeforeAnythingIsSaved() {
+        when(beneficiaryOwnershipClient.isOwner(any(), any())).thenReturn(false);
+        UUID userId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> transactionService.createTransaction(transfer(), userId))
+                .hasMessageContaining("Beneficiary does not belong to this user");
+        assertThat(transactionRepository.findByUserId(userId, PageRequest.of(0, 1))).isEmpty();
+    }
+
+    private static CreateTransactionRequest transfer() {
+        return CreateTransactionRequest.builder()
+                .accountId("ACC-1")
+                .beneficiaryId(UUID.randomUUID())
+                .destinationAccountId("ACC-2")
+                .type(TransactionType.TRANSFER)
+                .amount(new BigDecimal("100.00"))
+                .build();
+    }
+}
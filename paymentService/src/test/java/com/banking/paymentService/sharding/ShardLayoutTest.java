@@ -0,0 +1,78 @@
+package com.banking.paymentService.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardLayoutTest {
+
+    @Test
+    void referencesCarryTheirUsersSlot() {
+        for (int i = 0; i < 1000; i++) {
+            UUID userId = UUID.randomUUID();
+            String reference = ShardSlots.reference(userId);
+
+            assertThat(reference).startsWith("TXN").hasSizeLessThanOrEqualTo(100);
+            assertThat(ShardSlots.slotOf(reference)).isEqualTo(ShardSlots.slotOf(userId));
+        }
+    }
+
+    @Test
+    void referencesFromBeforeSlotsHaveNone() {
+        assertThat(ShardSlots.slotOf("TXN1700000000000ABCDEF12")).isEqualTo(-1);
+        assertThat(ShardSlots.slotOf("not a reference")).isEqualTo(-1);
+    }
+
+    @Test
+    void usersSpreadEvenlyOverSlots() {
+        int[] perShard = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            perShard[ShardSlots.slotOf(UUID.randomUUID()) % 4]++;
+        }
+
+        for (int count : perShard) {
+            assertThat(count).isBetween(9_000, 11_000);
+        }
+    }
+
+    @Test
+    void doubleWriteReadsCurrentShardsAndMirrorsToTargets() {
+        ShardLayout layout = new ShardLayout(2, 3, ShardLayout.MigrationMode.DOUBLE_WRITE);
+
+        assertThat(layout.shardOf(7)).isEqualTo(1);
+        assertThat(layout.mirrorOf(7)).isEqualTo(2 + 7 % 3);
+        assertThat(layout.firstReadShard()).isZero();
+        assertThat(layout.readShards()).isEqualTo(2);
+        assertThat(layout.totalShards()).isEqualTo(5);
+    }
+
+    @Test
+    void readTargetReadsTargetsAndMirrorsBack() {
+        ShardLayout layout = new ShardLayout(2, 3, ShardLayout.MigrationMode.READ_TARGET);
+
+        assertThat(layout.shardOf(7)).isEqualTo(2 + 7 % 3);
+        assertThat(layout.mirrorOf(7)).isEqualTo(1);
+        assertThat(layout.firstReadShard()).isEqualTo(2);
+        assertThat(layout.readShards()).isEqualTo(3);
+    }
+
+    @Test
+    void withoutReshardingTargetsAreIgnored() {
+        ShardLayout layout = new ShardLayout(2, 3, ShardLayout.MigrationMode.OFF);
+
+        assertThat(layout.mirrorOf(7)).isEqualTo(-1);
+        assertThat(layout.totalShards()).isEqualTo(2);
+        assertThat(ShardLayout.MigrationMode.parse("read-target")).isEqualTo(ShardLayout.MigrationMode.READ_TARGET);
+    }
+
+    @Test
+    void reshardingNeedsTargets() {
+        assertThatThrownBy(() -> new ShardLayout(2, 0, ShardLayout.MigrationMode.DOUBLE_WRITE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardLayout(0, 0, ShardLayout.MigrationMode.OFF))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,213 @@
+package com.banking.paymentService.sharding;
+
+import com.banking.paymentService.Entity.Transaction;
+import com.banking.paymentService.enums.TransactionStatus;
+import com.banking.paymentService.enums.TransactionType;
+import com.banking.paymentService.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The transaction repository over two in-memory shards, double-writing to three target
+ * shards as in the middle of resharding.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.urls=jdbc:h2:mem:shard-0;MODE=MySQL;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard-1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.sharding.migration.mode=double-write",
+        "app.sharding.migration.target-urls=jdbc:h2:mem:shard-2;MODE=MySQL;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:shard-3;MODE=MySQL;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard-4;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.sharding.migration.backfill-interval-ms=3600000",
+        "user-service.revocations.poll-interval-ms=3600000"
+})
+@ActiveProfiles("loadtest")
+class ShardedTransactionRepositoryTest {
+
+    private static final int CURRENT_SHARDS = 2;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ShardLayout layout;
+
+    @Autowired
+    private ShardDataSources shards;
+
+    @Autowired
+    private ShardCopier copier;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void savedTransactionIsStoredOnItsUsersShardAndMirroredToItsTarget() {
+        UUID userId = userOnShard(1);
+
+        Transaction saved = transactionRepository.save(transaction(userId, TransactionStatus.PENDING, "10.00"));
+
+        assertThat(rowsOn(1, saved.getId())).isEqualTo(1);
+        assertThat(rowsOn(0, saved.getId())).isZero();
+        assertThat(rowsOn(targetShard(userId), saved.getId())).isEqualTo(1);
+        assertThat(ShardSlots.slotOf(saved.getReference())).isEqualTo(ShardSlots.slotOf(userId));
+    }
+
+    @Test
+    void userQueriesOnlySeeTheirOwnShard() {
+        UUID userId = userOnShard(0);
+        Transaction saved = transactionRepository.save(transaction(userId, TransactionStatus.PENDING, "10.00"));
+        transactionRepository.save(transaction(userOnShard(1), TransactionStatus.PENDING, "10.00"));
+
+        assertThat(transactionRepository.findByUserId(userId, PageRequest.of(0, 10)).getContent())
+                .extracting(Transaction::getId)
+                .containsExactly(saved.getId());
+        assertThat(transactionRepository.findByReference(saved.getReference())).isPresent();
+        assertThat(transactionRepository.findByIdAndUserId(saved.getId(), userId)).isPresent();
+        assertThat(transactionRepository.findByIdAndUserId(saved.getId(), userOnShard(1))).isEmpty();
+    }
+
+    @Test
+    void legacyReferencesAndIdsAreFoundOnAnyShard() {
+        Transaction legacy = transaction(userOnShard(1), TransactionStatus.COMPLETED, "10.00");
+        legacy.setReference("TXN1700000000000" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        Transaction saved = transactionRepository.save(legacy);
+
+        assertThat(ShardSlots.slotOf(saved.getReference())).isEqualTo(-1);
+        assertThat(transactionRepository.findByReference(saved.getReference()))
+                .map(Transaction::getId)
+                .contains(saved.getId());
+        assertThat(transactionRepository.findById(saved.getId())).isPresent();
+        assertThat(transactionRepository.existsById(saved.getId())).isTrue();
+    }
+
+    @Test
+    void pagesAcrossShardsAreMergedInOrder() {
+        // The only test using this status, so the page only holds these rows
+        List<Transaction> saved = transactionRepository.saveAll(List.of(
+                transaction(userOnShard(0), TransactionStatus.REVERSED, "5.00"),
+                transaction(userOnShard(1), TransactionStatus.REVERSED, "1.00"),
+                transaction(userOnShard(0), TransactionStatus.REVERSED, "4.00"),
+                transaction(userOnShard(1), TransactionStatus.REVERSED, "2.00"),
+                transaction(userOnShard(1), TransactionStatus.REVERSED, "3.00")));
+        saved.forEach(transaction -> assertThat(rowsOn(shardOf(transaction.getUserId()), transaction.getId())).isEqualTo(1));
+
+        Page<Transaction> page = transactionRepository.findByStatus(TransactionStatus.REVERSED,
+                PageRequest.of(1, 2, Sort.by("amount")));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getContent())
+                .extracting(Transaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("3.00"), new BigDecimal("4.00"));
+    }
+
+    @Test
+    void updatesAreMirroredToTheTargetShard() {
+        UUID userId = userOnShard(0);
+        Transaction saved = transactionRepository.save(transaction(userId, TransactionStatus.PENDING, "10.00"));
+
+        saved.setStatus(TransactionStatus.FAILED);
+        transactionRepository.save(saved);
+
+        assertThat(statusOn(targetShard(userId), saved.getId())).isEqualTo("FAILED");
+    }
+
+    @Test
+    void transactionSpanningUsersWritesEachToItsOwnShard() {
+        UUID first = userOnShard(0);
+        UUID second = userOnShard(1);
+
+        List<Transaction> saved = new TransactionTemplate(transactionManager).execute(status -> List.of(
+                transactionRepository.save(transaction(first, TransactionStatus.PENDING, "10.00")),
+                transactionRepository.save(transaction(second, TransactionStatus.PENDING, "10.00"))));
+
+        assertThat(rowsOn(0, saved.get(0).getId())).isEqualTo(1);
+        assertThat(rowsOn(1, saved.get(1).getId())).isEqualTo(1);
+        assertThat(rowsOn(targetShard(first), saved.get(0).getId())).isEqualTo(1);
+        assertThat(rowsOn(targetShard(second), saved.get(1).getId())).isEqualTo(1);
+    }
+
+    @Test
+    void backfillCopiesRowsWrittenBeforeDoubleWriting() {
+        UUID userId = userOnShard(1);
+        Transaction saved = transactionRepository.save(transaction(userId, TransactionStatus.COMPLETED, "10.00"));
+        new JdbcTemplate(shards.get(targetShard(userId))).update("DELETE FROM transactions WHERE id = ?", saved.getId());
+
+        ReshardingBackfill backfill = new ReshardingBackfill(layout, copier, 2);
+        for (int i = 0; i < 100 && rowsOn(targetShard(userId), saved.getId()) == 0; i++) {
+            backfill.run();
+        }
+
+        assertThat(rowsOn(targetShard(userId), saved.getId())).isEqualTo(1);
+        assertThat(statusOn(targetShard(userId), saved.getId())).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void backfillOnlyCompletesOnceStaleCopiesAreRepaired() {
+        UUID userId = userOnShard(0);
+        Transaction saved = transactionRepository.save(transaction(userId, TransactionStatus.COMPLETED, "10.00"));
+        // As if the copy of an update had been lost in a crash
+        new JdbcTemplate(shards.get(targetShard(userId))).update(
+                "UPDATE transactions SET status = 'PENDING' WHERE id = ?", saved.getId());
+
+        ReshardingBackfill backfill = new ReshardingBackfill(layout, copier, 2);
+        for (int i = 0; i < 1000 && !backfill.isComplete(); i++) {
+            backfill.run();
+        }
+
+        assertThat(backfill.isComplete()).isTrue();
+        assertThat(statusOn(targetShard(userId), saved.getId())).isEqualTo("COMPLETED");
+    }
+
+    private static Transaction transaction(UUID userId, TransactionStatus status, String amount) {
+        return Transaction.builder()
+                .userId(userId)
+                .accountId("ACC-" + userId.toString().substring(0, 8))
+                .type(TransactionType.DEPOSIT)
+                .status(status)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static UUID userOnShard(int shard) {
+        while (true) {
+            UUID userId = UUID.randomUUID();
+            if (ShardSlots.slotOf(userId) % CURRENT_SHARDS == shard) {
+                return userId;
+            }
+        }
+    }
+
+    private int shardOf(UUID userId) {
+        return layout.shardOf(ShardSlots.slotOf(userId));
+    }
+
+    private int targetShard(UUID userId) {
+        return layout.mirrorOf(ShardSlots.slotOf(userId));
+    }
+
+    private int rowsOn(int shard, UUID id) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE id = ?", Integer.class, id);
+    }
+
+    private String statusOn(int shard, UUID id) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject(
+                "SELECT status FROM transactions WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.paymentService.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardingConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(ShardingConfig.class);
+
+    @Test
+    void refusesToStartWithReadReplicasToo() {
+        runner.withPropertyValues("app.sharding.enabled=true", "app.datasource.replica.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("app.datasource.replica.enabled"));
+    }
+
+    @Test
+    void isSkippedWithoutSharding() {
+        runner.withPropertyValues("app.datasource.replica.enabled=true")
+                .run(context -> assertThat(context).hasNotFailed().doesNotHaveBean(ShardingConfig.class));
+    }
+}
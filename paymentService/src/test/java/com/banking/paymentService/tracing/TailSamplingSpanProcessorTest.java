@@ -0,0 +1,157 @@
+package com.banking.paymentService.tracing;
+
+import com.banking.common.tracing.TailSamplingSpanProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The tail sampler in front of a real batch processor and the local exporter, with a 100ms
+ * slow threshold and no baseline sampling, so only slow and failed traces are kept.
+ */
+class TailSamplingSpanProcessorTest {
+
+    private static final long START = 1_700_000_000_000_000_000L;
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private LocalSpanExporter exporter;
+    private TailSamplingSpanProcessor sampler;
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        exporter = new LocalSpanExporter(new ObjectMapper());
+        ReflectionTestUtils.setField(exporter, "file", "");
+        ReflectionTestUtils.setField(exporter, "retainedSpans", 1000);
+        exporter.init();
+        useSampler(100, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void slowTraceIsExportedWhole() {
+        Span root = root();
+        child(root, "repository").end(START + FAST, TimeUnit.NANOSECONDS);
+        child(root, "controller").end(START + FAST, TimeUnit.NANOSECONDS);
+        root.end(START + SLOW, TimeUnit.NANOSECONDS);
+
+        assertThat(exportedNames()).containsExactlyInAnyOrder("repository", "controller", "root");
+    }
+
+    @Test
+    void failedTraceIsExportedWhole() {
+        Span root = root();
+        Span failing = child(root, "repository");
+        failing.setStatus(StatusCode.ERROR);
+        failing.end(START + FAST, TimeUnit.NANOSECONDS);
+        child(root, "controller").end(START + FAST, TimeUnit.NANOSECONDS);
+        root.end(START + FAST, TimeUnit.NANOSECONDS);
+
+        assertThat(exportedNames()).containsExactlyInAnyOrder("repository", "controller", "root");
+    }
+
+    @Test
+    void fastTraceIsDropped() {
+        Span root = root();
+        child(root, "repository").end(START + FAST, TimeUnit.NANOSECONDS);
+        root.end(START + FAST, TimeUnit.NANOSECONDS);
+
+        assertThat(exportedNames()).isEmpty();
+    }
+
+    @Test
+    void spansBeyondThePerTraceCapAreDropped() {
+        useSampler(100, 2);
+        Span root = root();
+        for (int i = 0; i < 5; i++) {
+            child(root, "repository").end(START + FAST, TimeUnit.NANOSECONDS);
+        }
+        root.end(START + SLOW, TimeUnit.NANOSECONDS);
+
+        assertThat(exportedNames()).containsExactlyInAnyOrder("repository", "repository", "root");
+    }
+
+    @Test
+    void tracesBeyondTheBufferCapOnlyKeepTheirRoot() {
+        useSampler(1, 100);
+        Span first = root();
+        Span second = root();
+        child(first, "first-child").end(START + FAST, TimeUnit.NANOSECONDS);
+        child(second, "second-child").end(START + FAST, TimeUnit.NANOSECONDS);
+        first.end(START + SLOW, TimeUnit.NANOSECONDS);
+        second.end(START + SLOW, TimeUnit.NANOSECONDS);
+
+        assertThat(exportedNames()).containsExactlyInAnyOrder("first-child", "root", "root");
+    }
+
+    @Test
+    void childrenEndingAfterTheirRootFollowItsDecision() {
+        useSampler(1, 100);
+        Span kept = root();
+        Span keptChild = child(kept, "kept-late");
+        kept.end(START + SLOW, TimeUnit.NANOSECONDS);
+        keptChild.end(START + SLOW, TimeUnit.NANOSECONDS);
+
+        Span dropped = root();
+        Span droppedChild = child(dropped, "dropped-late");
+        dropped.end(START + FAST, TimeUnit.NANOSECONDS);
+        droppedChild.end(START + SLOW, TimeUnit.NANOSECONDS);
+
+        // The late children took no buffer, so the only slot is still free for the next trace
+        Span next = root();
+        child(next, "next-child").end(START + FAST, TimeUnit.NANOSECONDS);
+        next.end(START + SLOW, TimeUnit.NANOSECONDS);
+
+        assertThat(exportedNames()).containsExactlyInAnyOrder("root", "kept-late", "root", "next-child");
+    }
+
+    private void useSampler(int maxBufferedTraces, int maxSpansPerTrace) {
+        if (tracerProvider != null) {
+            tracerProvider.close();
+        }
+        exporter.reset();
+        sampler = new TailSamplingSpanProcessor(BatchSpanProcessor.builder(exporter).build(),
+                100, 0.0, maxBufferedTraces, maxSpansPerTrace, 60_000, 100);
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(sampler).build();
+        tracer = tracerProvider.get("test");
+    }
+
+    private Span root() {
+        return tracer.spanBuilder("root")
+                .setNoParent()
+                .setStartTimestamp(START, TimeUnit.NANOSECONDS)
+                .startSpan();
+    }
+
+    private Span child(Span parent, String name) {
+        return tracer.spanBuilder(name)
+                .setParent(Context.root().with(parent))
+                .setStartTimestamp(START, TimeUnit.NANOSECONDS)
+                .startSpan();
+    }
+
+    private List<String> exportedNames() {
+        sampler.forceFlush().join(5, TimeUnit.SECONDS);
+        return exporter.getFinishedSpans().stream().map(SpanData::getName).toList();
+    }
+}
@@ -3,7 +3,8 @@ package com.banking.usermanagementservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// Also picks up the shared components in banking-common
+@SpringBootApplication(scanBasePackages = {"com.banking.usermanagementservice", "com.banking.common"})
 public class UsermanagementserviceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,87 @@
+package com.banking.usermanagementservice.client;
+
+import com.banking.usermanagementservice.dto.OwnershipInvalidation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Pushes beneficiary removals to the payment service so its ownership near-cache forgets
+ * them without waiting for the TTL. Removals are queued after commit and posted in small
+ * batches; the TTL on the payment side bounds staleness if a post is lost.
+ */
+@Component
+@Slf4j
+public class OwnershipInvalidationPublisher {
+
+    private static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+    private static final int BATCH_SIZE = 500;
+
+    private final RestClient restClient;
+    private final BlockingQueue<OwnershipInvalidation> queue = new LinkedBlockingQueue<>();
+
+    public OwnershipInvalidationPublisher(
+            @Value("${app.payment-service.base-url:http://localhost:8082}") String baseUrl,
+            @Value("${app.internal.api-key:}") String apiKey,
+            ObservationRegistry observationRegistry
+    ) {
+        // The registry gives each post a client span and propagates the trace context to the payment service
+        this.restClient = RestClient.builder()
+                .observationRegistry(observationRegistry)
+                .baseUrl(baseUrl)
+                .defaultHeader(INTERNAL_API_KEY_HEADER, apiKey)
+                .build();
+    }
+
+    /**
+     * Publish a removal once the surrounding transaction commits
+     * @param userId User the beneficiary was removed from, or null for every user
+     * @param beneficiaryId Removed beneficiary
+     */
+    public void publishAfterCommit(UUID userId, UUID beneficiaryId) {
+        OwnershipInvalidation invalidation = new OwnershipInvalidation(userId, beneficiaryId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.add(invalidation);
+                }
+            });
+        } else {
+            queue.add(invalidation);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment-service.invalidation-flush-interval-ms:250}")
+    public void flush() {
+        List<OwnershipInvalidation> batch = new ArrayList<>();
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            try {
+                restClient.post()
+                        .uri("/internal/beneficiary-ownership/invalidations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(batch)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish {} ownership invalidations, payment service will expire them by TTL: {}",
+                        batch.size(), e.getMessage());
+                return;
+            }
+            batch.clear();
+        }
+    }
+}
@@ -6,9 +6,9 @@ import com.banking.usermanagementservice.entity.UserCredentials;
 import com.banking.usermanagementservice.enums.ApprovalStatus;
 import com.banking.usermanagementservice.enums.Gender;
 import com.banking.usermanagementservice.enums.RoleType;
-import com.banking.usermanagementservice.repository.RoleRepository;
 import com.banking.usermanagementservice.repository.UserCredentialsRepository;
 import com.banking.usermanagementservice.repository.UserRepository;
+import com.banking.usermanagementservice.security.RoleRegistry;
 import com.banking.usermanagementservice.service.EncryptionService;
 import com.banking.usermanagementservice.service.EmailService;
 import com.banking.usermanagementservice.service.OtpService;
@@ -27,7 +27,7 @@ import java.time.LocalDateTime;
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final UserRepository userRepository;
     private final UserCredentialsRepository credentialsRepository;
     private final PasswordEncoder passwordEncoder;
@@ -73,25 +73,8 @@ public class DataInitializer implements CommandLineRunner {
     private void initializeRoles() {
         log.info("Initializing roles...");
 
-        // Create SUPER_ADMIN role if not exists
-        if (!roleRepository.existsByName(RoleType.SUPER_ADMIN)) {
-            Role superAdminRole = Role.builder()
-                    .name(RoleType.SUPER_ADMIN)
-                    .description(RoleType.SUPER_ADMIN.getDescription())
-                    .build();
-            roleRepository.save(superAdminRole);
-            log.info("Created SUPER_ADMIN role");
-        }
-
-        // Create CUSTOMER role if not exists
-        if (!roleRepository.existsByName(RoleType.CUSTOMER)) {
-            Role customerRole = Role.builder()
-                    .name(RoleType.CUSTOMER)
-                    .description(RoleType.CUSTOMER.getDescription())
-                    .build();
-            roleRepository.save(customerRole);
-            log.info("Created CUSTOMER role");
-        }
+        // Creates any missing roles and loads all of them into the registry
+        roleRegistry.initialize();
 
         log.info("Roles initialization completed");
     }
@@ -107,8 +90,7 @@ public class DataInitializer implements CommandLineRunner {
 
         try {
             // Get super admin role
-            Role superAdminRole = roleRepository.findByName(RoleType.SUPER_ADMIN)
-                    .orElseThrow(() -> new RuntimeException("Super Admin role not found"));
+            Role superAdminRole = roleRegistry.get(RoleType.SUPER_ADMIN);
 
             // Encrypt ID number
             String encryptedIdNumber = encryptionService.encrypt(superAdminIdNumber);
@@ -119,6 +101,7 @@ public class DataInitializer implements CommandLineRunner {
                     .lastName(superAdminLastName)
                     .email(superAdminEmail.toLowerCase())
                     .idNumber(encryptedIdNumber)
+                    .idNumberIndex(encryptionService.blindIndex(superAdminIdNumber))
                     .gender(Gender.PREFER_NO_TO_SAY)
                     .country("South Africa")
                     .approvalStatus(ApprovalStatus.APPROVED)
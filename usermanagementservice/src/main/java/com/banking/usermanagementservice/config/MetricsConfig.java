@@ -0,0 +1,43 @@
+package com.banking.usermanagementservice.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Login and OTP endpoints pay for BCrypt at cost 12, so their buckets sit well above the rest
+    private static final double[] AUTH_ENDPOINT_SLOS = {
+            nanos(Duration.ofMillis(100)), nanos(Duration.ofMillis(250)), nanos(Duration.ofMillis(500)),
+            nanos(Duration.ofSeconds(1)), nanos(Duration.ofSeconds(2)), nanos(Duration.ofSeconds(5))
+    };
+
+    /**
+     * SLO histogram buckets on http.server.requests for the /auth endpoints, one series per URI
+     */
+    @Bean
+    public MeterFilter authEndpointSlos() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                String uri = id.getTag("uri");
+                if (!"http.server.requests".equals(id.getName()) || uri == null || !uri.startsWith("/auth/")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(AUTH_ENDPOINT_SLOS)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    private static double nanos(Duration duration) {
+        return duration.toNanos();
+    }
+}
@@ -1,7 +1,11 @@
 package com.banking.usermanagementservice.config;
 
+import com.banking.common.security.InternalApiKeyFilter;
+import com.banking.common.security.Permission;
+import com.banking.usermanagementservice.metrics.AuthMetrics;
 import com.banking.usermanagementservice.security.CustomUserDetailsService;
 import com.banking.usermanagementservice.security.JwtAuthenticationFilter;
+import com.banking.usermanagementservice.security.MeteredPasswordEncoder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,31 +30,36 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final InternalApiKeyFilter internalApiKeyFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(AuthMetrics authMetrics) {
+        return new MeteredPasswordEncoder(new BCryptPasswordEncoder(12), authMetrics);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         // ✅ NEW WAY: Pass UserDetailsService directly to constructor
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(customUserDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
     @Bean
-    public AuthenticationManager authenticationManager() {
-        return new ProviderManager(authenticationProvider());
+    public AuthenticationManager authenticationManager(DaoAuthenticationProvider authenticationProvider) {
+        return new ProviderManager(authenticationProvider);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Metrics include per-user auth meters and flight recordings can be started
+                        // and downloaded, so only operators may use them
+                        .requestMatchers("/actuator/**").hasAuthority(Permission.MANAGE_DIAGNOSTICS.getAuthority())
                         .requestMatchers(
                                 "/users/register",
                                 "/users/check-email/**",
@@ -60,17 +69,21 @@ public class SecurityConfig {
                                 "/auth/refresh",
                                 "/auth/password/reset-request",
                                 "/auth/password/reset-confirm",
-                                "/actuator/**",
                                 "/profile/**",
                                 "/beneficiaries/**"
                         ).permitAll()
-                        .requestMatchers("/admin/**").hasRole("SUPER_ADMIN")
+                        .requestMatchers("/admin/users/**").hasAuthority(Permission.MANAGE_USERS.getAuthority())
+                        .requestMatchers("/admin/approvals/**").hasAuthority(Permission.APPROVE_USERS.getAuthority())
+                        // Every admin route needs its own permission rule above; anything else is refused
+                        .requestMatchers("/admin/**").denyAll()
+                        .requestMatchers("/internal/**").hasRole(InternalApiKeyFilter.ROLE)
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
+                .addFilterBefore(internalApiKeyFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
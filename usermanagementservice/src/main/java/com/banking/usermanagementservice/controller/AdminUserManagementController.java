@@ -2,17 +2,35 @@ package com.banking.usermanagementservice.controller;
 
 
 import com.banking.usermanagementservice.dto.ApiResponse;
+import com.banking.usermanagementservice.dto.PageResponse;
+import com.banking.usermanagementservice.dto.UserListFilter;
 import com.banking.usermanagementservice.dto.UserResponse;
+import com.banking.usermanagementservice.dto.UserSearchResult;
+import com.banking.usermanagementservice.dto.UserSummaryResponse;
 import com.banking.usermanagementservice.dto.UserSuspensionRequest;
+import com.banking.usermanagementservice.enums.ApprovalStatus;
+import com.banking.usermanagementservice.enums.UserStatus;
 import com.banking.usermanagementservice.service.UserManagementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,7 +43,7 @@ public class AdminUserManagementController {
     private final UserManagementService userManagementService;
 
     @PostMapping("/suspend")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_USERS')")
     public ResponseEntity<ApiResponse<UserResponse>> suspendUser(
             @Valid @RequestBody UserSuspensionRequest request,
             @RequestAttribute("userId")UUID adminId
@@ -42,7 +60,7 @@ public class AdminUserManagementController {
     }
 
     @GetMapping("/active")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_USERS')")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllActiveUsers(){
         log.info("Fetching all active users");
 
@@ -54,7 +72,7 @@ public class AdminUserManagementController {
     }
 
     @GetMapping("/suspended")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_USERS')")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllSuspendedUsers(){
         log.info("Fetching all suspended users");
 
@@ -66,8 +84,77 @@ public class AdminUserManagementController {
 
     }
 
+    @GetMapping
+    @PreAuthorize("@authz.has('MANAGE_USERS')")
+    public ResponseEntity<ApiResponse<PageResponse<UserSummaryResponse>>> listUsers(
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) ApprovalStatus approvalStatus,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+    ){
+        UserListFilter filter = UserListFilter.builder()
+                .status(status)
+                .approvalStatus(approvalStatus)
+                .country(country)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+
+        PageResponse<UserSummaryResponse> users = userManagementService.listUsers(filter, pageable);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(users, users.getTotalElements() + " users found")
+        );
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("@authz.has('MANAGE_USERS')")
+    public ResponseEntity<ApiResponse<List<UserSearchResult>>> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit
+    ){
+        List<UserSearchResult> users = userManagementService.searchUsers(query, limit);
+
+        return ResponseEntity.ok(
+                ApiResponse.success(users, users.size() + " users found")
+        );
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    @PreAuthorize("@authz.has('MANAGE_USERS')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) ApprovalStatus approvalStatus,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestAttribute("userId") UUID adminId
+    ){
+        log.info("Admin {} exporting users", adminId);
+
+        UserListFilter filter = UserListFilter.builder()
+                .status(status)
+                .approvalStatus(approvalStatus)
+                .country(country)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            userManagementService.exportUsers(filter, writer);
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
     @DeleteMapping("/{userId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_USERS')")
     public ResponseEntity<ApiResponse<Void>> deleteUser(
             @PathVariable UUID userId,
             @RequestAttribute("userId") UUID adminId
@@ -3,6 +3,7 @@ package com.banking.usermanagementservice.controller;
 import com.banking.usermanagementservice.dto.*;
 import com.banking.usermanagementservice.service.AuthenticationService;
 import io.jsonwebtoken.security.Password;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
@@ -25,10 +26,11 @@ public class AuthenticationController {
      * standard log in*/
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<AuthenticationResponse>> login(
-            @Valid @RequestBody LoginRequest request) {
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
         log.info("Login request received for email: {}", request.getEmail());
 
-        AuthenticationResponse response = authenticationService.login(request);
+        AuthenticationResponse response = authenticationService.login(request, httpRequest.getRemoteAddr());
 
         String message = response.isPasswordExpired()
                 ? "Login successful. Your password has expired. Please change it."
@@ -41,11 +43,12 @@ public class AuthenticationController {
      * login with otp*/
     @PostMapping("/login/otp")
     public ResponseEntity<ApiResponse<AuthenticationResponse>> loginWithOtp(
-            @Valid @RequestBody OtpLoginRequest request
+            @Valid @RequestBody OtpLoginRequest request,
+            HttpServletRequest httpRequest
     ) {
         log.info(" Otp Login request received for email: {}", request.getEmail());
 
-        AuthenticationResponse response = authenticationService.loginWithOtp(request);
+        AuthenticationResponse response = authenticationService.loginWithOtp(request, httpRequest.getRemoteAddr());
 
 
         return ResponseEntity.ok(ApiResponse.success(response,"OTP validated successfully. Please change your password to continue"));
@@ -148,11 +151,12 @@ public class AuthenticationController {
     @PostMapping("/logout")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> logout(
-            @RequestAttribute("userId") UUID userId
+            @RequestAttribute("userId") UUID userId,
+            @RequestAttribute(value = "tokenFamilyId", required = false) UUID tokenFamilyId
     ){
         log.info("logout request for user: {}", userId);
 
-        authenticationService.logout(userId);
+        authenticationService.logout(userId, tokenFamilyId);
         return ResponseEntity.ok(
                 ApiResponse.success("Logged out successfully")
         );
@@ -1,13 +1,19 @@
 package com.banking.usermanagementservice.controller;
 
+import com.banking.usermanagementservice.dto.BeneficiaryImportReport;
 import com.banking.usermanagementservice.dto.BeneficiaryResponse;
 import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+import com.banking.usermanagementservice.dto.SuggestedBeneficiaryResponse;
+import com.banking.usermanagementservice.enums.ImportFormat;
 import com.banking.usermanagementservice.service.BeneficiariesService;
+import com.banking.usermanagementservice.service.BeneficiaryImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,9 +32,10 @@ import java.util.UUID;
 public class BeneficiariesController {
 
     private final BeneficiariesService beneficiariesService;
+    private final BeneficiaryImportService beneficiaryImportService;
 
     @GetMapping
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_BENEFICIARIES')")
     public ResponseEntity<List<BeneficiaryResponse>> getAllBeneficiaries(
             @RequestParam(required = false, defaultValue = "false") boolean activeOnly
     ){
@@ -41,7 +49,7 @@ public class BeneficiariesController {
 
 
     @GetMapping("/{beneficiaryId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_BENEFICIARIES')")
     public ResponseEntity<BeneficiaryResponse>getBeneficiary(
             @PathVariable UUID beneficiaryId
             ){
@@ -51,7 +59,7 @@ public class BeneficiariesController {
     }
 
     @DeleteMapping("/{beneficiaryId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_BENEFICIARIES')")
     public ResponseEntity<BeneficiaryResponse> deleteBeneficiary(
             @PathVariable UUID beneficiaryId,
             @RequestParam(required = false, defaultValue = "false") boolean hard
@@ -69,7 +77,7 @@ public class BeneficiariesController {
 
 
     @GetMapping("/user/{userId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('MANAGE_BENEFICIARIES')")
     public ResponseEntity<List<BeneficiaryResponse>> getUserBeneficiaries(
             @PathVariable UUID userId,
             @RequestParam(required = false, defaultValue = "false") boolean activeOnly
@@ -96,6 +104,22 @@ public class BeneficiariesController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/my-beneficiaries/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BeneficiaryImportReport> importMyBeneficiaries(HttpServletRequest request) throws IOException {
+        UUID currentUserId = getCurrentUserId();
+
+        ImportFormat format = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? ImportFormat.JSON
+                : ImportFormat.CSV;
+
+        log.info("Request from user {} to import {} beneficiaries", currentUserId, format);
+
+        // Read straight from the request body so large files are never buffered whole
+        BeneficiaryImportReport report = beneficiaryImportService.importBeneficiaries(
+                currentUserId, format, request.getInputStream());
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping("/my-beneficiaries")
     public ResponseEntity<List<BeneficiaryResponse>> getMyBeneficiaries(
             @RequestParam(required = false, defaultValue = "false") boolean activeOnly
@@ -110,6 +134,18 @@ public class BeneficiariesController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/my-beneficiaries/top")
+    public ResponseEntity<List<SuggestedBeneficiaryResponse>> getMyTopBeneficiaries(
+            @RequestParam(required = false, defaultValue = "5") int n
+    ){
+        UUID currentUserId = getCurrentUserId();
+        log.debug("Request from user {} to get their top {} beneficiaries", currentUserId, n);
+
+        List<SuggestedBeneficiaryResponse> responses =
+                beneficiariesService.getTopBeneficiaries(currentUserId, Math.max(1, Math.min(n, 50)));
+        return ResponseEntity.ok(responses);
+    }
+
     @GetMapping("/my-beneficiaries/{beneficiaryId}")
     public ResponseEntity<BeneficiaryResponse> getMyBeneficiary(
             @PathVariable UUID beneficiaryId
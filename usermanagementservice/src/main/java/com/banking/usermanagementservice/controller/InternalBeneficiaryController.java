@@ -0,0 +1,41 @@
+package com.banking.usermanagementservice.controller;
+
+import com.banking.usermanagementservice.dto.BeneficiaryOwnershipCheck;
+import com.banking.usermanagementservice.dto.BeneficiaryOwnershipResult;
+import com.banking.usermanagementservice.dto.BeneficiaryUsageEvent;
+import com.banking.usermanagementservice.service.BeneficiariesService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal/beneficiaries")
+@RequiredArgsConstructor
+@Slf4j
+public class InternalBeneficiaryController {
+
+    private final BeneficiariesService beneficiariesService;
+
+    @PostMapping("/usage")
+    public ResponseEntity<Void> recordUsage(@Valid @RequestBody List<@Valid BeneficiaryUsageEvent> events) {
+        log.debug("Internal request to record {} beneficiary usage events", events.size());
+
+        beneficiariesService.recordUsage(events);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/ownership")
+    public ResponseEntity<List<BeneficiaryOwnershipResult>> checkOwnership(
+            @Valid @RequestBody List<@Valid BeneficiaryOwnershipCheck> checks) {
+        log.debug("Internal request to check ownership of {} beneficiaries", checks.size());
+
+        return ResponseEntity.ok(beneficiariesService.checkOwnership(checks));
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.usermanagementservice.controller;
+
+import com.banking.usermanagementservice.dto.TokenRevocation;
+import com.banking.usermanagementservice.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal/tokens")
+@RequiredArgsConstructor
+@Slf4j
+public class InternalTokenController {
+
+    private final TokenService tokenService;
+
+    @GetMapping("/revocations")
+    public ResponseEntity<List<TokenRevocation>> getRevocations(
+            @RequestParam(required = false, defaultValue = "0") long since
+    ) {
+        log.debug("Internal request for token revocations since {}", since);
+
+        return ResponseEntity.ok(tokenService.getRevocationsSince(Instant.ofEpochMilli(since)));
+    }
+}
@@ -23,7 +23,7 @@ public class UserApprovalController {
     private final UserApprovalService userApprovalService;
 
     @PostMapping("/process")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('APPROVE_USERS')")
     public ResponseEntity<ApiResponse<UserResponse>> processApproval(
             @Valid @RequestBody UserApprovalRequest request,
             @RequestAttribute("userId")UUID adminUserId
@@ -40,7 +40,7 @@ public class UserApprovalController {
     }
 
     @GetMapping("/pending")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('APPROVE_USERS')")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getPendingApprovals(){
         log.info("Fetching all pending approvals");
 
@@ -55,7 +55,7 @@ public class UserApprovalController {
     }
 
     @GetMapping("/{userId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PreAuthorize("@authz.has('APPROVE_USERS')")
     public ResponseEntity<ApiResponse<UserResponse>> getUserForApproval(@PathVariable UUID userId) {
         log.info("Fetching user {} for approval review", userId);
 
@@ -0,0 +1,134 @@
+package com.banking.usermanagementservice.diagnostics;
+
+import com.banking.common.diagnostics.JwtVerifyEvent;
+import com.banking.common.diagnostics.RepositoryCallEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint that controls one Java Flight Recorder recording without a restart.
+ * <ul>
+ *     <li>GET /actuator/flightrecorder: state of the current recording</li>
+ *     <li>POST /actuator/flightrecorder {"settings": "profile", "maxAgeMinutes": 30}: start one</li>
+ *     <li>GET /actuator/flightrecorder/{file}.jfr: download what has been recorded so far</li>
+ *     <li>DELETE /actuator/flightrecorder: stop it, keeping the data for download</li>
+ * </ul>
+ * Starting a new recording discards the previous one. The application's own events are
+ * included with whichever JDK settings are chosen.
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+@Slf4j
+public class FlightRecorderEndpoint {
+
+    private static final String RECORDING_NAME = "usermanagementservice";
+
+    private Recording recording;
+    private Path lastDump;
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording == null ? "NONE" : recording.getState().name());
+        if (recording != null) {
+            status.put("name", recording.getName());
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("sizeBytes", recording.getSize());
+        }
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Integer maxAgeMinutes) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        discard();
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings == null ? "default" : settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, e);
+        }
+
+        recording = new Recording(configuration);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes == null ? 30 : maxAgeMinutes));
+        // Custom events are enabled by default, so the chosen JDK settings only need them not switched off
+        recording.enable(PasswordHashEvent.class);
+        recording.enable(JwtVerifyEvent.class);
+        recording.enable(RepositoryCallEvent.class);
+        recording.start();
+
+        log.info("Started flight recording with {} settings", configuration.getName());
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource dump(@Selector String file) {
+        if (recording == null) {
+            throw new IllegalStateException("No recording to dump");
+        }
+        // A stopped copy flushes everything recorded so far without interrupting the recording
+        try (Recording snapshot = recording.copy(true)) {
+            deleteLastDump();
+            lastDump = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            snapshot.dump(lastDump);
+            log.info("Dumped flight recording as {} ({} bytes)", file, Files.size(lastDump));
+            return new FileSystemResource(lastDump);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording");
+        }
+        return status();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteLastDump();
+    }
+
+    private void deleteLastDump() {
+        if (lastDump != null) {
+            try {
+                Files.deleteIfExists(lastDump);
+            } catch (IOException e) {
+                log.warn("Could not delete previous flight recording dump {}", lastDump, e);
+            }
+            lastDump = null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.banking.usermanagementservice.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.banking.user.PasswordHash")
+@Label("Password Hash")
+@Category({"Banking", "Authentication"})
+@Description("One BCrypt encode or verification")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Matched")
+    @Description("Whether a verification matched; always false for encode")
+    public boolean matched;
+}
@@ -0,0 +1,29 @@
+package com.banking.usermanagementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeneficiaryImportReport {
+
+    private int totalRows;
+    private int created;
+    private int linked;
+    private int alreadyLinked;
+    private int duplicatesInFile;
+    private int invalid;
+    private long durationMs;
+    // True when the file had more than max-rows rows; the rows up to the limit were imported
+    private boolean truncated;
+    // Why the import stopped before the end of the file, if it did
+    private String error;
+    // Rows that were not imported, invalid or repeated in the file, up to max-reported-rows
+    private List<BeneficiaryImportRowResult> rows;
+}
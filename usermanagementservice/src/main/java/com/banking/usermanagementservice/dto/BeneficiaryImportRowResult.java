@@ -0,0 +1,24 @@
+package com.banking.usermanagementservice.dto;
+
+import com.banking.usermanagementservice.enums.ImportRowStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BeneficiaryImportRowResult {
+
+    private int row;
+    private String accountId;
+    private ImportRowStatus status;
+    private UUID beneficiaryId;
+    private String message;
+}
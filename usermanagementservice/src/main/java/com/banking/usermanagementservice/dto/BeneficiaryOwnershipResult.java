@@ -0,0 +1,19 @@
+package com.banking.usermanagementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeneficiaryOwnershipResult {
+
+    private UUID userId;
+    private UUID beneficiaryId;
+    private boolean owned;
+}
@@ -0,0 +1,25 @@
+package com.banking.usermanagementservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeneficiaryUsageEvent {
+
+    @NotNull
+    private UUID userId;
+
+    @NotNull
+    private UUID beneficiaryId;
+
+    private Instant occurredAt;
+}
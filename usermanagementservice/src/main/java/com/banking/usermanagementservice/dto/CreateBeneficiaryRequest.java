@@ -1,5 +1,6 @@
 package com.banking.usermanagementservice.dto;
 
+import com.banking.common.validation.ValidBankAccount;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +14,7 @@ import lombok.NoArgsConstructor;
 public class CreateBeneficiaryRequest {
 
     @NotBlank(message = "Account Id is required")
+    @ValidBankAccount
     private String accountId;
 
     private String nickname;
@@ -0,0 +1,20 @@
+package com.banking.usermanagementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuedTokens {
+
+    private String accessToken;
+    private String refreshToken;
+    private UUID userId;
+    private String email;
+}
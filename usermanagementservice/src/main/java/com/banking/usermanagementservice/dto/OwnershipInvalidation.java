@@ -0,0 +1,22 @@
+package com.banking.usermanagementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Tells the payment service to drop cached ownership answers. A null userId means the
+ * beneficiary was removed for every user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnershipInvalidation {
+
+    private UUID userId;
+    private UUID beneficiaryId;
+}
@@ -0,0 +1,23 @@
+package com.banking.usermanagementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestedBeneficiaryResponse {
+
+    private UUID id;
+    private String accountId;
+    private String nickname;
+    private double score;
+    private int useCount;
+    private Instant lastUsedAt;
+}
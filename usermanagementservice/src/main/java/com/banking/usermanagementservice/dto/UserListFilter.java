@@ -0,0 +1,23 @@
+package com.banking.usermanagementservice.dto;
+
+import com.banking.usermanagementservice.enums.ApprovalStatus;
+import com.banking.usermanagementservice.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserListFilter {
+
+    private UserStatus status;
+    private ApprovalStatus approvalStatus;
+    private String country;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,32 @@
+package com.banking.usermanagementservice.dto;
+
+import com.banking.usermanagementservice.enums.ApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat listing row. Built directly by JPQL constructor expressions, so the field order
+ * here must match the select lists in UserRepository.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String country;
+    private ApprovalStatus approvalStatus;
+    private boolean isActive;
+    private boolean isSuspended;
+    private boolean isDeleted;
+    private LocalDateTime createdAt;
+}
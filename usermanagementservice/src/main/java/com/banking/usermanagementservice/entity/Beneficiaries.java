@@ -11,7 +11,9 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "beneficiaries")
+@Table(name = "beneficiaries", indexes = {
+        @Index(name = "idx_beneficiaries_account_id", columnList = "accountId")
+})
 @Getter
 @Setter
 @NoArgsConstructor
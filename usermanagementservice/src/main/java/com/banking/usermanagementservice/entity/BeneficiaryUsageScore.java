@@ -0,0 +1,57 @@
+package com.banking.usermanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Persisted copy of the in-memory usage ranking. logScore is ln(sum of e^(lambda * t)) over
+ * every use, so it only ever grows and needs no rewriting as time passes.
+ */
+@Entity
+@Table(name = "beneficiary_usage_scores")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BeneficiaryUsageScore implements Persistable<BeneficiaryUsageScoreId> {
+
+    @EmbeddedId
+    private BeneficiaryUsageScoreId id;
+
+    @Column(nullable = false)
+    private double logScore;
+
+    @Column(nullable = false)
+    private int useCount;
+
+    @Column(nullable = false)
+    private Instant lastUsedAt;
+
+    @Transient
+    private boolean persisted;
+
+    public BeneficiaryUsageScore(UUID userId, UUID beneficiaryId, double logScore, int useCount,
+                                 Instant lastUsedAt, boolean persisted) {
+        this.id = new BeneficiaryUsageScoreId(userId, beneficiaryId);
+        this.logScore = logScore;
+        this.useCount = useCount;
+        this.lastUsedAt = lastUsedAt;
+        this.persisted = persisted;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
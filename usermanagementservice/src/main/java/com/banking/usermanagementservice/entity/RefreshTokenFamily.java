@@ -0,0 +1,66 @@
+package com.banking.usermanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One login session. Each refresh replaces currentTokenId, so presenting any earlier refresh
+ * token from the same family means it was copied, and the whole family is revoked.
+ */
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+        @Index(name = "idx_refresh_token_families_user", columnList = "userId, revoked")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshTokenFamily implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private UUID currentTokenId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant rotatedAt;
+
+    @Transient
+    private boolean persisted;
+
+    public RefreshTokenFamily(UUID id, UUID userId, UUID currentTokenId, Instant expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.currentTokenId = currentTokenId;
+        this.expiresAt = expiresAt;
+        this.createdAt = Instant.now();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -13,7 +13,11 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_status_created", columnList = "isDeleted, isActive, isSuspended, createdAt"),
+        @Index(name = "idx_users_approval_created", columnList = "approvalStatus, createdAt"),
+        @Index(name = "idx_users_country_created", columnList = "country, createdAt")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +41,10 @@ public class User {
     @Column(nullable = false, unique = true)
     private String idNumber;
 
+    // Keyed HMAC of the plain ID number; idNumber itself is randomized ciphertext
+    @Column(unique = true, length = 64)
+    private String idNumberIndex;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Gender gender;
@@ -70,7 +78,8 @@ public class User {
     @JoinTable(
             name = "user_beneficiaries",
             joinColumns = @JoinColumn(name = "userId"),
-            inverseJoinColumns = @JoinColumn(name = "beneficiary_id")
+            inverseJoinColumns = @JoinColumn(name = "beneficiary_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_user_beneficiaries", columnNames = {"userId", "beneficiary_id"})
     )
     @Builder.Default
     private Set<Beneficiaries> beneficiaries = new HashSet<>();
@@ -108,14 +117,13 @@ public class User {
     @Column
     private LocalDateTime deletedAt;
 
+    // Role.users is the inverse side and roles are shared through RoleRegistry, so only the owning side is updated
     public void addRole(Role role){
         this.roles.add(role);
-        role.getUsers().add(this);
     }
 
     public void removeRole(Role role){
         this.roles.remove(role);
-        role.getUsers().remove(this);
     }
 
     public void addBeneficiary(Beneficiaries beneficiary){
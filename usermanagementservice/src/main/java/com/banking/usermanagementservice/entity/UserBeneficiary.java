@@ -0,0 +1,42 @@
+package com.banking.usermanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * One row of the user_beneficiaries link table, so single associations can be checked,
+ * inserted and deleted without loading or diffing User.beneficiaries.
+ */
+@Entity
+@Table(name = "user_beneficiaries", uniqueConstraints = @UniqueConstraint(
+        name = "uk_user_beneficiaries", columnNames = {"userId", "beneficiary_id"}))
+@Getter
+@NoArgsConstructor
+public class UserBeneficiary implements Persistable<UserBeneficiaryId> {
+
+    @EmbeddedId
+    private UserBeneficiaryId id;
+
+    // Lets save() go straight to persist; a duplicate then fails on the key instead of merging
+    @Transient
+    private boolean persisted;
+
+    public UserBeneficiary(UUID userId, UUID beneficiaryId) {
+        this.id = new UserBeneficiaryId(userId, beneficiaryId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
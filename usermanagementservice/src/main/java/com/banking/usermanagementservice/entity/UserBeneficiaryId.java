@@ -0,0 +1,26 @@
+package com.banking.usermanagementservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserBeneficiaryId implements Serializable {
+
+    // Same columns as the User.beneficiaries @JoinTable
+    @Column(name = "userId", nullable = false)
+    private UUID userId;
+
+    @Column(name = "beneficiary_id", nullable = false)
+    private UUID beneficiaryId;
+}
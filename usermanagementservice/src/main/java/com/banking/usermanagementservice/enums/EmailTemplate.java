@@ -0,0 +1,29 @@
+package com.banking.usermanagementservice.enums;
+
+import java.util.List;
+
+public enum EmailTemplate {
+    APPROVAL("approval", "userName", "otp"),
+    REJECTION("rejection", "userName", "reason"),
+    PASSWORD_RESET("password-reset", "userName", "resetToken"),
+    PASSWORD_EXPIRATION("password-expiration", "userName", "daysRemaining");
+
+    private final String fileName;
+    private final List<String> parameters;
+
+    EmailTemplate(String fileName, String... parameters){
+        this.fileName = fileName;
+        this.parameters = List.of(parameters);
+    }
+
+    public String getFileName(){
+        return fileName;
+    }
+
+    /**
+     * Placeholder names in the order their values are passed to the template engine
+     */
+    public List<String> getParameters(){
+        return parameters;
+    }
+}
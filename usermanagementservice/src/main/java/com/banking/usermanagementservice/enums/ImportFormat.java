@@ -0,0 +1,6 @@
+package com.banking.usermanagementservice.enums;
+
+public enum ImportFormat {
+    CSV,
+    JSON
+}
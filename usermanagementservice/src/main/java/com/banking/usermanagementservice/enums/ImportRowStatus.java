@@ -0,0 +1,9 @@
+package com.banking.usermanagementservice.enums;
+
+public enum ImportRowStatus {
+    CREATED,
+    LINKED,
+    ALREADY_LINKED,
+    DUPLICATE_IN_FILE,
+    INVALID
+}
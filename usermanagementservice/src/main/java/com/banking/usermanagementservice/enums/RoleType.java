@@ -1,16 +1,30 @@
 package com.banking.usermanagementservice.enums;
 
+import com.banking.common.security.Permission;
+
 public enum RoleType {
-    SUPER_ADMIN("Super Administrator - Full system access"),
-    CUSTOMER("Customer - Standard banking user");
+    SUPER_ADMIN("Super Administrator - Full system access", Permission.values()),
+    CUSTOMER("Customer - Standard banking user",
+            Permission.VIEW_OWN_PROFILE, Permission.MANAGE_OWN_BENEFICIARIES, Permission.TRANSACT);
 
     private final String description;
+    private final int permissionMask;
 
-    RoleType(String description){
+    RoleType(String description, Permission... permissions){
         this.description = description;
+        int mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.mask();
+        }
+        this.permissionMask = mask;
     }
 
     public String getDescription(){
         return description;
     }
+
+    /** Bitset of the permissions this role grants */
+    public int getPermissionMask(){
+        return permissionMask;
+    }
 }
@@ -0,0 +1,8 @@
+package com.banking.usermanagementservice.enums;
+
+public enum UserStatus {
+    ACTIVE,
+    SUSPENDED,
+    INACTIVE,
+    DELETED
+}
@@ -0,0 +1,18 @@
+package com.banking.usermanagementservice.importer;
+
+import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-style reader over an uploaded beneficiary file, one row at a time.
+ */
+public interface BeneficiaryRowReader extends Closeable {
+
+    /**
+     * Read the next row
+     * @return Next row, or null at end of input
+     */
+    CreateBeneficiaryRequest next() throws IOException;
+}
@@ -0,0 +1,130 @@
+package com.banking.usermanagementservice.importer;
+
+import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV with columns accountId,nickname. A header row is optional; when
+ * present its column order is honoured.
+ */
+public class CsvBeneficiaryRowReader implements BeneficiaryRowReader {
+
+    private final BufferedReader reader;
+    private final List<String> fields = new ArrayList<>(4);
+    private final StringBuilder field = new StringBuilder(32);
+
+    private int accountIdColumn = 0;
+    private int nicknameColumn = 1;
+    private boolean started;
+
+    public CsvBeneficiaryRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public CreateBeneficiaryRequest next() throws IOException {
+        while (readRecord()) {
+            if (!started) {
+                started = true;
+                if (isHeader()) {
+                    continue;
+                }
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return CreateBeneficiaryRequest.builder()
+                    .accountId(column(accountIdColumn))
+                    .nickname(column(nicknameColumn))
+                    .build();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean isHeader() {
+        int accountId = -1;
+        int nickname = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).trim();
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == '\uFEFF') {
+                name = name.substring(1);
+            }
+            if (name.equalsIgnoreCase("accountId") || name.equalsIgnoreCase("account_id")) {
+                accountId = i;
+            } else if (name.equalsIgnoreCase("nickname")) {
+                nickname = i;
+            }
+        }
+        if (accountId < 0) {
+            return false;
+        }
+        accountIdColumn = accountId;
+        nicknameColumn = nickname;
+        return true;
+    }
+
+    private String column(int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+
+        int c = reader.read();
+        if (c < 0) {
+            return false;
+        }
+
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new InvalidOperationException("Unterminated quoted field in CSV");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c < 0 || c == '\n') {
+                fields.add(field.toString());
+                return true;
+            } else if (c == '\r') {
+                // Swallowed; the following \n ends the record
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
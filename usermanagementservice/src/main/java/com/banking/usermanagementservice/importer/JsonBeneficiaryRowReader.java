@@ -0,0 +1,63 @@
+package com.banking.usermanagementservice.importer;
+
+import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+
+/**
+ * Streams a top-level JSON array of {"accountId": ..., "nickname": ...} objects without
+ * binding the whole document.
+ */
+public class JsonBeneficiaryRowReader implements BeneficiaryRowReader {
+
+    private final JsonParser parser;
+    private boolean started;
+
+    public JsonBeneficiaryRowReader(ObjectMapper objectMapper, InputStream in) {
+        this.parser = objectMapper.createParser(in);
+    }
+
+    @Override
+    public CreateBeneficiaryRequest next() {
+        if (!started) {
+            started = true;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidOperationException("Expected a JSON array of beneficiaries");
+            }
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new InvalidOperationException("Expected a beneficiary object but found " + token);
+        }
+
+        CreateBeneficiaryRequest row = new CreateBeneficiaryRequest();
+        String name;
+        while ((name = parser.nextName()) != null) {
+            JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            String text = value == JsonToken.VALUE_NULL ? null : parser.getString();
+            if (name.equals("accountId")) {
+                row.setAccountId(text);
+            } else if (name.equals("nickname")) {
+                row.setNickname(text);
+            }
+        }
+        return row;
+    }
+
+    @Override
+    public void close() {
+        parser.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.banking.usermanagementservice.loadtest;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mail sender for the loadtest profile. Messages are kept in memory, latest per recipient,
+ * instead of being sent over SMTP, so the load generator can read approval OTPs.
+ */
+@Slf4j
+public class CapturingMailSender extends JavaMailSenderImpl {
+
+    private final Map<String, CapturedMail> latest = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        for (MimeMessage message : mimeMessages) {
+            try {
+                CapturedMail mail = new CapturedMail(message.getSubject(), textOf(message), Instant.now());
+                for (Address recipient : message.getAllRecipients()) {
+                    latest.put(recipient.toString().toLowerCase(Locale.ROOT), mail);
+                }
+            } catch (MessagingException | IOException e) {
+                throw new MailPreparationException("Could not capture message", e);
+            }
+        }
+    }
+
+    /**
+     * Latest message sent to an address
+     * @param email Recipient address
+     * @return The message, or empty when nothing was sent to it
+     */
+    public Optional<CapturedMail> latestFor(String email) {
+        return Optional.ofNullable(latest.get(email.toLowerCase(Locale.ROOT)));
+    }
+
+    private static String textOf(Part part) throws MessagingException, IOException {
+        // Content type headers are only finalised on send, so go by the content itself
+        Object content = part.getContent();
+        if (content instanceof String text) {
+            return text;
+        }
+        if (content instanceof Multipart multipart) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                text.append(textOf(multipart.getBodyPart(i)));
+            }
+            return text.toString();
+        }
+        return "";
+    }
+
+    public record CapturedMail(String subject, String body, Instant sentAt) {
+    }
+}
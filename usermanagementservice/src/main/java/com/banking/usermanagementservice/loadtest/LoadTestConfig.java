@@ -0,0 +1,15 @@
+package com.banking.usermanagementservice.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    public CapturingMailSender mailSender() {
+        return new CapturingMailSender();
+    }
+}
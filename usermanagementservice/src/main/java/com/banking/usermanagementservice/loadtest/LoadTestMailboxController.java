@@ -0,0 +1,27 @@
+package com.banking.usermanagementservice.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Read side of {@link CapturingMailSender}, only present in the loadtest profile and,
+ * like every internal endpoint, only reachable with the internal API key.
+ */
+@RestController
+@RequestMapping("/internal/loadtest")
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestMailboxController {
+
+    private final CapturingMailSender mailSender;
+
+    @GetMapping("/mailbox/{email}")
+    public ResponseEntity<CapturingMailSender.CapturedMail> latestMail(@PathVariable String email) {
+        return ResponseEntity.of(mailSender.latestFor(email));
+    }
+}
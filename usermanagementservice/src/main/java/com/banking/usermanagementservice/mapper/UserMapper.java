@@ -5,12 +5,12 @@ import com.banking.usermanagementservice.dto.UserResponse;
 import com.banking.usermanagementservice.entity.Address;
 import com.banking.usermanagementservice.entity.Role;
 import com.banking.usermanagementservice.entity.User;
+import com.banking.usermanagementservice.security.RoleAuthorities;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface UserMapper {
@@ -34,9 +34,7 @@ public interface UserMapper {
 
     @Named("mapRolesToStrings")
     default Set<String> mapRolesToStrings(Set<Role> roles) {
-        return roles.stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toSet());
+        return RoleAuthorities.of(roles).roleNames();
     }
 
     @Named("getFormattedAddress")
@@ -0,0 +1,129 @@
+package com.banking.usermanagementservice.metrics;
+
+import com.banking.usermanagementservice.enums.EmailTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the authentication flow, exported through actuator.
+ * <p>
+ * Database time is covered by Spring Data's own repository timers, so login cost splits
+ * into password hashing here, repository calls there, and token issuance here. All meters
+ * are registered up front and held in arrays indexed by enum ordinal, so recording never
+ * builds tags or looks anything up in the registry.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum HashOperation {
+        ENCODE, MATCHES
+    }
+
+    public enum TokenFlow {
+        LOGIN, REFRESH
+    }
+
+    /** Why a login attempt was rejected; kept coarse so the reason tag stays low-cardinality */
+    public enum LoginFailure {
+        THROTTLED, UNKNOWN_USER, INACTIVE, LOCKED, BAD_PASSWORD, INVALID_OTP
+    }
+
+    public enum RefreshOutcome {
+        ROTATED, REJECTED, REUSE_DETECTED
+    }
+
+    private final Timer[] hashTimers;
+    private final Timer[] tokenTimers;
+    private final Timer[][] emailTimers;
+    private final Counter[] loginFailures;
+    private final Counter[] refreshOutcomes;
+    private final Counter lockouts;
+
+    public AuthMetrics(MeterRegistry registry) {
+        hashTimers = new Timer[HashOperation.values().length];
+        for (HashOperation operation : HashOperation.values()) {
+            hashTimers[operation.ordinal()] = Timer.builder("auth.password.hash")
+                    .description("BCrypt hashing and verification time")
+                    .tag("operation", operation.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(10))
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(registry);
+        }
+
+        tokenTimers = new Timer[TokenFlow.values().length];
+        for (TokenFlow flow : TokenFlow.values()) {
+            tokenTimers[flow.ordinal()] = Timer.builder("auth.tokens.issue")
+                    .description("Time to sign an access and refresh token pair")
+                    .tag("flow", flow.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofMillis(100))
+                    .register(registry);
+        }
+
+        EmailTemplate[] templates = EmailTemplate.values();
+        emailTimers = new Timer[templates.length][2];
+        for (EmailTemplate template : templates) {
+            for (boolean sent : new boolean[]{true, false}) {
+                emailTimers[template.ordinal()][sent ? 0 : 1] = Timer.builder("auth.email.send")
+                        .description("Time to render and hand an email to the mail server")
+                        .tag("template", template.getFileName())
+                        .tag("outcome", sent ? "sent" : "failed")
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(registry);
+            }
+        }
+
+        loginFailures = new Counter[LoginFailure.values().length];
+        for (LoginFailure reason : LoginFailure.values()) {
+            loginFailures[reason.ordinal()] = Counter.builder("auth.login.failures")
+                    .description("Rejected login attempts by reason")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(registry);
+        }
+
+        refreshOutcomes = new Counter[RefreshOutcome.values().length];
+        for (RefreshOutcome outcome : RefreshOutcome.values()) {
+            refreshOutcomes[outcome.ordinal()] = Counter.builder("auth.refresh")
+                    .description("Refresh token exchanges by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry);
+        }
+
+        lockouts = Counter.builder("auth.lockouts")
+                .description("Accounts locked after repeated failed logins")
+                .register(registry);
+    }
+
+    public void recordHash(HashOperation operation, long startNanos) {
+        hashTimers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTokenIssue(TokenFlow flow, long startNanos) {
+        tokenTimers[flow.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEmail(EmailTemplate template, boolean sent, long startNanos) {
+        emailTimers[template.ordinal()][sent ? 0 : 1].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void loginFailed(LoginFailure reason) {
+        loginFailures[reason.ordinal()].increment();
+    }
+
+    public void refresh(RefreshOutcome outcome) {
+        refreshOutcomes[outcome.ordinal()].increment();
+    }
+
+    public void accountLocked() {
+        lockouts.increment();
+    }
+}
@@ -0,0 +1,220 @@
+package com.banking.usermanagementservice.perf;
+
+import com.banking.usermanagementservice.enums.ApprovalStatus;
+import com.banking.usermanagementservice.enums.Gender;
+import com.banking.usermanagementservice.enums.RoleType;
+import com.banking.usermanagementservice.security.RoleRegistry;
+import com.banking.usermanagementservice.service.EncryptionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills the embedded perf database with generated customers, their credentials and
+ * beneficiaries, so repository queries can be measured at a realistic size.
+ * <p>
+ * The mix covers what the listing and approval queries filter on: pending and rejected
+ * registrations, suspended and deleted users, and a few countries. Some beneficiaries are
+ * shared between many users (landlords, schools), so link counts are skewed. ID numbers are
+ * encrypted and indexed like registered ones. Rows go in through batched JDBC inserts, and
+ * this runs before the search index is built so the index covers them.
+ */
+@Component
+@Profile("perf")
+@RequiredArgsConstructor
+@Slf4j
+public class PerfDataSeeder {
+
+    private static final String INSERT_ADDRESS = "INSERT INTO addresses (id, street_address, suburb, city, province, " +
+            "postal_code, country, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, email, id_number, " +
+            "id_number_index, gender, country, address_id, approval_status, approved_at, is_active, is_email_verified, " +
+            "is_deleted, is_suspended, suspension_reason, suspended_at, created_at, updated_at, deleted_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_CREDENTIALS = "INSERT INTO user_credentials (id, user_id, password_hash, " +
+            "password_created_at, password_expires_at, is_first_login, is_locked, failed_login_attempts, created_at, " +
+            "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BENEFICIARY = "INSERT INTO beneficiaries (id, account_id, nickname, is_active, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINK = "INSERT INTO user_beneficiaries (user_id, beneficiary_id) VALUES (?, ?)";
+
+    private static final String[] FIRST_NAMES = {
+            "Thabo", "Lerato", "Sipho", "Naledi", "Johan", "Anele", "Pieter", "Zanele", "Michael", "Ayanda",
+            "Kagiso", "Nomvula", "David", "Palesa", "Ruan", "Lindiwe", "Tshepo", "Busisiwe", "Sarah", "Mpho"};
+    private static final String[] LAST_NAMES = {
+            "Nkosi", "Dlamini", "Botha", "Khumalo", "Naidoo", "Mokoena", "Pillay", "Smith", "Ndlovu", "Mahlangu",
+            "Pretorius", "Zulu", "Jacobs", "Mthembu", "Govender", "Sithole", "Venter"};
+    private static final String[] COUNTRIES = {"South Africa", "Botswana", "Namibia", "Lesotho", "Zimbabwe"};
+    private static final String[] NICKNAMES = {
+            "Mom", "Dad", "Landlord", "Gogo", "Brother", "Sister", "Rent", "Savings", "School fees", "Stokvel"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EncryptionService encryptionService;
+    private final RoleRegistry roleRegistry;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.perf.seed.users:50000}")
+    private int users;
+
+    @Value("${app.perf.seed.shared-beneficiaries:500}")
+    private int sharedBeneficiaries;
+
+    @Value("${app.perf.seed.years:3}")
+    private int years;
+
+    @Value("${app.perf.seed.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${app.perf.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.perf.seed.password:Cust0mer!Pass}")
+    private String password;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void seed() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM beneficiaries", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Perf database already holds {} beneficiaries, not seeding", existing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long spanSeconds = years * 365L * 86_400;
+        UUID customerRole = roleRegistry.get(RoleType.CUSTOMER).getId();
+        // One hash for everyone; BCrypt per row would take longer than the rest of the seeding
+        String passwordHash = passwordEncoder.encode(password);
+
+        Batch addresses = new Batch(INSERT_ADDRESS);
+        Batch userRows = new Batch(INSERT_USER);
+        Batch roles = new Batch(INSERT_USER_ROLE);
+        Batch credentials = new Batch(INSERT_CREDENTIALS);
+        Batch beneficiaries = new Batch(INSERT_BENEFICIARY);
+        Batch links = new Batch(INSERT_LINK);
+
+        UUID[] shared = new UUID[sharedBeneficiaries];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = new UUID(random.nextLong(), random.nextLong());
+            LocalDateTime createdAt = now.minusSeconds(spanSeconds);
+            beneficiaries.add(shared[i], String.format("52%08d", i), NICKNAMES[i % NICKNAMES.length], true, createdAt, createdAt);
+        }
+
+        int beneficiaryCount = shared.length;
+        for (int user = 0; user < users; user++) {
+            UUID userId = new UUID(random.nextLong(), random.nextLong());
+            UUID addressId = new UUID(random.nextLong(), random.nextLong());
+            LocalDateTime createdAt = now.minusSeconds(random.nextLong(spanSeconds));
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            boolean female = random.nextBoolean();
+            String idNumber = idNumber(user, female);
+            String country = random.nextDouble() < 0.9 ? COUNTRIES[0] : COUNTRIES[1 + random.nextInt(COUNTRIES.length - 1)];
+
+            double statePick = random.nextDouble();
+            ApprovalStatus approval = statePick < 0.05 ? ApprovalStatus.PENDING
+                    : statePick < 0.06 ? ApprovalStatus.REJECTED
+                    : ApprovalStatus.APPROVED;
+            boolean approved = approval == ApprovalStatus.APPROVED;
+            boolean suspended = approved && statePick > 0.98;
+            boolean deleted = approved && statePick > 0.97 && !suspended;
+            LocalDateTime approvedAt = approved ? createdAt.plusHours(1 + random.nextInt(48)) : null;
+            LocalDateTime changedAt = suspended || deleted ? now.minusSeconds(random.nextLong(86_400 * 90L)) : createdAt;
+
+            addresses.add(addressId, (1 + random.nextInt(400)) + " Main Road", "Sandton", "Johannesburg", "Gauteng",
+                    "2196", country, createdAt, createdAt);
+            userRows.add(userId, firstName, lastName,
+                    (firstName + "." + lastName + "." + user + "@perf.local").toLowerCase(),
+                    encryptionService.encrypt(idNumber), encryptionService.blindIndex(idNumber),
+                    female ? Gender.FEMALE.name() : Gender.MALE.name(), country, addressId, approval.name(), approvedAt,
+                    approved && !deleted, approved, deleted, suspended, suspended ? "Perf data" : null,
+                    suspended ? changedAt : null, createdAt, changedAt, deleted ? changedAt : null);
+            roles.add(userId, customerRole);
+            credentials.add(new UUID(random.nextLong(), random.nextLong()), userId, passwordHash, createdAt,
+                    now.plusDays(90), !approved, false, 0, createdAt, createdAt);
+
+            if (approved) {
+                int own = Math.min(25, (int) (random.nextExponential() * 3));
+                for (int i = 0; i < own; i++) {
+                    UUID beneficiaryId = new UUID(random.nextLong(), random.nextLong());
+                    LocalDateTime addedAt = createdAt.plusDays(random.nextInt(30));
+                    beneficiaries.add(beneficiaryId, String.format("51%08d", beneficiaryCount++),
+                            NICKNAMES[random.nextInt(NICKNAMES.length)], random.nextDouble() > 0.05, addedAt, addedAt);
+                    links.add(userId, beneficiaryId);
+                }
+                if (random.nextDouble() < 0.3) {
+                    // Cubed so a handful of shared payees end up linked to thousands of users
+                    double u = random.nextDouble();
+                    links.add(userId, shared[(int) (u * u * u * shared.length)]);
+                }
+            }
+        }
+
+        // Parent tables first
+        for (Batch batch : List.of(addresses, userRows, roles, credentials, beneficiaries, links)) {
+            batch.flush();
+        }
+
+        log.info("Seeded {} users, {} beneficiaries and {} links in {} ms", userRows.rows.size(),
+                beneficiaries.rows.size(), links.rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Unique for up to 100 million users: the birth date cycles through 20 000 days and the
+    // sequence digits through the rest. The retired 9 in the twelfth digit keeps them clear of
+    // real ID numbers such as the super admin's, which carry 8.
+    private static String idNumber(int user, boolean female) {
+        LocalDate birth = LocalDate.of(1950, 1, 1).plusDays(user % 20_000);
+        int sequence = (user / 20_000) % 5_000 + (female ? 0 : 5_000);
+        String digits = String.format("%02d%02d%02d%04d09", birth.getYear() % 100, birth.getMonthValue(),
+                birth.getDayOfMonth(), sequence);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(digits.length() - 1 - i) - '0';
+            if (i % 2 == 0) {
+                digit = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+            }
+            sum += digit;
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    // Rows are buffered per table so each table can be written in one go, parents first
+    private final class Batch {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... values) {
+            rows.add(values);
+        }
+
+        void flush() {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+            }
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.banking.usermanagementservice.ranking;
+
+import com.banking.usermanagementservice.entity.BeneficiaryUsageScore;
+import com.banking.usermanagementservice.repository.BeneficiaryUsageScoreRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user recency/frequency ranking of beneficiaries.
+ * <p>
+ * Each use adds e^(lambda * t) to a beneficiary's score, with t measured from a fixed epoch.
+ * Dividing every score by the same e^(lambda * now) gives the usual exponentially decayed
+ * count, so relative order never changes with time and scores only move on use. Scores are
+ * kept as natural logs to stay finite, and each user's entries live in parallel arrays
+ * sorted by score, so the top N is a prefix copy.
+ * <p>
+ * Users are loaded lazily on first use, written back periodically, and evicted when idle.
+ * Removals are written back by the same flush as scores, so a flush never resurrects a
+ * removed entry and a re-added one is inserted only after the old row is gone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BeneficiaryUsageRanking {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final double MILLIS_PER_DAY = 86_400_000d;
+
+    private final BeneficiaryUsageScoreRepository scoreRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.beneficiaries.ranking.half-life-days:14}")
+    private double halfLifeDays;
+
+    @Value("${app.beneficiaries.ranking.idle-eviction-minutes:30}")
+    private long idleEvictionMinutes;
+
+    private double lambdaPerDay;
+
+    private final Map<UUID, UserScores> users = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        lambdaPerDay = Math.log(2) / halfLifeDays;
+    }
+
+    /**
+     * Record one use of a beneficiary
+     * @param userId Paying user
+     * @param beneficiaryId Beneficiary paid
+     * @param occurredAt When the payment completed
+     */
+    public void recordUsage(UUID userId, UUID beneficiaryId, Instant occurredAt) {
+        double weight = lambdaPerDay * (occurredAt.toEpochMilli() - EPOCH_MILLIS) / MILLIS_PER_DAY;
+        while (true) {
+            UserScores scores = scoresFor(userId);
+            synchronized (scores) {
+                // Evicted since it was looked up; adding to it would lose the use, so load again
+                if (!scores.evicted) {
+                    scores.add(beneficiaryId, weight, occurredAt.toEpochMilli());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Highest-ranked beneficiaries for a user
+     * @param userId User ID
+     * @param n Maximum number of entries
+     * @return Entries in descending score order
+     */
+    public List<RankedBeneficiary> top(UUID userId, int n) {
+        UserScores scores = scoresFor(userId);
+        double nowWeight = lambdaPerDay * (System.currentTimeMillis() - EPOCH_MILLIS) / MILLIS_PER_DAY;
+
+        synchronized (scores) {
+            int count = Math.min(n, scores.size);
+            List<RankedBeneficiary> ranked = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ranked.add(new RankedBeneficiary(
+                        scores.ids[i],
+                        Math.exp(scores.logScores[i] - nowWeight),
+                        scores.useCounts[i],
+                        Instant.ofEpochMilli(scores.lastUsed[i])
+                ));
+            }
+            return ranked;
+        }
+    }
+
+    /**
+     * Drop a beneficiary from a user's ranking. It leaves memory at once; the stored row is
+     * deleted by the next flush, ahead of that flush's inserts. The user is loaded if needed
+     * and stays cached until then, so a reload can't bring the row back in the meantime.
+     * @param userId User ID
+     * @param beneficiaryId Beneficiary removed from the user
+     */
+    public void forget(UUID userId, UUID beneficiaryId) {
+        while (true) {
+            UserScores scores = scoresFor(userId);
+            synchronized (scores) {
+                if (!scores.evicted) {
+                    scores.remove(beneficiaryId);
+                    scores.deleted.add(beneficiaryId);
+                    scores.dirty = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Write changed scores and removals back in one transaction. If it fails, what was taken
+     * is marked pending again for the next flush, so no uses are lost. Flushes and idle
+     * eviction are serialized, so a user is never evicted between a flush and its outcome.
+     */
+    @Scheduled(fixedDelayString = "${app.beneficiaries.ranking.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        List<BeneficiaryUsageScore> inserts = new ArrayList<>();
+        List<BeneficiaryUsageScore> updates = new ArrayList<>();
+        List<Pending> pending = new ArrayList<>();
+        int deletes = 0;
+
+        for (Map.Entry<UUID, UserScores> entry : users.entrySet()) {
+            UserScores scores = entry.getValue();
+            synchronized (scores) {
+                if (!scores.dirty) {
+                    continue;
+                }
+                List<BeneficiaryUsageScore> rows = new ArrayList<>();
+                for (int i = 0; i < scores.size; i++) {
+                    if (!scores.changed[i]) {
+                        continue;
+                    }
+                    BeneficiaryUsageScore row = new BeneficiaryUsageScore(entry.getKey(), scores.ids[i],
+                            scores.logScores[i], scores.useCounts[i], Instant.ofEpochMilli(scores.lastUsed[i]),
+                            scores.stored[i]);
+                    (scores.stored[i] ? updates : inserts).add(row);
+                    rows.add(row);
+                    scores.changed[i] = false;
+                    scores.stored[i] = true;
+                }
+                Set<UUID> deleted = new HashSet<>(scores.deleted);
+                scores.deleted.clear();
+                scores.dirty = false;
+                pending.add(new Pending(entry.getKey(), scores, rows, deleted));
+                deletes += deleted.size();
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // Deletes first: a beneficiary removed and re-added since the last flush has
+                // its old row deleted here and the new one inserted below
+                for (Pending user : pending) {
+                    for (UUID beneficiaryId : user.deleted()) {
+                        scoreRepository.deleteScore(user.userId(), beneficiaryId);
+                    }
+                }
+                if (!inserts.isEmpty()) {
+                    scoreRepository.saveAll(inserts);
+                }
+                for (BeneficiaryUsageScore row : updates) {
+                    scoreRepository.save(row);
+                }
+            });
+            log.info("Flushed {} new, {} updated and {} removed beneficiary usage scores",
+                    inserts.size(), updates.size(), deletes);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush beneficiary usage scores; retrying them on the next flush", e);
+            for (Pending user : pending) {
+                user.restore();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.beneficiaries.ranking.eviction-interval-ms:60000}")
+    public synchronized void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMinutes * 60_000;
+        for (Map.Entry<UUID, UserScores> entry : users.entrySet()) {
+            UserScores scores = entry.getValue();
+            synchronized (scores) {
+                if (!scores.dirty && scores.lastAccess < cutoff) {
+                    evict(entry.getKey(), scores);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop a user's scores from memory. The instance is flagged so a writer that looked it
+     * up before the removal reloads instead of adding to a copy nobody will flush.
+     */
+    private void evict(UUID userId, UserScores scores) {
+        synchronized (scores) {
+            scores.evicted = true;
+            users.remove(userId, scores);
+        }
+    }
+
+    int cachedUsers() {
+        return users.size();
+    }
+
+    private UserScores scoresFor(UUID userId) {
+        UserScores scores = users.get(userId);
+        if (scores == null) {
+            // Loaded outside the map so a slow query never blocks other users' bins
+            UserScores loaded = UserScores.of(scoreRepository.findByUserId(userId));
+            scores = users.putIfAbsent(userId, loaded);
+            if (scores == null) {
+                scores = loaded;
+            }
+        }
+        scores.lastAccess = System.currentTimeMillis();
+        return scores;
+    }
+
+    private static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    public record RankedBeneficiary(UUID beneficiaryId, double score, int useCount, Instant lastUsedAt) {
+    }
+
+    /**
+     * What one flush took from a user. The transaction rolled back as a whole, so restoring
+     * puts back each entry's stored flag as it was before the flush.
+     */
+    private record Pending(UUID userId, UserScores scores, List<BeneficiaryUsageScore> rows, Set<UUID> deleted) {
+
+        void restore() {
+            synchronized (scores) {
+                scores.deleted.addAll(deleted);
+                for (BeneficiaryUsageScore row : rows) {
+                    // Gone if forgotten since; its tombstone covers the row
+                    int i = scores.indexOf(row.getId().getBeneficiaryId());
+                    if (i >= 0) {
+                        scores.changed[i] = true;
+                        scores.stored[i] = !row.isNew();
+                    }
+                }
+                scores.dirty = true;
+            }
+        }
+    }
+
+    private static final class UserScores {
+
+        private UUID[] ids;
+        private double[] logScores;
+        private int[] useCounts;
+        private long[] lastUsed;
+        private boolean[] stored;
+        private boolean[] changed;
+        // Removed since the last flush; their rows are deleted by the next one
+        private final Set<UUID> deleted = new HashSet<>();
+        private int size;
+        private boolean dirty;
+        private boolean evicted;
+        private volatile long lastAccess;
+
+        private UserScores(int capacity) {
+            ids = new UUID[capacity];
+            logScores = new double[capacity];
+            useCounts = new int[capacity];
+            lastUsed = new long[capacity];
+            stored = new boolean[capacity];
+            changed = new boolean[capacity];
+        }
+
+        static UserScores of(List<BeneficiaryUsageScore> rows) {
+            UserScores scores = new UserScores(Math.max(4, rows.size()));
+            for (BeneficiaryUsageScore row : rows) {
+                int i = scores.size++;
+                scores.ids[i] = row.getId().getBeneficiaryId();
+                scores.logScores[i] = row.getLogScore();
+                scores.useCounts[i] = row.getUseCount();
+                scores.lastUsed[i] = row.getLastUsedAt().toEpochMilli();
+                scores.stored[i] = true;
+                scores.moveUp(i);
+            }
+            return scores;
+        }
+
+        void add(UUID beneficiaryId, double weight, long usedAt) {
+            int i = indexOf(beneficiaryId);
+            if (i < 0) {
+                if (size == ids.length) {
+                    grow();
+                }
+                i = size++;
+                ids[i] = beneficiaryId;
+                logScores[i] = weight;
+                useCounts[i] = 1;
+                lastUsed[i] = usedAt;
+                stored[i] = false;
+            } else {
+                logScores[i] = logAddExp(logScores[i], weight);
+                useCounts[i]++;
+                lastUsed[i] = Math.max(lastUsed[i], usedAt);
+            }
+            changed[i] = true;
+            dirty = true;
+            moveUp(i);
+        }
+
+        void remove(UUID beneficiaryId) {
+            int i = indexOf(beneficiaryId);
+            if (i < 0) {
+                return;
+            }
+            int tail = size - i - 1;
+            System.arraycopy(ids, i + 1, ids, i, tail);
+            System.arraycopy(logScores, i + 1, logScores, i, tail);
+            System.arraycopy(useCounts, i + 1, useCounts, i, tail);
+            System.arraycopy(lastUsed, i + 1, lastUsed, i, tail);
+            System.arraycopy(stored, i + 1, stored, i, tail);
+            System.arraycopy(changed, i + 1, changed, i, tail);
+            ids[--size] = null;
+        }
+
+        private int indexOf(UUID beneficiaryId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i].equals(beneficiaryId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Scores only grow, so an entry can only move towards the front
+        private void moveUp(int i) {
+            while (i > 0 && logScores[i - 1] < logScores[i]) {
+                swap(i - 1, i);
+                i--;
+            }
+        }
+
+        private void swap(int a, int b) {
+            UUID id = ids[a]; ids[a] = ids[b]; ids[b] = id;
+            double score = logScores[a]; logScores[a] = logScores[b]; logScores[b] = score;
+            int count = useCounts[a]; useCounts[a] = useCounts[b]; useCounts[b] = count;
+            long used = lastUsed[a]; lastUsed[a] = lastUsed[b]; lastUsed[b] = used;
+            boolean s = stored[a]; stored[a] = stored[b]; stored[b] = s;
+            boolean c = changed[a]; changed[a] = changed[b]; changed[b] = c;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            logScores = Arrays.copyOf(logScores, capacity);
+            useCounts = Arrays.copyOf(useCounts, capacity);
+            lastUsed = Arrays.copyOf(lastUsed, capacity);
+            stored = Arrays.copyOf(stored, capacity);
+            changed = Arrays.copyOf(changed, capacity);
+        }
+    }
+}
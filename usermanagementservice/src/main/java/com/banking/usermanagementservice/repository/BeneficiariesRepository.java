@@ -1,11 +1,13 @@
 package com.banking.usermanagementservice.repository;
 
+import com.banking.usermanagementservice.dto.BeneficiaryResponse;
 import com.banking.usermanagementservice.entity.Beneficiaries;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,7 +20,7 @@ public interface BeneficiariesRepository extends JpaRepository<Beneficiaries, UU
     List<Beneficiaries> findByIsActive(boolean isActive);
 
     @Query("SELECT b FROM Beneficiaries b JOIN b.users u WHERE u.id = :userId AND b.isActive = true")
-    List<Beneficiaries> findActiveByUserId(@Param("userOd") UUID userId);
+    List<Beneficiaries> findActiveByUserId(@Param("userId") UUID userId);
 
     @Query("SELECT b FROM Beneficiaries b JOIN b.users u WHERE u.id = :userId")
     List<Beneficiaries> findAllByUserId(@Param("userId") UUID userId);
@@ -28,4 +30,39 @@ public interface BeneficiariesRepository extends JpaRepository<Beneficiaries, UU
 
     boolean existsByAccountId(String accountId);
 
+    // Listing reads: SIZE() becomes a correlated COUNT over user_beneficiaries, so neither the
+    // users collection nor any User row is loaded to fill userCount
+    String RESPONSE_SELECT = "SELECT new com.banking.usermanagementservice.dto.BeneficiaryResponse(" +
+            "b.id, b.accountId, b.nickname, b.isActive, b.createdAt, b.updatedAt, SIZE(b.users)) ";
+
+    @Query(RESPONSE_SELECT + "FROM Beneficiaries b WHERE b.id = :beneficiaryId")
+    Optional<BeneficiaryResponse> findResponseById(@Param("beneficiaryId") UUID beneficiaryId);
+
+    @Query(RESPONSE_SELECT + "FROM Beneficiaries b ORDER BY b.createdAt")
+    List<BeneficiaryResponse> findAllResponses();
+
+    @Query(RESPONSE_SELECT + "FROM Beneficiaries b WHERE b.isActive = :isActive ORDER BY b.createdAt")
+    List<BeneficiaryResponse> findResponsesByIsActive(@Param("isActive") boolean isActive);
+
+    @Query(RESPONSE_SELECT + "FROM Beneficiaries b JOIN b.users u WHERE u.id = :userId ORDER BY b.createdAt")
+    List<BeneficiaryResponse> findResponsesByUserId(@Param("userId") UUID userId);
+
+    @Query(RESPONSE_SELECT + "FROM Beneficiaries b JOIN b.users u WHERE u.id = :userId AND b.isActive = true ORDER BY b.createdAt")
+    List<BeneficiaryResponse> findActiveResponsesByUserId(@Param("userId") UUID userId);
+
+    @Query(RESPONSE_SELECT + "FROM Beneficiaries b JOIN b.users u WHERE u.id = :userId AND b.isActive = true AND b.id IN :beneficiaryIds")
+    List<BeneficiaryResponse> findActiveResponsesByUserIdAndIdIn(@Param("userId") UUID userId,
+                                                                 @Param("beneficiaryIds") Collection<UUID> beneficiaryIds);
+
+    @Query("SELECT SIZE(b.users) FROM Beneficiaries b WHERE b.id = :beneficiaryId")
+    int countUsers(@Param("beneficiaryId") UUID beneficiaryId);
+
+    @Query("SELECT b.id AS id, b.accountId AS accountId FROM Beneficiaries b WHERE b.accountId IN :accountIds")
+    List<AccountIdView> findIdsByAccountIdIn(@Param("accountIds") Collection<String> accountIds);
+
+    interface AccountIdView {
+        UUID getId();
+        String getAccountId();
+    }
+
 }
@@ -0,0 +1,23 @@
+package com.banking.usermanagementservice.repository;
+
+import com.banking.usermanagementservice.entity.BeneficiaryUsageScore;
+import com.banking.usermanagementservice.entity.BeneficiaryUsageScoreId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BeneficiaryUsageScoreRepository extends JpaRepository<BeneficiaryUsageScore, BeneficiaryUsageScoreId> {
+
+    @Query("SELECT s FROM BeneficiaryUsageScore s WHERE s.id.userId = :userId")
+    List<BeneficiaryUsageScore> findByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM BeneficiaryUsageScore s WHERE s.id.userId = :userId AND s.id.beneficiaryId = :beneficiaryId")
+    int deleteScore(@Param("userId") UUID userId, @Param("beneficiaryId") UUID beneficiaryId);
+}
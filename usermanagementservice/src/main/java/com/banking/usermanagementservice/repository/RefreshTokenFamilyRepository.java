@@ -0,0 +1,31 @@
+package com.banking.usermanagementservice.repository;
+
+import com.banking.usermanagementservice.entity.RefreshTokenFamily;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+
+    // Serializes concurrent refreshes of the same family so only one of them can rotate it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM RefreshTokenFamily f WHERE f.id = :id")
+    Optional<RefreshTokenFamily> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("SELECT f FROM RefreshTokenFamily f WHERE f.userId = :userId AND f.revoked = false AND f.expiresAt > :now")
+    List<RefreshTokenFamily> findActiveByUserId(@Param("userId") UUID userId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,37 @@
+package com.banking.usermanagementservice.repository;
+
+import com.banking.usermanagementservice.entity.UserBeneficiary;
+import com.banking.usermanagementservice.entity.UserBeneficiaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface UserBeneficiaryRepository extends JpaRepository<UserBeneficiary, UserBeneficiaryId> {
+
+    @Query("SELECT CASE WHEN COUNT(ub) > 0 THEN true ELSE false END FROM UserBeneficiary ub " +
+            "WHERE ub.id.userId = :userId AND ub.id.beneficiaryId = :beneficiaryId")
+    boolean existsLink(@Param("userId") UUID userId, @Param("beneficiaryId") UUID beneficiaryId);
+
+    @Query("SELECT ub.id.beneficiaryId FROM UserBeneficiary ub " +
+            "WHERE ub.id.userId = :userId AND ub.id.beneficiaryId IN :beneficiaryIds")
+    Set<UUID> findLinkedBeneficiaryIds(@Param("userId") UUID userId,
+                                       @Param("beneficiaryIds") Collection<UUID> beneficiaryIds);
+
+    // Matches every combination of the given users and beneficiaries; callers pick the pairs they asked about
+    @Query("SELECT ub.id FROM UserBeneficiary ub " +
+            "WHERE ub.id.userId IN :userIds AND ub.id.beneficiaryId IN :beneficiaryIds")
+    List<UserBeneficiaryId> findLinks(@Param("userIds") Collection<UUID> userIds,
+                                      @Param("beneficiaryIds") Collection<UUID> beneficiaryIds);
+
+    @Modifying
+    @Query("DELETE FROM UserBeneficiary ub WHERE ub.id.userId = :userId AND ub.id.beneficiaryId = :beneficiaryId")
+    int deleteLink(@Param("userId") UUID userId, @Param("beneficiaryId") UUID beneficiaryId);
+}
@@ -2,10 +2,12 @@ package com.banking.usermanagementservice.repository;
 
 import com.banking.usermanagementservice.entity.UserCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +20,10 @@ public interface UserCredentialsRepository extends JpaRepository<UserCredentials
     Optional<UserCredentials> findByValidPasswordResetToken(@Param("token") String token);
 
     boolean existsByUserId(UUID userId);
+
+    @Modifying
+    @Query("UPDATE UserCredentials uc SET uc.failedLoginAttempts = :attempts, uc.isLocked = true, uc.lockedUntil = :lockedUntil WHERE uc.userId = :userId")
+    int applyLockState(@Param("userId") UUID userId,
+                       @Param("attempts") int attempts,
+                       @Param("lockedUntil") LocalDateTime lockedUntil);
 }
@@ -0,0 +1,24 @@
+package com.banking.usermanagementservice.repository;
+
+import com.banking.usermanagementservice.dto.UserSummaryResponse;
+import com.banking.usermanagementservice.enums.ApprovalStatus;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface UserExportRepository {
+
+    /**
+     * Listing rows in creation order, streamed from the database rather than loaded at once.
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<UserSummaryResponse> streamSummaries(
+            boolean deleted,
+            Boolean active,
+            Boolean suspended,
+            ApprovalStatus approvalStatus,
+            String country,
+            LocalDateTime createdFrom,
+            LocalDateTime createdTo
+    );
+}
@@ -0,0 +1,49 @@
+package com.banking.usermanagementservice.repository;
+
+import com.banking.usermanagementservice.dto.UserSummaryResponse;
+import com.banking.usermanagementservice.enums.ApprovalStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * The export query, with its fetch size from configuration. On MySQL the export streams
+ * row by row with a fetch size of Integer.MIN_VALUE, which only affects this statement;
+ * every other query keeps reading its results in one go.
+ */
+public class UserExportRepositoryImpl implements UserExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.users.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public Stream<UserSummaryResponse> streamSummaries(
+            boolean deleted,
+            Boolean active,
+            Boolean suspended,
+            ApprovalStatus approvalStatus,
+            String country,
+            LocalDateTime createdFrom,
+            LocalDateTime createdTo
+    ) {
+        return entityManager.createQuery(UserRepository.SUMMARY_SELECT + UserRepository.LISTING_FILTER +
+                        " ORDER BY u.createdAt, u.id", UserSummaryResponse.class)
+                .setParameter("deleted", deleted)
+                .setParameter("active", active)
+                .setParameter("suspended", suspended)
+                .setParameter("approvalStatus", approvalStatus)
+                .setParameter("country", country)
+                .setParameter("createdFrom", createdFrom)
+                .setParameter("createdTo", createdTo)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -1,23 +1,31 @@
 package com.banking.usermanagementservice.repository;
 
+import com.banking.usermanagementservice.dto.UserSummaryResponse;
 import com.banking.usermanagementservice.entity.User;
 import com.banking.usermanagementservice.enums.ApprovalStatus;
+import com.banking.usermanagementservice.enums.RoleType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserExportRepository {
 
     Optional<User> findByEmail(String email);
     Optional<User> findByIdNumber(String idNumber);
     boolean existsByEmail(String email);
     boolean existsByIdNumber(String idNumber);
+    boolean existsByIdNumberIndex(String idNumberIndex);
+    boolean existsByIdNumberIndexIsNull();
 
     @Query("SELECT u FROM User u WHERE u.isDeleted = false")
     List<User> findAllActive();
@@ -32,5 +40,77 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmailAndNotDeleted(@Param("email") String email);
 
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.isDeleted = false")
-    Optional<User> findByRoleName(@Param("roleName") String roleName);
+    Optional<User> findByRoleName(@Param("roleName") RoleType roleName);
+
+    @Query("SELECT u.id AS id, u.idNumber AS idNumber FROM User u " +
+            "WHERE u.id > :afterId AND (u.idNumber NOT LIKE :activePrefix OR u.idNumberIndex IS NULL) " +
+            "ORDER BY u.id")
+    List<IdNumberView> findIdNumbersNeedingReEncryption(
+            @Param("activePrefix") String activePrefix,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("UPDATE User u SET u.idNumber = :newIdNumber, u.idNumberIndex = :idNumberIndex " +
+            "WHERE u.id = :id AND u.idNumber = :oldIdNumber")
+    int updateIdNumber(
+            @Param("id") UUID id,
+            @Param("oldIdNumber") String oldIdNumber,
+            @Param("newIdNumber") String newIdNumber,
+            @Param("idNumberIndex") String idNumberIndex
+    );
+
+    // Optional filters are bound as nulls; MySQL folds "NULL IS NULL" away with client-side
+    // prepared statements, so the composite indexes on users still apply
+    String LISTING_FILTER = "WHERE u.isDeleted = :deleted " +
+            "AND (:active IS NULL OR u.isActive = :active) " +
+            "AND (:suspended IS NULL OR u.isSuspended = :suspended) " +
+            "AND (:approvalStatus IS NULL OR u.approvalStatus = :approvalStatus) " +
+            "AND (:country IS NULL OR u.country = :country) " +
+            "AND (:createdFrom IS NULL OR u.createdAt >= :createdFrom) " +
+            "AND (:createdTo IS NULL OR u.createdAt < :createdTo)";
+
+    String SUMMARY_SELECT = "SELECT new com.banking.usermanagementservice.dto.UserSummaryResponse(" +
+            "u.id, u.firstName, u.lastName, u.email, u.country, u.approvalStatus, " +
+            "u.isActive, u.isSuspended, u.isDeleted, u.createdAt) FROM User u ";
+
+    @Query(value = SUMMARY_SELECT + LISTING_FILTER,
+            countQuery = "SELECT COUNT(u) FROM User u " + LISTING_FILTER)
+    Page<UserSummaryResponse> findSummaries(
+            @Param("deleted") boolean deleted,
+            @Param("active") Boolean active,
+            @Param("suspended") Boolean suspended,
+            @Param("approvalStatus") ApprovalStatus approvalStatus,
+            @Param("country") String country,
+            @Param("createdFrom") LocalDateTime createdFrom,
+            @Param("createdTo") LocalDateTime createdTo,
+            Pageable pageable
+    );
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.address LEFT JOIN FETCH u.roles " +
+            "WHERE u.isDeleted = false AND u.isActive = true AND u.isSuspended = false " +
+            "ORDER BY u.createdAt")
+    List<User> findAllActiveWithDetails();
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.address LEFT JOIN FETCH u.roles " +
+            "WHERE u.isDeleted = false AND u.isSuspended = true " +
+            "ORDER BY u.suspendedAt DESC")
+    List<User> findAllSuspendedWithDetails();
+
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.email AS email " +
+            "FROM User u WHERE u.isDeleted = false AND u.id > :afterId ORDER BY u.id")
+    List<SearchView> findSearchViews(@Param("afterId") UUID afterId, Pageable pageable);
+
+    interface SearchView {
+        UUID getId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+    }
+
+    interface IdNumberView {
+        UUID getId();
+        String getIdNumber();
+    }
 }
@@ -0,0 +1,395 @@
+package com.banking.usermanagementservice.search;
+
+import com.banking.usermanagementservice.dto.UserSearchResult;
+import com.banking.usermanagementservice.entity.User;
+import com.banking.usermanagementservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-process type-ahead index over user first name, last name and email.
+ * <p>
+ * Terms are normalized (lower case, accents stripped) and stored in a character trie
+ * whose children are kept as sorted parallel arrays, so a prefix lookup is a walk down
+ * the query characters followed by a depth-first walk that stops once enough users match
+ * every query word. The index is rebuilt from the database on startup and maintained
+ * after each committing change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 2000;
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node root = new Node();
+    private Map<UUID, Document> documents = new HashMap<>();
+
+    // Changes that arrive while a rebuild is reading the database, replayed after the swap
+    private List<Consumer<UserSearchIndex>> pendingDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Node newRoot = new Node();
+        Map<UUID, Document> newDocuments = new HashMap<>();
+        boolean completed = false;
+        try {
+            UUID afterId = LOWEST_ID;
+            while (true) {
+                List<UserRepository.SearchView> rows =
+                        userRepository.findSearchViews(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (UserRepository.SearchView row : rows) {
+                    Document document = Document.of(row.getId(), row.getFirstName(), row.getLastName(), row.getEmail());
+                    newDocuments.put(document.id(), document);
+                    insertAll(newRoot, document);
+                }
+                if (rows.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+            completed = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                List<Consumer<UserSearchIndex>> pending = pendingDuringRebuild;
+                pendingDuringRebuild = null;
+                // On failure the previous index stays in place; it already saw the pending changes
+                if (completed) {
+                    root = newRoot;
+                    documents = newDocuments;
+                    pending.forEach(change -> change.accept(this));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        log.info("User search index rebuilt with {} users in {} ms",
+                newDocuments.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Index or re-index a user once the current transaction commits
+     * @param user Saved user
+     */
+    public void indexAfterCommit(User user) {
+        Document document = Document.of(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+        afterCommit(index -> index.put(document));
+    }
+
+    /**
+     * Drop a user from the index once the current transaction commits
+     * @param userId User ID
+     */
+    public void removeAfterCommit(UUID userId) {
+        afterCommit(index -> index.remove(userId));
+    }
+
+    /**
+     * Find users whose name or email words start with every word of the query
+     * @param query Partial name or email
+     * @param limit Maximum number of results
+     * @return Matching users, in no particular order
+     */
+    public List<UserSearchResult> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Walk the trie with the most selective (longest) token, then filter on the rest
+        String primary = tokens.get(0);
+        for (String token : tokens) {
+            if (token.length() > primary.length()) {
+                primary = token;
+            }
+        }
+
+        List<UserSearchResult> results = new ArrayList<>(Math.min(limit, 16));
+        lock.readLock().lock();
+        try {
+            Node node = root.find(primary);
+            if (node == null) {
+                return List.of();
+            }
+
+            // Every user under the prefix is a candidate; stop as soon as enough match the rest
+            Set<UUID> seen = new HashSet<>();
+            node.visit(id -> {
+                if (seen.add(id)) {
+                    Document document = documents.get(id);
+                    if (document != null && document.matchesAll(tokens)) {
+                        results.add(document.toResult());
+                    }
+                }
+                return results.size() < limit;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<UserSearchIndex> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<UserSearchIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(this);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void put(Document document) {
+        Document previous = documents.put(document.id(), document);
+        if (previous != null) {
+            for (String term : previous.terms()) {
+                root.remove(term, 0, previous.id());
+            }
+        }
+        insertAll(root, document);
+    }
+
+    // Callers hold the write lock
+    private void remove(UUID userId) {
+        Document previous = documents.remove(userId);
+        if (previous != null) {
+            for (String term : previous.terms()) {
+                root.remove(term, 0, userId);
+            }
+        }
+    }
+
+    private static void insertAll(Node root, Document document) {
+        for (String term : document.terms()) {
+            root.insert(term, document.id());
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private record Document(UUID id, String firstName, String lastName, String email, String[] terms) {
+
+        static Document of(UUID id, String firstName, String lastName, String email) {
+            Set<String> terms = new LinkedHashSet<>();
+            terms.addAll(tokenize(firstName));
+            terms.addAll(tokenize(lastName));
+            // "jane.doe@example.com" -> jane, doe, example, com; queries are split the same way
+            terms.addAll(tokenize(email));
+            return new Document(id, firstName, lastName, email, terms.toArray(String[]::new));
+        }
+
+        boolean matchesAll(List<String> tokens) {
+            for (String token : tokens) {
+                boolean matched = false;
+                for (String term : terms) {
+                    if (term.startsWith(token)) {
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        UserSearchResult toResult() {
+            return UserSearchResult.builder()
+                    .id(id)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .fullName(firstName + " " + lastName)
+                    .email(email)
+                    .build();
+        }
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Set<UUID> ids;
+
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        void insert(String term, UUID id) {
+            Node node = this;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.childOrCreate(term.charAt(i));
+            }
+            if (node.ids == null) {
+                node.ids = new HashSet<>(2);
+            }
+            node.ids.add(id);
+        }
+
+        // Returns true when this node became empty and can be pruned by its parent
+        boolean remove(String term, int depth, UUID id) {
+            if (depth == term.length()) {
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        ids = null;
+                    }
+                }
+            } else {
+                int slot = Arrays.binarySearch(keys, term.charAt(depth));
+                if (slot >= 0 && children[slot].remove(term, depth + 1, id)) {
+                    removeChild(slot);
+                }
+            }
+            return ids == null && keys.length == 0;
+        }
+
+        // Depth-first over the IDs below this node until the visitor returns false
+        boolean visit(Predicate<UUID> visitor) {
+            if (ids != null) {
+                for (UUID id : ids) {
+                    if (!visitor.test(id)) {
+                        return false;
+                    }
+                }
+            }
+            for (Node child : children) {
+                if (!child.visit(visitor)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Node child(char key) {
+            int slot = Arrays.binarySearch(keys, key);
+            return slot >= 0 ? children[slot] : null;
+        }
+
+        private Node childOrCreate(char key) {
+            int slot = Arrays.binarySearch(keys, key);
+            if (slot >= 0) {
+                return children[slot];
+            }
+            int insertAt = -slot - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node created = new Node();
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = created;
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        private void removeChild(int slot) {
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            System.arraycopy(keys, slot + 1, newKeys, slot, keys.length - slot - 1);
+            System.arraycopy(children, slot + 1, newChildren, slot, children.length - slot - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
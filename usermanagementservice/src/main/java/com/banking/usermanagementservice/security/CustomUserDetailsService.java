@@ -6,7 +6,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,8 +13,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -42,16 +39,20 @@ public class CustomUserDetailsService implements UserDetailsService {
     public static class CustomUserDetails implements UserDetails{
 
         private final User user;
+        private final RoleAuthorities roleAuthorities;
 
         public CustomUserDetails(User user){
             this.user = user;
+            this.roleAuthorities = RoleAuthorities.of(user.getRoles());
         }
 
         @Override
         public Collection<? extends GrantedAuthority> getAuthorities() {
-            return user.getRoles().stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
-                    .collect(Collectors.toSet());
+            return roleAuthorities.grantedAuthorities();
+        }
+
+        public RoleAuthorities getRoleAuthorities(){
+            return roleAuthorities;
         }
 
         @Override
@@ -1,11 +1,14 @@
 package com.banking.usermanagementservice.security;
 
+import com.banking.common.logging.LogContext;
+import com.banking.common.security.TokenDenylist;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,15 +18,17 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "verifiedToken";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;  // ✅ Changed from UserDetailsService
+    private final TokenDenylist tokenDenylist;
 
     @Override
     protected void doFilterInternal(
@@ -40,33 +45,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            final String jwt = authHeader.substring(7);
-            final String username = jwtTokenProvider.extractUsername(jwt);
+            // Parsed and verified once; everything below reads the verified claims
+            final VerifiedToken token = jwtTokenProvider.verifyOrNull(authHeader.substring(7));
+
+            // Revoked tokens are dropped before any user lookup; refresh tokens never authenticate requests
+            if (token == null || token.refresh() || tokenDenylist.isRevoked(token.tokenId(), token.familyId())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            final String username = token.username();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);  // ✅ Now works!
 
-                if (jwtTokenProvider.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
 
-                    // Add userId to request attributes for easy access in controllers
-                    UUID userId = jwtTokenProvider.extractUserId(jwt);
-                    request.setAttribute("userId", userId);
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    log.debug("User {} authenticated successfully", username);
+                // Add userId to request attributes for easy access in controllers
+                request.setAttribute("userId", token.userId());
+                request.setAttribute("tokenId", token.tokenId());
+                request.setAttribute("tokenFamilyId", token.familyId());
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
+                if (token.userId() != null) {
+                    MDC.put(LogContext.USER_ID, token.userId().toString());
                 }
+
+                log.debug("User {} authenticated successfully", username);
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication", e);
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(LogContext.USER_ID);
+        }
     }
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.banking.usermanagementservice.security;
 
+import com.banking.common.diagnostics.JwtVerifyEvent;
+import com.banking.common.security.PermissionSet;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -16,13 +19,18 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies the service's JWTs. The HMAC key and the parser are built once at
+ * startup; a token is parsed and verified exactly once into a {@link VerifiedToken}.
+ */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
+    private static final String REFRESH_TYPE = "refresh";
+    private static final String PERMISSIONS_CLAIM = "perms";
+
     @Value("${app.security.jwt.secret}")
     private String jwtSecret;
 
@@ -32,113 +40,109 @@ public class JwtTokenProvider {
     @Value("${app.security.jwt.refresh-expiration}")
     private long refreshExpiration;
 
-    private SecretKey getSigninKey(){
-        byte [] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    private SecretKey signingKey;
+    private JwtParser parser;
 
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     /**
      * Generate access token */
-    public String generateToken(UserDetails userDetails, UUID userId){
+    public String generateToken(UserDetails userDetails, UUID userId, UUID familyId){
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId.toString());
-        claims.put("roles", userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList()));
-        return createToken(claims, userDetails.getUsername(), jwtExpiration);
+        claims.put("fid", familyId.toString());
+        // A small integer instead of a list of role strings; see Permission for the bit layout
+        claims.put(PERMISSIONS_CLAIM, userDetails instanceof CustomUserDetailsService.CustomUserDetails customUserDetails
+                ? customUserDetails.getRoleAuthorities().permissions().bits()
+                : PermissionSet.NONE.bits());
+        return createToken(claims, UUID.randomUUID(), userDetails.getUsername(), jwtExpiration);
     }
 
     /**
      * Generate refresh token*/
-    public String generateRefreshToken(UserDetails userDetails, UUID userID){
+    public String generateRefreshToken(UserDetails userDetails, UUID userID, UUID familyId, UUID tokenId){
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userID.toString());
-        claims.put("type", "refresh");
+        claims.put("type", REFRESH_TYPE);
+        claims.put("fid", familyId.toString());
 
-        return createToken(claims, userDetails.getUsername(), refreshExpiration);
+        return createToken(claims, tokenId, userDetails.getUsername(), refreshExpiration);
     }
 
-
     /**
      * Create JWT token*/
-    public String createToken(Map<String , Object> claims, String subject, long expiration){
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
-
+    public String createToken(Map<String , Object> claims, UUID tokenId, String subject, long expiration){
+        long now = System.currentTimeMillis();
 
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigninKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .id(tokenId.toString())
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     /**
-     * Extract username from token*/
-    public String extractUsername(String token){
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    /**
-     * Extract userId from token*/
-    public UUID extractUserId(String token){
-        String userIdStr = extractClaim(token, claims -> claims.get("userId", String.class));
-        return UUID.fromString(userIdStr);
-    }
-
-    /**
-     * Extract expiration date from token*/
-    public Date extractExpiration(String token){
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Extract specific claims from token*/
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver){
-        final Claims claims = extrctAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+     * Parse a token and check its signature and expiry
+     * @param token Compact JWT
+     * @return Verified claims
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token){
+        JwtVerifyEvent event = new JwtVerifyEvent();
+        event.begin();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (RuntimeException e) {
+            commit(event, false, false);
+            throw e;
+        }
 
-    /**
-     * Extract all claims from token*/
-
-    private Claims extrctAllClaims(String token){
-        return Jwts.parser() // Changed from parserBuilder()
-                .verifyWith(getSigninKey()) // Changed from setSigningKey()
-                .build()
-                .parseSignedClaims(token) // Changed from parseClaimsJws()
-                .getPayload();
+        Integer permissions = claims.get(PERMISSIONS_CLAIM, Integer.class);
+
+        boolean refresh = REFRESH_TYPE.equals(claims.get("type", String.class));
+        commit(event, true, refresh);
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                toUuid(claims.get("userId", String.class)),
+                toUuid(claims.getId()),
+                toUuid(claims.get("fid", String.class)),
+                PermissionSet.of(permissions == null ? 0 : permissions),
+                refresh,
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
     }
 
     /**
-     * Check if token expired*/
-    public Boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+     * Verify a token, returning null instead of throwing when it is not valid*/
+    public VerifiedToken verifyOrNull(String token){
+        try {
+            return verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token verification failed: {}", e.getMessage());
+            return null;
+        }
     }
 
-    /**
-     * Validate token*/
-    public Boolean validateToken(String token, UserDetails userDetails){
-        try{
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (Exception e){
-            log.error("Token validation failed", e);
-            return false;
+    private static void commit(JwtVerifyEvent event, boolean valid, boolean refresh){
+        event.end();
+        if (event.shouldCommit()) {
+            event.valid = valid;
+            event.refresh = refresh;
+            event.commit();
         }
     }
 
-    /**
-     * Check if token is a refresh token*/
-    public Boolean isRefreshToken(String token){
-        try {
-            String type = extractClaim(token, claims -> claims.get("type", String.class));
-            return "refresh".equals(type);
-        } catch (Exception e) {
-            return false;
-        }
+    private static UUID toUuid(String value){
+        return value == null ? null : UUID.fromString(value);
     }
 }
@@ -0,0 +1,227 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.usermanagementservice.exception.LoginThrottledException;
+import com.banking.usermanagementservice.metrics.AuthMetrics;
+import com.banking.usermanagementservice.repository.UserCredentialsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory failed-login tracking keyed by account and by source address.
+ * <p>
+ * Abusive callers are rejected before any database lookup or BCrypt work, with an
+ * exponential backoff per key. Failures never write to the database one by one: once an
+ * account crosses the lock threshold its lock state is queued and flushed in a single
+ * coalesced write per account. ConcurrentHashMap compute gives per-key atomic updates
+ * with bin-level lock striping, so unrelated keys never contend.
+ * <p>
+ * Each map holds at most max-tracked-keys entries. When one is full, idle entries are
+ * dropped first; if it is still full, new addresses and unknown emails go untracked, while
+ * existing accounts, bounded by the number of users, are always tracked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginAttemptTracker {
+
+    private final UserCredentialsRepository credentialsRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final AuthMetrics authMetrics;
+
+    @Value("${app.security.login.account.free-attempts:3}")
+    private int accountFreeAttempts;
+
+    @Value("${app.security.login.account.lock-threshold:5}")
+    private int accountLockThreshold;
+
+    @Value("${app.security.login.account.lock-duration-minutes:60}")
+    private long accountLockMinutes;
+
+    @Value("${app.security.login.address.free-attempts:20}")
+    private int addressFreeAttempts;
+
+    @Value("${app.security.login.address.max-backoff-minutes:60}")
+    private long addressMaxBackoffMinutes;
+
+    @Value("${app.security.login.base-backoff-ms:1000}")
+    private long baseBackoffMillis;
+
+    @Value("${app.security.login.forget-after-minutes:30}")
+    private long forgetAfterMinutes;
+
+    @Value("${app.security.login.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    private final Map<String, AttemptState> accounts = new ConcurrentHashMap<>();
+    private final Map<String, AttemptState> addresses = new ConcurrentHashMap<>();
+    private final Map<UUID, PendingLock> pendingLocks = new ConcurrentHashMap<>();
+    private volatile long lastOverflowSweep;
+    private volatile boolean full;
+
+    /**
+     * Reject the attempt if either the account or the source address is backing off
+     * @param email Normalized email
+     * @param address Client address, may be null
+     */
+    public void checkAllowed(String email, String address) {
+        long now = System.currentTimeMillis();
+
+        if (isBlocked(accounts.get(email), now) || (address != null && isBlocked(addresses.get(address), now))) {
+            authMetrics.loginFailed(AuthMetrics.LoginFailure.THROTTLED);
+            throw new LoginThrottledException("Too many failed login attempts. Please try again later.");
+        }
+    }
+
+    /**
+     * Record a failed attempt
+     * @param email Normalized email
+     * @param userId Owning user, or null when the email is unknown
+     * @param address Client address, may be null
+     */
+    public void recordFailure(String email, UUID userId, String address) {
+        long now = System.currentTimeMillis();
+
+        AttemptState account = null;
+        if (userId != null || hasRoom(accounts, email, now)) {
+            account = accounts.compute(email, (key, state) -> fail(state, now,
+                    accountFreeAttempts, accountLockThreshold, accountLockMinutes * 60_000));
+        }
+
+        if (address != null && hasRoom(addresses, address, now)) {
+            addresses.compute(address, (key, state) -> fail(state, now,
+                    addressFreeAttempts, Integer.MAX_VALUE, addressMaxBackoffMinutes * 60_000));
+        }
+
+        if (userId != null && account.failures >= accountLockThreshold) {
+            // Only the attempt that crosses the threshold starts a lock
+            if (account.failures == accountLockThreshold) {
+                authMetrics.accountLocked();
+            }
+            pendingLocks.put(userId, new PendingLock(account.failures, account.blockedUntil));
+            log.warn("Account {} locked after {} failed attempts", email, account.failures);
+        }
+    }
+
+    /**
+     * Forget failures for an account after a successful login
+     * @param email Normalized email
+     * @param userId Owning user
+     */
+    public void recordSuccess(String email, UUID userId) {
+        accounts.remove(email);
+        pendingLocks.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login.flush-interval-ms:2000}")
+    public void flushLocks() {
+        if (pendingLocks.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<UUID, PendingLock>> batch = new ArrayList<>(pendingLocks.size());
+        for (Map.Entry<UUID, PendingLock> entry : pendingLocks.entrySet()) {
+            // Only drop the entry if no newer state was queued while we were copying
+            if (pendingLocks.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry);
+            }
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (Map.Entry<UUID, PendingLock> entry : batch) {
+                    credentialsRepository.applyLockState(
+                            entry.getKey(),
+                            entry.getValue().failures(),
+                            toLocalDateTime(entry.getValue().lockedUntil())
+                    );
+                }
+            });
+            log.info("Flushed lock state for {} accounts", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to flush lock state for {} accounts", batch.size(), e);
+            batch.forEach(entry -> pendingLocks.putIfAbsent(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        evictIdle(accounts, now);
+        evictIdle(addresses, now);
+    }
+
+    int trackedAccounts() {
+        return accounts.size();
+    }
+
+    int trackedAddresses() {
+        return addresses.size();
+    }
+
+    private void evictIdle(Map<String, AttemptState> states, long now) {
+        long cutoff = now - forgetAfterMinutes * 60_000;
+        states.values().removeIf(state -> state.lastFailure < cutoff && state.blockedUntil < cutoff);
+    }
+
+    // Keys already tracked always have room; a new key only fits below the cap
+    private boolean hasRoom(Map<String, AttemptState> states, String key, long now) {
+        if (states.size() < maxTrackedKeys || states.containsKey(key)) {
+            full = false;
+            return true;
+        }
+        // A full sweep per attempt would make a flood quadratic, so at most one a second
+        if (now - lastOverflowSweep >= 1000) {
+            lastOverflowSweep = now;
+            evictIdle(states, now);
+            if (states.size() < maxTrackedKeys) {
+                return true;
+            }
+        }
+        if (!full) {
+            full = true;
+            log.warn("Failed-login tracking is full at {} keys, new keys go untracked until some expire", maxTrackedKeys);
+        }
+        return false;
+    }
+
+    private AttemptState fail(AttemptState state, long now, int freeAttempts, int lockThreshold, long maxBackoffMillis) {
+        int failures = state == null ? 1 : state.failures + 1;
+
+        long blockedUntil = 0;
+        if (failures >= lockThreshold) {
+            blockedUntil = now + maxBackoffMillis;
+        } else if (failures > freeAttempts) {
+            int exponent = Math.min(failures - freeAttempts - 1, 30);
+            blockedUntil = now + Math.min(baseBackoffMillis << exponent, maxBackoffMillis);
+        }
+        return new AttemptState(failures, now, blockedUntil);
+    }
+
+    private static boolean isBlocked(AttemptState state, long now) {
+        return state != null && state.blockedUntil > now;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record AttemptState(int failures, long lastFailure, long blockedUntil) {
+    }
+
+    private record PendingLock(int failures, long lockedUntil) {
+    }
+}
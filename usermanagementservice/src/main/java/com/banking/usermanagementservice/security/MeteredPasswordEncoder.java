@@ -0,0 +1,64 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.usermanagementservice.diagnostics.PasswordHashEvent;
+import com.banking.usermanagementservice.metrics.AuthMetrics;
+import com.banking.usermanagementservice.metrics.AuthMetrics.HashOperation;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times every hash and verification of the wrapped encoder. BCrypt at cost 12 dominates
+ * login latency, so this is what separates hashing time from database time. Each call also
+ * emits a {@link PasswordHashEvent} for flight recordings.
+ */
+public class MeteredPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AuthMetrics authMetrics;
+
+    public MeteredPasswordEncoder(PasswordEncoder delegate, AuthMetrics authMetrics) {
+        this.delegate = delegate;
+        this.authMetrics = authMetrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            authMetrics.recordHash(HashOperation.ENCODE, start);
+            commit(event, "encode", false);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean matched = false;
+        try {
+            matched = delegate.matches(rawPassword, encodedPassword);
+            return matched;
+        } finally {
+            authMetrics.recordHash(HashOperation.MATCHES, start);
+            commit(event, "matches", matched);
+        }
+    }
+
+    private static void commit(PasswordHashEvent event, String operation, boolean matched) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.matched = matched;
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,29 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.common.security.Permission;
+import com.banking.common.security.PermissionSet;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Method-security helper, used as {@code @PreAuthorize("@authz.has('MANAGE_USERS')")}.
+ * Reads the permission bitset precomputed for the caller's roles, so a check is one bit
+ * test rather than a scan over authority strings.
+ */
+@Component("authz")
+public class PermissionAuthorizer {
+
+    public boolean has(String permission) {
+        return permissionsOf(SecurityContextHolder.getContext().getAuthentication())
+                .has(Permission.valueOf(permission));
+    }
+
+    private static PermissionSet permissionsOf(Authentication authentication) {
+        if (authentication != null
+                && authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserDetails userDetails) {
+            return userDetails.getRoleAuthorities().permissions();
+        }
+        return PermissionSet.NONE;
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.common.security.PermissionSet;
+import com.banking.usermanagementservice.entity.Role;
+import com.banking.usermanagementservice.enums.RoleType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Authorities for one combination of roles, precomputed for every combination at class
+ * load. Instances and their collections are immutable and shared, so building a user's
+ * authorities is a bitmask over their roles and an array lookup.
+ */
+public final class RoleAuthorities {
+
+    private static final RoleAuthorities[] BY_MASK = buildAll();
+
+    private final Set<GrantedAuthority> grantedAuthorities;
+    private final Set<String> roleNames;
+    private final PermissionSet permissions;
+
+    private RoleAuthorities(int mask) {
+        Set<GrantedAuthority> granted = new LinkedHashSet<>();
+        Set<String> names = new LinkedHashSet<>();
+        int permissionBits = 0;
+        for (RoleType type : RoleType.values()) {
+            if ((mask & (1 << type.ordinal())) != 0) {
+                granted.add(new SimpleGrantedAuthority("ROLE_" + type.name()));
+                names.add(type.name());
+                permissionBits |= type.getPermissionMask();
+            }
+        }
+        this.permissions = PermissionSet.of(permissionBits);
+        granted.addAll(permissions.grantedAuthorities());
+        this.grantedAuthorities = Set.copyOf(granted);
+        this.roleNames = Set.copyOf(names);
+    }
+
+    /**
+     * Shared authorities for a set of roles
+     * @param roles User roles
+     * @return Precomputed authorities for that combination
+     */
+    public static RoleAuthorities of(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= 1 << role.getName().ordinal();
+        }
+        return BY_MASK[mask];
+    }
+
+    /** Spring Security authorities, e.g. ROLE_CUSTOMER and PERM_TRANSACT */
+    public Set<GrantedAuthority> grantedAuthorities() {
+        return grantedAuthorities;
+    }
+
+    /** Union of the roles' permissions, as written into tokens */
+    public PermissionSet permissions() {
+        return permissions;
+    }
+
+    /** Bare role names, e.g. CUSTOMER, as returned to clients */
+    public Set<String> roleNames() {
+        return roleNames;
+    }
+
+    private static RoleAuthorities[] buildAll() {
+        int combinations = 1 << RoleType.values().length;
+        RoleAuthorities[] all = new RoleAuthorities[combinations];
+        for (int mask = 0; mask < combinations; mask++) {
+            all[mask] = new RoleAuthorities(mask);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.usermanagementservice.entity.Role;
+import com.banking.usermanagementservice.enums.RoleType;
+import com.banking.usermanagementservice.exception.ResourceNotFoundException;
+import com.banking.usermanagementservice.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Startup-loaded roles indexed by type. Roles are created on first boot and then read
+ * once, so registration and seeding never query the roles table. Call {@link #refresh()}
+ * after changing roles in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<RoleType, Role> roles = Collections.unmodifiableMap(new EnumMap<>(RoleType.class));
+
+    /**
+     * Create any missing roles, then load all of them
+     */
+    @Transactional
+    public void initialize() {
+        Map<RoleType, Role> existing = new EnumMap<>(RoleType.class);
+        for (Role role : roleRepository.findAll()) {
+            existing.put(role.getName(), role);
+        }
+
+        for (RoleType type : RoleType.values()) {
+            if (!existing.containsKey(type)) {
+                Role role = roleRepository.save(Role.builder()
+                        .name(type)
+                        .description(type.getDescription())
+                        .build());
+                existing.put(type, role);
+                log.info("Created {} role", type);
+            }
+        }
+
+        roles = Collections.unmodifiableMap(existing);
+    }
+
+    /**
+     * Reload roles from the database
+     */
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Map<RoleType, Role> loaded = new EnumMap<>(RoleType.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        roles = Collections.unmodifiableMap(loaded);
+        log.info("Role registry refreshed with {} roles", loaded.size());
+    }
+
+    /**
+     * Role of the given type
+     * @param type Role type
+     * @return Role entity, shared and detached; only use it to reference the role
+     */
+    public Role get(RoleType type) {
+        Role role = roles.get(type);
+        if (role == null) {
+            throw new ResourceNotFoundException(type + " role not found");
+        }
+        return role;
+    }
+}
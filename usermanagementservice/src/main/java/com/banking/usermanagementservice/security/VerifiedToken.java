@@ -0,0 +1,26 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.common.security.PermissionSet;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked. Produced once
+ * per token by {@link JwtTokenProvider#verify(String)} and passed around instead of the
+ * raw string, so nothing downstream parses or verifies the same token again.
+ *
+ * @param tokenId  jti, null for tokens issued before rotation existed
+ * @param familyId Refresh-token family, null for tokens issued before rotation existed
+ */
+public record VerifiedToken(
+        String username,
+        UUID userId,
+        UUID tokenId,
+        UUID familyId,
+        PermissionSet permissions,
+        boolean refresh,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -10,16 +10,18 @@ public interface AuthenticationService {
     /**
      * Authenticate user with email and password
      * @param request Login credentials
+     * @param clientIp Caller address used for throttling
      * @return Authentication response with tokens
      */
-    AuthenticationResponse login(LoginRequest request);
+    AuthenticationResponse login(LoginRequest request, String clientIp);
 
     /**
      * First login with OTP (after approval)
      * @param request OTP login credentials
+     * @param clientIp Caller address used for throttling
      * @return Authentication response (requires password change)
      */
-    AuthenticationResponse loginWithOtp(OtpLoginRequest request);
+    AuthenticationResponse loginWithOtp(OtpLoginRequest request, String clientIp);
 
     /**
      * Change password after first login
@@ -57,8 +59,9 @@ public interface AuthenticationService {
     AuthenticationResponse refreshToken(RefreshToken request);
 
     /**
-     * Logout user (invalidate tokens)
+     * Logout user (revoke the access and refresh tokens of the current session)
      * @param userId User ID
+     * @param tokenFamilyId Token family of the presented access token, may be null
      */
-    void logout(UUID userId);
+    void logout(UUID userId, UUID tokenFamilyId);
 }
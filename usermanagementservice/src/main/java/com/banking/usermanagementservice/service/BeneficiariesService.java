@@ -1,7 +1,11 @@
 package com.banking.usermanagementservice.service;
 
+import com.banking.usermanagementservice.dto.BeneficiaryOwnershipCheck;
+import com.banking.usermanagementservice.dto.BeneficiaryOwnershipResult;
 import com.banking.usermanagementservice.dto.BeneficiaryResponse;
+import com.banking.usermanagementservice.dto.BeneficiaryUsageEvent;
 import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+import com.banking.usermanagementservice.dto.SuggestedBeneficiaryResponse;
 import com.banking.usermanagementservice.dto.UpdateBeneficiaryRequest;
 
 import java.util.List;
@@ -35,7 +39,28 @@ public interface BeneficiariesService {
 
     void verifyBeneficiaryOwnership(UUID userId, UUID beneficiaryId);
 
+    /**
+     * Check many (user, beneficiary) pairs at once
+     * @param checks Pairs to check
+     * @return One result per pair, in request order
+     */
+    List<BeneficiaryOwnershipResult> checkOwnership(List<BeneficiaryOwnershipCheck> checks);
+
     UUID getUserIdByEmail(String email);
 
+    /**
+     * Most used beneficiaries for a user, weighted towards recent payments
+     * @param userId User ID
+     * @param n Maximum number of suggestions
+     * @return Active, still-linked beneficiaries in descending score order
+     */
+    List<SuggestedBeneficiaryResponse> getTopBeneficiaries(UUID userId, int n);
+
+    /**
+     * Feed completed transfers into the usage ranking
+     * @param events Transfers reported by the payment service
+     */
+    void recordUsage(List<BeneficiaryUsageEvent> events);
+
 
 }
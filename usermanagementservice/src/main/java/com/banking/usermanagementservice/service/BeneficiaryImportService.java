@@ -0,0 +1,21 @@
+package com.banking.usermanagementservice.service;
+
+import com.banking.usermanagementservice.dto.BeneficiaryImportReport;
+import com.banking.usermanagementservice.enums.ImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface BeneficiaryImportService {
+
+    /**
+     * Import a file of beneficiaries for a user, creating unknown accounts and linking existing ones
+     * @param userId Owning user
+     * @param format CSV or JSON
+     * @param in Uploaded body, read incrementally
+     * @return Totals and the rows that were not imported. Reading stops at max-rows or at an
+     * unreadable row, keeping what was imported before it, and the report says so.
+     */
+    BeneficiaryImportReport importBeneficiaries(UUID userId, ImportFormat format, InputStream in) throws IOException;
+}
@@ -3,16 +3,45 @@ package com.banking.usermanagementservice.service;
 public interface EncryptionService {
 
     /**
-     * Encrypt sensitive data (like ID numbers)
+     * Encrypt sensitive data (like ID numbers) with the active key.
+     * The output is randomized, so equal inputs never produce equal ciphertext.
      * @param data Data to encrypt
-     * @return Encrypted data
+     * @return Encrypted data prefixed with its key version
      */
     String encrypt(String data);
 
     /**
-     * Decrypt sensitive data
+     * Decrypt sensitive data encrypted with the active, a retired or the legacy key
      * @param encryptedData Encrypted data
      * @return Decrypted data
      */
     String decrypt(String encryptedData);
+
+    /**
+     * Compute the keyed blind index used for equality lookups on encrypted fields
+     * @param data Plain value
+     * @return Deterministic HMAC of the value
+     */
+    String blindIndex(String data);
+
+    /**
+     * Deterministic ciphertext produced by the pre-versioning scheme, only used to find
+     * rows that have not been migrated yet
+     * @param data Plain value
+     * @return Legacy ciphertext
+     */
+    String legacyCiphertext(String data);
+
+    /**
+     * Check whether a stored value was encrypted with anything other than the active key
+     * @param encryptedData Encrypted data
+     * @return true if the value should be re-encrypted
+     */
+    boolean needsReEncryption(String encryptedData);
+
+    /**
+     * Prefix shared by every value encrypted with the active key
+     * @return Active key prefix, e.g. "v2:"
+     */
+    String getActiveKeyPrefix();
 }
@@ -0,0 +1,47 @@
+package com.banking.usermanagementservice.service;
+
+import com.banking.usermanagementservice.dto.IssuedTokens;
+import com.banking.usermanagementservice.dto.TokenRevocation;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface TokenService {
+
+    /**
+     * Start a new token family for a fresh login
+     * @param userDetails Authenticated user
+     * @param userId User ID
+     * @return Access and refresh token of the new family
+     */
+    IssuedTokens issue(UserDetails userDetails, UUID userId);
+
+    /**
+     * Exchange a refresh token for a new pair. Presenting a refresh token that has already
+     * been rotated revokes its whole family.
+     * @param refreshToken Current refresh token of the family
+     * @return New access and refresh token
+     */
+    IssuedTokens rotate(String refreshToken);
+
+    /**
+     * Revoke every token issued to one login session
+     * @param familyId Token family ID
+     */
+    void revokeFamily(UUID familyId);
+
+    /**
+     * Revoke every live token family of a user
+     * @param userId User ID
+     */
+    void revokeAllForUser(UUID userId);
+
+    /**
+     * Revocations recorded after a point in time that still cover unexpired tokens
+     * @param since Exclusive lower bound on revocation time
+     * @return Revocations in the order they were recorded
+     */
+    List<TokenRevocation> getRevocationsSince(Instant since);
+}
@@ -1,7 +1,15 @@
 package com.banking.usermanagementservice.service;
 
+import com.banking.usermanagementservice.dto.PageResponse;
+import com.banking.usermanagementservice.dto.UserListFilter;
 import com.banking.usermanagementservice.dto.UserResponse;
+import com.banking.usermanagementservice.dto.UserSearchResult;
+import com.banking.usermanagementservice.dto.UserSummaryResponse;
 import com.banking.usermanagementservice.dto.UserSuspensionRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.Writer;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,4 +24,27 @@ public interface UserManagementService {
     List<UserResponse> getAllSuspendedUsers();
 
     void deleteUser(UUID userId, UUID adminId);
+
+    /**
+     * List users page by page, filtered and sorted in the database
+     * @param filter Optional status, approval status, country and creation range
+     * @param pageable Page, size and sort
+     * @return Page of user summaries
+     */
+    PageResponse<UserSummaryResponse> listUsers(UserListFilter filter, Pageable pageable);
+
+    /**
+     * Stream every matching user as CSV without materializing the result set
+     * @param filter Optional status, approval status, country and creation range
+     * @param writer Destination, flushed periodically
+     */
+    void exportUsers(UserListFilter filter, Writer writer) throws IOException;
+
+    /**
+     * Type-ahead lookup by partial name or email
+     * @param query Partial name or email
+     * @param limit Maximum number of results
+     * @return Matching users
+     */
+    List<UserSearchResult> searchUsers(String query, int limit);
 }
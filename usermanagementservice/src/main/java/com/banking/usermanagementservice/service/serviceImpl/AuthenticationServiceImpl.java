@@ -5,13 +5,18 @@ import com.banking.usermanagementservice.entity.User;
 import com.banking.usermanagementservice.entity.UserCredentials;
 import com.banking.usermanagementservice.exception.InvalidOperationException;
 import com.banking.usermanagementservice.exception.ResourceNotFoundException;
+import com.banking.usermanagementservice.metrics.AuthMetrics;
+import com.banking.usermanagementservice.metrics.AuthMetrics.LoginFailure;
+import com.banking.usermanagementservice.metrics.AuthMetrics.RefreshOutcome;
 import com.banking.usermanagementservice.repository.UserCredentialsRepository;
 import com.banking.usermanagementservice.repository.UserRepository;
 import com.banking.usermanagementservice.security.CustomUserDetailsService;
-import com.banking.usermanagementservice.security.JwtTokenProvider;
+import com.banking.usermanagementservice.security.LoginAttemptTracker;
+import com.banking.usermanagementservice.security.RoleAuthorities;
 import com.banking.usermanagementservice.service.AuthenticationService;
 import com.banking.usermanagementservice.service.EmailService;
 import com.banking.usermanagementservice.service.OtpService;
+import com.banking.usermanagementservice.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,7 +28,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,10 +37,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserRepository userRepository;
     private final UserCredentialsRepository credentialsRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
     private final OtpService otpService;
     private final EmailService emailService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final TokenService tokenService;
+    private final AuthMetrics authMetrics;
 
 
     @Value("${app.security.jwt.expiration}")
@@ -48,15 +54,25 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     @Transactional
-    public AuthenticationResponse login(LoginRequest request) {
+    public AuthenticationResponse login(LoginRequest request, String clientIp) {
         log.info("Login attempt for email: {}", request.getEmail());
 
+        String email = request.getEmail().toLowerCase();
+
+        // Reject throttled callers before touching the database or BCrypt
+        loginAttemptTracker.checkAllowed(email, clientIp);
+
         // Find user
-        User user = userRepository.findByEmailAndNotDeleted(request.getEmail().toLowerCase())
-                .orElseThrow(() -> new InvalidOperationException("Invalid credentials"));
+        User user = userRepository.findByEmailAndNotDeleted(email)
+                .orElseThrow(() -> {
+                    loginAttemptTracker.recordFailure(email, null, clientIp);
+                    authMetrics.loginFailed(LoginFailure.UNKNOWN_USER);
+                    return new InvalidOperationException("Invalid credentials");
+                });
 
         // Check if user is active and approved
         if (!user.isActive()) {
+            authMetrics.loginFailed(LoginFailure.INACTIVE);
             throw new InvalidOperationException("Account is not active. Please contact support.");
         }
 
@@ -66,6 +82,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         // Check if account is locked
         if (credentials.isAccountLocked()) {
+            authMetrics.loginFailed(LoginFailure.LOCKED);
             throw new InvalidOperationException(
                     "Account is locked due to too many failed attempts. Please try again later."
             );
@@ -80,8 +97,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         // Validate password
         if (!passwordEncoder.matches(request.getPassword(), credentials.getPasswordHash())) {
-            credentials.incrementFailedAttemps();
-            credentialsRepository.save(credentials);
+            // Tracked in memory; the lock itself is written behind once the threshold is reached
+            loginAttemptTracker.recordFailure(email, user.getId(), clientIp);
+            authMetrics.loginFailed(LoginFailure.BAD_PASSWORD);
             log.warn("Failed login attempt for email: {}", request.getEmail());
             throw new InvalidOperationException("Invalid credentials");
         }
@@ -90,28 +108,26 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         boolean passwordExpired = credentials.isPasswordExpired();
 
         // Reset failed attempts on successful login
+        loginAttemptTracker.recordSuccess(email, user.getId());
         credentials.resetFailedAttemps();
         credentials.setLastLoginAt(LocalDateTime.now());
         credentialsRepository.save(credentials);
 
         // Generate tokens
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String accessToken = jwtTokenProvider.generateToken(userDetails, user.getId());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails, user.getId());
+        IssuedTokens tokens = tokenService.issue(userDetails, user.getId());
 
         log.info("User {} logged in successfully", request.getEmail());
 
         return AuthenticationResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .accessToken(tokens.getAccessToken())
+                .refreshToken(tokens.getRefreshToken())
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration)
                 .userId(user.getId())
                 .email(user.getEmail())
                 .fullname(user.getFullName())
-                .roles(user.getRoles().stream()
-                        .map(role -> role.getName().name())
-                        .collect(Collectors.toSet()))
+                .roles(RoleAuthorities.of(user.getRoles()).roleNames())
                 .isFirstLogin(false)
                 .requiresPasswordChange(passwordExpired)
                 .passwordExpired(passwordExpired)
@@ -120,15 +136,25 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     @Transactional
-    public AuthenticationResponse loginWithOtp(OtpLoginRequest request) {
+    public AuthenticationResponse loginWithOtp(OtpLoginRequest request, String clientIp) {
         log.info("OTP login attempt for email: {}", request.getEmail());
 
+        String email = request.getEmail().toLowerCase();
+
+        // Reject throttled callers before touching the database
+        loginAttemptTracker.checkAllowed(email, clientIp);
+
         // Find user
-        User user = userRepository.findByEmailAndNotDeleted(request.getEmail().toLowerCase())
-                .orElseThrow(() -> new InvalidOperationException("Invalid credentials"));
+        User user = userRepository.findByEmailAndNotDeleted(email)
+                .orElseThrow(() -> {
+                    loginAttemptTracker.recordFailure(email, null, clientIp);
+                    authMetrics.loginFailed(LoginFailure.UNKNOWN_USER);
+                    return new InvalidOperationException("Invalid credentials");
+                });
 
         // Check if user is active
         if (!user.isActive()) {
+            authMetrics.loginFailed(LoginFailure.INACTIVE);
             throw new InvalidOperationException("Account is not active");
         }
 
@@ -138,12 +164,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         // Validate OTP
         if (!otpService.validateOtp(user.getId(), request.getOtp())) {
+            loginAttemptTracker.recordFailure(email, user.getId(), clientIp);
+            authMetrics.loginFailed(LoginFailure.INVALID_OTP);
             log.warn("Invalid OTP for email: {}", request.getEmail());
             throw new InvalidOperationException("Invalid or expired OTP");
         }
 
         // Invalidate OTP after successful validation
         otpService.invalidateOtp(user.getId());
+        loginAttemptTracker.recordSuccess(email, user.getId());
 
         // Update last login
         credentials.setLastLoginAt(LocalDateTime.now());
@@ -151,22 +180,19 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         // Generate tokens
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String accessToken = jwtTokenProvider.generateToken(userDetails, user.getId());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails, user.getId());
+        IssuedTokens tokens = tokenService.issue(userDetails, user.getId());
 
         log.info("User {} logged in with OTP successfully", request.getEmail());
 
         return AuthenticationResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .accessToken(tokens.getAccessToken())
+                .refreshToken(tokens.getRefreshToken())
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration)
                 .userId(user.getId())
                 .email(user.getEmail())
                 .fullname(user.getFullName())
-                .roles(user.getRoles().stream()
-                        .map(role -> role.getName().name())
-                        .collect(Collectors.toSet()))
+                .roles(RoleAuthorities.of(user.getRoles()).roleNames())
                 .isFirstLogin(true)
                 .requiresPasswordChange(true)
                 .passwordExpired(false)
@@ -208,22 +234,19 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         // Generate new tokens
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String accessToken = jwtTokenProvider.generateToken(userDetails, user.getId());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails, user.getId());
+        IssuedTokens tokens = tokenService.issue(userDetails, user.getId());
 
         log.info("Password changed successfully for first login user: {}", userId);
 
         return AuthenticationResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .accessToken(tokens.getAccessToken())
+                .refreshToken(tokens.getRefreshToken())
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration)
                 .userId(user.getId())
                 .email(user.getEmail())
                 .fullname(user.getFullName())
-                .roles(user.getRoles().stream()
-                        .map(role -> role.getName().name())
-                        .collect(Collectors.toSet()))
+                .roles(RoleAuthorities.of(user.getRoles()).roleNames())
                 .isFirstLogin(false)
                 .requiresPasswordChange(false)
                 .passwordExpired(false)
@@ -336,52 +359,41 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         log.info("Token refresh requested");
 
         try {
-            String refreshToken = request.getRefreshToken();
+            // Rotation rejects expired, revoked and replayed tokens and checks the user is still active
+            IssuedTokens tokens = tokenService.rotate(request.getRefreshToken());
 
-            if (!jwtTokenProvider.isRefreshToken(refreshToken)){
-                throw new InvalidOperationException("Invalid refresh token");
-            }
-
-            if (jwtTokenProvider.isTokenExpired(refreshToken)){
-                throw new InvalidOperationException("Refresh token has expired");
-            }
-
-            String email = jwtTokenProvider.extractUsername(refreshToken);
-            UUID userId = jwtTokenProvider.extractUserId(refreshToken);
-
-            User user = userRepository.findByIdAndNotDeleted(userId)
+            User user = userRepository.findByIdAndNotDeleted(tokens.getUserId())
                     .orElseThrow(()-> new InvalidOperationException("User not found"));
 
-            if (!user.isActive()){
-                throw new InvalidOperationException("User account is not active.");
-            }
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-            String newAccessToken = jwtTokenProvider.generateToken(userDetails, userId);
-
-            log.info("Token refreshed successfully for user: {}", email);
+            authMetrics.refresh(RefreshOutcome.ROTATED);
+            log.info("Token refreshed successfully for user: {}", tokens.getEmail());
 
             return AuthenticationResponse.builder()
-                    .accessToken(newAccessToken)
-                    .refreshToken(refreshToken)
+                    .accessToken(tokens.getAccessToken())
+                    .refreshToken(tokens.getRefreshToken())
                     .tokenType("Bearer")
                     .expiresIn(jwtExpiration)
                     .userId(user.getId())
                     .email(user.getEmail())
                     .fullname(user.getFullName())
-                    .roles(user.getRoles().stream()
-                            .map(role -> role.getName().name())
-                            .collect(Collectors.toSet()))
+                    .roles(RoleAuthorities.of(user.getRoles()).roleNames())
                     .build();
         } catch (Exception e){
+            authMetrics.refresh(RefreshOutcome.REJECTED);
             log.error("Token refresh failed", e);
             throw new InvalidOperationException("Invalid refresh token");
         }
     }
 
     @Override
-    public void logout(UUID userId) {
+    public void logout(UUID userId, UUID tokenFamilyId) {
+        if (tokenFamilyId == null) {
+            log.warn("Logout for user {} with a token that has no family; revoking all sessions", userId);
+            tokenService.revokeAllForUser(userId);
+            return;
+        }
 
+        tokenService.revokeFamily(tokenFamilyId);
+        log.info("User {} logged out, token family {} revoked", userId, tokenFamilyId);
     }
 }
@@ -0,0 +1,240 @@
+package com.banking.usermanagementservice.service.serviceImpl;
+
+import com.banking.usermanagementservice.dto.BeneficiaryImportReport;
+import com.banking.usermanagementservice.dto.BeneficiaryImportRowResult;
+import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+import com.banking.usermanagementservice.entity.Beneficiaries;
+import com.banking.usermanagementservice.entity.UserBeneficiary;
+import com.banking.usermanagementservice.enums.ImportFormat;
+import com.banking.usermanagementservice.enums.ImportRowStatus;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
+import com.banking.usermanagementservice.exception.ResourceNotFoundException;
+import com.banking.usermanagementservice.importer.BeneficiaryRowReader;
+import com.banking.usermanagementservice.importer.CsvBeneficiaryRowReader;
+import com.banking.usermanagementservice.importer.JsonBeneficiaryRowReader;
+import com.banking.usermanagementservice.repository.BeneficiariesRepository;
+import com.banking.usermanagementservice.repository.UserBeneficiaryRepository;
+import com.banking.usermanagementservice.repository.UserRepository;
+import com.banking.usermanagementservice.service.BeneficiaryImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BeneficiaryImportServiceImpl implements BeneficiaryImportService {
+
+    private final UserRepository userRepository;
+    private final BeneficiariesRepository beneficiariesRepository;
+    private final UserBeneficiaryRepository userBeneficiaryRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.beneficiaries.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.beneficiaries.import.max-rows:100000}")
+    private int maxRows;
+
+    @Value("${app.beneficiaries.import.max-reported-rows:1000}")
+    private int maxReportedRows;
+
+    @Override
+    public BeneficiaryImportReport importBeneficiaries(UUID userId, ImportFormat format, InputStream in) throws IOException {
+        log.info("Importing {} beneficiaries for user {}", format, userId);
+        long start = System.currentTimeMillis();
+
+        if (!userRepository.existsById(userId)){
+            throw new ResourceNotFoundException("User not found with Id:" + userId);
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        BeneficiaryImportReport report = BeneficiaryImportReport.builder()
+                .rows(new ArrayList<>())
+                .build();
+        // Bounded by max-rows, since reading stops there
+        Set<String> seenAccountIds = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int rowNumber = 0;
+
+        try (BeneficiaryRowReader reader = format == ImportFormat.CSV
+                ? new CsvBeneficiaryRowReader(in)
+                : new JsonBeneficiaryRowReader(objectMapper, in)) {
+
+            while (true) {
+                CreateBeneficiaryRequest row;
+                try {
+                    row = reader.next();
+                } catch (InvalidOperationException e) {
+                    if (rowNumber == 0) {
+                        throw e;
+                    }
+                    // Earlier chunks are already committed, so the rows read so far are imported and reported
+                    report.setError("Row " + (rowNumber + 1) + ": " + e.getMessage());
+                    break;
+                }
+                if (row == null) {
+                    break;
+                }
+                if (rowNumber == maxRows) {
+                    report.setTruncated(true);
+                    report.setError("Import is limited to " + maxRows + " rows; the rest of the file was not read");
+                    break;
+                }
+                rowNumber++;
+
+                // Step 1: reject invalid rows and repeats within the file before touching the database
+                String invalid = validate(row);
+                if (invalid != null) {
+                    record(report, result(rowNumber, row.getAccountId(), ImportRowStatus.INVALID, null, invalid));
+                    continue;
+                }
+                if (!seenAccountIds.add(row.getAccountId())) {
+                    record(report, result(rowNumber, row.getAccountId(), ImportRowStatus.DUPLICATE_IN_FILE, null, null));
+                    continue;
+                }
+
+                chunk.add(new PendingRow(rowNumber, row));
+
+                if (chunk.size() == chunkSize) {
+                    transactionTemplate.executeWithoutResult(status -> importChunk(userId, chunk, report));
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> importChunk(userId, chunk, report));
+        }
+
+        report.setTotalRows(rowNumber);
+        report.setDurationMs(System.currentTimeMillis() - start);
+
+        log.info("Imported {} rows for user {}: {} created, {} linked, {} already linked, {} duplicates, {} invalid in {} ms{}",
+                report.getTotalRows(), userId, report.getCreated(), report.getLinked(), report.getAlreadyLinked(),
+                report.getDuplicatesInFile(), report.getInvalid(), report.getDurationMs(),
+                report.getError() == null ? "" : ", stopped early: " + report.getError());
+        return report;
+    }
+
+    private void importChunk(UUID userId, List<PendingRow> chunk, BeneficiaryImportReport report) {
+        // Step 2: one set-based lookup for the accounts in this chunk
+        List<String> accountIds = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            accountIds.add(pending.request().getAccountId());
+        }
+
+        Map<String, UUID> existing = new HashMap<>();
+        for (BeneficiariesRepository.AccountIdView view : beneficiariesRepository.findIdsByAccountIdIn(accountIds)) {
+            existing.putIfAbsent(view.getAccountId(), view.getId());
+        }
+
+        Set<UUID> alreadyLinked = existing.isEmpty()
+                ? Set.of()
+                : userBeneficiaryRepository.findLinkedBeneficiaryIds(userId, existing.values());
+
+        // Step 3: batch-insert unknown accounts, then the link rows
+        List<Beneficiaries> created = new ArrayList<>();
+        List<UserBeneficiary> links = new ArrayList<>(chunk.size());
+        List<BeneficiaryImportRowResult> outcomes = new ArrayList<>(chunk.size());
+
+        for (PendingRow pending : chunk) {
+            String accountId = pending.request().getAccountId();
+            UUID beneficiaryId = existing.get(accountId);
+
+            if (beneficiaryId == null) {
+                Beneficiaries beneficiary = Beneficiaries.builder()
+                        .accountId(accountId)
+                        .nickname(pending.request().getNickname())
+                        .isActive(true)
+                        .build();
+                entityManager.persist(beneficiary);
+                created.add(beneficiary);
+                links.add(new UserBeneficiary(userId, beneficiary.getId()));
+                outcomes.add(result(pending.row(), accountId, ImportRowStatus.CREATED, beneficiary.getId(), null));
+            } else if (alreadyLinked.contains(beneficiaryId)) {
+                outcomes.add(result(pending.row(), accountId, ImportRowStatus.ALREADY_LINKED, beneficiaryId, null));
+            } else {
+                links.add(new UserBeneficiary(userId, beneficiaryId));
+                outcomes.add(result(pending.row(), accountId, ImportRowStatus.LINKED, beneficiaryId, null));
+            }
+        }
+
+        for (UserBeneficiary link : links) {
+            entityManager.persist(link);
+        }
+
+        // Step 4: write the batch and drop it from the persistence context to keep memory flat
+        entityManager.flush();
+        entityManager.clear();
+
+        // Counted only once the chunk is written, so a failed chunk is never reported as imported
+        outcomes.forEach(outcome -> record(report, outcome));
+
+        log.debug("Imported chunk for user {}: {} new beneficiaries, {} links", userId, created.size(), links.size());
+    }
+
+    /**
+     * Count a row in the totals. Only rows that were not imported are listed, up to
+     * max-reported-rows, so the report stays small for large files.
+     */
+    private void record(BeneficiaryImportReport report, BeneficiaryImportRowResult result) {
+        switch (result.getStatus()) {
+            case CREATED -> report.setCreated(report.getCreated() + 1);
+            case LINKED -> report.setLinked(report.getLinked() + 1);
+            case ALREADY_LINKED -> report.setAlreadyLinked(report.getAlreadyLinked() + 1);
+            case DUPLICATE_IN_FILE -> report.setDuplicatesInFile(report.getDuplicatesInFile() + 1);
+            case INVALID -> report.setInvalid(report.getInvalid() + 1);
+        }
+        boolean rejected = result.getStatus() == ImportRowStatus.INVALID
+                || result.getStatus() == ImportRowStatus.DUPLICATE_IN_FILE;
+        if (rejected && report.getRows().size() < maxReportedRows) {
+            report.getRows().add(result);
+        }
+    }
+
+    private String validate(CreateBeneficiaryRequest row) {
+        if (row.getAccountId() != null) {
+            row.setAccountId(row.getAccountId().trim());
+        }
+        Set<ConstraintViolation<CreateBeneficiaryRequest>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.iterator().next().getMessage();
+    }
+
+    private static BeneficiaryImportRowResult result(int row, String accountId, ImportRowStatus status,
+                                                     UUID beneficiaryId, String message) {
+        return BeneficiaryImportRowResult.builder()
+                .row(row)
+                .accountId(accountId)
+                .status(status)
+                .beneficiaryId(beneficiaryId)
+                .message(message)
+                .build();
+    }
+
+    private record PendingRow(int row, CreateBeneficiaryRequest request) {
+    }
+}
@@ -1,23 +1,39 @@
 package com.banking.usermanagementservice.service.serviceImpl;
 
+import com.banking.usermanagementservice.client.OwnershipInvalidationPublisher;
+import com.banking.usermanagementservice.dto.BeneficiaryOwnershipCheck;
+import com.banking.usermanagementservice.dto.BeneficiaryOwnershipResult;
 import com.banking.usermanagementservice.dto.BeneficiaryResponse;
+import com.banking.usermanagementservice.dto.BeneficiaryUsageEvent;
 import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+import com.banking.usermanagementservice.dto.SuggestedBeneficiaryResponse;
 import com.banking.usermanagementservice.dto.UpdateBeneficiaryRequest;
 import com.banking.usermanagementservice.entity.Beneficiaries;
 import com.banking.usermanagementservice.entity.User;
+import com.banking.usermanagementservice.entity.UserBeneficiary;
+import com.banking.usermanagementservice.entity.UserBeneficiaryId;
 import com.banking.usermanagementservice.exception.BeneficiaryAlreadyExistsException;
 import com.banking.usermanagementservice.exception.BeneficiaryNotFoundException;
 import com.banking.usermanagementservice.exception.ResourceNotFoundException;
+import com.banking.usermanagementservice.ranking.BeneficiaryUsageRanking;
 import com.banking.usermanagementservice.repository.BeneficiariesRepository;
+import com.banking.usermanagementservice.repository.UserBeneficiaryRepository;
 import com.banking.usermanagementservice.repository.UserRepository;
 import com.banking.usermanagementservice.service.BeneficiariesService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,28 +41,33 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BeneficiaryServiceImpl implements BeneficiariesService {
 
+    private static final int OWNERSHIP_CHUNK_SIZE = 500;
+
     private final UserRepository userRepository;
     private final BeneficiariesRepository beneficiariesRepository;
+    private final UserBeneficiaryRepository userBeneficiaryRepository;
+    private final BeneficiaryUsageRanking usageRanking;
+    private final OwnershipInvalidationPublisher invalidationPublisher;
 
     @Override
+    @Transactional
     public BeneficiaryResponse createBeneficiaryForUser(UUID userId, CreateBeneficiaryRequest request) {
         log.info("Creating new beneficiary for user {} with account id: {}", userId, request.getAccountId());
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(()-> new ResourceNotFoundException("User not found with Id:" + userId));
+        if (!userRepository.existsById(userId)){
+            throw new ResourceNotFoundException("User not found with Id:" + userId);
+        }
 
         Beneficiaries existingBeneficiary = beneficiariesRepository.findByAccountId(request.getAccountId())
                 .orElse(null);
 
         if (existingBeneficiary != null){
-            if (!user.getBeneficiaries().contains(existingBeneficiary)){
-                user.getBeneficiaries().add(existingBeneficiary);
-                userRepository.save(user);
-                log.info("Existing beneficiary {} associated with user {}", existingBeneficiary.getId(), userId);
-            } else {
+            if (userBeneficiaryRepository.existsLink(userId, existingBeneficiary.getId())){
                 throw new BeneficiaryAlreadyExistsException("You already have this beneficiary in you beneficiaries");
-
             }
+            link(userId, existingBeneficiary.getId());
+            log.info("Existing beneficiary {} associated with user {}", existingBeneficiary.getId(), userId);
+
             return mapToResponse(existingBeneficiary);
         }
 
@@ -57,9 +78,7 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
                 .build();
 
         Beneficiaries savedBeneficiary = beneficiariesRepository.save(beneficiary);
-
-        user.getBeneficiaries().add(savedBeneficiary);
-        userRepository.save(user);
+        link(userId, savedBeneficiary.getId());
 
         log.info("Beneficiary created and associated with user successfully with Id: {}", savedBeneficiary.getId());
         return mapToResponse(savedBeneficiary);
@@ -70,10 +89,8 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
     public BeneficiaryResponse getBeneficiaryById(UUID beneficiaryId) {
         log.info("Fetching beneficiary with Id:{}", beneficiaryId);
 
-        Beneficiaries beneficiary = beneficiariesRepository.findById(beneficiaryId)
+        return beneficiariesRepository.findResponseById(beneficiaryId)
                 .orElseThrow(()-> new BeneficiaryNotFoundException("Beneficiary not found with beneficixary Id {}" + beneficiaryId));
-
-        return mapToResponse(beneficiary);
     }
 
     @Override
@@ -81,9 +98,7 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
     public List<BeneficiaryResponse> getAllBeneficiaries() {
         log.info("Fetching all beneficiaries");
 
-        return beneficiariesRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return beneficiariesRepository.findAllResponses();
     }
 
     @Override
@@ -91,9 +106,7 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
     public List<BeneficiaryResponse> getAllActiveBeneficiaries() {
         log.info("Fetching all active beneficiaries");
 
-        return beneficiariesRepository.findByIsActive(true).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return beneficiariesRepository.findResponsesByIsActive(true);
     }
 
     @Override
@@ -106,9 +119,7 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
 
         }
 
-        return beneficiariesRepository.findAllByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return beneficiariesRepository.findResponsesByUserId(userId);
     }
 
     @Override
@@ -120,9 +131,7 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
             throw new ResourceNotFoundException("User with user id " + userId + "not found");
         }
 
-        return beneficiariesRepository.findActiveByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return beneficiariesRepository.findActiveResponsesByUserId(userId);
     }
 
     @Override
@@ -177,48 +186,47 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
         }
 
         beneficiariesRepository.deleteById(beneficiaryId);
+        invalidationPublisher.publishAfterCommit(null, beneficiaryId);
         log.info("Beneficiary hard deleted successfully with Id: {}", beneficiaryId);
     }
 
     @Override
+    @Transactional
     public void addBeneficiaryToUser(UUID userId, UUID beneficiaryId) {
         log.info("Adding beneficiary {} to user {}", beneficiaryId, userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(()-> new ResourceNotFoundException("User with user Id: "+ userId + "not found"));
+        if (!userRepository.existsById(userId)){
+            throw new ResourceNotFoundException("User with user Id: "+ userId + "not found");
+        }
 
-        Beneficiaries beneficiaries = beneficiariesRepository.findById(beneficiaryId)
-                .orElseThrow(()-> new ResourceNotFoundException("Beneficiary with beneficiary id: {}"+ beneficiaryId + "not found"));
+        if (!beneficiariesRepository.existsById(beneficiaryId)){
+            throw new ResourceNotFoundException("Beneficiary with beneficiary id: {}"+ beneficiaryId + "not found");
+        }
 
-        if (user.getBeneficiaries().contains(beneficiaries)){
-            log.warn("Beneficiary with id {} is already associated with user {}", beneficiaries, user);
+        if (userBeneficiaryRepository.existsLink(userId, beneficiaryId)){
+            log.warn("Beneficiary with id {} is already associated with user {}", beneficiaryId, userId);
 
             throw new BeneficiaryAlreadyExistsException("This beneficiary is already associated with the user");
         }
 
-        user.getBeneficiaries().add(beneficiaries);
-        userRepository.save(user);
+        link(userId, beneficiaryId);
 
         log.info("beneficiary {} added to user {}  successfully", beneficiaryId, userId);
 
     }
 
     @Override
+    @Transactional
     public void removeBeneficiaryFromUser(UUID userId, UUID beneficiaryId) {
         log.info("Removing beneficiary {} from user {}", beneficiaryId, userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(()-> new ResourceNotFoundException("User with id {}"+ userId + "not found"));
-
-        Beneficiaries beneficiary = beneficiariesRepository.findById(beneficiaryId)
-                .orElseThrow(()-> new ResourceNotFoundException("User with id {}"+ userId + "not found"));
-
-        if (!user.getBeneficiaries().contains(beneficiary)){
+        // Single-row delete; nothing removed means the link never existed
+        if (userBeneficiaryRepository.deleteLink(userId, beneficiaryId) == 0){
             throw new BeneficiaryNotFoundException("The beneficiary is not in your list");
         }
+        usageRanking.forget(userId, beneficiaryId);
+        invalidationPublisher.publishAfterCommit(userId, beneficiaryId);
 
-        user.getBeneficiaries().remove(beneficiary);
-        userRepository.save(user);
         log.info("Beneficiary {} removed from user {}", beneficiaryId, userId);
     }
 
@@ -226,7 +234,7 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
     public boolean isBeneficiaryAssociatedWithUser(UUID userId, UUID beneficiaryId) {
         log.info("Checking if Beneficiary {} is associayed with user {}", beneficiaryId, userId);
 
-        return beneficiariesRepository.existsByIdAndUserId(beneficiaryId, userId);
+        return userBeneficiaryRepository.existsLink(userId, beneficiaryId);
     }
 
     @Override
@@ -235,11 +243,37 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
 
         log.info("Verifying beneficiary {} ownership for user {}", beneficiaryId, userId);
 
-        if (!beneficiariesRepository.existsByIdAndUserId(beneficiaryId, userId)) {
+        if (!userBeneficiaryRepository.existsLink(userId, beneficiaryId)) {
             throw new ResourceNotFoundException("You do not have access to this beneficiary");
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BeneficiaryOwnershipResult> checkOwnership(List<BeneficiaryOwnershipCheck> checks) {
+        log.debug("Checking beneficiary ownership for {} pairs", checks.size());
+
+        List<BeneficiaryOwnershipResult> results = new ArrayList<>(checks.size());
+        for (int from = 0; from < checks.size(); from += OWNERSHIP_CHUNK_SIZE) {
+            List<BeneficiaryOwnershipCheck> chunk = checks.subList(from, Math.min(from + OWNERSHIP_CHUNK_SIZE, checks.size()));
+
+            Set<UUID> userIds = new HashSet<>();
+            Set<UUID> beneficiaryIds = new HashSet<>();
+            for (BeneficiaryOwnershipCheck check : chunk) {
+                userIds.add(check.getUserId());
+                beneficiaryIds.add(check.getBeneficiaryId());
+            }
+
+            // One query per chunk instead of one existsLink per pair
+            Set<UserBeneficiaryId> links = new HashSet<>(userBeneficiaryRepository.findLinks(userIds, beneficiaryIds));
+            for (BeneficiaryOwnershipCheck check : chunk) {
+                results.add(new BeneficiaryOwnershipResult(check.getUserId(), check.getBeneficiaryId(),
+                        links.contains(new UserBeneficiaryId(check.getUserId(), check.getBeneficiaryId()))));
+            }
+        }
+        return results;
+    }
+
     @Override
     public UUID getUserIdByEmail(String email) {
         log.info("Fetching userId for email: {}", email);
@@ -250,6 +284,61 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
         return user.getId();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SuggestedBeneficiaryResponse> getTopBeneficiaries(UUID userId, int n) {
+        log.debug("Fetching top {} beneficiaries for user {}", n, userId);
+
+        // Ask for a few extra in case some have since been deactivated
+        List<BeneficiaryUsageRanking.RankedBeneficiary> ranked = usageRanking.top(userId, n + Math.min(n, 10));
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = ranked.stream().map(BeneficiaryUsageRanking.RankedBeneficiary::beneficiaryId).toList();
+        Map<UUID, BeneficiaryResponse> details = beneficiariesRepository.findActiveResponsesByUserIdAndIdIn(userId, ids)
+                .stream()
+                .collect(Collectors.toMap(BeneficiaryResponse::getId, Function.identity()));
+
+        List<SuggestedBeneficiaryResponse> suggestions = new ArrayList<>(n);
+        for (BeneficiaryUsageRanking.RankedBeneficiary entry : ranked) {
+            BeneficiaryResponse beneficiary = details.get(entry.beneficiaryId());
+            if (beneficiary == null) {
+                continue;
+            }
+            suggestions.add(SuggestedBeneficiaryResponse.builder()
+                    .id(beneficiary.getId())
+                    .accountId(beneficiary.getAccountId())
+                    .nickname(beneficiary.getNickname())
+                    .score(entry.score())
+                    .useCount(entry.useCount())
+                    .lastUsedAt(entry.lastUsedAt())
+                    .build());
+            if (suggestions.size() == n) {
+                break;
+            }
+        }
+        return suggestions;
+    }
+
+    @Override
+    public void recordUsage(List<BeneficiaryUsageEvent> events) {
+        log.debug("Recording {} beneficiary usage events", events.size());
+
+        for (BeneficiaryUsageEvent event : events) {
+            Instant occurredAt = event.getOccurredAt() != null ? event.getOccurredAt() : Instant.now();
+            usageRanking.recordUsage(event.getUserId(), event.getBeneficiaryId(), occurredAt);
+        }
+    }
+
+    private void link(UUID userId, UUID beneficiaryId) {
+        try {
+            // Flushed here so a concurrent add of the same pair surfaces as a duplicate, not a 500 at commit
+            userBeneficiaryRepository.saveAndFlush(new UserBeneficiary(userId, beneficiaryId));
+        } catch (DataIntegrityViolationException e) {
+            throw new BeneficiaryAlreadyExistsException("This beneficiary is already associated with the user");
+        }
+    }
 
     private BeneficiaryResponse mapToResponse(Beneficiaries beneficiary) {
         return BeneficiaryResponse.builder()
@@ -259,7 +348,7 @@ public class BeneficiaryServiceImpl implements BeneficiariesService {
                 .isActive(beneficiary.isActive())
                 .createdAt(beneficiary.getCreatedAt())
                 .updatedAt(beneficiary.getUpdatedAt())
-                .userCount(beneficiary.getUsers() != null ? beneficiary.getUsers().size() : 0)
+                .userCount(beneficiariesRepository.countUsers(beneficiary.getId()))
                 .build();
     }
 }
@@ -0,0 +1,104 @@
+package com.banking.usermanagementservice.service.serviceImpl;
+
+import com.banking.usermanagementservice.repository.UserRepository;
+import com.banking.usermanagementservice.service.EncryptionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Re-encrypts ID numbers written with a retired or legacy key and backfills missing
+ * blind indexes, a batch at a time, so key rotation never needs downtime.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EncryptionKeyRotationService {
+
+    // MySQL compares BINARY(16) ids as unsigned bytes, so all zeros sorts first
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    private final UserRepository userRepository;
+    private final EncryptionService encryptionService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.encryption.rotation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.encryption.rotation.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    // Assume un-indexed rows exist until a sweep proves otherwise
+    private final AtomicBoolean unindexedRows = new AtomicBoolean(true);
+
+    /**
+     * Whether some users still lack a blind index and must be matched on legacy ciphertext
+     * @return true until a rotation sweep finds no un-indexed rows
+     */
+    public boolean hasUnindexedRows() {
+        return unindexedRows.get();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.encryption.rotation.initial-delay-ms:10000}",
+            fixedDelayString = "${app.encryption.rotation.interval-ms:300000}"
+    )
+    public void rotate() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String activePattern = encryptionService.getActiveKeyPrefix() + "%";
+
+        UUID afterId = LOWEST_ID;
+        int migrated = 0;
+        int failed = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<UserRepository.IdNumberView> rows = userRepository.findIdNumbersNeedingReEncryption(
+                    activePattern, afterId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            int[] result = transactionTemplate.execute(status -> reEncrypt(rows));
+            migrated += result[0];
+            failed += result[1];
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+
+        if (migrated > 0 || failed > 0) {
+            log.info("Key rotation sweep re-encrypted {} ID numbers, {} failed", migrated, failed);
+        }
+
+        unindexedRows.set(userRepository.existsByIdNumberIndexIsNull());
+    }
+
+    private int[] reEncrypt(List<UserRepository.IdNumberView> rows) {
+        int migrated = 0;
+        int failed = 0;
+
+        for (UserRepository.IdNumberView row : rows) {
+            try {
+                String plain = encryptionService.decrypt(row.getIdNumber());
+                String reEncrypted = encryptionService.needsReEncryption(row.getIdNumber())
+                        ? encryptionService.encrypt(plain)
+                        : row.getIdNumber();
+
+                // Guarded on the old value so a concurrent write is never overwritten
+                migrated += userRepository.updateIdNumber(
+                        row.getId(), row.getIdNumber(), reEncrypted, encryptionService.blindIndex(plain));
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("Failed to re-encrypt ID number for user {}", row.getId(), e);
+            }
+        }
+        return new int[]{migrated, failed};
+    }
+}
@@ -5,14 +5,22 @@ import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -21,17 +29,64 @@ public class EncryptionServiceImpl implements EncryptionService {
     @Value("${app.encryption.secret:MySecretEncryptionLey123!@#}")
     private String secretKey;
 
-    private SecretKey key;
+    @Value("${app.encryption.key-version:1}")
+    private int activeVersion;
+
+    // Comma separated version:secret pairs for keys that may still be found in stored data
+    @Value("${app.encryption.retired-secrets:}")
+    private String retiredSecrets;
+
+    // The blind index key is independent of the encryption keys so rotations don't invalidate lookups
+    @Value("${app.encryption.index-secret:${app.encryption.secret:MySecretEncryptionLey123!@#}}")
+    private String indexSecret;
+
+    // Key that produced the un-versioned AES/ECB values written before key versioning
+    @Value("${app.encryption.legacy-secret:${app.encryption.secret:MySecretEncryptionLey123!@#}}")
+    private String legacySecret;
+
     private static final String ALGORITHM = "AES";
+    private static final String GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String LEGACY_TRANSFORMATION = "AES/ECB/PKCS5Padding";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final Map<Integer, SecretKey> keysByVersion = new HashMap<>();
+    private SecretKey legacyKey;
+    private SecretKey indexKey;
+    private String activePrefix;
+
+    // Cipher and Mac are not thread safe but are expensive to look up, so each thread keeps its own
+    private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> newCipher(GCM_TRANSFORMATION));
+    private static final ThreadLocal<Cipher> LEGACY_CIPHER = ThreadLocal.withInitial(() -> newCipher(LEGACY_TRANSFORMATION));
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+    private final ThreadLocal<Mac> indexMac = ThreadLocal.withInitial(this::newIndexMac);
 
     @PostConstruct
     public void init() {
         try {
+            keysByVersion.put(activeVersion, deriveKey(secretKey, "field-encryption", ALGORITHM));
+
+            if (StringUtils.hasText(retiredSecrets)) {
+                for (String entry : retiredSecrets.split(",")) {
+                    String[] parts = entry.trim().split(":", 2);
+                    int version = Integer.parseInt(parts[0].trim());
+                    if (version == activeVersion) {
+                        throw new IllegalStateException("Retired key version " + version + " is the active version");
+                    }
+                    keysByVersion.put(version, deriveKey(parts[1], "field-encryption", ALGORITHM));
+                }
+            }
+
             MessageDigest sha = MessageDigest.getInstance("SHA-256");
-            byte[] keyBytes = sha.digest(secretKey.getBytes(StandardCharsets.UTF_8));
+            byte[] keyBytes = sha.digest(legacySecret.getBytes(StandardCharsets.UTF_8));
             keyBytes = Arrays.copyOf(keyBytes, 16);
-            key = new SecretKeySpec(keyBytes, ALGORITHM);
-            log.info("Encryption service initialized successfully");
+            legacyKey = new SecretKeySpec(keyBytes, ALGORITHM);
+
+            indexKey = deriveKey(indexSecret, "blind-index", HMAC_ALGORITHM);
+            activePrefix = versionPrefix(activeVersion);
+
+            log.info("Encryption service initialized successfully with key version {}", activeVersion);
 
         } catch (Exception e) {
             log.error("Failed to initialize encryption service", e);
@@ -43,10 +98,18 @@ public class EncryptionServiceImpl implements EncryptionService {
     @Override
     public String encrypt(String data) {
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, key);
+            byte[] iv = new byte[IV_LENGTH];
+            RANDOM.get().nextBytes(iv);
+
+            Cipher cipher = GCM_CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, keysByVersion.get(activeVersion), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
             byte[] encryptedBytes = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(encryptedBytes);
+
+            byte[] payload = ByteBuffer.allocate(IV_LENGTH + encryptedBytes.length)
+                    .put(iv)
+                    .put(encryptedBytes)
+                    .array();
+            return activePrefix + Base64.getEncoder().encodeToString(payload);
         } catch (Exception e){
             log.error("Encryption failed", e);
             throw new RuntimeException("Encryption failed");
@@ -56,13 +119,100 @@ public class EncryptionServiceImpl implements EncryptionService {
     @Override
     public String decrypt(String encryptedData) {
         try{
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, key);
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+            int version = parseVersion(encryptedData);
+            if (version < 0) {
+                return decryptLegacy(encryptedData);
+            }
+
+            SecretKey key = keysByVersion.get(version);
+            if (key == null) {
+                throw new IllegalStateException("No key configured for version " + version);
+            }
+
+            byte[] payload = Base64.getDecoder().decode(encryptedData.substring(encryptedData.indexOf(':') + 1));
+            Cipher cipher = GCM_CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, payload, 0, IV_LENGTH));
+            byte[] decryptedBytes = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
             return new String(decryptedBytes, StandardCharsets.UTF_8);
         } catch (Exception e){
             log.error("Decryption dailed", e);
             throw new RuntimeException("Decryption failed", e);
         }
     }
+
+    @Override
+    public String blindIndex(String data) {
+        byte[] digest = indexMac.get().doFinal(data.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    @Override
+    public String legacyCiphertext(String data) {
+        try {
+            Cipher cipher = LEGACY_CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, legacyKey);
+            return Base64.getEncoder().encodeToString(cipher.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            log.error("Legacy encryption failed", e);
+            throw new RuntimeException("Encryption failed");
+        }
+    }
+
+    @Override
+    public boolean needsReEncryption(String encryptedData) {
+        return encryptedData != null && !encryptedData.startsWith(activePrefix);
+    }
+
+    @Override
+    public String getActiveKeyPrefix() {
+        return activePrefix;
+    }
+
+    private String decryptLegacy(String encryptedData) throws GeneralSecurityException {
+        Cipher cipher = LEGACY_CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, legacyKey);
+        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+        return new String(decryptedBytes, StandardCharsets.UTF_8);
+    }
+
+    // "v3:..." -> 3, legacy values (which are plain Base64 and never contain ':') -> -1
+    private static int parseVersion(String encryptedData) {
+        if (encryptedData.length() < 3 || encryptedData.charAt(0) != 'v') {
+            return -1;
+        }
+        int separator = encryptedData.indexOf(':');
+        if (separator < 2) {
+            return -1;
+        }
+        return Integer.parseInt(encryptedData, 1, separator, 10);
+    }
+
+    private static String versionPrefix(int version) {
+        return "v" + version + ":";
+    }
+
+    private static SecretKey deriveKey(String secret, String purpose, String algorithm) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+        byte[] keyBytes = mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        return new SecretKeySpec(keyBytes, algorithm);
+    }
+
+    private static Cipher newCipher(String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher " + transformation + " is not available", e);
+        }
+    }
+
+    private Mac newIndexMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(indexKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize blind index " + HMAC_ALGORITHM, e);
+        }
+    }
 }
@@ -0,0 +1,208 @@
+package com.banking.usermanagementservice.service.serviceImpl;
+
+import com.banking.usermanagementservice.dto.IssuedTokens;
+import com.banking.usermanagementservice.dto.TokenRevocation;
+import com.banking.usermanagementservice.entity.RefreshTokenFamily;
+import com.banking.usermanagementservice.entity.RevokedToken;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
+import com.banking.usermanagementservice.metrics.AuthMetrics;
+import com.banking.usermanagementservice.metrics.AuthMetrics.RefreshOutcome;
+import com.banking.usermanagementservice.metrics.AuthMetrics.TokenFlow;
+import com.banking.usermanagementservice.repository.RefreshTokenFamilyRepository;
+import com.banking.usermanagementservice.repository.RevokedTokenRepository;
+import com.banking.usermanagementservice.security.CustomUserDetailsService;
+import com.banking.usermanagementservice.security.JwtTokenProvider;
+import com.banking.common.security.TokenDenylist;
+import com.banking.usermanagementservice.security.VerifiedToken;
+import com.banking.usermanagementservice.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenServiceImpl implements TokenService {
+
+    // Revocations committed by other instances can become visible slightly out of revokedAt order
+    private static final long SYNC_OVERLAP_MILLIS = 5_000;
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenDenylist tokenDenylist;
+    private final PlatformTransactionManager transactionManager;
+    private final AuthMetrics authMetrics;
+
+    @Value("${app.security.jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    @Override
+    @Transactional
+    public IssuedTokens issue(UserDetails userDetails, UUID userId) {
+        UUID familyId = UUID.randomUUID();
+        UUID tokenId = UUID.randomUUID();
+
+        familyRepository.save(new RefreshTokenFamily(familyId, userId, tokenId,
+                Instant.now().plusMillis(refreshExpiration)));
+
+        return sign(userDetails, userId, familyId, tokenId, TokenFlow.LOGIN);
+    }
+
+    @Override
+    // The reuse revocation must commit even though the caller gets an error
+    @Transactional(noRollbackFor = InvalidOperationException.class)
+    public IssuedTokens rotate(String refreshToken) {
+        VerifiedToken token = jwtTokenProvider.verifyOrNull(refreshToken);
+        if (token == null || !token.refresh()) {
+            throw new InvalidOperationException("Invalid refresh token");
+        }
+
+        UUID tokenId = token.tokenId();
+        UUID familyId = token.familyId();
+        UUID userId = token.userId();
+
+        // Refresh tokens issued before families existed cannot be tracked, so they must log in again
+        if (tokenId == null || familyId == null || tokenDenylist.isRevoked(tokenId, familyId)) {
+            throw new InvalidOperationException("Invalid refresh token");
+        }
+
+        RefreshTokenFamily family = familyRepository.findByIdForUpdate(familyId)
+                .filter(f -> !f.isRevoked() && f.getUserId().equals(userId))
+                .orElseThrow(() -> new InvalidOperationException("Invalid refresh token"));
+
+        if (!family.getCurrentTokenId().equals(tokenId)) {
+            authMetrics.refresh(RefreshOutcome.REUSE_DETECTED);
+            log.warn("Refresh token reuse detected for user {}, revoking token family {}", userId, familyId);
+            revoke(family);
+            throw new InvalidOperationException("Invalid refresh token");
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(token.username());
+        } catch (UsernameNotFoundException e) {
+            revoke(family);
+            throw new InvalidOperationException("User account is not active.");
+        }
+
+        UUID nextTokenId = UUID.randomUUID();
+        Instant now = Instant.now();
+        family.setCurrentTokenId(nextTokenId);
+        family.setRotatedAt(now);
+        family.setExpiresAt(now.plusMillis(refreshExpiration));
+        familyRepository.save(family);
+
+        return sign(userDetails, userId, familyId, nextTokenId, TokenFlow.REFRESH);
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(UUID familyId) {
+        familyRepository.findByIdForUpdate(familyId)
+                .filter(family -> !family.isRevoked())
+                .ifPresent(this::revoke);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(UUID userId) {
+        List<RefreshTokenFamily> families = familyRepository.findActiveByUserId(userId, Instant.now());
+        families.forEach(this::revoke);
+        log.info("Revoked {} token families for user {}", families.size(), userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TokenRevocation> getRevocationsSince(Instant since) {
+        return revokedTokenRepository.findRevokedSince(since, Instant.now()).stream()
+                .map(TokenServiceImpl::toRevocation)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-denylist.sync-interval-ms:1000}")
+    public void syncDenylist() {
+        Instant since = syncedUpTo;
+        List<RevokedToken> revoked = revokedTokenRepository.findRevokedSince(
+                since.minusMillis(SYNC_OVERLAP_MILLIS), Instant.now());
+
+        for (RevokedToken token : revoked) {
+            tokenDenylist.revoke(token.getId(), token.getExpiresAt().toEpochMilli());
+            if (token.getRevokedAt().isAfter(since)) {
+                since = token.getRevokedAt();
+            }
+        }
+        syncedUpTo = since;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-denylist.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int[] purged = new TransactionTemplate(transactionManager).execute(status -> new int[]{
+                familyRepository.deleteExpired(now),
+                revokedTokenRepository.deleteExpired(now)
+        });
+        if (purged != null && (purged[0] > 0 || purged[1] > 0)) {
+            log.info("Purged {} expired token families and {} expired revocations", purged[0], purged[1]);
+        }
+    }
+
+    private IssuedTokens sign(UserDetails userDetails, UUID userId, UUID familyId, UUID refreshTokenId, TokenFlow flow) {
+        long start = System.nanoTime();
+        IssuedTokens tokens = IssuedTokens.builder()
+                .accessToken(jwtTokenProvider.generateToken(userDetails, userId, familyId))
+                .refreshToken(jwtTokenProvider.generateRefreshToken(userDetails, userId, familyId, refreshTokenId))
+                .userId(userId)
+                .email(userDetails.getUsername())
+                .build();
+        authMetrics.recordTokenIssue(flow, start);
+        return tokens;
+    }
+
+    // Callers hold the family row lock
+    private void revoke(RefreshTokenFamily family) {
+        family.setRevoked(true);
+        familyRepository.save(family);
+
+        // Every token of the family carries its ID and none outlives the family's last refresh token
+        RevokedToken revoked = revokedTokenRepository.save(new RevokedToken(family.getId(), family.getExpiresAt()));
+        afterCommit(() -> tokenDenylist.revoke(revoked.getId(), revoked.getExpiresAt().toEpochMilli()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static TokenRevocation toRevocation(RevokedToken token) {
+        return TokenRevocation.builder()
+                .id(token.getId())
+                .expiresAt(token.getExpiresAt())
+                .revokedAt(token.getRevokedAt())
+                .build();
+    }
+}
@@ -1,22 +1,39 @@
 package com.banking.usermanagementservice.service.serviceImpl;
 
+import com.banking.usermanagementservice.dto.PageResponse;
+import com.banking.usermanagementservice.dto.UserListFilter;
 import com.banking.usermanagementservice.dto.UserResponse;
+import com.banking.usermanagementservice.dto.UserSearchResult;
+import com.banking.usermanagementservice.dto.UserSummaryResponse;
 import com.banking.usermanagementservice.dto.UserSuspensionRequest;
 import com.banking.usermanagementservice.entity.User;
 import com.banking.usermanagementservice.enums.ApprovalStatus;
+import com.banking.usermanagementservice.enums.UserStatus;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
 import com.banking.usermanagementservice.exception.ResourceNotFoundException;
 import com.banking.usermanagementservice.mapper.UserMapper;
 import com.banking.usermanagementservice.repository.UserRepository;
+import com.banking.usermanagementservice.search.UserSearchIndex;
+import com.banking.usermanagementservice.service.TokenService;
 import com.banking.usermanagementservice.service.UserManagementService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +42,16 @@ public class UserManagementServiceImpl implements UserManagementService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserSearchIndex userSearchIndex;
+    private final TokenService tokenService;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_FLUSH_ROWS = 500;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final String CSV_HEADER =
+            "id,firstName,lastName,email,country,approvalStatus,active,suspended,deleted,createdAt\n";
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("createdAt", "firstName", "lastName", "email", "country", "approvalStatus");
 
     @Override
     @Transactional
@@ -41,6 +68,9 @@ public class UserManagementServiceImpl implements UserManagementService {
             user.setSuspendedAt(LocalDateTime.now());
             user.setActive(false);
 
+            // Outstanding tokens stay valid until expiry otherwise, in this and every other service
+            tokenService.revokeAllForUser(user.getId());
+
             log.info("User {} suspended by admin: {}", user.getId(), adminId);
 
         } else {
@@ -64,11 +94,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     public List<UserResponse> getAllActiveUsers() {
         log.info("fetching all active users");
 
-        List<User> activeUser = userRepository.findAll().stream()
-                .filter(user -> !user.isDeleted() && user.isActive() && !user.isSuspended())
-                .collect(Collectors.toList());
-
-        return activeUser.stream()
+        return userRepository.findAllActiveWithDetails().stream()
                 .map(userMapper::toUserResponse)
                 .collect(Collectors.toList());
     }
@@ -78,11 +104,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     public List<UserResponse> getAllSuspendedUsers() {
         log.info("Fetching all suspended users");
 
-        List<User> suspendedUsers = userRepository.findAll().stream()
-                .filter(user -> !user.isDeleted() && user.isSuspended())
-                .collect(Collectors.toList());
-
-        return suspendedUsers.stream()
+        return userRepository.findAllSuspendedWithDetails().stream()
                 .map(userMapper::toUserResponse)
                 .collect(Collectors.toList());
     }
@@ -101,6 +123,131 @@ public class UserManagementServiceImpl implements UserManagementService {
         user.setActive(false);
 
         userRepository.save(user);
+        userSearchIndex.removeAfterCommit(userId);
         log.info("User {} soft deleted by admin: {}", userId, adminId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserSummaryResponse> listUsers(UserListFilter filter, Pageable pageable) {
+        log.info("Listing users with filter: {} page: {}", filter, pageable);
+
+        Pageable page = sanitize(pageable);
+        StatusFlags flags = StatusFlags.of(filter.getStatus());
+
+        Page<UserSummaryResponse> users = userRepository.findSummaries(
+                flags.deleted(), flags.active(), flags.suspended(),
+                filter.getApprovalStatus(), filter.getCountry(),
+                filter.getCreatedFrom(), filter.getCreatedTo(),
+                page
+        );
+
+        return PageResponse.of(users);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(UserListFilter filter, Writer writer) throws IOException {
+        log.info("Exporting users with filter: {}", filter);
+
+        StatusFlags flags = StatusFlags.of(filter.getStatus());
+        writer.write(CSV_HEADER);
+
+        long rows = 0;
+        try (Stream<UserSummaryResponse> users = userRepository.streamSummaries(
+                flags.deleted(), flags.active(), flags.suspended(),
+                filter.getApprovalStatus(), filter.getCountry(),
+                filter.getCreatedFrom(), filter.getCreatedTo())) {
+
+            Iterator<UserSummaryResponse> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writeCsvRow(writer, iterator.next());
+                if (++rows % EXPORT_FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} users", rows);
+    }
+
+    @Override
+    public List<UserSearchResult> searchUsers(String query, int limit) {
+        return userSearchIndex.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+    }
+
+    private Pageable sanitize(Pageable pageable) {
+        int size = Math.min(Math.max(pageable.getPageSize(), 1), MAX_PAGE_SIZE);
+
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidOperationException("Cannot sort users by: " + order.getProperty());
+            }
+        }
+        if (sort.isUnsorted()) {
+            sort = Sort.by(Sort.Direction.DESC, "createdAt");
+        }
+        // Tie-break on the primary key so pages are stable when createdAt collides
+        return PageRequest.of(pageable.getPageNumber(), size, sort.and(Sort.by("id")));
+    }
+
+    private static void writeCsvRow(Writer writer, UserSummaryResponse user) throws IOException {
+        writer.write(user.getId().toString());
+        writer.write(',');
+        writeCsvField(writer, user.getFirstName());
+        writer.write(',');
+        writeCsvField(writer, user.getLastName());
+        writer.write(',');
+        writeCsvField(writer, user.getEmail());
+        writer.write(',');
+        writeCsvField(writer, user.getCountry());
+        writer.write(',');
+        writer.write(user.getApprovalStatus().name());
+        writer.write(',');
+        writer.write(Boolean.toString(user.isActive()));
+        writer.write(',');
+        writer.write(Boolean.toString(user.isSuspended()));
+        writer.write(',');
+        writer.write(Boolean.toString(user.isDeleted()));
+        writer.write(',');
+        writer.write(user.getCreatedAt().toString());
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        // Leading formula characters are neutralized so exports are safe to open in spreadsheets
+        boolean formula = !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private record StatusFlags(boolean deleted, Boolean active, Boolean suspended) {
+
+        static StatusFlags of(UserStatus status) {
+            if (status == null) {
+                return new StatusFlags(false, null, null);
+            }
+            return switch (status) {
+                case ACTIVE -> new StatusFlags(false, true, false);
+                case SUSPENDED -> new StatusFlags(false, null, true);
+                case INACTIVE -> new StatusFlags(false, false, false);
+                case DELETED -> new StatusFlags(true, null, null);
+            };
+        }
+    }
 }
@@ -7,6 +7,7 @@ import com.banking.usermanagementservice.entity.User;
 import com.banking.usermanagementservice.exception.ResourceNotFoundException;
 import com.banking.usermanagementservice.mapper.UserMapper;
 import com.banking.usermanagementservice.repository.UserRepository;
+import com.banking.usermanagementservice.search.UserSearchIndex;
 import com.banking.usermanagementservice.service.UserProfileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,8 @@ public class UserProfileServiceImpl implements UserProfileService {
 
     private final UserMapper userMapper;
 
+    private final UserSearchIndex userSearchIndex;
+
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserProfole(UUID userId) {
@@ -92,6 +95,7 @@ public class UserProfileServiceImpl implements UserProfileService {
         }
 
         User updatedUser = userRepository.save(user);
+        userSearchIndex.indexAfterCommit(updatedUser);
         log.info("profile updated successfully for user: {}", userId);
 
         return userMapper.toUserResponse(updatedUser);
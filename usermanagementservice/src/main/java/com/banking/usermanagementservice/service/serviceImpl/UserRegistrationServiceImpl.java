@@ -9,11 +9,11 @@ import com.banking.usermanagementservice.entity.UserCredentials;
 import com.banking.usermanagementservice.enums.ApprovalStatus;
 import com.banking.usermanagementservice.enums.RoleType;
 import com.banking.usermanagementservice.exception.DuplicateResourceException;
-import com.banking.usermanagementservice.exception.ResourceNotFoundException;
 import com.banking.usermanagementservice.mapper.UserMapper;
-import com.banking.usermanagementservice.repository.RoleRepository;
 import com.banking.usermanagementservice.repository.UserCredentialsRepository;
 import com.banking.usermanagementservice.repository.UserRepository;
+import com.banking.usermanagementservice.search.UserSearchIndex;
+import com.banking.usermanagementservice.security.RoleRegistry;
 import com.banking.usermanagementservice.service.EncryptionService;
 import com.banking.usermanagementservice.service.UserRegistrationService;
 import jakarta.transaction.Transactional;
@@ -31,11 +31,13 @@ import java.time.LocalDateTime;
 public class UserRegistrationServiceImpl implements UserRegistrationService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final UserCredentialsRepository credentialsRepository; // Added for credentials persistence
     private final PasswordEncoder passwordEncoder; // Added for hashing the placeholder
     private final EncryptionService encryptionService;
+    private final EncryptionKeyRotationService keyRotationService;
     private final UserMapper userMapper;
+    private final UserSearchIndex userSearchIndex;
 
     @Value("${app.security.password.expiration-days:90}")
     private int passwordExpirationDays;
@@ -58,8 +60,7 @@ public class UserRegistrationServiceImpl implements UserRegistrationService {
         }
 
         // 3. Fetch Role
-        Role customerRole = roleRepository.findByName(RoleType.CUSTOMER)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer role not found"));
+        Role customerRole = roleRegistry.get(RoleType.CUSTOMER);
 
         // 4. Map Address
         Address address = Address.builder()
@@ -81,6 +82,7 @@ public class UserRegistrationServiceImpl implements UserRegistrationService {
                 .lastName(request.getLastName())
                 .email(request.getEmail().toLowerCase())
                 .idNumber(encryptedIdNumber)
+                .idNumberIndex(encryptionService.blindIndex(request.getIdNumber()))
                 .gender(request.getGender())
                 .country(request.getCountry())
                 .address(address)
@@ -98,6 +100,8 @@ public class UserRegistrationServiceImpl implements UserRegistrationService {
         // 8. Generate and Save Credentials (Placeholder Password)
         createPlaceholderCredentials(savedUser, request.getIdNumber());
 
+        userSearchIndex.indexAfterCommit(savedUser);
+
         log.info("User registered successfully with ID: {} and default credentials", savedUser.getId());
         return userMapper.toUserResponse(savedUser);
     }
@@ -130,7 +134,12 @@ public class UserRegistrationServiceImpl implements UserRegistrationService {
 
     @Override
     public boolean idNumberExists(String idNumber) {
-        String encryptedIdNumber = encryptionService.encrypt(idNumber);
-        return userRepository.existsByIdNumber(encryptedIdNumber);
+        if (userRepository.existsByIdNumberIndex(encryptionService.blindIndex(idNumber))){
+            return true;
+        }
+
+        // Rows written before blind indexing can only be matched on their deterministic ciphertext
+        return keyRotationService.hasUnindexedRows()
+                && userRepository.existsByIdNumber(encryptionService.legacyCiphertext(idNumber));
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.banking.usermanagementservice.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating literal and parameter segments.
+ * Rendering is a straight walk over the arrays: no parsing, no format strings.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final String[] literals;
+    private final int[] parameterSlots;
+    private final int estimatedLength;
+
+    private CompiledTemplate(String name, String[] literals, int[] parameterSlots, int estimatedLength){
+        this.name = name;
+        this.literals = literals;
+        this.parameterSlots = parameterSlots;
+        this.estimatedLength = estimatedLength;
+    }
+
+    /**
+     * Parse a template source, resolving each {{placeholder}} to its position in the parameter list
+     * @param name Template name used in error messages
+     * @param source Raw template text
+     * @param parameters Declared parameter names
+     * @return Compiled template
+     */
+    public static CompiledTemplate compile(String name, String source, List<String> parameters){
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int position = 0;
+        int literalLength = 0;
+        while (true){
+            int open = source.indexOf(OPEN, position);
+            if (open < 0){
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0){
+                throw new IllegalStateException("Unclosed placeholder in email template " + name);
+            }
+
+            String placeholder = source.substring(open + OPEN.length(), close).trim();
+            int slot = parameters.indexOf(placeholder);
+            if (slot < 0){
+                throw new IllegalStateException(
+                        "Unknown placeholder {{" + placeholder + "}} in email template " + name);
+            }
+
+            String literal = source.substring(position, open);
+            literals.add(literal);
+            literalLength += literal.length();
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+
+        String tail = source.substring(position);
+        literals.add(tail);
+        literalLength += tail.length();
+
+        return new CompiledTemplate(
+                name,
+                literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                literalLength + slots.size() * 32
+        );
+    }
+
+    /**
+     * Append the rendered template to the buffer, HTML-escaping every parameter value
+     * @param out Destination buffer
+     * @param values Parameter values in declaration order
+     */
+    public void renderTo(StringBuilder out, Object... values){
+        out.ensureCapacity(out.length() + estimatedLength);
+        for (int i = 0; i < parameterSlots.length; i++){
+            out.append(literals[i]);
+            appendEscaped(out, values[parameterSlots[i]]);
+        }
+        out.append(literals[literals.length - 1]);
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    private static void appendEscaped(StringBuilder out, Object value){
+        if (value == null){
+            return;
+        }
+        if (value instanceof Number){
+            out.append(value);
+            return;
+        }
+
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++){
+            char c = text.charAt(i);
+            switch (c){
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.banking.usermanagementservice.template;
+
+import com.banking.usermanagementservice.enums.EmailTemplate;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the email templates once at startup and renders them from the compiled form.
+ * Templates are named {name}.html with optional localized variants {name}_{lang}.html
+ * and {name}_{lang}_{COUNTRY}.html, and can be externalized by pointing the location
+ * at a file: directory.
+ */
+@Component
+@Slf4j
+public class EmailTemplateEngine {
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    @Value("${app.email.templates.location:classpath:templates/email/}")
+    private String templateLocation;
+
+    @Value("${app.email.default-locale:en}")
+    private String defaultLocaleTag;
+
+    private Locale defaultLocale;
+
+    // "approval", "approval_af", "approval_af_ZA" -> compiled template
+    private final Map<String, CompiledTemplate> templates = new HashMap<>();
+
+    // Resolved per locale so the fallback chain is walked once, not on every send
+    private final Map<Locale, CompiledTemplate[]> resolved = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        defaultLocale = Locale.forLanguageTag(defaultLocaleTag);
+
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        String location = templateLocation.endsWith("/") ? templateLocation : templateLocation + "/";
+
+        try {
+            for (Resource resource : resolver.getResources(location + "*.html")) {
+                String fileName = resource.getFilename();
+                if (fileName == null) {
+                    continue;
+                }
+                String key = fileName.substring(0, fileName.length() - ".html".length());
+                EmailTemplate template = templateFor(key);
+                if (template == null) {
+                    log.warn("Ignoring unknown email template file: {}", fileName);
+                    continue;
+                }
+
+                String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                templates.put(key, CompiledTemplate.compile(key, source, template.getParameters()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load email templates from " + location, e);
+        }
+
+        for (EmailTemplate template : EmailTemplate.values()) {
+            if (!templates.containsKey(template.getFileName())) {
+                throw new IllegalStateException("Missing default email template: " + template.getFileName() + ".html");
+            }
+        }
+
+        log.info("Loaded {} email templates from {}", templates.size(), location);
+    }
+
+    /**
+     * Render a template in the default locale
+     * @param template Template to render
+     * @param values Parameter values in the order declared by the template
+     * @return Rendered HTML
+     */
+    public String render(EmailTemplate template, Object... values) {
+        return render(template, defaultLocale, values);
+    }
+
+    /**
+     * Render a template, falling back from lang_COUNTRY to lang to the default template
+     * @param template Template to render
+     * @param locale Recipient locale
+     * @param values Parameter values in the order declared by the template
+     * @return Rendered HTML
+     */
+    public String render(EmailTemplate template, Locale locale, Object... values) {
+        if (values.length != template.getParameters().size()) {
+            throw new IllegalArgumentException("Template " + template + " expects "
+                    + template.getParameters().size() + " values but got " + values.length);
+        }
+
+        CompiledTemplate compiled = resolved.computeIfAbsent(locale, this::resolveAll)[template.ordinal()];
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        compiled.renderTo(buffer, values);
+        String html = buffer.toString();
+
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return html;
+    }
+
+    private CompiledTemplate[] resolveAll(Locale locale) {
+        EmailTemplate[] all = EmailTemplate.values();
+        CompiledTemplate[] byTemplate = new CompiledTemplate[all.length];
+        for (EmailTemplate template : all) {
+            byTemplate[template.ordinal()] = resolve(template.getFileName(), locale);
+        }
+        return byTemplate;
+    }
+
+    private CompiledTemplate resolve(String baseName, Locale locale) {
+        if (StringUtils.hasText(locale.getLanguage())) {
+            if (StringUtils.hasText(locale.getCountry())) {
+                CompiledTemplate exact = templates.get(baseName + "_" + locale.getLanguage() + "_" + locale.getCountry());
+                if (exact != null) {
+                    return exact;
+                }
+            }
+            CompiledTemplate language = templates.get(baseName + "_" + locale.getLanguage());
+            if (language != null) {
+                return language;
+            }
+        }
+        return templates.get(baseName);
+    }
+
+    private static EmailTemplate templateFor(String key) {
+        int localeSeparator = key.indexOf('_');
+        String baseName = localeSeparator < 0 ? key : key.substring(0, localeSeparator);
+        for (EmailTemplate template : EmailTemplate.values()) {
+            if (template.getFileName().equals(baseName)) {
+                return template;
+            }
+        }
+        return null;
+    }
+}
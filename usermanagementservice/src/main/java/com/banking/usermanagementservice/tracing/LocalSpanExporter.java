@@ -0,0 +1,133 @@
+package com.banking.usermanagementservice.tracing;
+
+import tools.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exporter for local runs and tests, with no collector to run.
+ * <p>
+ * Keeps the most recent spans in memory for tests to inspect, and when a file is configured
+ * also appends each span to it as one JSON line. It sits behind the tail sampler, so it only
+ * ever sees kept traces.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocalSpanExporter implements SpanExporter {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.tracing.local.file:}")
+    private String file;
+
+    @Value("${app.tracing.local.retained-spans:1000}")
+    private int retainedSpans;
+
+    private final Deque<SpanData> recent = new ArrayDeque<>();
+    private BufferedWriter writer;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!file.isBlank()) {
+            Path path = Path.of(file);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.info("Writing kept traces to {}", path.toAbsolutePath());
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            if (recent.size() == retainedSpans) {
+                recent.removeFirst();
+            }
+            recent.addLast(span);
+        }
+        if (writer == null) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(toJson(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Failed to write {} spans to {}", spans.size(), file, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    /**
+     * Spans exported so far, oldest first
+     * @return Up to the configured number of most recent spans
+     */
+    public synchronized List<SpanData> getFinishedSpans() {
+        return new ArrayList<>(recent);
+    }
+
+    public synchronized void reset() {
+        recent.clear();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            } finally {
+                writer = null;
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static Map<String, Object> toJson(SpanData span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        json.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("startEpochNanos", span.getStartEpochNanos());
+        json.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        json.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        json.put("attributes", attributes);
+        return json;
+    }
+}
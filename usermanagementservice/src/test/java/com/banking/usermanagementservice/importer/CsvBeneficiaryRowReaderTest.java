@@ -0,0 +1,63 @@
+package com.banking.usermanagementservice.importer;
+
+import com.banking.usermanagementservice.dto.CreateBeneficiaryRequest;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvBeneficiaryRowReaderTest {
+
+    @Test
+    void readsRowsWithoutAHeader() throws IOException {
+        assertThat(read("5100000001,Mom\n5100000002,\n"))
+                .containsExactly(row("5100000001", "Mom"), row("5100000002", null));
+    }
+
+    @Test
+    void headerSetsTheColumnOrder() throws IOException {
+        assertThat(read("\uFEFFnickname,account_id\nMom,5100000001\n"))
+                .containsExactly(row("5100000001", "Mom"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        assertThat(read("accountId,nickname\r\n5100000001,\"Smith, \"\"Jr\"\"\"\r\n5100000002,\"Two\nlines\"\r\n"))
+                .containsExactly(row("5100000001", "Smith, \"Jr\""), row("5100000002", "Two\nlines"));
+    }
+
+    @Test
+    void skipsBlankLinesAndTrimsValues() throws IOException {
+        assertThat(read("\n 5100000001 , Mom \n\n5100000002,Dad"))
+                .containsExactly(row("5100000001", "Mom"), row("5100000002", "Dad"));
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThatThrownBy(() -> read("5100000001,\"Mom\n"))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private static List<CreateBeneficiaryRequest> read(String csv) throws IOException {
+        List<CreateBeneficiaryRequest> rows = new ArrayList<>();
+        try (CsvBeneficiaryRowReader reader = new CsvBeneficiaryRowReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            CreateBeneficiaryRequest row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static CreateBeneficiaryRequest row(String accountId, String nickname) {
+        return CreateBeneficiaryRequest.builder().accountId(accountId).nickname(nickname).build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.banking.usermanagementservice.perf;
+
+import com.banking.common.perf.BenchmarkReport;
+import com.banking.usermanagementservice.repository.BeneficiariesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Every BeneficiariesRepository query against the seeded perf database. Per-user queries
+ * run for both the user with the most beneficiaries and typical users, and per-beneficiary
+ * counts for both the most shared payee and typical ones.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.banking.common.perf.SqlCapture",
+        "app.encryption.rotation.initial-delay-ms=3600000"
+})
+@ActiveProfiles("perf")
+class BeneficiariesRepositoryBenchmark {
+
+    @Autowired
+    private BeneficiariesRepository beneficiariesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void beneficiariesRepositoryQueries() throws IOException {
+        UUID heavyUser = jdbcTemplate.queryForObject(
+                "SELECT user_id FROM user_beneficiaries GROUP BY user_id ORDER BY COUNT(*) DESC LIMIT 1", UUID.class);
+        UUID sharedBeneficiary = jdbcTemplate.queryForObject(
+                "SELECT beneficiary_id FROM user_beneficiaries GROUP BY beneficiary_id ORDER BY COUNT(*) DESC LIMIT 1", UUID.class);
+        List<UUID> users = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM user_beneficiaries LIMIT 500", UUID.class);
+        List<Map<String, Object>> links = jdbcTemplate.queryForList("SELECT user_id, beneficiary_id FROM user_beneficiaries LIMIT 500");
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM beneficiaries LIMIT 500", UUID.class);
+        List<String> accounts = jdbcTemplate.queryForList("SELECT account_id FROM beneficiaries LIMIT 500", String.class);
+        List<UUID> heavyUserIds = jdbcTemplate.queryForList(
+                "SELECT beneficiary_id FROM user_beneficiaries WHERE user_id = ?", UUID.class, heavyUser);
+
+        BenchmarkReport report = new BenchmarkReport("beneficiaries-repository", jdbcTemplate);
+
+        report.measure("findById", () -> beneficiariesRepository.findById(pick(ids)));
+        report.measure("findByAccountId", () -> beneficiariesRepository.findByAccountId(pick(accounts)));
+        report.measure("existsByAccountId", () -> beneficiariesRepository.existsByAccountId(pick(accounts)));
+        report.measure("findIdsByAccountIdIn", () ->
+                beneficiariesRepository.findIdsByAccountIdIn(accounts.subList(0, 100)));
+        report.measure("findByIsActive", 5, () -> beneficiariesRepository.findByIsActive(false));
+        report.measure("findActiveByUserId.typical", () -> beneficiariesRepository.findActiveByUserId(pick(users)));
+        report.measure("findActiveByUserId.heavy", () -> beneficiariesRepository.findActiveByUserId(heavyUser));
+        report.measure("findAllByUserId.typical", () -> beneficiariesRepository.findAllByUserId(pick(users)));
+        report.measure("findAllByUserId.heavy", () -> beneficiariesRepository.findAllByUserId(heavyUser));
+        report.measure("existsByIdAndUserId", () -> {
+            Map<String, Object> link = pick(links);
+            return beneficiariesRepository.existsByIdAndUserId((UUID) link.get("BENEFICIARY_ID"), (UUID) link.get("USER_ID"));
+        });
+        report.measure("findResponseById.typical", () -> beneficiariesRepository.findResponseById(pick(ids)));
+        report.measure("findResponseById.shared", () -> beneficiariesRepository.findResponseById(sharedBeneficiary));
+        report.measure("countUsers.typical", () -> beneficiariesRepository.countUsers(pick(ids)));
+        report.measure("countUsers.shared", () -> beneficiariesRepository.countUsers(sharedBeneficiary));
+        report.measure("findAllResponses", 2, beneficiariesRepository::findAllResponses);
+        report.measure("findResponsesByIsActive", 2, () -> beneficiariesRepository.findResponsesByIsActive(true));
+        report.measure("findResponsesByUserId.typical", () -> beneficiariesRepository.findResponsesByUserId(pick(users)));
+        report.measure("findResponsesByUserId.heavy", () -> beneficiariesRepository.findResponsesByUserId(heavyUser));
+        report.measure("findActiveResponsesByUserId.heavy", () ->
+                beneficiariesRepository.findActiveResponsesByUserId(heavyUser));
+        report.measure("findActiveResponsesByUserIdAndIdIn.heavy", () ->
+                beneficiariesRepository.findActiveResponsesByUserIdAndIdIn(heavyUser, heavyUserIds));
+
+        report.finish();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.banking.usermanagementservice.perf;
+
+import com.banking.common.perf.BenchmarkReport;
+import com.banking.usermanagementservice.enums.ApprovalStatus;
+import com.banking.usermanagementservice.enums.RoleType;
+import com.banking.usermanagementservice.repository.UserRepository;
+import com.banking.usermanagementservice.service.EncryptionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Every UserRepository query against the seeded perf database. Queries that load all users
+ * run only a couple of times; they are here to catch plan changes and row-by-row loading,
+ * not to be timed precisely.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.banking.common.perf.SqlCapture",
+        "app.encryption.rotation.initial-delay-ms=3600000"
+})
+@ActiveProfiles("perf")
+class UserRepositoryBenchmark {
+
+    private static final UUID LOWEST_ID = new UUID(0, 0);
+    private static final Pageable NEWEST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by("id")));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void userRepositoryQueries() throws IOException {
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM users LIMIT 500", UUID.class);
+        List<String> emails = jdbcTemplate.queryForList("SELECT email FROM users LIMIT 500", String.class);
+        List<String> idNumbers = jdbcTemplate.queryForList("SELECT id_number FROM users LIMIT 500", String.class);
+        List<String> idNumberIndexes = jdbcTemplate.queryForList("SELECT id_number_index FROM users LIMIT 500", String.class);
+        LocalDateTime now = LocalDateTime.now();
+        String activePrefix = encryptionService.getActiveKeyPrefix() + "%";
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate rolledBack = new TransactionTemplate(transactionManager);
+
+        BenchmarkReport report = new BenchmarkReport("user-repository", jdbcTemplate);
+
+        report.measure("findById", () -> userRepository.findById(pick(ids)));
+        report.measure("findByIdAndNotDeleted", () -> userRepository.findByIdAndNotDeleted(pick(ids)));
+        report.measure("findByEmail", () -> userRepository.findByEmail(pick(emails)));
+        report.measure("findByEmailAndNotDeleted", () -> userRepository.findByEmailAndNotDeleted(pick(emails)));
+        report.measure("existsByEmail", () -> userRepository.existsByEmail(pick(emails)));
+        report.measure("findByIdNumber", () -> userRepository.findByIdNumber(pick(idNumbers)));
+        report.measure("existsByIdNumber", () -> userRepository.existsByIdNumber(pick(idNumbers)));
+        report.measure("existsByIdNumberIndex", () -> userRepository.existsByIdNumberIndex(pick(idNumberIndexes)));
+        report.measure("existsByIdNumberIndexIsNull", 10, userRepository::existsByIdNumberIndexIsNull);
+        report.measure("findByRoleName", () -> userRepository.findByRoleName(RoleType.SUPER_ADMIN));
+        report.measure("findByApprovalStatus", 5, () -> userRepository.findByApprovalStatus(ApprovalStatus.PENDING));
+        report.measure("findAllActive", 2, userRepository::findAllActive);
+        report.measure("findAllActiveWithDetails", 2, userRepository::findAllActiveWithDetails);
+        report.measure("findAllSuspendedWithDetails", 5, userRepository::findAllSuspendedWithDetails);
+        report.measure("findIdNumbersNeedingReEncryption", 10, () ->
+                userRepository.findIdNumbersNeedingReEncryption(activePrefix, LOWEST_ID, PageRequest.of(0, 500)));
+        // Never matches, since the old ID number is wrong; rolled back regardless
+        report.measure("updateIdNumber", () -> rolledBack.execute(status -> {
+            status.setRollbackOnly();
+            return userRepository.updateIdNumber(pick(ids), "stale", "stale", "stale");
+        }));
+        report.measure("findSummaries.all", () ->
+                userRepository.findSummaries(false, null, null, null, null, null, null, NEWEST));
+        report.measure("findSummaries.pending", () ->
+                userRepository.findSummaries(false, null, null, ApprovalStatus.PENDING, null, null, null, NEWEST));
+        report.measure("findSummaries.countryAndRange", () -> userRepository.findSummaries(
+                false, true, false, null, "Namibia", now.minusDays(90), now, NEWEST));
+        report.measure("streamSummaries.first1000", 10, () -> readOnly.execute(status -> {
+            try (Stream<?> users = userRepository.streamSummaries(false, null, null, null, null, null, null)) {
+                return users.limit(1000).count();
+            }
+        }));
+        report.measure("findSearchViews", () ->
+                userRepository.findSearchViews(pick(ids), PageRequest.of(0, 1000)));
+
+        report.finish();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,234 @@
+package com.banking.usermanagementservice.ranking;
+
+import com.banking.usermanagementservice.entity.BeneficiaryUsageScore;
+import com.banking.usermanagementservice.repository.BeneficiaryUsageScoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BeneficiaryUsageRankingTest {
+
+    private final BeneficiaryUsageScoreRepository scoreRepository = mock(BeneficiaryUsageScoreRepository.class);
+    private final UUID userId = UUID.randomUUID();
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    private BeneficiaryUsageRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new BeneficiaryUsageRanking(scoreRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(ranking, "halfLifeDays", 14d);
+        ReflectionTestUtils.setField(ranking, "idleEvictionMinutes", 30L);
+        ranking.init();
+    }
+
+    @Test
+    void scoresHalveEveryHalfLife() {
+        Instant now = Instant.now();
+        ranking.recordUsage(userId, first, now);
+        ranking.recordUsage(userId, second, now.minus(Duration.ofDays(14)));
+
+        List<BeneficiaryUsageRanking.RankedBeneficiary> top = ranking.top(userId, 10);
+
+        assertThat(top).extracting(BeneficiaryUsageRanking.RankedBeneficiary::beneficiaryId).containsExactly(first, second);
+        assertThat(top.get(0).score()).isCloseTo(1.0, within(0.01));
+        assertThat(top.get(1).score()).isCloseTo(0.5, within(0.01));
+    }
+
+    @Test
+    void frequentUseOutranksASingleMoreRecentUse() {
+        Instant now = Instant.now();
+        ranking.recordUsage(userId, first, now);
+        for (int i = 0; i < 3; i++) {
+            ranking.recordUsage(userId, second, now.minus(Duration.ofDays(7)));
+        }
+
+        List<BeneficiaryUsageRanking.RankedBeneficiary> top = ranking.top(userId, 1);
+
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).beneficiaryId()).isEqualTo(second);
+        assertThat(top.get(0).useCount()).isEqualTo(3);
+    }
+
+    @Test
+    void flushWritesOnlyChangedScores() {
+        Instant now = Instant.now();
+        ranking.recordUsage(userId, first, now);
+        ranking.recordUsage(userId, second, now);
+        ranking.flush();
+
+        List<BeneficiaryUsageScore> inserted = insertedRows();
+        assertThat(inserted).hasSize(2).allMatch(BeneficiaryUsageScore::isNew);
+
+        ranking.recordUsage(userId, first, now);
+        ranking.flush();
+
+        ArgumentCaptor<BeneficiaryUsageScore> updated = ArgumentCaptor.forClass(BeneficiaryUsageScore.class);
+        verify(scoreRepository).save(updated.capture());
+        assertThat(updated.getValue().getId().getBeneficiaryId()).isEqualTo(first);
+        assertThat(updated.getValue().isNew()).isFalse();
+        assertThat(updated.getValue().getUseCount()).isEqualTo(2);
+    }
+
+    @Test
+    void unflushedUsersAreNeverEvicted() throws InterruptedException {
+        ranking.recordUsage(userId, first, Instant.now());
+        ReflectionTestUtils.setField(ranking, "idleEvictionMinutes", 0L);
+        Thread.sleep(5);
+
+        ranking.evictIdle();
+        assertThat(ranking.cachedUsers()).isEqualTo(1);
+
+        ranking.flush();
+        ranking.evictIdle();
+        assertThat(ranking.cachedUsers()).isZero();
+    }
+
+    @Test
+    void evictedUsersAreReloadedFromStorage() throws InterruptedException {
+        Instant usedAt = Instant.now();
+        when(scoreRepository.findByUserId(userId)).thenReturn(List.of());
+        ranking.recordUsage(userId, first, usedAt);
+        ranking.flush();
+        BeneficiaryUsageScore stored = insertedRows().get(0);
+
+        ReflectionTestUtils.setField(ranking, "idleEvictionMinutes", 0L);
+        Thread.sleep(5);
+        ranking.evictIdle();
+
+        when(scoreRepository.findByUserId(userId)).thenReturn(List.of(new BeneficiaryUsageScore(userId, first,
+                stored.getLogScore(), stored.getUseCount(), stored.getLastUsedAt(), true)));
+        ranking.recordUsage(userId, first, usedAt);
+
+        verify(scoreRepository, times(2)).findByUserId(userId);
+        assertThat(ranking.top(userId, 1).get(0).useCount()).isEqualTo(2);
+    }
+
+    @Test
+    void forgetRemovesFromMemoryAndDeletesOnTheNextFlush() {
+        ranking.recordUsage(userId, first, Instant.now());
+
+        ranking.forget(userId, first);
+
+        assertThat(ranking.top(userId, 10)).isEmpty();
+        verify(scoreRepository, never()).deleteScore(any(), any());
+        ranking.flush();
+        verify(scoreRepository).deleteScore(userId, first);
+        verify(scoreRepository, never()).saveAll(anyIterable());
+        verify(scoreRepository, never()).save(any());
+    }
+
+    @Test
+    void forgottenScoresAreNotReloadedBeforeTheyAreDeleted() throws InterruptedException {
+        when(scoreRepository.findByUserId(userId)).thenReturn(List.of(
+                new BeneficiaryUsageScore(userId, first, 1.0, 1, Instant.now(), true)));
+
+        ranking.forget(userId, first);
+        ReflectionTestUtils.setField(ranking, "idleEvictionMinutes", 0L);
+        Thread.sleep(5);
+        ranking.evictIdle();
+
+        assertThat(ranking.top(userId, 10)).isEmpty();
+        verify(scoreRepository, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void failedFlushKeepsUsesForTheNextFlush() {
+        Instant now = Instant.now();
+        ranking.recordUsage(userId, first, now);
+        doThrow(new IllegalStateException("connection lost")).doReturn(List.of()).when(scoreRepository).saveAll(anyIterable());
+
+        ranking.flush();
+        ranking.recordUsage(userId, first, now);
+        ranking.flush();
+
+        assertThat(ranking.cachedUsers()).isEqualTo(1);
+        ArgumentCaptor<Iterable<BeneficiaryUsageScore>> captor = insertCaptor();
+        verify(scoreRepository, times(2)).saveAll(captor.capture());
+        BeneficiaryUsageScore retried = captor.getAllValues().get(1).iterator().next();
+        assertThat(retried.isNew()).isTrue();
+        assertThat(retried.getUseCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failedUpdateIsRetriedAsAnUpdate() {
+        Instant now = Instant.now();
+        ranking.recordUsage(userId, first, now);
+        ranking.flush();
+        ranking.recordUsage(userId, first, now);
+        doThrow(new IllegalStateException("connection lost")).doReturn(null).when(scoreRepository).save(any());
+
+        ranking.flush();
+        ranking.flush();
+
+        ArgumentCaptor<BeneficiaryUsageScore> updated = ArgumentCaptor.forClass(BeneficiaryUsageScore.class);
+        verify(scoreRepository, times(2)).save(updated.capture());
+        assertThat(updated.getAllValues()).allSatisfy(row -> {
+            assertThat(row.isNew()).isFalse();
+            assertThat(row.getUseCount()).isEqualTo(2);
+        });
+        verify(scoreRepository, times(1)).saveAll(anyIterable());
+    }
+
+    @Test
+    void forgetDuringAFlushDeletesWhatThatFlushWrote() {
+        Instant now = Instant.now();
+        ranking.recordUsage(userId, first, now);
+        // The link is removed while the flush that snapshotted the score is still writing it
+        doAnswer(invocation -> {
+            ranking.forget(userId, first);
+            return List.of();
+        }).doReturn(List.of()).when(scoreRepository).saveAll(anyIterable());
+
+        ranking.flush();
+        ranking.recordUsage(userId, first, now);
+        ranking.flush();
+
+        // The re-added score is inserted only after the stale row is deleted
+        InOrder order = inOrder(scoreRepository);
+        order.verify(scoreRepository).saveAll(anyIterable());
+        order.verify(scoreRepository).deleteScore(userId, first);
+        ArgumentCaptor<Iterable<BeneficiaryUsageScore>> captor = insertCaptor();
+        order.verify(scoreRepository).saveAll(captor.capture());
+        BeneficiaryUsageScore reinserted = captor.getValue().iterator().next();
+        assertThat(reinserted.isNew()).isTrue();
+        assertThat(reinserted.getUseCount()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Iterable<BeneficiaryUsageScore>> insertCaptor() {
+        return ArgumentCaptor.forClass(Iterable.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BeneficiaryUsageScore> insertedRows() {
+        ArgumentCaptor<Iterable<BeneficiaryUsageScore>> captor = insertCaptor();
+        verify(scoreRepository).saveAll(captor.capture());
+        List<BeneficiaryUsageScore> rows = new ArrayList<>();
+        captor.getValue().forEach(rows::add);
+        return rows;
+    }
+}
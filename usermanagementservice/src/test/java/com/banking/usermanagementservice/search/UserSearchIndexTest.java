@@ -0,0 +1,88 @@
+package com.banking.usermanagementservice.search;
+
+import com.banking.usermanagementservice.dto.UserSearchResult;
+import com.banking.usermanagementservice.entity.User;
+import com.banking.usermanagementservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(mock(UserRepository.class));
+    }
+
+    @Test
+    void matchesWordPrefixesIgnoringCaseAndAccents() {
+        UUID id = add("Zoë", "Müller", "zoe.mueller@example.com");
+
+        assertThat(ids(index.search("zo", 10))).containsExactly(id);
+        assertThat(ids(index.search("MULL", 10))).containsExactly(id);
+        assertThat(ids(index.search("mueller@exa", 10))).containsExactly(id);
+        assertThat(index.search("oe", 10)).isEmpty();
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        UUID jane = add("Jane", "Doe", "jane.doe@example.com");
+        add("Jane", "Smith", "jane.smith@example.com");
+
+        assertThat(ids(index.search("jane do", 10))).containsExactly(jane);
+    }
+
+    @Test
+    void multiWordQueriesLookPastTheFirstThousandCandidates() {
+        for (int i = 0; i < 5000; i++) {
+            add("Thabo" + i, "Nkosi", "user" + i + "@example.com");
+        }
+        // Sorts after every other user under "thabo"
+        UUID target = add("Thabo9999", "Zulu", "tz@example.com");
+
+        assertThat(ids(index.search("nkosi", 3))).hasSize(3);
+        assertThat(ids(index.search("thabo zulu", 10))).containsExactly(target);
+        assertThat(ids(index.search("zu thabo", 10))).containsExactly(target);
+    }
+
+    @Test
+    void usersMatchingSeveralTermsAreReturnedOnce() {
+        UUID id = add("Anna", "Annandale", "anna.annandale@example.com");
+
+        assertThat(ids(index.search("ann", 10))).containsExactly(id);
+    }
+
+    @Test
+    void reindexingReplacesOldTermsAndRemovingDropsTheUser() {
+        UUID id = add("Lerato", "Dlamini", "lerato@example.com");
+
+        index.indexAfterCommit(user(id, "Lerato", "Mokoena", "lerato@example.com"));
+        assertThat(index.search("dlamini", 10)).isEmpty();
+        assertThat(ids(index.search("mokoena", 10))).containsExactly(id);
+
+        index.removeAfterCommit(id);
+        assertThat(index.search("lerato", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    private UUID add(String firstName, String lastName, String email) {
+        UUID id = UUID.randomUUID();
+        index.indexAfterCommit(user(id, firstName, lastName, email));
+        return id;
+    }
+
+    private static User user(UUID id, String firstName, String lastName, String email) {
+        return User.builder().id(id).firstName(firstName).lastName(lastName).email(email).build();
+    }
+
+    private static List<UUID> ids(List<UserSearchResult> results) {
+        return results.stream().map(UserSearchResult::getId).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.common.security.TokenDenylist;
+import com.banking.usermanagementservice.entity.Role;
+import com.banking.usermanagementservice.entity.User;
+import com.banking.usermanagementservice.enums.RoleType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final TokenDenylist tokenDenylist = new TokenDenylist(1024);
+    private final UUID userId = UUID.randomUUID();
+    private final UUID familyId = UUID.randomUUID();
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private CustomUserDetailsService.CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "test-jwt-secret-test-jwt-secret-0123456789");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpiration", 120_000L);
+        tokenProvider.init();
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, tokenDenylist);
+
+        userDetails = new CustomUserDetailsService.CustomUserDetails(User.builder()
+                .email("jane@example.com")
+                .roles(Set.of(Role.builder().name(RoleType.CUSTOMER).build()))
+                .build());
+        when(userDetailsService.loadUserByUsername("jane@example.com")).thenReturn(userDetails);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessTokenAuthenticatesTheRequest() throws Exception {
+        MockHttpServletRequest request = request(tokenProvider.generateToken(userDetails, userId, familyId));
+
+        Authentication authentication = filter(request);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isSameAs(userDetails);
+        assertThat(request.getAttribute("userId")).isEqualTo(userId);
+        assertThat(request.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE)).isNotNull();
+    }
+
+    @Test
+    void refreshTokenDoesNotAuthenticateTheRequest() throws Exception {
+        String refreshToken = tokenProvider.generateRefreshToken(userDetails, userId, familyId, UUID.randomUUID());
+
+        assertThat(filter(request(refreshToken))).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void revokedAccessTokenDoesNotAuthenticateTheRequest() throws Exception {
+        String accessToken = tokenProvider.generateToken(userDetails, userId, familyId);
+        VerifiedToken verified = tokenProvider.verify(accessToken);
+        tokenDenylist.revoke(verified.tokenId(), verified.expiresAt().toEpochMilli());
+
+        assertThat(filter(request(accessToken))).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,110 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.common.security.PermissionSet;
+import com.banking.usermanagementservice.entity.Role;
+import com.banking.usermanagementservice.entity.User;
+import com.banking.usermanagementservice.enums.RoleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-jwt-secret-test-jwt-secret-0123456789";
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID familyId = UUID.randomUUID();
+
+    private JwtTokenProvider tokenProvider;
+    private CustomUserDetailsService.CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = provider(SECRET, 60_000L);
+        userDetails = new CustomUserDetailsService.CustomUserDetails(User.builder()
+                .email("jane@example.com")
+                .roles(Set.of(Role.builder().name(RoleType.CUSTOMER).build()))
+                .build());
+    }
+
+    @Test
+    void accessTokenRoundTripsEveryClaim() {
+        Instant before = Instant.now();
+
+        VerifiedToken token = tokenProvider.verify(tokenProvider.generateToken(userDetails, userId, familyId));
+
+        assertThat(token.username()).isEqualTo("jane@example.com");
+        assertThat(token.userId()).isEqualTo(userId);
+        assertThat(token.familyId()).isEqualTo(familyId);
+        assertThat(token.tokenId()).isNotNull();
+        assertThat(token.permissions()).isSameAs(PermissionSet.of(RoleType.CUSTOMER.getPermissionMask()));
+        assertThat(token.refresh()).isFalse();
+        // Second precision in the token
+        assertThat(Duration.between(before, token.issuedAt()).abs()).isLessThan(Duration.ofSeconds(2));
+        assertThat(Duration.between(token.issuedAt(), token.expiresAt()).toMillis()).isCloseTo(60_000L, within(1_000L));
+    }
+
+    @Test
+    void refreshTokenRoundTripsWithoutPermissions() {
+        UUID tokenId = UUID.randomUUID();
+
+        VerifiedToken token = tokenProvider.verify(
+                tokenProvider.generateRefreshToken(userDetails, userId, familyId, tokenId));
+
+        assertThat(token.refresh()).isTrue();
+        assertThat(token.tokenId()).isEqualTo(tokenId);
+        assertThat(token.userId()).isEqualTo(userId);
+        assertThat(token.familyId()).isEqualTo(familyId);
+        assertThat(token.permissions()).isSameAs(PermissionSet.NONE);
+        assertThat(Duration.between(token.issuedAt(), token.expiresAt()).toMillis()).isCloseTo(120_000L, within(1_000L));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String[] parts = tokenProvider.generateToken(userDetails, userId, familyId).split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String elevated = payload.replaceFirst("\"perms\":\\d+", "\"perms\":255");
+        assertThat(elevated).isNotEqualTo(payload);
+
+        String tampered = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(elevated.getBytes(StandardCharsets.UTF_8))
+                + "." + parts[2];
+
+        assertThat(tokenProvider.verifyOrNull(tampered)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String expired = provider(SECRET, -1_000L).generateToken(userDetails, userId, familyId);
+
+        assertThat(tokenProvider.verifyOrNull(expired)).isNull();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String forged = provider("another-secret-another-secret-0123456789", 60_000L)
+                .generateToken(userDetails, userId, familyId);
+
+        assertThat(tokenProvider.verifyOrNull(forged)).isNull();
+        assertThat(tokenProvider.verifyOrNull("not-a-jwt")).isNull();
+    }
+
+    private static JwtTokenProvider provider(String secret, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 120_000L);
+        provider.init();
+        return provider;
+    }
+}
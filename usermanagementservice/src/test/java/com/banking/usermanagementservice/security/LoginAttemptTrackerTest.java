@@ -0,0 +1,144 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.usermanagementservice.exception.LoginThrottledException;
+import com.banking.usermanagementservice.metrics.AuthMetrics;
+import com.banking.usermanagementservice.repository.UserCredentialsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LoginAttemptTrackerTest {
+
+    private static final String EMAIL = "jane@test.local";
+    private static final String ADDRESS = "10.0.0.1";
+
+    private final UUID userId = UUID.randomUUID();
+    private final UserCredentialsRepository credentialsRepository = mock(UserCredentialsRepository.class);
+
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LoginAttemptTracker(credentialsRepository, mock(PlatformTransactionManager.class),
+                new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(tracker, "accountFreeAttempts", 3);
+        ReflectionTestUtils.setField(tracker, "accountLockThreshold", 5);
+        ReflectionTestUtils.setField(tracker, "accountLockMinutes", 60L);
+        ReflectionTestUtils.setField(tracker, "addressFreeAttempts", 20);
+        ReflectionTestUtils.setField(tracker, "addressMaxBackoffMinutes", 60L);
+        ReflectionTestUtils.setField(tracker, "baseBackoffMillis", 60_000L);
+        ReflectionTestUtils.setField(tracker, "forgetAfterMinutes", 30L);
+        ReflectionTestUtils.setField(tracker, "maxTrackedKeys", 100);
+    }
+
+    @Test
+    void accountBacksOffOnlyAfterItsFreeAttempts() {
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure(EMAIL, userId, ADDRESS);
+        }
+        assertThatCode(() -> tracker.checkAllowed(EMAIL, ADDRESS)).doesNotThrowAnyException();
+
+        tracker.recordFailure(EMAIL, userId, ADDRESS);
+
+        assertThatThrownBy(() -> tracker.checkAllowed(EMAIL, "10.0.0.2")).isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> tracker.checkAllowed("other@test.local", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void addressBacksOffAcrossEmails() {
+        for (int i = 0; i < 21; i++) {
+            tracker.recordFailure("user" + i + "@test.local", null, ADDRESS);
+        }
+
+        assertThatThrownBy(() -> tracker.checkAllowed("fresh@test.local", ADDRESS)).isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> tracker.checkAllowed("fresh@test.local", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successClearsTheAccount() {
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure(EMAIL, userId, null);
+        }
+
+        tracker.recordSuccess(EMAIL, userId);
+
+        assertThatCode(() -> tracker.checkAllowed(EMAIL, null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void lockThresholdQueuesOneCoalescedWrite() {
+        for (int i = 0; i < 6; i++) {
+            tracker.recordFailure(EMAIL, userId, null);
+        }
+
+        tracker.flushLocks();
+
+        verify(credentialsRepository).applyLockState(eq(userId), eq(6), any(LocalDateTime.class));
+    }
+
+    @Test
+    void unknownEmailsNeverQueueLocks() {
+        for (int i = 0; i < 6; i++) {
+            tracker.recordFailure(EMAIL, null, null);
+        }
+
+        tracker.flushLocks();
+
+        verifyNoInteractions(credentialsRepository);
+    }
+
+    @Test
+    void idleEntriesAreEvicted() throws InterruptedException {
+        tracker.recordFailure(EMAIL, null, ADDRESS);
+        ReflectionTestUtils.setField(tracker, "forgetAfterMinutes", 0L);
+        Thread.sleep(5);
+
+        tracker.evictIdle();
+
+        assertThat(tracker.trackedAccounts()).isZero();
+        assertThat(tracker.trackedAddresses()).isZero();
+    }
+
+    @Test
+    void blockedEntriesOutliveTheIdleWindow() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure(EMAIL, userId, null);
+        }
+        ReflectionTestUtils.setField(tracker, "forgetAfterMinutes", 0L);
+        Thread.sleep(5);
+
+        tracker.evictIdle();
+
+        assertThatThrownBy(() -> tracker.checkAllowed(EMAIL, null)).isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void unknownEmailsStopBeingTrackedAtTheCap() {
+        for (int i = 0; i < 500; i++) {
+            tracker.recordFailure("stuffed" + i + "@test.local", null, "10.1." + (i / 256) + "." + (i % 256));
+        }
+
+        assertThat(tracker.trackedAccounts()).isEqualTo(100);
+        assertThat(tracker.trackedAddresses()).isEqualTo(100);
+
+        // Real accounts are bounded by the user count and are still tracked
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure(EMAIL, userId, null);
+        }
+        assertThatThrownBy(() -> tracker.checkAllowed(EMAIL, null)).isInstanceOf(LoginThrottledException.class);
+    }
+}
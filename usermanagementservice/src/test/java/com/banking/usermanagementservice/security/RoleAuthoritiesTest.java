@@ -0,0 +1,87 @@
+package com.banking.usermanagementservice.security;
+
+import com.banking.common.security.Permission;
+import com.banking.common.security.PermissionSet;
+import com.banking.usermanagementservice.entity.Role;
+import com.banking.usermanagementservice.entity.User;
+import com.banking.usermanagementservice.enums.RoleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleAuthoritiesTest {
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "test-jwt-secret-test-jwt-secret-0123456789");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpiration", 120_000L);
+        tokenProvider.init();
+    }
+
+    @Test
+    void everyRoleCombinationSurvivesThePermsClaim() {
+        int combinations = 1 << RoleType.values().length;
+        for (int mask = 0; mask < combinations; mask++) {
+            Set<RoleType> types = new HashSet<>();
+            int expectedBits = 0;
+            for (RoleType type : RoleType.values()) {
+                if ((mask & 1 << type.ordinal()) != 0) {
+                    types.add(type);
+                    expectedBits |= type.getPermissionMask();
+                }
+            }
+
+            VerifiedToken token = tokenProvider.verify(tokenProvider.generateToken(
+                    userDetails(types), UUID.randomUUID(), UUID.randomUUID()));
+
+            assertThat(token.permissions().bits()).as("roles %s", types).isEqualTo(expectedBits);
+            assertThat(token.permissions()).isSameAs(RoleAuthorities.of(roles(types)).permissions());
+        }
+    }
+
+    @Test
+    void superAdminHoldsEveryPermissionAndCustomerOnlyTheirOwn() {
+        assertThat(PermissionSet.of(RoleType.SUPER_ADMIN.getPermissionMask()).grantedAuthorities())
+                .hasSize(Permission.values().length);
+
+        PermissionSet customer = PermissionSet.of(RoleType.CUSTOMER.getPermissionMask());
+        assertThat(customer.has(Permission.TRANSACT)).isTrue();
+        assertThat(customer.has(Permission.MANAGE_USERS)).isFalse();
+        assertThat(customer.has(Permission.MANAGE_DIAGNOSTICS)).isFalse();
+    }
+
+    @Test
+    void authoritiesHoldRolesAndPermissions() {
+        RoleAuthorities authorities = RoleAuthorities.of(roles(Set.of(RoleType.CUSTOMER)));
+
+        assertThat(authorities.roleNames()).containsExactly("CUSTOMER");
+        assertThat(authorities.grantedAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_CUSTOMER", "PERM_VIEW_OWN_PROFILE",
+                        "PERM_MANAGE_OWN_BENEFICIARIES", "PERM_TRANSACT");
+    }
+
+    private static CustomUserDetailsService.CustomUserDetails userDetails(Set<RoleType> types) {
+        return new CustomUserDetailsService.CustomUserDetails(User.builder()
+                .email("user@example.com")
+                .roles(new HashSet<>(roles(types)))
+                .build());
+    }
+
+    private static Set<Role> roles(Set<RoleType> types) {
+        Set<Role> roles = new HashSet<>();
+        types.forEach(type -> roles.add(Role.builder().name(type).build()));
+        return roles;
+    }
+}
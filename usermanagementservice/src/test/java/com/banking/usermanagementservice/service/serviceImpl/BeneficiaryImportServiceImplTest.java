@@ -0,0 +1,129 @@
+package com.banking.usermanagementservice.service.serviceImpl;
+
+import com.banking.usermanagementservice.dto.BeneficiaryImportReport;
+import com.banking.usermanagementservice.dto.BeneficiaryImportRowResult;
+import com.banking.usermanagementservice.enums.ImportFormat;
+import com.banking.usermanagementservice.enums.ImportRowStatus;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
+import com.banking.usermanagementservice.service.BeneficiaryImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Chunks commit as the file is read, so whatever stops an import part way through must
+ * leave the report matching what was written.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.beneficiaries.import.chunk-size=2",
+        "app.beneficiaries.import.max-rows=5",
+        "app.beneficiaries.import.max-reported-rows=2"
+})
+@ActiveProfiles("loadtest")
+class BeneficiaryImportServiceImplTest {
+
+    private static final AtomicLong ACCOUNTS = new AtomicLong(5190000000L);
+
+    @Autowired
+    private BeneficiaryImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, first_name, last_name, email, id_number, gender, country, "
+                        + "approval_status, is_active, is_email_verified, is_deleted, is_suspended, created_at, updated_at) "
+                        + "VALUES (?, 'Import', 'Test', ?, ?, 'FEMALE', 'South Africa', 'APPROVED', true, true, false, false, ?, ?)",
+                userId, userId + "@test.local", userId.toString(), now, now);
+    }
+
+    @Test
+    void importsEveryRowOfASmallFile() throws IOException {
+        String first = account();
+        BeneficiaryImportReport report = importCsv("accountId,nickname\n" + first + ",Mom\n" + account() + ",Dad\n"
+                + first + ",Again\n,No account\n");
+
+        assertThat(report.getTotalRows()).isEqualTo(4);
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getDuplicatesInFile()).isEqualTo(1);
+        assertThat(report.getInvalid()).isEqualTo(1);
+        assertThat(report.isTruncated()).isFalse();
+        assertThat(report.getError()).isNull();
+        assertThat(report.getRows()).extracting(BeneficiaryImportRowResult::getStatus)
+                .containsExactly(ImportRowStatus.DUPLICATE_IN_FILE, ImportRowStatus.INVALID);
+        assertThat(linkedBeneficiaries()).isEqualTo(2);
+    }
+
+    @Test
+    void rowsPastTheLimitAreNotReadAndTheRestIsReportedAsImported() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            csv.append(account()).append('\n');
+        }
+
+        BeneficiaryImportReport report = importCsv(csv.toString());
+
+        assertThat(report.isTruncated()).isTrue();
+        assertThat(report.getError()).contains("limited to 5 rows");
+        assertThat(report.getTotalRows()).isEqualTo(5);
+        assertThat(report.getCreated()).isEqualTo(5);
+        assertThat(linkedBeneficiaries()).isEqualTo(5);
+    }
+
+    @Test
+    void unreadableRowKeepsTheRowsBeforeIt() throws IOException {
+        BeneficiaryImportReport report = importCsv(account() + "\n" + account() + "\n" + account() + "\n"
+                + account() + ",\"unterminated\n");
+
+        assertThat(report.getError()).startsWith("Row 4: ");
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(linkedBeneficiaries()).isEqualTo(3);
+    }
+
+    @Test
+    void unreadableFirstRowIsRejected() {
+        assertThatThrownBy(() -> importCsv("\"unterminated\n"))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThat(linkedBeneficiaries()).isZero();
+    }
+
+    @Test
+    void reportedRowsAreCappedButStillCounted() throws IOException {
+        BeneficiaryImportReport report = importCsv(",One\n,Two\n,Three\n");
+
+        assertThat(report.getInvalid()).isEqualTo(3);
+        assertThat(report.getRows()).hasSize(2);
+    }
+
+    private BeneficiaryImportReport importCsv(String csv) throws IOException {
+        return importService.importBeneficiaries(userId, ImportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Integer linkedBeneficiaries() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_beneficiaries WHERE user_id = ?", Integer.class, userId);
+    }
+
+    // TymeBank range, which has no check digit
+    private static String account() {
+        return Long.toString(ACCOUNTS.incrementAndGet());
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.usermanagementservice.service.serviceImpl;
+
+import com.banking.usermanagementservice.service.EncryptionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The rotation sweep pages by id, and ids compare as unsigned bytes, so it has to reach
+ * users on both sides of 0x80 in the first byte.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.encryption.rotation.initial-delay-ms=3600000",
+        "app.encryption.rotation.batch-size=1",
+        "app.encryption.rotation.max-batches-per-run=1000"
+})
+@ActiveProfiles("loadtest")
+class EncryptionKeyRotationServiceTest {
+
+    private static final List<UUID> IDS = List.of(
+            UUID.fromString("00000000-0000-4000-8000-000000000001"),
+            UUID.fromString("7fffffff-ffff-4fff-bfff-ffffffffffff"),
+            UUID.fromString("80000000-0000-4000-8000-000000000001"),
+            UUID.fromString("ffffffff-ffff-4fff-bfff-fffffffffffe"));
+
+    @Autowired
+    private EncryptionKeyRotationService rotationService;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sweepReachesIdsOnBothSidesOfTheSignBit() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < IDS.size(); i++) {
+            // No blind index yet, so every row needs the sweep
+            jdbcTemplate.update("INSERT INTO users (id, first_name, last_name, email, id_number, gender, country, "
+                            + "approval_status, is_active, is_email_verified, is_deleted, is_suspended, created_at, updated_at) "
+                            + "VALUES (?, 'Rotation', 'Test', ?, ?, 'FEMALE', 'South Africa', 'APPROVED', true, true, false, false, ?, ?)",
+                    IDS.get(i), "rotation." + i + "@test.local", encryptionService.encrypt("90010150090" + i + "9"), now, now);
+        }
+
+        rotationService.rotate();
+
+        for (UUID id : IDS) {
+            assertThat(jdbcTemplate.queryForObject("SELECT id_number_index FROM users WHERE id = ?", String.class, id))
+                    .as("blind index for %s", id)
+                    .isNotNull();
+        }
+    }
+}
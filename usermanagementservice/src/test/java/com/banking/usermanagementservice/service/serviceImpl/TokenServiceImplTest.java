@@ -0,0 +1,116 @@
+package com.banking.usermanagementservice.service.serviceImpl;
+
+import com.banking.common.security.TokenDenylist;
+import com.banking.usermanagementservice.dto.IssuedTokens;
+import com.banking.usermanagementservice.entity.RefreshTokenFamily;
+import com.banking.usermanagementservice.entity.RevokedToken;
+import com.banking.usermanagementservice.exception.InvalidOperationException;
+import com.banking.usermanagementservice.metrics.AuthMetrics;
+import com.banking.usermanagementservice.repository.RefreshTokenFamilyRepository;
+import com.banking.usermanagementservice.repository.RevokedTokenRepository;
+import com.banking.usermanagementservice.security.CustomUserDetailsService;
+import com.banking.usermanagementservice.security.JwtTokenProvider;
+import com.banking.usermanagementservice.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceImplTest {
+
+    private static final String EMAIL = "jane@test.local";
+
+    private final RefreshTokenFamilyRepository familyRepository = mock(RefreshTokenFamilyRepository.class);
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final TokenDenylist tokenDenylist = new TokenDenylist(1 << 16);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID familyId = UUID.randomUUID();
+    private final UUID firstTokenId = UUID.randomUUID();
+
+    private TokenServiceImpl tokenService;
+    private RefreshTokenFamily family;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenServiceImpl(familyRepository, revokedTokenRepository, jwtTokenProvider,
+                userDetailsService, tokenDenylist, mock(PlatformTransactionManager.class), new AuthMetrics(meterRegistry));
+        ReflectionTestUtils.setField(tokenService, "refreshExpiration", 86_400_000L);
+
+        family = new RefreshTokenFamily(familyId, userId, firstTokenId, Instant.now().plusSeconds(3600));
+        when(familyRepository.findByIdForUpdate(familyId)).thenReturn(Optional.of(family));
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserDetails user = new User(EMAIL, "", List.of());
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+        when(jwtTokenProvider.generateToken(eq(user), eq(userId), eq(familyId))).thenReturn("access");
+        when(jwtTokenProvider.generateRefreshToken(eq(user), eq(userId), eq(familyId), any(UUID.class))).thenReturn("refresh");
+    }
+
+    @Test
+    void rotationMovesTheFamilyToANewToken() {
+        IssuedTokens tokens = tokenService.rotate(presented("first", firstTokenId));
+
+        assertThat(tokens.getRefreshToken()).isEqualTo("refresh");
+        assertThat(family.getCurrentTokenId()).isNotEqualTo(firstTokenId);
+        assertThat(family.isRevoked()).isFalse();
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        tokenService.rotate(presented("first", firstTokenId));
+        UUID secondTokenId = family.getCurrentTokenId();
+
+        // The first token again, as from a stolen copy
+        assertThatThrownBy(() -> tokenService.rotate("first"))
+                .isInstanceOf(InvalidOperationException.class);
+
+        assertThat(family.isRevoked()).isTrue();
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertThat(tokenDenylist.isRevoked(null, familyId)).isTrue();
+        assertThat(meterRegistry.get("auth.refresh").tag("outcome", "reuse_detected").counter().count()).isEqualTo(1);
+
+        // The legitimate holder's current token is now refused before the family row is even locked
+        assertThatThrownBy(() -> tokenService.rotate(presented("second", secondTokenId)))
+                .isInstanceOf(InvalidOperationException.class);
+        verify(familyRepository, times(2)).findByIdForUpdate(familyId);
+    }
+
+    @Test
+    void tokenOfAnotherUserIsRejectedWithoutRevoking() {
+        when(jwtTokenProvider.verifyOrNull("forged")).thenReturn(new VerifiedToken(EMAIL, UUID.randomUUID(),
+                firstTokenId, familyId, null, true, Instant.now(), Instant.now().plusSeconds(60)));
+
+        assertThatThrownBy(() -> tokenService.rotate("forged"))
+                .isInstanceOf(InvalidOperationException.class);
+
+        assertThat(family.isRevoked()).isFalse();
+        assertThat(tokenDenylist.isRevoked(null, familyId)).isFalse();
+    }
+
+    private String presented(String raw, UUID tokenId) {
+        when(jwtTokenProvider.verifyOrNull(raw)).thenReturn(new VerifiedToken(EMAIL, userId, tokenId, familyId,
+                null, true, Instant.now(), Instant.now().plusSeconds(60)));
+        return raw;
+    }
+}